@@ -87,13 +87,17 @@ abstract class Base64 {
 	}
 
 	static int encodeToBytes(byte[] sArr, byte[] dArr, final int start) {
-		final int sLen = sArr.length;
+		return encodeToBytes(sArr, 0, sArr.length, dArr, start);
+	}
+
+	static int encodeToBytes(byte[] sArr, final int offset, final int sLen, byte[] dArr, final int start) {
+		if (sLen == 0) return 0;
 
 		final int eLen = (sLen / 3) * 3;              // Length of even 24-bits.
 		final int dLen = ((sLen - 1) / 3 + 1) << 2;   // Returned character count
 
 		// Encode even 24-bits
-		for (int s = 0, d = start; s < eLen;) {
+		for (int s = offset, d = start; s < offset + eLen;) {
 			// Copy next three bytes into lower 24 bits of int, paying attension to sign.
 			int i = (sArr[s++] & 0xff) << 16 | (sArr[s++] & 0xff) << 8 | (sArr[s++] & 0xff);
 
@@ -108,7 +112,7 @@ abstract class Base64 {
 		int left = sLen - eLen; // 0 - 2.
 		if (left > 0) {
 			// Prepare the int
-			int i = ((sArr[eLen] & 0xff) << 10) | (left == 2 ? ((sArr[sLen - 1] & 0xff) << 2) : 0);
+			int i = ((sArr[offset + eLen] & 0xff) << 10) | (left == 2 ? ((sArr[offset + sLen - 1] & 0xff) << 2) : 0);
 
 			// Set last four chars
 			dArr[start + dLen - 4] = BA[i >> 12];
@@ -120,6 +124,10 @@ abstract class Base64 {
 		return dLen;
 	}
 
+	static int decode(final byte b) {
+		return b == '=' ? -1 : IA[b & 0xff];
+	}
+
 	static int findEnd(final byte[] sArr, final int start) {
 		for (int i = start; i < sArr.length; i++)
 			if (IA[sArr[i] & 0xff] < 0)
@@ -0,0 +1,342 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.lang.reflect.*;
+import java.util.*;
+
+/**
+ * Runtime analysis of classes without compile time databinding.
+ * Class is inspected only once and converter is created with properties resolved upfront,
+ * so that JSON can be processed without a fallback to a different library.
+ * <p>
+ * Supported classes must have a public no argument constructor, while properties
+ * are detected as public non final fields or as getter/setter pairs.
+ * Properties are matched during deserialization through the same name hash used by generated code.
+ * <p>
+ * Analysis is opt-in and it's enabled by registering converter factories through settings:
+ *
+ * <pre>
+ *     new DslJson&lt;Object&gt;(new DslJson.Settings&lt;Object&gt;()
+ *         .resolveReader(BeanAnalyzer.READER)
+ *         .resolveWriter(BeanAnalyzer.WRITER)
+ *         .resolveBinder(BeanAnalyzer.BINDER));
+ * </pre>
+ */
+public abstract class BeanAnalyzer {
+
+	public static final DslJson.ConverterFactory<JsonReader.ReadObject> READER = new DslJson.ConverterFactory<JsonReader.ReadObject>() {
+		@Override
+		public JsonReader.ReadObject tryCreate(final Type manifest, final DslJson dslJson) {
+			return analyze(manifest, dslJson);
+		}
+	};
+
+	public static final DslJson.ConverterFactory<JsonWriter.WriteObject> WRITER = new DslJson.ConverterFactory<JsonWriter.WriteObject>() {
+		@Override
+		public JsonWriter.WriteObject tryCreate(final Type manifest, final DslJson dslJson) {
+			return analyze(manifest, dslJson);
+		}
+	};
+
+	public static final DslJson.ConverterFactory<JsonReader.BindObject> BINDER = new DslJson.ConverterFactory<JsonReader.BindObject>() {
+		@Override
+		public JsonReader.BindObject tryCreate(final Type manifest, final DslJson dslJson) {
+			return analyze(manifest, dslJson);
+		}
+	};
+
+	private static BeanDescription<Object> analyze(final Type manifest, final DslJson dslJson) {
+		if (!(manifest instanceof Class<?>)) {
+			return null;
+		}
+		final Class<?> raw = (Class<?>) manifest;
+		if (raw.isPrimitive() || raw.isArray() || raw.isInterface() || raw.isEnum() || raw.isAnnotation()
+				|| Modifier.isAbstract(raw.getModifiers())
+				|| !Modifier.isPublic(raw.getModifiers())
+				|| raw.getEnclosingClass() != null && !Modifier.isStatic(raw.getModifiers())
+				|| JsonObject.class.isAssignableFrom(raw)
+				|| Collection.class.isAssignableFrom(raw)
+				|| Map.class.isAssignableFrom(raw)) {
+			return null;
+		}
+		final String name = raw.getName();
+		if (name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("android.")) {
+			return null;
+		}
+		final Constructor<?> ctor;
+		try {
+			ctor = raw.getConstructor();
+		} catch (NoSuchMethodException ignore) {
+			return null;
+		}
+		final LinkedHashMap<String, Property> found = new LinkedHashMap<String, Property>();
+		for (final Field f : raw.getFields()) {
+			final int mod = f.getModifiers();
+			if (Modifier.isStatic(mod) || Modifier.isFinal(mod) || Modifier.isTransient(mod)) {
+				continue;
+			}
+			found.put(f.getName(), new Property(f.getName(), f.getGenericType(), f, null, null));
+		}
+		final TreeMap<String, Method> getters = new TreeMap<String, Method>();
+		final HashMap<String, Method> setters = new HashMap<String, Method>();
+		for (final Method m : raw.getMethods()) {
+			if (Modifier.isStatic(m.getModifiers()) || m.getDeclaringClass() == Object.class) {
+				continue;
+			}
+			final String mn = m.getName();
+			final int args = m.getParameterTypes().length;
+			if (args == 0 && mn.startsWith("get") && mn.length() > 3 && m.getReturnType() != void.class) {
+				getters.put(beanName(mn.substring(3)), m);
+			} else if (args == 0 && mn.startsWith("is") && mn.length() > 2 && m.getReturnType() == boolean.class) {
+				getters.put(beanName(mn.substring(2)), m);
+			} else if (args == 1 && mn.startsWith("set") && mn.length() > 3) {
+				setters.put(beanName(mn.substring(3)), m);
+			}
+		}
+		for (final Map.Entry<String, Method> kv : getters.entrySet()) {
+			final Method setter = setters.get(kv.getKey());
+			final Method getter = kv.getValue();
+			if (setter == null || setter.getParameterTypes()[0] != getter.getReturnType() || found.containsKey(kv.getKey())) {
+				continue;
+			}
+			found.put(kv.getKey(), new Property(kv.getKey(), getter.getGenericReturnType(), null, getter, setter));
+		}
+		if (found.isEmpty()) {
+			return null;
+		}
+		final Property[] properties = found.values().toArray(new Property[found.size()]);
+		for (int i = 0; i < properties.length; i++) {
+			for (int j = i + 1; j < properties.length; j++) {
+				if (properties[i].hash == properties[j].hash) {
+					return null;
+				}
+			}
+		}
+		return new BeanDescription<Object>(raw, ctor, properties, dslJson);
+	}
+
+	private static String beanName(final String name) {
+		if (name.length() > 1 && Character.isUpperCase(name.charAt(0)) && Character.isUpperCase(name.charAt(1))) {
+			return name;
+		}
+		return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+	}
+
+	private static final class Property {
+		final String name;
+		final int hash;
+		final byte[] quoted;
+		final Type type;
+		final boolean primitive;
+		final Object defaultValue;
+		final Field field;
+		final Method getter;
+		final Method setter;
+		JsonReader.ReadObject<?> reader;
+		JsonWriter.WriteObject writer;
+
+		Property(final String name, final Type type, final Field field, final Method getter, final Method setter) {
+			this.name = name;
+			this.hash = JsonReader.hashName(name);
+			final JsonWriter quoting = new JsonWriter(name.length() + 8, null);
+			quoting.writeString(name);
+			quoting.writeByte(JsonWriter.SEMI);
+			this.quoted = quoting.toByteArray();
+			this.type = type;
+			this.primitive = type instanceof Class<?> && ((Class<?>) type).isPrimitive();
+			this.defaultValue = ImmutableDescription.defaultValue(type);
+			this.field = field;
+			this.getter = getter;
+			this.setter = setter;
+		}
+
+		Object get(final Object instance) throws IllegalAccessException, InvocationTargetException {
+			return field != null ? field.get(instance) : getter.invoke(instance);
+		}
+
+		void set(final Object instance, final Object value) throws IllegalAccessException, InvocationTargetException {
+			if (field != null) {
+				field.set(instance, value);
+			} else {
+				setter.invoke(instance, value);
+			}
+		}
+	}
+
+	private static final class BeanDescription<T> implements JsonReader.ReadObject<T>, JsonReader.BindObject<T>, JsonWriter.WriteObject<T>, JsonWriter.SizeEstimator<T>, Projection.Aware {
+		private final Class<?> manifest;
+		private final Constructor<?> ctor;
+		private final Property[] properties;
+		private final int[] hashes;
+		private final int fixedSize;
+		private final DslJson json;
+
+		BeanDescription(final Class<?> manifest, final Constructor<?> ctor, final Property[] properties, final DslJson json) {
+			this.manifest = manifest;
+			this.ctor = ctor;
+			this.properties = properties;
+			this.hashes = new int[properties.length];
+			int fixed = 1 + properties.length;
+			for (int i = 0; i < properties.length; i++) {
+				hashes[i] = properties[i].hash;
+				fixed += properties[i].quoted.length;
+			}
+			this.fixedSize = fixed;
+			this.json = json;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T read(final JsonReader reader) throws IOException {
+			if (reader.wasNull()) {
+				return null;
+			}
+			final T instance;
+			try {
+				instance = (T) ctor.newInstance();
+			} catch (Exception ex) {
+				throw new IOException("Unable to create an instance of " + manifest + ". " + ex.getMessage());
+			}
+			return bind(reader, instance);
+		}
+
+		@Override
+		public T bind(final JsonReader reader, final T instance) throws IOException {
+			if (reader.last() != '{') {
+				throw reader.expecting("{");
+			}
+			byte nextToken = reader.getNextToken();
+			if (nextToken == '}') {
+				return instance;
+			}
+			final Projection projection = reader.projection;
+			final int[] projected = projection == null ? null : projection.hashesFor(manifest);
+			while (true) {
+				final int hash = reader.fillName();
+				nextToken = reader.getNextToken();
+				int index = -1;
+				for (int i = 0; i < hashes.length; i++) {
+					if (hashes[i] == hash) {
+						index = i;
+						break;
+					}
+				}
+				if (index == -1 || projected != null && !Projection.includes(projected, hash)) {
+					nextToken = reader.skip();
+				} else {
+					final Property p = properties[index];
+					final Object value;
+					if (nextToken == 'n') {
+						if (!reader.wasNull()) {
+							throw reader.expecting("null");
+						}
+						value = p.defaultValue;
+					} else {
+						value = readValue(p, reader);
+					}
+					if (value != null || !p.primitive) {
+						try {
+							p.set(instance, value);
+						} catch (Exception ex) {
+							throw new IOException("Unable to set property '" + p.name + "' in " + manifest + ". " + ex.getMessage());
+						}
+					}
+					nextToken = reader.getNextToken();
+				}
+				if (nextToken != ',') {
+					break;
+				}
+				reader.getNextToken();
+			}
+			if (nextToken != '}') {
+				throw reader.expecting("}", nextToken);
+			}
+			return instance;
+		}
+
+		@SuppressWarnings("unchecked")
+		private Object readValue(final Property p, final JsonReader reader) throws IOException {
+			final JsonReader.ReadObject<?> projectedReader = reader.projection == null ? null : json.projectedReader(p.type, reader);
+			if (projectedReader != null) {
+				return projectedReader.read(reader);
+			}
+			final JsonReader.ReadObject<?> propertyReader = p.reader;
+			if (propertyReader != null) {
+				return propertyReader.read(reader);
+			}
+			final JsonReader.ReadObject<?> found = json.tryFindReader(p.type);
+			if (found != null) {
+				p.reader = found;
+				return found.read(reader);
+			}
+			final Object result = json.deserializeWith(p.type, reader);
+			if (result == null) {
+				throw new IOException("Unable to find reader for property '" + p.name + "' of type: " + p.type + " in " + manifest);
+			}
+			if (p.type instanceof ParameterizedType && result instanceof Collection) {
+				final Class<?> container = (Class<?>) ((ParameterizedType) p.type).getRawType();
+				if (!container.isInstance(result)) {
+					return ImmutableDescription.adaptCollection(container, (Collection<Object>) result);
+				}
+			}
+			return result;
+		}
+
+		@Override
+		public int estimateSize(final T value) {
+			if (value == null) {
+				return 4;
+			}
+			int size = fixedSize;
+			try {
+				for (final Property p : properties) {
+					size += ImmutableDescription.estimateValue(p.get(value), p.writer);
+				}
+			} catch (Exception ignore) {
+				return size;
+			}
+			return size;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void write(final JsonWriter writer, final T value) {
+			if (value == null) {
+				writer.writeNull();
+				return;
+			}
+			writer.writeByte(JsonWriter.OBJECT_START);
+			boolean hasWritten = false;
+			for (final Property p : properties) {
+				final Object propertyValue;
+				try {
+					propertyValue = p.get(value);
+				} catch (Exception ex) {
+					throw new SerializationException("Unable to read property '" + p.name + "' from " + manifest + ". " + ex.getMessage());
+				}
+				if (json.omitDefaults && (propertyValue == null || propertyValue.equals(p.defaultValue))) {
+					continue;
+				}
+				if (hasWritten) {
+					writer.writeByte(JsonWriter.COMMA);
+				}
+				hasWritten = true;
+				writer.writeAscii(p.quoted);
+				if (propertyValue == null) {
+					writer.writeNull();
+					continue;
+				}
+				JsonWriter.WriteObject propertyWriter = p.writer;
+				if (propertyWriter == null && !(p.type instanceof ParameterizedType)) {
+					propertyWriter = p.writer = json.tryFindWriter(p.type);
+				}
+				if (propertyWriter != null) {
+					propertyWriter.write(writer, propertyValue);
+				} else if (!json.serialize(writer, p.type, propertyValue)) {
+					throw new SerializationException("Unable to find writer for property '" + p.name + "' of type: " + p.type + " in " + manifest);
+				}
+			}
+			writer.writeByte(JsonWriter.OBJECT_END);
+		}
+	}
+}
@@ -0,0 +1,486 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Binder for mutable objects which updates existing instance with values from JSON.
+ * Only properties found in JSON are changed, other properties keep their current value.
+ * When property already holds an instance and binder for property type is available,
+ * nested object/collection is bound into instead of being replaced.
+ * This allows processing of JSON into pooled objects without allocation of new instances.
+ * <p>
+ * Annotation processor will create such descriptions for mutable @CompiledJson classes,
+ * but they can be created manually too:
+ *
+ * <pre>
+ *     BindDescription&lt;Person&gt; description = new BindDescription&lt;Person&gt;(
+ *         Person.class,
+ *         true,
+ *         new BindDescription.Property&lt;Person&gt;("name", String.class, new BindDescription.Accessor&lt;Person&gt;() {
+ *             public Object get(Person instance) { return instance.name; }
+ *             public void set(Person instance, Object value) { instance.name = (String) value; }
+ *         }));
+ *     description.configure(dslJson);
+ *     dslJson.registerBinder(Person.class, description);
+ * </pre>
+ *
+ * Primitive int, long, double, float and boolean properties can be described through typed setters,
+ * eg. {@link IntSetter}, which are bound without boxing of the value.
+ * <p>
+ * When {@link Creator} is provided description can also read new instances.
+ * Such descriptions honor {@link Projection}, so they are used during deserialization with projection
+ * instead of DSL generated readers which can't skip properties.
+ * <p>
+ * Readers and binders for properties are resolved lazily from the configured DslJson instance.
+ *
+ * @param <T> mutable type
+ */
+public final class BindDescription<T> implements JsonReader.BindObject<T>, JsonReader.ReadObject<T>, Configuration, Projection.Aware {
+
+	/**
+	 * Creates new instance when description is used as a reader.
+	 *
+	 * @param <T> mutable type
+	 */
+	public interface Creator<T> {
+		T create();
+	}
+
+	/**
+	 * Property accessor used during binding.
+	 *
+	 * @param <T> mutable type
+	 */
+	public interface Accessor<T> {
+		Object get(T instance);
+
+		void set(T instance, Object value);
+	}
+
+	/**
+	 * Setter for int property.
+	 *
+	 * @param <T> mutable type
+	 */
+	public interface IntSetter<T> {
+		void set(T instance, int value);
+	}
+
+	/**
+	 * Setter for long property.
+	 *
+	 * @param <T> mutable type
+	 */
+	public interface LongSetter<T> {
+		void set(T instance, long value);
+	}
+
+	/**
+	 * Setter for double property.
+	 *
+	 * @param <T> mutable type
+	 */
+	public interface DoubleSetter<T> {
+		void set(T instance, double value);
+	}
+
+	/**
+	 * Setter for float property.
+	 *
+	 * @param <T> mutable type
+	 */
+	public interface FloatSetter<T> {
+		void set(T instance, float value);
+	}
+
+	/**
+	 * Setter for boolean property.
+	 *
+	 * @param <T> mutable type
+	 */
+	public interface BooleanSetter<T> {
+		void set(T instance, boolean value);
+	}
+
+	private static final int OBJECT = 0;
+	private static final int INT = 1;
+	private static final int LONG = 2;
+	private static final int DOUBLE = 3;
+	private static final int FLOAT = 4;
+	private static final int BOOLEAN = 5;
+
+	private static final int TYPE_HASH = JsonReader.hashName(MixinDescription.DISCRIMINATOR);
+
+	/**
+	 * Mutable property description.
+	 *
+	 * @param <T> mutable type
+	 */
+	public static final class Property<T> {
+		final String name;
+		final int hash;
+		final int[] aliases;
+		final Type type;
+		final Object defaultValue;
+		final Accessor<T> accessor;
+		final int kind;
+		final Object setter;
+		final boolean explicitReader;
+		JsonReader.ReadObject<?> reader;
+		JsonReader.BindObject binder;
+		boolean binderResolved;
+
+		/**
+		 * Property with reader and binder resolved from DslJson.
+		 *
+		 * @param name     JSON property name
+		 * @param type     property type (used for resolving reader and binder)
+		 * @param accessor property accessor
+		 */
+		public Property(final String name, final Type type, final Accessor<T> accessor) {
+			this(name, type, accessor, null);
+		}
+
+		/**
+		 * Full property description.
+		 *
+		 * @param name             JSON property name
+		 * @param type             property type (used for resolving reader and binder when explicit reader is not provided)
+		 * @param accessor         property accessor
+		 * @param reader           explicit reader. If null, reader will be resolved from DslJson.
+		 *                         Values read with explicit reader always replace current value
+		 * @param alternativeNames alternative names used during deserialization
+		 */
+		public Property(
+				final String name,
+				final Type type,
+				final Accessor<T> accessor,
+				final JsonReader.ReadObject<?> reader,
+				final String... alternativeNames) {
+			this(name, type, accessor, reader, OBJECT, accessor, alternativeNames);
+		}
+
+		/**
+		 * Primitive int property which is bound without boxing.
+		 *
+		 * @param name             JSON property name
+		 * @param setter           property setter
+		 * @param alternativeNames alternative names used during deserialization
+		 */
+		public Property(final String name, final IntSetter<T> setter, final String... alternativeNames) {
+			this(name, int.class, null, null, INT, setter, alternativeNames);
+		}
+
+		/**
+		 * Primitive long property which is bound without boxing.
+		 *
+		 * @param name             JSON property name
+		 * @param setter           property setter
+		 * @param alternativeNames alternative names used during deserialization
+		 */
+		public Property(final String name, final LongSetter<T> setter, final String... alternativeNames) {
+			this(name, long.class, null, null, LONG, setter, alternativeNames);
+		}
+
+		/**
+		 * Primitive double property which is bound without boxing.
+		 *
+		 * @param name             JSON property name
+		 * @param setter           property setter
+		 * @param alternativeNames alternative names used during deserialization
+		 */
+		public Property(final String name, final DoubleSetter<T> setter, final String... alternativeNames) {
+			this(name, double.class, null, null, DOUBLE, setter, alternativeNames);
+		}
+
+		/**
+		 * Primitive float property which is bound without boxing.
+		 *
+		 * @param name             JSON property name
+		 * @param setter           property setter
+		 * @param alternativeNames alternative names used during deserialization
+		 */
+		public Property(final String name, final FloatSetter<T> setter, final String... alternativeNames) {
+			this(name, float.class, null, null, FLOAT, setter, alternativeNames);
+		}
+
+		/**
+		 * Primitive boolean property which is bound without boxing.
+		 *
+		 * @param name             JSON property name
+		 * @param setter           property setter
+		 * @param alternativeNames alternative names used during deserialization
+		 */
+		public Property(final String name, final BooleanSetter<T> setter, final String... alternativeNames) {
+			this(name, boolean.class, null, null, BOOLEAN, setter, alternativeNames);
+		}
+
+		private Property(
+				final String name,
+				final Type type,
+				final Accessor<T> accessor,
+				final JsonReader.ReadObject<?> reader,
+				final int kind,
+				final Object setter,
+				final String[] alternativeNames) {
+			if (name == null || name.length() == 0) throw new IllegalArgumentException("name can't be null or empty");
+			if (type == null) throw new IllegalArgumentException("type can't be null");
+			if (setter == null) throw new IllegalArgumentException(kind == OBJECT ? "accessor can't be null" : "setter can't be null");
+			this.name = name;
+			this.hash = JsonReader.hashName(name);
+			this.aliases = new int[alternativeNames.length];
+			for (int i = 0; i < alternativeNames.length; i++) {
+				this.aliases[i] = JsonReader.hashName(alternativeNames[i]);
+			}
+			this.type = type;
+			this.defaultValue = ImmutableDescription.defaultValue(type);
+			this.accessor = accessor;
+			this.kind = kind;
+			this.setter = setter;
+			this.reader = reader;
+			this.explicitReader = reader != null;
+			this.binderResolved = reader != null;
+		}
+	}
+
+	private final Type manifest;
+	private final Creator<T> creator;
+	private final Property<T>[] properties;
+	private final int[] hashes;
+	private final int[] indexes;
+	private final boolean skipUnknown;
+	private DslJson json;
+
+	/**
+	 * Create bind description.
+	 *
+	 * @param manifest    mutable type
+	 * @param skipUnknown skip unknown properties or throw an error when they are detected
+	 * @param properties  bindable properties
+	 */
+	public BindDescription(
+			final Type manifest,
+			final boolean skipUnknown,
+			final Property<T>... properties) {
+		this(manifest, null, skipUnknown, properties);
+	}
+
+	/**
+	 * Create bind description which can also read new instances.
+	 *
+	 * @param manifest    mutable type
+	 * @param creator     creates new instance when description is used as a reader. If null, only binding is supported
+	 * @param skipUnknown skip unknown properties or throw an error when they are detected
+	 * @param properties  bindable properties
+	 */
+	public BindDescription(
+			final Type manifest,
+			final Creator<T> creator,
+			final boolean skipUnknown,
+			final Property<T>... properties) {
+		if (manifest == null) throw new IllegalArgumentException("manifest can't be null");
+		if (properties == null) throw new IllegalArgumentException("properties can't be null");
+		this.manifest = manifest;
+		this.creator = creator;
+		this.skipUnknown = skipUnknown;
+		this.properties = properties.clone();
+		int total = 0;
+		for (final Property<T> p : properties) {
+			if (p == null) throw new IllegalArgumentException("properties can't contain null");
+			total += 1 + p.aliases.length;
+		}
+		this.hashes = new int[total];
+		this.indexes = new int[total];
+		int pos = 0;
+		for (int i = 0; i < properties.length; i++) {
+			hashes[pos] = properties[i].hash;
+			indexes[pos++] = i;
+			for (int alias : properties[i].aliases) {
+				hashes[pos] = alias;
+				indexes[pos++] = i;
+			}
+		}
+		for (int i = 0; i < total; i++) {
+			for (int j = i + 1; j < total; j++) {
+				if (hashes[i] == hashes[j] && indexes[i] != indexes[j]) {
+					throw new IllegalArgumentException("Duplicate hash value detected for properties: '"
+							+ properties[indexes[i]].name + "' and '" + properties[indexes[j]].name + "' in " + manifest);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Bind description to DslJson instance.
+	 * Property readers and binders will be resolved from it on first usage.
+	 * Description can be bound only to a single DslJson instance,
+	 * so a new description (with new properties) should be created for each DslJson.
+	 *
+	 * @param json library instance
+	 */
+	@Override
+	public void configure(final DslJson json) {
+		if (json == null) throw new IllegalArgumentException("json can't be null");
+		synchronized (this) {
+			if (this.json != null && this.json != json) {
+				throw new IllegalArgumentException("Description for " + manifest + " is already configured with another DslJson instance. Create a new description for each DslJson");
+			}
+			this.json = json;
+		}
+	}
+
+	boolean canCreate() {
+		return creator != null;
+	}
+
+	@Override
+	public T read(final JsonReader reader) throws IOException {
+		if (reader.wasNull()) {
+			return null;
+		}
+		if (creator == null) {
+			throw new IOException("Unable to create an instance of " + manifest + ". Creator was not provided to the description");
+		}
+		return bind(reader, creator.create());
+	}
+
+	private int findIndex(final int hash) {
+		for (int i = 0; i < hashes.length; i++) {
+			if (hashes[i] == hash) {
+				return indexes[i];
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public T bind(final JsonReader reader, final T instance) throws IOException {
+		if (reader.last() != '{') {
+			throw reader.expecting("{");
+		}
+		byte nextToken = reader.getNextToken();
+		if (nextToken == '}') {
+			return instance;
+		}
+		final Projection projection = reader.projection;
+		final int[] projected = projection == null ? null : projection.hashesFor(manifest);
+		while (true) {
+			final int hash = reader.fillName();
+			nextToken = reader.getNextToken();
+			final int index = findIndex(hash);
+			if (index == -1) {
+				if (!skipUnknown && hash != TYPE_HASH) {
+					final String name = reader.getLastName();
+					throw new IOException("Unknown property detected: '" + name + "' at position " + reader.positionInStream(name.length() + 3));
+				}
+				nextToken = reader.skip();
+			} else if (projected != null && !Projection.includes(projected, properties[index].hash)) {
+				nextToken = reader.skip();
+			} else {
+				final Property<T> p = properties[index];
+				if (p.kind != OBJECT) {
+					bindPrimitive(p, reader, instance);
+				} else if (nextToken == 'n') {
+					if (!reader.wasNull()) {
+						throw reader.expecting("null");
+					}
+					p.accessor.set(instance, p.defaultValue);
+				} else {
+					bindValue(p, reader, instance);
+				}
+				nextToken = reader.getNextToken();
+			}
+			if (nextToken != ',') {
+				break;
+			}
+			reader.getNextToken();
+		}
+		if (nextToken != '}') {
+			throw reader.expecting("}");
+		}
+		return instance;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> void bindPrimitive(final Property<T> p, final JsonReader reader, final T instance) throws IOException {
+		final boolean isNull = reader.wasNull();
+		switch (p.kind) {
+			case INT:
+				((IntSetter<T>) p.setter).set(instance, isNull ? 0 : NumberConverter.deserializeInt(reader));
+				break;
+			case LONG:
+				((LongSetter<T>) p.setter).set(instance, isNull ? 0L : NumberConverter.deserializeLong(reader));
+				break;
+			case DOUBLE:
+				((DoubleSetter<T>) p.setter).set(instance, isNull ? 0.0 : NumberConverter.deserializeDouble(reader));
+				break;
+			case FLOAT:
+				((FloatSetter<T>) p.setter).set(instance, isNull ? 0f : NumberConverter.deserializeFloat(reader));
+				break;
+			default:
+				((BooleanSetter<T>) p.setter).set(instance, !isNull && BoolConverter.deserialize(reader));
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void bindValue(final Property<T> p, final JsonReader reader, final T instance) throws IOException {
+		final DslJson dslJson = bound();
+		final Object current = p.accessor.get(instance);
+		if (current != null) {
+			if (!p.binderResolved) {
+				p.binder = dslJson.tryFindBinder(p.type);
+				p.binderResolved = true;
+			}
+			final JsonReader.BindObject binder = p.binder;
+			if (binder != null) {
+				final Object result = binder.bind(reader, current);
+				if (result != current) {
+					p.accessor.set(instance, result);
+				}
+				return;
+			}
+		}
+		p.accessor.set(instance, readValue(dslJson, p, reader));
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object readValue(final DslJson dslJson, final Property<T> p, final JsonReader reader) throws IOException {
+		final JsonReader.ReadObject<?> propertyReader = p.reader;
+		if (p.explicitReader) {
+			return propertyReader.read(reader);
+		}
+		final JsonReader.ReadObject<?> projectedReader = reader.projection == null ? null : dslJson.projectedReader(p.type, reader);
+		if (projectedReader != null) {
+			return projectedReader.read(reader);
+		} else if (propertyReader != null) {
+			return propertyReader.read(reader);
+		}
+		final JsonReader.ReadObject<?> found = dslJson.tryFindReader(p.type);
+		if (found != null) {
+			p.reader = found;
+			return found.read(reader);
+		}
+		final Object result = dslJson.deserializeWith(p.type, reader);
+		if (result == null) {
+			throw new IOException("Unable to find reader for property '" + p.name + "' of type: " + p.type + " in " + manifest);
+		}
+		if (p.type instanceof ParameterizedType && result instanceof Collection) {
+			final Class<?> container = (Class<?>) ((ParameterizedType) p.type).getRawType();
+			if (!container.isInstance(result)) {
+				return ImmutableDescription.adaptCollection(container, (Collection<Object>) result);
+			}
+		}
+		return result;
+	}
+
+	private DslJson bound() throws IOException {
+		final DslJson dslJson = json;
+		if (dslJson == null) {
+			throw new IOException("Description for " + manifest + " was not configured. Call configure(DslJson) before using it");
+		}
+		return dslJson;
+	}
+}
@@ -0,0 +1,22 @@
+package com.dslplatform.json;
+
+/**
+ * String cache which can be consulted directly from the input bytes.
+ * When key or values cache implements this interface, JsonReader will look up
+ * strings without escapes directly from the input buffer, so cache hits don't pay for decoding into char[].
+ * <p>
+ * Provided hash is FNV-1a (32 bit) over the bytes, the same one used for property name matching,
+ * since it's calculated while scanning for the end of the string.
+ */
+public interface ByteStringCache {
+	/**
+	 * Look up string from its UTF-8 bytes.
+	 *
+	 * @param buffer input buffer
+	 * @param offset start of the string in the buffer
+	 * @param length number of bytes in the string
+	 * @param hash   precomputed FNV-1a hash of the bytes
+	 * @return String instance matching the bytes
+	 */
+	String get(byte[] buffer, int offset, int length, int hash);
+}
@@ -0,0 +1,41 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+
+/**
+ * Converter for string properties marked with {@literal @}JsonAttribute(cached = true).
+ * Values are deduplicated through a dedicated cache, separate from the values cache configured on DslJson.
+ * This way low cardinality properties (status, currency, country, ...) share instances,
+ * while high cardinality properties stay on the plain allocation path and don't evict them.
+ * <p>
+ * Cache is configured per DslJson instance through {@link DslJson.Settings#useCachedStringsCache(StringCache)}
+ * and shared by all cached properties and between threads.
+ * By default it holds up to 1024 strings of at most 64 characters.
+ */
+public abstract class CachedStringConverter {
+
+	public static final JsonReader.ReadObject<String> JSON_READER = new JsonReader.ReadObject<String>() {
+		@Override
+		public String read(JsonReader reader) throws IOException {
+			return deserializeNullable(reader);
+		}
+	};
+	public static final JsonWriter.WriteObject<String> JSON_WRITER = new JsonWriter.WriteObject<String>() {
+		@Override
+		public void write(JsonWriter writer, String value) {
+			StringConverter.serializeNullable(value, writer);
+		}
+	};
+
+	public static String deserialize(final JsonReader reader) throws IOException {
+		return reader.readCachedString();
+	}
+
+	public static String deserializeNullable(final JsonReader reader) throws IOException {
+		if (reader.last() == 'n') {
+			if (!reader.wasNull()) throw new IOException("Expecting 'null' at position " + reader.positionInStream() + ". Found " + (char) reader.last());
+			return null;
+		}
+		return reader.readCachedString();
+	}
+}
@@ -0,0 +1,131 @@
+package com.dslplatform.json;
+
+import java.util.*;
+
+/**
+ * Immutable map with string keys backed by arrays.
+ * Entries are kept in insertion order, while lookups are done through an open addressing table
+ * of indexes with linear probing.
+ * This avoids entry objects of LinkedHashMap, so small maps which are repeated across documents
+ * take only a fraction of the memory.
+ */
+final class CompactMap<V> extends AbstractMap<String, V> {
+
+	private final String[] keys;
+	private final Object[] values;
+	private final int[] table;
+	private final int mask;
+	private final int size;
+	private Set<Map.Entry<String, V>> entrySet;
+
+	/**
+	 * Takes ownership of the provided arrays.
+	 * Duplicate keys keep the position of the first occurrence and the value of the last one.
+	 *
+	 * @param keys   keys in insertion order
+	 * @param values values matching the keys
+	 * @param count  number of used elements in the arrays
+	 */
+	CompactMap(final String[] keys, final Object[] values, final int count) {
+		int capacity = 2;
+		while (capacity < count * 2) {
+			capacity *= 2;
+		}
+		this.keys = keys;
+		this.values = values;
+		this.table = new int[capacity];
+		this.mask = capacity - 1;
+		int size = 0;
+		for (int i = 0; i < count; i++) {
+			final String key = keys[i];
+			int slot = spread(key.hashCode()) & mask;
+			while (true) {
+				final int index = table[slot] - 1;
+				if (index == -1) {
+					keys[size] = key;
+					values[size] = values[i];
+					table[slot] = ++size;
+					break;
+				} else if (keys[index].equals(key)) {
+					values[index] = values[i];
+					break;
+				}
+				slot = (slot + 1) & mask;
+			}
+		}
+		for (int i = size; i < count; i++) {
+			keys[i] = null;
+			values[i] = null;
+		}
+		this.size = size;
+	}
+
+	private static int spread(final int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	private int indexOf(final Object key) {
+		if (!(key instanceof String)) return -1;
+		int slot = spread(key.hashCode()) & mask;
+		while (true) {
+			final int index = table[slot] - 1;
+			if (index == -1 || keys[index].equals(key)) return index;
+			slot = (slot + 1) & mask;
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean containsKey(final Object key) {
+		return indexOf(key) != -1;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public V get(final Object key) {
+		final int index = indexOf(key);
+		return index == -1 ? null : (V) values[index];
+	}
+
+	@Override
+	public Set<Map.Entry<String, V>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new AbstractSet<Map.Entry<String, V>>() {
+				@Override
+				public Iterator<Map.Entry<String, V>> iterator() {
+					return new Iterator<Map.Entry<String, V>>() {
+						private int index;
+
+						@Override
+						public boolean hasNext() {
+							return index < size;
+						}
+
+						@SuppressWarnings("unchecked")
+						@Override
+						public Map.Entry<String, V> next() {
+							if (index >= size) throw new NoSuchElementException();
+							final int i = index++;
+							return new AbstractMap.SimpleImmutableEntry<String, V>(keys[i], (V) values[i]);
+						}
+
+						@Override
+						public void remove() {
+							throw new UnsupportedOperationException();
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+		return entrySet;
+	}
+}
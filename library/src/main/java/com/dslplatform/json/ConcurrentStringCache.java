@@ -0,0 +1,196 @@
+package com.dslplatform.json;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Set associative string cache which can be shared between threads.
+ * <p>
+ * Unlike {@link DslJson.SimpleStringCache} which is direct mapped and evicts an entry on every collision,
+ * each hash maps to a set of 2 or 4 entries.
+ * Recency is approximated by transposition: a hit moves the entry one position toward the front of the set,
+ * while a miss inserts the new entry in the front and evicts the last one.
+ * This way frequently used strings survive collisions with one-off values.
+ * <p>
+ * Memory is bounded by the number of entries and the maximum length of the cached strings.
+ * Longer strings are not cached.
+ * <p>
+ * Entries are published through {@link AtomicReferenceArray}, so concurrent readers always see
+ * fully constructed strings. Concurrent updates of the same set can lose or duplicate an entry,
+ * which only affects the hit rate, never the returned value.
+ * <p>
+ * When statistics are enabled, hits, misses and evictions are counted,
+ * which can be used for sizing the cache.
+ */
+public final class ConcurrentStringCache implements StringCache, ByteStringCache {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private final int setMask;
+	private final int ways;
+	private final int maxLength;
+	private final AtomicReferenceArray<String> entries;
+	private final AtomicLong hits;
+	private final AtomicLong misses;
+	private final AtomicLong evictions;
+
+	/**
+	 * Will use 256 sets with 4 entries each, for strings up to 128 characters, without statistics.
+	 */
+	public ConcurrentStringCache() {
+		this(8, 4, 128, false);
+	}
+
+	/**
+	 * Create cache with 2^log2Sets sets.
+	 *
+	 * @param log2Sets   number of sets as power of 2
+	 * @param ways       number of entries in each set (2 or 4)
+	 * @param maxLength  longest string which will be cached
+	 * @param statistics track hits, misses and evictions
+	 */
+	public ConcurrentStringCache(int log2Sets, int ways, int maxLength, boolean statistics) {
+		if (log2Sets < 0 || log2Sets > 24) {
+			throw new IllegalArgumentException("log2Sets must be between 0 and 24");
+		}
+		if (ways != 2 && ways != 4) {
+			throw new IllegalArgumentException("ways must be 2 or 4");
+		}
+		if (maxLength < 0) {
+			throw new IllegalArgumentException("maxLength can't be negative");
+		}
+		this.setMask = (1 << log2Sets) - 1;
+		this.ways = ways;
+		this.maxLength = maxLength;
+		this.entries = new AtomicReferenceArray<String>((1 << log2Sets) * ways);
+		this.hits = statistics ? new AtomicLong() : null;
+		this.misses = statistics ? new AtomicLong() : null;
+		this.evictions = statistics ? new AtomicLong() : null;
+	}
+
+	/**
+	 * Total number of entries in the cache.
+	 *
+	 * @return sets * ways
+	 */
+	public int capacity() {
+		return entries.length();
+	}
+
+	/**
+	 * Number of lookups which returned a cached instance.
+	 * Always 0 when statistics are not tracked.
+	 *
+	 * @return cache hits
+	 */
+	public long hits() {
+		return hits == null ? 0 : hits.get();
+	}
+
+	/**
+	 * Number of lookups which created a new instance (including strings too long to be cached).
+	 * Always 0 when statistics are not tracked.
+	 *
+	 * @return cache misses
+	 */
+	public long misses() {
+		return misses == null ? 0 : misses.get();
+	}
+
+	/**
+	 * Number of entries which were pushed out of a full set.
+	 * Always 0 when statistics are not tracked.
+	 *
+	 * @return evicted entries
+	 */
+	public long evictions() {
+		return evictions == null ? 0 : evictions.get();
+	}
+
+	/**
+	 * Remove all entries and reset the statistics.
+	 */
+	public void clear() {
+		for (int i = 0; i < entries.length(); i++) {
+			entries.set(i, null);
+		}
+		if (hits != null) {
+			hits.set(0);
+			misses.set(0);
+			evictions.set(0);
+		}
+	}
+
+	@Override
+	public String get(char[] chars, int len) {
+		if (len > maxLength) {
+			if (misses != null) misses.incrementAndGet();
+			return new String(chars, 0, len);
+		}
+		long hash = 0x811c9dc5;
+		for (int i = 0; i < len; i++) {
+			hash ^= (byte) chars[i];
+			hash *= 0x1000193;
+		}
+		final int start = ((int) hash & setMask) * ways;
+		for (int w = 0; w < ways; w++) {
+			final String value = entries.get(start + w);
+			if (value == null) break;
+			if (matches(value, chars, len)) return hit(start, w, value);
+		}
+		return insert(start, new String(chars, 0, len));
+	}
+
+	@Override
+	public String get(byte[] buffer, int offset, int length, int hash) {
+		if (length > maxLength) {
+			if (misses != null) misses.incrementAndGet();
+			return new String(buffer, offset, length, UTF_8);
+		}
+		final int start = (hash & setMask) * ways;
+		for (int w = 0; w < ways; w++) {
+			final String value = entries.get(start + w);
+			if (value == null) break;
+			if (matches(value, buffer, offset, length)) return hit(start, w, value);
+		}
+		return insert(start, new String(buffer, offset, length, UTF_8));
+	}
+
+	private static boolean matches(final String value, final char[] chars, final int len) {
+		if (value.length() != len) return false;
+		for (int i = 0; i < len; i++) {
+			if (value.charAt(i) != chars[i]) return false;
+		}
+		return true;
+	}
+
+	private static boolean matches(final String value, final byte[] buffer, final int offset, final int length) {
+		if (value.length() != length) return false;
+		for (int i = 0; i < length; i++) {
+			if (value.charAt(i) != buffer[offset + i]) return false;
+		}
+		return true;
+	}
+
+	private String hit(final int start, final int way, final String value) {
+		if (way > 0) {
+			final String previous = entries.get(start + way - 1);
+			entries.lazySet(start + way - 1, value);
+			entries.lazySet(start + way, previous);
+		}
+		if (hits != null) hits.incrementAndGet();
+		return value;
+	}
+
+	private String insert(final int start, final String value) {
+		final int last = start + ways - 1;
+		if (evictions != null && entries.get(last) != null) evictions.incrementAndGet();
+		for (int i = last; i > start; i--) {
+			entries.lazySet(i, entries.get(i - 1));
+		}
+		entries.lazySet(start, value);
+		if (misses != null) misses.incrementAndGet();
+		return value;
+	}
+}
@@ -0,0 +1,129 @@
+package com.dslplatform.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * List of doubles backed by a double[].
+ * Values are stored without boxing, so large numeric arrays take a fraction of the memory of ArrayList&lt;Double&gt;.
+ * Primitive accessors ({@link #getDouble(int)}, {@link #addDouble(double)}) should be preferred,
+ * while List methods box values on access.
+ * <p>
+ * Null values are not supported.
+ */
+public final class DoubleList extends AbstractList<Double> implements RandomAccess {
+
+	private double[] values;
+	private int size;
+
+	public DoubleList() {
+		this(8);
+	}
+
+	public DoubleList(final int capacity) {
+		if (capacity < 0) throw new IllegalArgumentException("capacity can't be negative");
+		this.values = new double[capacity];
+	}
+
+	/**
+	 * Create list backed by the provided array.
+	 * Array will be used until list needs to grow.
+	 *
+	 * @param values initial values
+	 */
+	public DoubleList(final double[] values) {
+		if (values == null) throw new IllegalArgumentException("values can't be null");
+		this.values = values;
+		this.size = values.length;
+	}
+
+	private void checkIndex(final int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	private void ensureCapacity(final int capacity) {
+		if (capacity > values.length) {
+			values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1) + 4));
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	public double getDouble(final int index) {
+		checkIndex(index);
+		return values[index];
+	}
+
+	@Override
+	public Double get(final int index) {
+		return getDouble(index);
+	}
+
+	public double setDouble(final int index, final double value) {
+		checkIndex(index);
+		final double old = values[index];
+		values[index] = value;
+		return old;
+	}
+
+	@Override
+	public Double set(final int index, final Double value) {
+		return setDouble(index, value);
+	}
+
+	public void addDouble(final double value) {
+		ensureCapacity(size + 1);
+		values[size++] = value;
+		modCount++;
+	}
+
+	@Override
+	public boolean add(final Double value) {
+		addDouble(value);
+		return true;
+	}
+
+	@Override
+	public void add(final int index, final Double value) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		final double primitive = value;
+		ensureCapacity(size + 1);
+		System.arraycopy(values, index, values, index + 1, size - index);
+		values[index] = primitive;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public Double remove(final int index) {
+		checkIndex(index);
+		final double old = values[index];
+		System.arraycopy(values, index + 1, values, index, size - index - 1);
+		size--;
+		modCount++;
+		return old;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Copy values into a new array.
+	 *
+	 * @return array with list values
+	 */
+	public double[] toDoubleArray() {
+		return Arrays.copyOf(values, size);
+	}
+}
@@ -0,0 +1,187 @@
+package com.dslplatform.json;
+
+import java.math.BigInteger;
+
+/**
+ * Correctly rounded double parsing directly from the input bytes.
+ * Up to 19 significant digits are converted with the Clinger fast path when possible
+ * and with the Eisel-Lemire algorithm otherwise, which is exact for any such input.
+ * <p>
+ * Input which can't be resolved this way (more significant digits, unusual formatting, ...)
+ * is reported with NaN, so the caller can fall back to the JDK parser.
+ */
+final class DoubleParser {
+
+	private static final int MIN_EXPONENT = -342;
+	private static final int MAX_EXPONENT = 308;
+
+	private static final double[] FAST_POW_10 = {
+			1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+			1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	//128 bit approximations of powers of five, high and low word for each exponent in [MIN_EXPONENT, MAX_EXPONENT]
+	private static final long[] POW_5 = new long[2 * (MAX_EXPONENT - MIN_EXPONENT + 1)];
+
+	static {
+		final BigInteger mask = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+		for (int q = MIN_EXPONENT; q <= MAX_EXPONENT; q++) {
+			BigInteger value;
+			if (q < 0) {
+				final BigInteger pow = BigInteger.valueOf(5).pow(-q);
+				final int z = pow.subtract(BigInteger.ONE).bitLength();
+				final int b = q >= -27 ? z + 127 : 2 * z + 128;
+				value = BigInteger.ONE.shiftLeft(b).divide(pow).add(BigInteger.ONE);
+			} else {
+				value = BigInteger.valueOf(5).pow(q);
+			}
+			final int bits = value.bitLength();
+			value = bits > 128 ? value.shiftRight(bits - 128) : value.shiftLeft(128 - bits);
+			final int index = 2 * (q - MIN_EXPONENT);
+			POW_5[index] = value.shiftRight(64).longValue();
+			POW_5[index + 1] = value.and(mask).longValue();
+		}
+	}
+
+	private DoubleParser() {
+	}
+
+	/**
+	 * Parse unsigned number from buf[start, end).
+	 * Trailing whitespace is allowed.
+	 *
+	 * @param buf   input bytes
+	 * @param start first digit
+	 * @param end   end of number
+	 * @return parsed value or NaN when number should be processed by the generic parser
+	 */
+	static double parse(final byte[] buf, final int start, final int end) {
+		long significand = 0;
+		int digits = 0;
+		int exp10 = 0;
+		int i = start;
+		while (i < end) {
+			final int ind = buf[i] - '0';
+			if (ind < 0 || ind > 9) break;
+			if (digits < 19) {
+				significand = significand * 10 + ind;
+				if (significand != 0) digits++;
+			} else if (ind != 0) {
+				return Double.NaN;
+			} else {
+				exp10++;
+			}
+			i++;
+		}
+		if (i == start) return Double.NaN;
+		if (i < end && buf[i] == '.') {
+			final int decPos = ++i;
+			while (i < end) {
+				final int ind = buf[i] - '0';
+				if (ind < 0 || ind > 9) break;
+				if (digits < 19) {
+					significand = significand * 10 + ind;
+					if (significand != 0) digits++;
+					exp10--;
+				} else if (ind != 0) {
+					return Double.NaN;
+				}
+				i++;
+			}
+			if (i == decPos) return Double.NaN;
+		}
+		if (i < end && (buf[i] == 'e' || buf[i] == 'E')) {
+			i++;
+			boolean negative = false;
+			if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+				negative = buf[i] == '-';
+				i++;
+			}
+			final int expPos = i;
+			int exp = 0;
+			while (i < end) {
+				final int ind = buf[i] - '0';
+				if (ind < 0 || ind > 9) break;
+				if (exp < 100000) exp = exp * 10 + ind;
+				i++;
+			}
+			if (i == expPos) return Double.NaN;
+			exp10 += negative ? -exp : exp;
+		}
+		for (; i < end; i++) {
+			final byte ch = buf[i];
+			if (ch != ' ' && ch != '\t' && ch != '\n' && ch != '\r') return Double.NaN;
+		}
+		return toDouble(significand, exp10);
+	}
+
+	/**
+	 * Correctly rounded value of significand * 10^exp10.
+	 *
+	 * @param significand unsigned decimal significand, at most 19 digits
+	 * @param exp10       decimal exponent
+	 * @return closest double
+	 */
+	static double toDouble(final long significand, final int exp10) {
+		if (significand == 0 || exp10 < MIN_EXPONENT) return 0;
+		if (exp10 > MAX_EXPONENT) return Double.POSITIVE_INFINITY;
+		if (significand > 0 && significand <= (1L << 53) && exp10 >= -22 && exp10 <= 22) {
+			return exp10 < 0
+					? significand / FAST_POW_10[-exp10]
+					: significand * FAST_POW_10[exp10];
+		}
+		final int lz = Long.numberOfLeadingZeros(significand);
+		final long w = significand << lz;
+		final int index = 2 * (exp10 - MIN_EXPONENT);
+		long upper = multiplyHigh(w, POW_5[index]);
+		long lower = w * POW_5[index];
+		if ((upper & 0x1FF) == 0x1FF) {
+			final long secondUpper = multiplyHigh(w, POW_5[index + 1]);
+			final long sum = lower + secondUpper;
+			if (compareUnsigned(secondUpper, sum) > 0) upper++;
+			lower = sum;
+		}
+		final int upperBit = (int) (upper >>> 63);
+		long mantissa = upper >>> (upperBit + 9);
+		int power2 = (((152170 + 65536) * exp10) >> 16) + 63 + upperBit - lz + 1023;
+		if (power2 <= 0) {
+			if (-power2 + 1 >= 64) return 0;
+			mantissa >>>= -power2 + 1;
+			mantissa += mantissa & 1;
+			mantissa >>>= 1;
+			power2 = mantissa < (1L << 52) ? 0 : 1;
+			return Double.longBitsToDouble(((long) power2 << 52) | (mantissa & ((1L << 52) - 1)));
+		}
+		if (compareUnsigned(lower, 1) <= 0 && exp10 >= -4 && exp10 <= 23 && (mantissa & 3) == 1
+				&& (mantissa << (upperBit + 9)) == upper) {
+			mantissa &= ~1L;
+		}
+		mantissa += mantissa & 1;
+		mantissa >>>= 1;
+		if (mantissa >= (2L << 52)) {
+			mantissa = 1L << 52;
+			power2++;
+		}
+		if (power2 >= 0x7FF) return Double.POSITIVE_INFINITY;
+		return Double.longBitsToDouble(((long) power2 << 52) | (mantissa & ((1L << 52) - 1)));
+	}
+
+	private static int compareUnsigned(final long x, final long y) {
+		final long a = x + Long.MIN_VALUE;
+		final long b = y + Long.MIN_VALUE;
+		return a < b ? -1 : a == b ? 0 : 1;
+	}
+
+	private static long multiplyHigh(final long x, final long y) {
+		final long x0 = x & 0xFFFFFFFFL;
+		final long x1 = x >>> 32;
+		final long y0 = y & 0xFFFFFFFFL;
+		final long y1 = y >>> 32;
+		final long p00 = x0 * y0;
+		final long p01 = x0 * y1;
+		final long p10 = x1 * y0;
+		final long p11 = x1 * y1;
+		final long middle = (p00 >>> 32) + (p10 & 0xFFFFFFFFL) + p01;
+		return p11 + (p10 >>> 32) + (middle >>> 32);
+	}
+}
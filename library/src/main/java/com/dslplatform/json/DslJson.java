@@ -78,6 +78,7 @@ public class DslJson<TContext> implements UnknownSerializer {
 	public final boolean omitDefaults;
 	protected final StringCache keyCache;
 	protected final StringCache valuesCache;
+	protected final StringCache cachedStringsCache;
 	protected final List<ConverterFactory<JsonWriter.WriteObject>> writerFactories = new ArrayList<ConverterFactory<JsonWriter.WriteObject>>();
 	protected final List<ConverterFactory<JsonReader.ReadObject>> readerFactories = new ArrayList<ConverterFactory<JsonReader.ReadObject>>();
 	protected final List<ConverterFactory<JsonReader.BindObject>> binderFactories = new ArrayList<ConverterFactory<JsonReader.BindObject>>();
@@ -85,6 +86,9 @@ public class DslJson<TContext> implements UnknownSerializer {
 	private final JsonReader.UnknownNumberParsing unknownNumbers;
 	private final int maxNumberDigits;
 	private final int maxStringSize;
+	private final int maxDepth;
+	private final boolean compactMaps;
+	private final JsonWriter.EscapePolicy escapePolicy;
 	private final ThreadLocal<JsonWriter> localWriter;
 	private final ThreadLocal<JsonReader> localReader;
 
@@ -114,11 +118,16 @@ public class DslJson<TContext> implements UnknownSerializer {
 		private boolean omitDefaults;
 		private StringCache keyCache = new SimpleStringCache();
 		private StringCache valuesCache;
+		private StringCache cachedStringsCache;
 		private boolean withServiceLoader;
 		private JsonReader.DoublePrecision doublePrecision = JsonReader.DoublePrecision.DEFAULT;
 		private JsonReader.UnknownNumberParsing unknownNumbers = JsonReader.UnknownNumberParsing.LONG_AND_BIGDECIMAL;
 		private int maxNumberDigits = 512;
 		private int maxStringSize = 128 * 1024 * 1024;
+		private int maxDepth = 1024;
+		private boolean compactMaps;
+		private boolean compactObjects;
+		private JsonWriter.EscapePolicy escapePolicy = JsonWriter.EscapePolicy.MINIMAL;
 		private final List<Configuration> configurations = new ArrayList<Configuration>();
 		private final List<ConverterFactory<JsonWriter.WriteObject>> writerFactories = new ArrayList<ConverterFactory<JsonWriter.WriteObject>>();
 		private final List<ConverterFactory<JsonReader.ReadObject>> readerFactories = new ArrayList<ConverterFactory<JsonReader.ReadObject>>();
@@ -179,6 +188,7 @@ public class DslJson<TContext> implements UnknownSerializer {
 		 * to avoid allocating new String key instance. Instead StringCache will provide a new or an old instance.
 		 * This improves memory usage and performance since there is usually small number of keys.
 		 * It does have some performance overhead, but this is dependant on the implementation.
+		 * If cache also implements {@link ByteStringCache}, keys without escapes are looked up directly from the input bytes.
 		 * <p>
 		 * To disable key cache, provide null for it.
 		 *
@@ -199,6 +209,7 @@ public class DslJson<TContext> implements UnknownSerializer {
 		 * <p>
 		 * Not every "JSON string" will use this cache... eg UUID, LocalDate don't create an instance of string
 		 * and therefore don't use this cache.
+		 * If cache also implements {@link ByteStringCache}, values without escapes are looked up directly from the input bytes.
 		 *
 		 * @param valuesCache which values cache to use
 		 * @return itself
@@ -208,6 +219,25 @@ public class DslJson<TContext> implements UnknownSerializer {
 			return this;
 		}
 
+		/**
+		 * Cache for string properties marked with {@literal @}JsonAttribute(cached = true).
+		 * It's separate from the values cache, so low cardinality properties can share instances
+		 * without being evicted by other string values.
+		 * <p>
+		 * By default each DslJson instance creates its own {@link ConcurrentStringCache}
+		 * which holds up to 1024 strings of at most 64 characters.
+		 * Provide a cache with a different size when properties have larger cardinality or longer values.
+		 * If cache also implements {@link ByteStringCache}, values without escapes are looked up directly from the input bytes.
+		 *
+		 * @param cachedStringsCache which cache to use for cached string properties
+		 * @return itself
+		 */
+		public Settings<TContext> useCachedStringsCache(StringCache cachedStringsCache) {
+			if (cachedStringsCache == null) throw new IllegalArgumentException("cachedStringsCache can't be null");
+			this.cachedStringsCache = cachedStringsCache;
+			return this;
+		}
+
 		/**
 		 * DslJson will iterate over converter factories when requested type is unknown.
 		 * Registering writer converter factory allows for constructing JSON converter lazily.
@@ -322,6 +352,70 @@ public class DslJson<TContext> implements UnknownSerializer {
 			return this;
 		}
 
+		/**
+		 * Specify maximum allowed nesting of objects and arrays while skipping over unknown content. Default is 1024.
+		 * Skipping is done without recursion, so this limit protects against malicious inputs
+		 * without the risk of stack overflow.
+		 *
+		 * @param depth maximum nesting depth
+		 * @return itself
+		 */
+		public Settings<TContext> limitDepth(int depth) {
+			if (depth < 1) throw new IllegalArgumentException("depth can't be smaller than 1");
+			this.maxDepth = depth;
+			return this;
+		}
+
+		/**
+		 * Deserialize Map&lt;String, String&gt; into compact immutable map instead of LinkedHashMap.
+		 * Compact map uses open addressing over arrays which reduces allocation and memory usage
+		 * for documents with many small maps. Iteration order is preserved.
+		 * Resulting maps can't be modified.
+		 *
+		 * @param compactMaps use compact immutable maps
+		 * @return itself
+		 */
+		public Settings<TContext> useCompactMaps(boolean compactMaps) {
+			this.compactMaps = compactMaps;
+			return this;
+		}
+
+		/**
+		 * Deserialize unknown JSON (Object, Map and List) into compact generic model.
+		 * Objects will be deserialized into immutable array based maps,
+		 * while numeric arrays will be deserialized into {@link LongList} or {@link DoubleList}.
+		 * This reduces memory usage for schemaless numeric data, such as metrics.
+		 * LinkedHashMap and HashMap will still be deserialized into those types.
+		 * <p>
+		 * {@link DoubleList} is used only when decimals are parsed as doubles,
+		 * so combine this with {@link #unknownNumbers(JsonReader.UnknownNumberParsing)} set to
+		 * LONG_AND_DOUBLE or DOUBLE. With the default LONG_AND_BIGDECIMAL
+		 * arrays with decimals are deserialized into ArrayList of BigDecimal values.
+		 *
+		 * @param compactObjects use compact generic model
+		 * @return itself
+		 * @see ObjectConverter#deserializeCompactObject(JsonReader)
+		 */
+		public Settings<TContext> useCompactObjects(boolean compactObjects) {
+			this.compactObjects = compactObjects;
+			return this;
+		}
+
+		/**
+		 * Specify how strings are escaped during serialization.
+		 * By default only characters required by JSON are escaped and everything else is written as UTF-8.
+		 * ASCII policy escapes all non-ASCII characters, while HTML policy additionally escapes
+		 * characters which are unsafe when JSON is embedded into HTML.
+		 *
+		 * @param policy string escaping policy
+		 * @return itself
+		 */
+		public Settings<TContext> escapePolicy(JsonWriter.EscapePolicy policy) {
+			if (policy == null) throw new IllegalArgumentException("policy can't be null");
+			this.escapePolicy = policy;
+			return this;
+		}
+
 		/**
 		 * Configure DslJson with custom Configuration during startup.
 		 * Configurations are extension points for setting up readers/writers during DslJson initialization.
@@ -398,13 +492,13 @@ public class DslJson<TContext> implements UnknownSerializer {
 		this.localWriter = new ThreadLocal<JsonWriter>() {
 			@Override
 			protected JsonWriter initialValue() {
-				return new JsonWriter(4096, self);
+				return new JsonWriter(new byte[4096], self, self.escapePolicy);
 			}
 		};
 		this.localReader = new ThreadLocal<JsonReader>() {
 			@Override
 			protected JsonReader initialValue() {
-				return new JsonReader<TContext>(new byte[4096], 4096, self.context, new char[64], self.keyCache, self.valuesCache, self.readers, self.binders, self.doublePrecision, self.unknownNumbers, self.maxNumberDigits, self.maxStringSize);
+				return new JsonReader<TContext>(new byte[4096], 4096, self.context, new char[64], self.keyCache, self.valuesCache, self.cachedStringsCache, self.readers, self.binders, self.doublePrecision, self.unknownNumbers, self.maxNumberDigits, self.maxStringSize, self.maxDepth, self.compactMaps);
 			}
 		};
 		this.context = settings.context;
@@ -412,10 +506,16 @@ public class DslJson<TContext> implements UnknownSerializer {
 		this.omitDefaults = settings.omitDefaults;
 		this.keyCache = settings.keyCache;
 		this.valuesCache = settings.valuesCache;
+		this.cachedStringsCache = settings.cachedStringsCache != null
+				? settings.cachedStringsCache
+				: new ConcurrentStringCache(8, 4, 64, false);
 		this.unknownNumbers = settings.unknownNumbers;
 		this.doublePrecision = settings.doublePrecision;
 		this.maxNumberDigits = settings.maxNumberDigits;
 		this.maxStringSize = settings.maxStringSize;
+		this.maxDepth = settings.maxDepth;
+		this.compactMaps = settings.compactMaps;
+		this.escapePolicy = settings.escapePolicy;
 		this.writerFactories.addAll(settings.writerFactories);
 		this.readerFactories.addAll(settings.readerFactories);
 		this.binderFactories.addAll(settings.binderFactories);
@@ -431,6 +531,14 @@ public class DslJson<TContext> implements UnknownSerializer {
 		registerReader(LinkedHashMap.class, ObjectConverter.MapReader);
 		registerReader(HashMap.class, ObjectConverter.MapReader);
 		registerReader(Map.class, ObjectConverter.MapReader);
+		if (settings.compactObjects) {
+			registerReader(Object.class, ObjectConverter.CompactObjectReader);
+			registerReader(Map.class, ObjectConverter.CompactMapReader);
+			registerReader(List.class, ObjectConverter.CompactListReader);
+		}
+		registerBinder(LinkedHashMap.class, ObjectConverter.MapBinder);
+		registerBinder(HashMap.class, ObjectConverter.MapBinder);
+		registerBinder(Map.class, ObjectConverter.MapBinder);
 		registerWriter(Map.class, new JsonWriter.WriteObject<Map>() {
 			@Override
 			public void write(JsonWriter writer, Map value) {
@@ -472,6 +580,14 @@ public class DslJson<TContext> implements UnknownSerializer {
 		registerReader(UUID.class, UUIDConverter.Reader);
 		registerWriter(UUID.class, UUIDConverter.Writer);
 		registerReader(Number.class, NumberConverter.NumberReader);
+		registerReader(IntList.class, NumberConverter.IntListReader);
+		registerWriter(IntList.class, NumberConverter.IntListWriter);
+		registerReader(LongList.class, NumberConverter.LongListReader);
+		registerWriter(LongList.class, NumberConverter.LongListWriter);
+		registerReader(DoubleList.class, NumberConverter.DoubleListReader);
+		registerWriter(DoubleList.class, NumberConverter.DoubleListWriter);
+		registerReader(RawJson.class, RawJsonConverter.JSON_READER);
+		registerWriter(RawJson.class, RawJsonConverter.JSON_WRITER);
 
 		for (Configuration serializer : settings.configurations) {
 			serializer.configure(this);
@@ -488,7 +604,9 @@ public class DslJson<TContext> implements UnknownSerializer {
 	 * It uses a fixed String[] structure in which it caches string value based on it's hash.
 	 * Eg, hash &amp; mask provide index into the structure. Different string with same hash will overwrite the previous one.
 	 */
-	public static class SimpleStringCache implements StringCache {
+	public static class SimpleStringCache implements StringCache, ByteStringCache {
+
+		private static final Charset UTF_8 = Charset.forName("UTF-8");
 
 		private final int mask;
 		private final String[] cache;
@@ -540,6 +658,33 @@ public class DslJson<TContext> implements UnknownSerializer {
 			cache[index] = value;
 			return value;
 		}
+
+		/**
+		 * Looks up the string with already calculated hash.
+		 * For ascii strings hash is the same as for the char[] lookup, so both lookups share the same entries.
+		 *
+		 * @param buffer input bytes
+		 * @param offset start of the string
+		 * @param length number of bytes
+		 * @param hash   FNV-1a hash of the bytes
+		 * @return String instance matching the bytes
+		 */
+		@Override
+		public String get(byte[] buffer, int offset, int length, int hash) {
+			final int index = hash & mask;
+			final String value = cache[index];
+			if (value == null || value.length() != length) return createAndPut(index, buffer, offset, length);
+			for (int i = 0; i < length; i++) {
+				if (value.charAt(i) != buffer[offset + i]) return createAndPut(index, buffer, offset, length);
+			}
+			return value;
+		}
+
+		private String createAndPut(int index, byte[] buffer, int offset, int length) {
+			String value = new String(buffer, offset, length, UTF_8);
+			cache[index] = value;
+			return value;
+		}
 	}
 
 	/**
@@ -551,7 +696,7 @@ public class DslJson<TContext> implements UnknownSerializer {
 	 * @return bound writer
 	 */
 	public JsonWriter newWriter() {
-		return new JsonWriter(this);
+		return new JsonWriter(new byte[512], this, escapePolicy);
 	}
 
 	/**
@@ -564,7 +709,7 @@ public class DslJson<TContext> implements UnknownSerializer {
 	 * @return bound writer
 	 */
 	public JsonWriter newWriter(int size) {
-		return new JsonWriter(size, this);
+		return new JsonWriter(new byte[size], this, escapePolicy);
 	}
 
 	/**
@@ -578,7 +723,7 @@ public class DslJson<TContext> implements UnknownSerializer {
 	 */
 	public JsonWriter newWriter(byte[] buffer) {
 		if (buffer == null) throw new IllegalArgumentException("null value provided for buffer");
-		return new JsonWriter(buffer, this);
+		return new JsonWriter(buffer, this, escapePolicy);
 	}
 
 	/**
@@ -589,7 +734,7 @@ public class DslJson<TContext> implements UnknownSerializer {
 	 * @return bound reader
 	 */
 	public JsonReader<TContext> newReader() {
-		return new JsonReader<TContext>(new byte[4096], 4096, context, new char[64], keyCache, valuesCache, readers, binders, doublePrecision, unknownNumbers, maxNumberDigits, maxStringSize);
+		return new JsonReader<TContext>(new byte[4096], 4096, context, new char[64], keyCache, valuesCache, cachedStringsCache, readers, binders, doublePrecision, unknownNumbers, maxNumberDigits, maxStringSize, maxDepth, compactMaps);
 	}
 
 	/**
@@ -601,7 +746,7 @@ public class DslJson<TContext> implements UnknownSerializer {
 	 * @return bound reader
 	 */
 	public JsonReader<TContext> newReader(byte[] bytes) {
-		return new JsonReader<TContext>(bytes, bytes.length, context, new char[64], keyCache, valuesCache, readers, binders, doublePrecision, unknownNumbers, maxNumberDigits, maxStringSize);
+		return new JsonReader<TContext>(bytes, bytes.length, context, new char[64], keyCache, valuesCache, cachedStringsCache, readers, binders, doublePrecision, unknownNumbers, maxNumberDigits, maxStringSize, maxDepth, compactMaps);
 	}
 
 	/**
@@ -614,7 +759,7 @@ public class DslJson<TContext> implements UnknownSerializer {
 	 * @return bound reader
 	 */
 	public JsonReader<TContext> newReader(byte[] bytes, int length) {
-		return new JsonReader<TContext>(bytes, length, context, new char[64], keyCache, valuesCache, readers, binders, doublePrecision, unknownNumbers, maxNumberDigits, maxStringSize);
+		return new JsonReader<TContext>(bytes, length, context, new char[64], keyCache, valuesCache, cachedStringsCache, readers, binders, doublePrecision, unknownNumbers, maxNumberDigits, maxStringSize, maxDepth, compactMaps);
 	}
 
 
@@ -630,7 +775,7 @@ public class DslJson<TContext> implements UnknownSerializer {
 	 * @return bound reader
 	 */
 	public JsonReader<TContext> newReader(byte[] bytes, int length, char[] tmp) {
-		return new JsonReader<TContext>(bytes, length, context, tmp, keyCache, valuesCache, readers, binders, doublePrecision, unknownNumbers, maxNumberDigits, maxStringSize);
+		return new JsonReader<TContext>(bytes, length, context, tmp, keyCache, valuesCache, cachedStringsCache, readers, binders, doublePrecision, unknownNumbers, maxNumberDigits, maxStringSize, maxDepth, compactMaps);
 	}
 
 	/**
@@ -662,7 +807,7 @@ public class DslJson<TContext> implements UnknownSerializer {
 	@Deprecated
 	public JsonReader<TContext> newReader(String input) {
 		final byte[] bytes = input.getBytes(UTF8);
-		return new JsonReader<TContext>(bytes, bytes.length, context, new char[64], keyCache, valuesCache, readers, binders, doublePrecision, unknownNumbers, maxNumberDigits, maxStringSize);
+		return new JsonReader<TContext>(bytes, bytes.length, context, new char[64], keyCache, valuesCache, cachedStringsCache, readers, binders, doublePrecision, unknownNumbers, maxNumberDigits, maxStringSize, maxDepth, compactMaps);
 	}
 
 	private static void loadDefaultConverters(final DslJson json, final String name) {
@@ -759,6 +904,19 @@ public class DslJson<TContext> implements UnknownSerializer {
 		readers.put(manifest, reader);
 	}
 
+	/**
+	 * Register custom binder for specific type (JSON -&gt; instance conversion).
+	 * Binder is used for conversion from input byte[] -&gt; existing target object instance.
+	 * <p>
+	 * If null is registered for a binder this will disable binding of specified type
+	 *
+	 * @param manifest specified type
+	 * @param binder   provide custom implementation for binding JSON to an object instance
+	 */
+	public void registerBinder(final Type manifest, final JsonReader.BindObject<?> binder) {
+		binders.put(manifest, binder);
+	}
+
 	private final HashMap<Type, JsonWriter.WriteObject<?>> jsonWriters = new HashMap<Type, JsonWriter.WriteObject<?>>();
 
 	/**
@@ -795,7 +953,80 @@ public class DslJson<TContext> implements UnknownSerializer {
 		jsonWriters.put(manifest, writer);
 	}
 
+	private final HashMap<Class<?>, JsonWriter.SizeEstimator<?>> estimators = new HashMap<Class<?>, JsonWriter.SizeEstimator<?>>();
+
+	/**
+	 * Register size estimator for specific type.
+	 * Estimator is used to reserve buffer capacity when instance of that type is serialized
+	 * and it takes precedence over the writer (if it implements `JsonWriter.SizeEstimator`).
+	 * <p>
+	 * Types registered through @CompiledJson annotation should be registered automatically through
+	 * ServiceLoader.load method and you should not be registering them manually.
+	 * <p>
+	 * If null is registered for an estimator, estimate will be provided by the writer if possible
+	 *
+	 * @param manifest  specified type
+	 * @param estimator provide custom implementation for estimating JSON size of an object instance
+	 * @param <T>       type
+	 */
+	public <T> void registerEstimator(final Class<T> manifest, final JsonWriter.SizeEstimator<T> estimator) {
+		estimators.put(manifest, estimator);
+		sizeStats.remove(manifest);
+	}
+
 	private final ConcurrentMap<Class<?>, Class<?>> writerMap = new ConcurrentHashMap<Class<?>, Class<?>>();
+	private final ConcurrentMap<Class<?>, SizeStats> sizeStats = new ConcurrentHashMap<Class<?>, SizeStats>();
+
+	/**
+	 * Running average of the JSON size for a specific type.
+	 * Estimator is consulted only until the average is established and then on every
+	 * {@code SAMPLE_RATE}th call, so estimation doesn't walk the object graph on every serialization.
+	 * Updates are not synchronized since it's only a hint for buffer sizing.
+	 */
+	private static final class SizeStats {
+		private static final int SAMPLE_RATE = 16;
+
+		final JsonWriter.SizeEstimator<Object> estimator;
+		int average;
+		int calls;
+
+		SizeStats(final JsonWriter.SizeEstimator<Object> estimator) {
+			this.estimator = estimator;
+		}
+
+		int expected(final Object value) {
+			final int avg = average;
+			if (estimator == null || avg != 0 && (++calls & (SAMPLE_RATE - 1)) != 0) {
+				return avg;
+			}
+			final int estimate = estimator.estimateSize(value);
+			return estimate > avg ? estimate : avg;
+		}
+
+		void record(final int size) {
+			final int avg = average;
+			average = avg == 0 ? size : avg + ((size - avg) >> 3);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private SizeStats sizeStats(final Class<?> manifest) {
+		SizeStats stats = sizeStats.get(manifest);
+		if (stats == null) {
+			final JsonWriter.SizeEstimator<?> estimator = estimators.get(manifest);
+			final JsonWriter.WriteObject<?> writer = estimator == null ? tryFindWriter(manifest) : null;
+			stats = new SizeStats(estimator != null
+					? (JsonWriter.SizeEstimator<Object>) estimator
+					: writer instanceof JsonWriter.SizeEstimator
+					? (JsonWriter.SizeEstimator<Object>) writer
+					: null);
+			final SizeStats previous = sizeStats.putIfAbsent(manifest, stats);
+			if (previous != null) {
+				stats = previous;
+			}
+		}
+		return stats;
+	}
 
 	/**
 	 * Try to find registered writer for provided type.
@@ -885,6 +1116,143 @@ public class DslJson<TContext> implements UnknownSerializer {
 		return (JsonReader.ReadObject<T>) tryFindReader((Type) manifest);
 	}
 
+	/**
+	 * Try to find registered binder for provided type.
+	 * If binder is not found, null will be returned.
+	 * Exact match must be found, type hierarchy will not be scanned for alternative binder.
+	 * <p>
+	 * Binders for collections such as {@code List<T>} will be created when binder or reader
+	 * for the element type can be found. Such binder will reuse existing list elements
+	 * by binding into them, which avoids allocation of new instances for pooled objects.
+	 *
+	 * @param manifest specified type
+	 * @return found binder for specified type
+	 */
+	public JsonReader.BindObject<?> tryFindBinder(final Type manifest) {
+		JsonReader.BindObject found = binders.get(manifest);
+		if (found != null) return found;
+		for (ConverterFactory<JsonReader.BindObject> bnd : binderFactories) {
+			found = bnd.tryCreate(manifest, this);
+			if (found != null) {
+				binders.put(manifest, found);
+				return found;
+			}
+		}
+		if (manifest instanceof ParameterizedType) {
+			final ParameterizedType pt = (ParameterizedType) manifest;
+			if (pt.getActualTypeArguments().length == 1
+					&& pt.getRawType() instanceof Class<?>
+					&& Collection.class.isAssignableFrom((Class<?>) pt.getRawType())) {
+				final Type content = pt.getActualTypeArguments()[0];
+				final JsonReader.ReadObject<?> contentReader = tryFindContentReader(content);
+				if (contentReader != null) {
+					found = new CollectionBinder(tryFindBinder(content), contentReader);
+					binders.put(manifest, found);
+					return found;
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Try to find registered binder for provided type.
+	 * If binder is not found, null will be returned.
+	 * Exact match must be found, type hierarchy will not be scanned for alternative binder.
+	 *
+	 * @param manifest specified class
+	 * @param <T> specified type
+	 * @return found binder for specified class
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> JsonReader.BindObject<T> tryFindBinder(final Class<T> manifest) {
+		return (JsonReader.BindObject<T>) tryFindBinder((Type) manifest);
+	}
+
+	private JsonReader.ReadObject<?> tryFindContentReader(final Type content) {
+		final JsonReader.ReadObject<?> contentReader = tryFindReader(content);
+		if (contentReader != null) {
+			return contentReader;
+		}
+		if (content instanceof Class<?> && JsonObject.class.isAssignableFrom((Class<?>) content)) {
+			final JsonReader.ReadJsonObject<JsonObject> objectReader = getObjectReader((Class<?>) content);
+			if (objectReader != null) {
+				return new JsonReader.ReadObject<JsonObject>() {
+					@Override
+					public JsonObject read(final JsonReader reader) throws IOException {
+						if (reader.last() != '{') {
+							throw reader.expecting("{");
+						}
+						reader.getNextToken();
+						return objectReader.deserialize(reader);
+					}
+				};
+			}
+		}
+		return null;
+	}
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	private static final class CollectionBinder implements JsonReader.BindObject<Collection> {
+		private final JsonReader.BindObject elementBinder;
+		private final JsonReader.ReadObject elementReader;
+
+		CollectionBinder(final JsonReader.BindObject elementBinder, final JsonReader.ReadObject elementReader) {
+			this.elementBinder = elementBinder;
+			this.elementReader = elementReader;
+		}
+
+		@Override
+		public Collection bind(final JsonReader reader, final Collection instance) throws IOException {
+			if (reader.last() != '[') {
+				throw reader.expecting("[");
+			}
+			if (!(instance instanceof List) || !(instance instanceof RandomAccess)) {
+				instance.clear();
+				if (reader.getNextToken() == ']') {
+					return instance;
+				}
+				reader.deserializeNullableCollection(elementReader, instance);
+				return instance;
+			}
+			final List list = (List) instance;
+			final int size = list.size();
+			int count = 0;
+			byte nextToken = reader.getNextToken();
+			if (nextToken != ']') {
+				bindElement(reader, list, size, count++);
+				while ((nextToken = reader.getNextToken()) == ',') {
+					reader.getNextToken();
+					bindElement(reader, list, size, count++);
+				}
+				if (nextToken != ']') {
+					throw reader.expecting("]", nextToken);
+				}
+			}
+			if (count < size) {
+				list.subList(count, size).clear();
+			}
+			return list;
+		}
+
+		private void bindElement(final JsonReader reader, final List list, final int size, final int index) throws IOException {
+			final Object value;
+			if (reader.wasNull()) {
+				value = null;
+			} else {
+				final Object existing = index < size ? list.get(index) : null;
+				value = existing != null && elementBinder != null
+						? elementBinder.bind(reader, existing)
+						: elementReader.read(reader);
+			}
+			if (index < size) {
+				list.set(index, value);
+			} else {
+				list.add(value);
+			}
+		}
+	}
+
 	private static void findAllSignatures(final Class<?> manifest, final ArrayList<Class<?>> found) {
 		if (found.contains(manifest)) {
 			return;
@@ -1193,7 +1561,8 @@ public class DslJson<TContext> implements UnknownSerializer {
 				} else throw json.expecting("{");
 			}
 		}
-		final JsonReader.ReadObject<?> simpleReader = tryFindReader(manifest);
+		final JsonReader.ReadObject<?> projectedReader = json.projection == null ? null : projectedReader(manifest, json);
+		final JsonReader.ReadObject<?> simpleReader = projectedReader != null ? projectedReader : tryFindReader(manifest);
 		if (simpleReader != null) {
 			return (TResult) simpleReader.read(json);
 		}
@@ -1259,8 +1628,245 @@ public class DslJson<TContext> implements UnknownSerializer {
 				"Try initializing DslJson with custom fallback in case of unsupported objects or register specified type using registerReader into " + getClass());
 	}
 
+	/**
+	 * Binding API for working with bytes.
+	 * Deserialize provided byte input into an existing instance.
+	 * Registered binder will be used for populating the instance,
+	 * which allows for reuse of pooled instances without allocating a new object graph.
+	 * <p>
+	 * If JSON is null, null will be returned and instance will not be modified.
+	 *
+	 * @param manifest  target type
+	 * @param body      input JSON
+	 * @param size      length
+	 * @param instance  instance to bind
+	 * @param <TResult> target type
+	 * @return bound instance
+	 * @throws IOException error during deserialization
+	 */
+	@SuppressWarnings("unchecked")
+	public <TResult> TResult deserialize(
+			final Class<TResult> manifest,
+			final byte[] body,
+			final int size,
+			final TResult instance) throws IOException {
+		return (TResult) deserialize((Type) manifest, body, size, instance);
+	}
+
+	/**
+	 * Binding API for working with bytes.
+	 * Deserialize provided byte input into an existing instance.
+	 * Registered binder will be used for populating the instance,
+	 * which allows for reuse of pooled instances without allocating a new object graph.
+	 * <p>
+	 * If JSON is null, null will be returned and instance will not be modified.
+	 *
+	 * @param manifest target type
+	 * @param body     input JSON
+	 * @param size     length
+	 * @param instance instance to bind
+	 * @return bound instance
+	 * @throws IOException error during deserialization
+	 */
+	public Object deserialize(
+			final Type manifest,
+			final byte[] body,
+			final int size,
+			final Object instance) throws IOException {
+		if (manifest == null) {
+			throw new IllegalArgumentException("manifest can't be null");
+		}
+		if (body == null) {
+			throw new IllegalArgumentException("body can't be null");
+		}
+		if (instance == null) {
+			throw new IllegalArgumentException("instance can't be null");
+		}
+		final JsonReader json = localReader.get().process(body, size);
+		return bind(manifest, json, instance);
+	}
+
+	/**
+	 * Binding API for working with streams.
+	 * Deserialize provided stream input into an existing instance.
+	 * Use buffer for internal conversion from stream into byte[] for partial processing.
+	 * <p>
+	 * If JSON is null, null will be returned and instance will not be modified.
+	 *
+	 * @param manifest  target type
+	 * @param stream    input JSON
+	 * @param buffer    buffer used for InputStream -&gt; byte[] conversion
+	 * @param instance  instance to bind
+	 * @param <TResult> target type
+	 * @return bound instance
+	 * @throws IOException error during deserialization
+	 */
+	@SuppressWarnings("unchecked")
+	public <TResult> TResult deserialize(
+			final Class<TResult> manifest,
+			final InputStream stream,
+			final byte[] buffer,
+			final TResult instance) throws IOException {
+		return (TResult) deserialize((Type) manifest, stream, buffer, instance);
+	}
+
+	/**
+	 * Binding API for working with streams.
+	 * Deserialize provided stream input into an existing instance.
+	 * Use buffer for internal conversion from stream into byte[] for partial processing.
+	 * <p>
+	 * If JSON is null, null will be returned and instance will not be modified.
+	 *
+	 * @param manifest target type
+	 * @param stream   input JSON
+	 * @param buffer   buffer used for InputStream -&gt; byte[] conversion
+	 * @param instance instance to bind
+	 * @return bound instance
+	 * @throws IOException error during deserialization
+	 */
+	public Object deserialize(
+			final Type manifest,
+			final InputStream stream,
+			final byte[] buffer,
+			final Object instance) throws IOException {
+		if (manifest == null) {
+			throw new IllegalArgumentException("manifest can't be null");
+		}
+		if (stream == null) {
+			throw new IllegalArgumentException("stream can't be null");
+		}
+		if (buffer == null) {
+			throw new IllegalArgumentException("buffer can't be null");
+		}
+		if (instance == null) {
+			throw new IllegalArgumentException("instance can't be null");
+		}
+		return bind(manifest, newReader(stream, buffer), instance);
+	}
+
 	@SuppressWarnings("unchecked")
-	private Object deserializeWith(Type manifest, JsonReader json) throws IOException {
+	private Object bind(final Type manifest, final JsonReader json, final Object instance) throws IOException {
+		final JsonReader.BindObject binder = tryFindBinder(manifest);
+		if (binder == null) {
+			throw new IOException("Unable to find binder for provided type: " + manifest + ".\n" +
+					"Register binder for specified type using registerBinder into " + getClass());
+		}
+		json.getNextToken();
+		if (json.wasNull()) {
+			return null;
+		}
+		return binder.bind(json, instance);
+	}
+
+	/**
+	 * Extract a single value from JSON without deserializing the whole document.
+	 * Pointer will be compiled on every call, so for repeated usage
+	 * {@link #extract(byte[], int, JsonPointer, Class)} should be preferred.
+	 *
+	 * @param body     input JSON
+	 * @param size     length
+	 * @param pointer  JSON Pointer, eg. /order/customer/id
+	 * @param manifest type of the referenced value
+	 * @param <TResult> result type
+	 * @return deserialized value or null if value was not found
+	 * @throws IOException error during processing of JSON
+	 */
+	public <TResult> TResult extract(
+			final byte[] body,
+			final int size,
+			final String pointer,
+			final Class<TResult> manifest) throws IOException {
+		return extract(body, size, JsonPointer.compile(pointer), manifest);
+	}
+
+	/**
+	 * Extract a single value from JSON without deserializing the whole document.
+	 * Irrelevant parts of the document will be skipped and processing stops once the value was found.
+	 *
+	 * @param body     input JSON
+	 * @param size     length
+	 * @param pointer  precompiled JSON Pointer
+	 * @param manifest type of the referenced value
+	 * @param <TResult> result type
+	 * @return deserialized value or null if value was not found
+	 * @throws IOException error during processing of JSON
+	 */
+	@SuppressWarnings("unchecked")
+	public <TResult> TResult extract(
+			final byte[] body,
+			final int size,
+			final JsonPointer pointer,
+			final Class<TResult> manifest) throws IOException {
+		if (pointer == null) throw new IllegalArgumentException("pointer can't be null");
+		if (manifest == null) throw new IllegalArgumentException("manifest can't be null");
+		return (TResult) extract(body, size, new JsonPointer[]{pointer}, new Type[]{manifest})[0];
+	}
+
+	/**
+	 * Extract multiple values from JSON in a single pass.
+	 * Pointers can't overlap, meaning that one pointer can't be a prefix of another one.
+	 *
+	 * @param body      input JSON
+	 * @param size      length
+	 * @param pointers  precompiled JSON Pointers
+	 * @param manifests types of the referenced values
+	 * @return deserialized values in the same order as pointers. Missing values will be null
+	 * @throws IOException error during processing of JSON
+	 */
+	public Object[] extract(
+			final byte[] body,
+			final int size,
+			final JsonPointer[] pointers,
+			final Type[] manifests) throws IOException {
+		if (body == null) {
+			throw new IllegalArgumentException("body can't be null");
+		}
+		JsonPointer.validate(pointers, manifests);
+		final JsonPointer.Extraction extraction = new JsonPointer.Extraction(this, pointers, manifests);
+		if (isNull(size, body)) {
+			return extraction.results;
+		}
+		extraction.process(localReader.get().process(body, size));
+		return extraction.results;
+	}
+
+	/**
+	 * Streaming JSON to JSON transformation.
+	 * Input is copied into output token by token while rules from the transformation are applied.
+	 * Thread local reader and writer are used, so memory usage does not depend on the size of the input.
+	 *
+	 * @param input     input JSON
+	 * @param output    transformed JSON
+	 * @param transform precompiled transformation rules
+	 * @throws IOException error during processing of JSON or writing to output
+	 */
+	public void transform(
+			final InputStream input,
+			final OutputStream output,
+			final JsonTransform transform) throws IOException {
+		if (input == null) {
+			throw new IllegalArgumentException("input can't be null");
+		}
+		if (output == null) {
+			throw new IllegalArgumentException("output can't be null");
+		}
+		if (transform == null) {
+			throw new IllegalArgumentException("transform can't be null");
+		}
+		final JsonReader reader = localReader.get().process(input);
+		final JsonWriter writer = localWriter.get();
+		writer.reset(output);
+		try {
+			transform.apply(reader, writer);
+			writer.flush();
+		} finally {
+			writer.reset(null);
+			reader.process(null);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	Object deserializeWith(Type manifest, JsonReader json) throws IOException {
 		final JsonReader.ReadObject<?> simpleReader = tryFindReader(manifest);
 		if (simpleReader != null) {
 			return simpleReader.read(json);
@@ -1372,6 +1978,115 @@ public class DslJson<TContext> implements UnknownSerializer {
 				"Try initializing DslJson with custom fallback in case of unsupported objects or register specified type using registerReader into " + getClass());
 	}
 
+	/**
+	 * Deserialize only selected properties.
+	 * Properties which are not part of the projection will be skipped and left at their defaults.
+	 * Projection is honored by converters which support it, such as {@link ImmutableDescription}
+	 * or {@link BindDescription} for mutable @CompiledJson classes.
+	 * If reader for some of the projected types can't honor it, exception will be thrown
+	 * instead of silently deserializing all properties.
+	 *
+	 * @param manifest   target type
+	 * @param body       input JSON
+	 * @param size       length
+	 * @param projection selected properties
+	 * @param <TResult>  target type
+	 * @return deserialized instance
+	 * @throws IOException error during deserialization or projection is not supported by the resolved reader
+	 */
+	public <TResult> TResult deserialize(
+			final Class<TResult> manifest,
+			final byte[] body,
+			final int size,
+			final Projection projection) throws IOException {
+		checkProjection(projection);
+		final JsonReader reader = localReader.get();
+		reader.projection = projection;
+		try {
+			return deserialize(manifest, body, size);
+		} finally {
+			reader.projection = null;
+		}
+	}
+
+	/**
+	 * Deserialize list with only selected properties of its elements.
+	 * Properties which are not part of the projection will be skipped and left at their defaults.
+	 * If reader for some of the projected types can't honor it, exception will be thrown.
+	 *
+	 * @param manifest   target element type
+	 * @param body       input JSON
+	 * @param size       length
+	 * @param projection selected properties
+	 * @param <TResult>  target element type
+	 * @return deserialized list instance
+	 * @throws IOException error during deserialization or projection is not supported by the resolved reader
+	 */
+	public <TResult> List<TResult> deserializeList(
+			final Class<TResult> manifest,
+			final byte[] body,
+			final int size,
+			final Projection projection) throws IOException {
+		checkProjection(projection);
+		final JsonReader reader = localReader.get();
+		reader.projection = projection;
+		try {
+			return deserializeList(manifest, body, size);
+		} finally {
+			reader.projection = null;
+		}
+	}
+
+	private void checkProjection(final Projection projection) throws IOException {
+		if (projection == null) {
+			throw new IllegalArgumentException("projection can't be null");
+		}
+		for (final Type projected : projection.manifests()) {
+			if (projectionReader(projected) == null) {
+				throw new IOException("Projection is not supported for " + projected
+						+ " since its reader doesn't support skipping of properties." +
+						" Projection is supported by readers created at runtime, such as ImmutableDescription or BeanAnalyzer" +
+						" and by descriptions created for @CompiledJson classes");
+			}
+		}
+	}
+
+	/**
+	 * Reader which can honor projection for the specified type.
+	 * When registered reader can't skip properties (eg. DSL generated reader for mutable @CompiledJson class),
+	 * registered binder will be used instead if it's able to create new instances.
+	 *
+	 * @param manifest projected type
+	 * @return reader which supports projection or null if it can't be found
+	 */
+	JsonReader.ReadObject<?> projectionReader(final Type manifest) {
+		final JsonReader.ReadObject<?> found = tryFindReader(manifest);
+		if (found instanceof Projection.Aware) {
+			return found;
+		}
+		final JsonReader.BindObject<?> binder = tryFindBinder(manifest);
+		if (binder instanceof BindDescription && ((BindDescription) binder).canCreate()) {
+			return (BindDescription) binder;
+		}
+		return null;
+	}
+
+	/**
+	 * Reader for the type when it's part of the projection active on the provided reader.
+	 * Nested readers use it before falling back to the reader resolved for the type.
+	 *
+	 * @param manifest specified type
+	 * @param reader   reader with an optional projection
+	 * @return reader which honors projection or null if the type is not projected
+	 */
+	JsonReader.ReadObject<?> projectedReader(final Type manifest, final JsonReader reader) {
+		final Projection projection = reader.projection;
+		if (projection == null || projection.hashesFor(manifest) == null) {
+			return null;
+		}
+		return projectionReader(manifest);
+	}
+
 	/**
 	 * Convenient deserialize list API for working with bytes.
 	 * Deserialize provided byte input into target object.
@@ -1421,7 +2136,8 @@ public class DslJson<TContext> implements UnknownSerializer {
 				return (List<TResult>) json.deserializeNullableCollection(reader);
 			}
 		}
-		final JsonReader.ReadObject<?> simpleReader = tryFindReader(manifest);
+		final JsonReader.ReadObject<?> projectedReader = json.projection == null ? null : projectedReader(manifest, json);
+		final JsonReader.ReadObject<?> simpleReader = projectedReader != null ? projectedReader : tryFindReader(manifest);
 		if (simpleReader != null) {
 			return json.deserializeNullableCollection(simpleReader);
 		}
@@ -1936,6 +2652,101 @@ public class DslJson<TContext> implements UnknownSerializer {
 		throw createErrorMessage(manifest);
 	}
 
+	/**
+	 * Streaming API for deserialization of a top-level object with many entries.
+	 * DslJson will create iterator over key/value pairs based on provided value manifest.
+	 * It will attempt to deserialize a single entry from stream on each next() invocation,
+	 * so the whole map does not need to be kept in memory.
+	 * Keys are read through the key cache.
+	 * This method reuses thread local reader for processing input stream.
+	 * <p>
+	 * Stream will be processed in chunks of reader byte[] buffer.
+	 *
+	 * @param manifest  value type
+	 * @param stream    JSON data stream
+	 * @param <TResult> value type
+	 * @return Iterator to entries deserialized from input JSON
+	 * @throws IOException if reader is not found or there is an error processing input stream
+	 */
+	public <TResult> Iterator<Map.Entry<String, TResult>> iterateOverEntries(
+			final Class<TResult> manifest,
+			final InputStream stream) throws IOException {
+		if (manifest == null) {
+			throw new IllegalArgumentException("manifest can't be null");
+		}
+		if (stream == null) {
+			throw new IllegalArgumentException("stream can't be null");
+		}
+		final JsonReader json = localReader.get();
+		json.process(stream);
+		return iterateOverEntries(manifest, json);
+	}
+
+	/**
+	 * Streaming API for deserialization of a top-level object with many entries.
+	 * DslJson will create iterator over key/value pairs based on provided value manifest.
+	 * It will attempt to deserialize a single entry from stream on each next() invocation.
+	 * This method requires buffer instance for partial stream processing.
+	 * It will create a new instance of JsonReader.
+	 *
+	 * @param manifest  value type
+	 * @param stream    JSON data stream
+	 * @param buffer    size of processing chunk
+	 * @param <TResult> value type
+	 * @return Iterator to entries deserialized from input JSON
+	 * @throws IOException if reader is not found or there is an error processing input stream
+	 */
+	public <TResult> Iterator<Map.Entry<String, TResult>> iterateOverEntries(
+			final Class<TResult> manifest,
+			final InputStream stream,
+			final byte[] buffer) throws IOException {
+		if (manifest == null) {
+			throw new IllegalArgumentException("manifest can't be null");
+		}
+		if (stream == null) {
+			throw new IllegalArgumentException("stream can't be null");
+		}
+		if (buffer == null) {
+			throw new IllegalArgumentException("buffer can't be null");
+		}
+		return iterateOverEntries(manifest, newReader(stream, buffer));
+	}
+
+	@SuppressWarnings("unchecked")
+	private <TResult> Iterator<Map.Entry<String, TResult>> iterateOverEntries(
+			final Class<TResult> manifest,
+			final JsonReader json) throws IOException {
+		if (json.getNextToken() != '{') {
+			if (json.wasNull()) {
+				return null;
+			}
+			throw json.expecting("{");
+		}
+		if (json.getNextToken() == '}') {
+			return EMPTY_ITERATOR;
+		}
+		if (JsonObject.class.isAssignableFrom(manifest)) {
+			final JsonReader.ReadJsonObject<JsonObject> objectReader = getObjectReader(manifest);
+			if (objectReader != null) {
+				return json.iterateOverEntries(new JsonReader.ReadObject<TResult>() {
+					@Override
+					public TResult read(JsonReader reader) throws IOException {
+						if (reader.last() != '{') {
+							throw reader.expecting("{");
+						}
+						reader.getNextToken();
+						return (TResult) objectReader.deserialize(reader);
+					}
+				});
+			}
+		}
+		final JsonReader.ReadObject<TResult> simpleReader = (JsonReader.ReadObject<TResult>) tryFindReader(manifest);
+		if (simpleReader != null) {
+			return json.iterateOverEntries(simpleReader);
+		}
+		throw createErrorMessage(manifest);
+	}
+
 	private final JsonWriter.WriteObject OBJECT_WRITER = new JsonWriter.WriteObject() {
 		@Override
 		public void write(JsonWriter writer, Object value) {
@@ -2150,7 +2961,7 @@ public class DslJson<TContext> implements UnknownSerializer {
 			stream.write(JsonWriter.ARRAY_END);
 			return;
 		}
-		final JsonWriter buffer = writer == null ? new JsonWriter(this) : writer;
+		final JsonWriter buffer = writer == null ? newWriter() : writer;
 		T item = iterator.next();
 		Class<?> lastManifest = null;
 		JsonWriter.WriteObject lastWriter = null;
@@ -2222,7 +3033,7 @@ public class DslJson<TContext> implements UnknownSerializer {
 		if (stream == null) {
 			throw new IllegalArgumentException("stream can't be null");
 		}
-		final JsonWriter buffer = writer == null ? new JsonWriter(this) : writer;
+		final JsonWriter buffer = writer == null ? newWriter() : writer;
 		final JsonWriter.WriteObject instanceWriter = getOrCreateWriter(null, manifest);
 		stream.write(JsonWriter.ARRAY_START);
 		T item = iterator.next();
@@ -2558,6 +3369,11 @@ public class DslJson<TContext> implements UnknownSerializer {
 	 * After serialization JsonWriter can be copied into OutputStream or it's byte[] can be obtained
 	 * <p>
 	 * For best performance reuse `JsonWriter` or even better call `JsonWriter.WriteObject` directly
+	 * <p>
+	 * When writer is not targeting a stream, buffer capacity will be reserved upfront
+	 * based on the running average of previous JSON sizes for the same type
+	 * and the estimate provided by the registered estimator
+	 * or the writer (if it implements `JsonWriter.SizeEstimator`).
 	 *
 	 * @param writer where to write resulting JSON
 	 * @param value  object instance to serialize
@@ -2572,7 +3388,16 @@ public class DslJson<TContext> implements UnknownSerializer {
 			return;
 		}
 		final Class<?> manifest = value.getClass();
-		if (!serialize(writer, manifest, value)) {
+		final SizeStats stats = writer.hasTarget() ? null : sizeStats(manifest);
+		final int start = writer.size();
+		if (stats != null) {
+			writer.reserve(stats.expected(value));
+		}
+		if (serialize(writer, manifest, value)) {
+			if (stats != null) {
+				stats.record(writer.size() - start);
+			}
+		} else {
 			if (fallback == null) {
 				throw new IOException("Unable to serialize provided object. Failed to find serializer for: " + manifest);
 			}
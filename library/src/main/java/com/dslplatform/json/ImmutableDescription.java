@@ -0,0 +1,620 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.*;
+
+/**
+ * Converter for immutable objects which don't have a public no argument constructor.
+ * Properties are collected into an array of arguments while JSON is being processed
+ * and instance is created only once the whole object was read.
+ * This avoids default-construct-then-mutate pattern and intermediate mutable copies.
+ * <p>
+ * Instance can be created through constructor, static factory method or a builder,
+ * which is specified via {@link Instantiator}.
+ * Annotation processor will create such descriptions for @CompiledJson classes with
+ * all arguments constructor/factory/builder, but they can be created manually too:
+ *
+ * <pre>
+ *     ImmutableDescription&lt;Person&gt; description = new ImmutableDescription&lt;Person&gt;(
+ *         Person.class,
+ *         new ImmutableDescription.Instantiator&lt;Person&gt;() {
+ *             public Person create(Object[] args) {
+ *                 return new Person((String) args[0], (Integer) args[1]);
+ *             }
+ *         },
+ *         true,
+ *         new ImmutableDescription.Property&lt;Person&gt;("name", String.class, ...),
+ *         new ImmutableDescription.Property&lt;Person&gt;("age", int.class, ...));
+ *     description.configure(dslJson);
+ * </pre>
+ *
+ * Readers and writers for properties are resolved lazily from the configured DslJson instance.
+ *
+ * @param <T> immutable type
+ */
+public final class ImmutableDescription<T> implements JsonReader.ReadObject<T>, JsonWriter.WriteObject<T>, JsonWriter.SizeEstimator<T>, Configuration, Projection.Aware {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	/**
+	 * Creates an instance from collected arguments.
+	 * Arguments are in the same order as properties passed to the description.
+	 *
+	 * @param <T> immutable type
+	 */
+	public interface Instantiator<T> {
+		T create(Object[] args);
+	}
+
+	/**
+	 * Property accessor used during serialization.
+	 *
+	 * @param <T> immutable type
+	 */
+	public interface Getter<T> {
+		Object get(T instance);
+	}
+
+	/**
+	 * Immutable property description.
+	 * Position of the property in the description is the position of the argument for {@link Instantiator}.
+	 *
+	 * @param <T> immutable type
+	 */
+	public static final class Property<T> {
+		final String name;
+		final int hash;
+		final int[] aliases;
+		final byte[] quoted;
+		final Type type;
+		final Object defaultValue;
+		final boolean mandatory;
+		final Getter<T> getter;
+		final boolean explicitReader;
+		JsonReader.ReadObject<?> reader;
+		JsonWriter.WriteObject writer;
+
+		/**
+		 * Property with default value (0 or false for primitives, null otherwise).
+		 *
+		 * @param name   JSON property name
+		 * @param type   property type (used for resolving reader and writer)
+		 * @param getter property accessor
+		 */
+		public Property(final String name, final Type type, final Getter<T> getter) {
+			this(name, type, getter, false, defaultValue(type), null, null);
+		}
+
+		/**
+		 * Full property description.
+		 *
+		 * @param name         JSON property name
+		 * @param type         property type (used for resolving reader and writer when explicit ones are not provided)
+		 * @param getter       property accessor
+		 * @param mandatory    fail deserialization when property is missing from JSON
+		 * @param defaultValue value used when property is missing from JSON or it's null
+		 * @param reader       explicit reader. If null, reader will be resolved from DslJson
+		 * @param writer       explicit writer. If null, writer will be resolved from DslJson
+		 * @param alternativeNames alternative names used during deserialization
+		 */
+		public Property(
+				final String name,
+				final Type type,
+				final Getter<T> getter,
+				final boolean mandatory,
+				final Object defaultValue,
+				final JsonReader.ReadObject<?> reader,
+				final JsonWriter.WriteObject<?> writer,
+				final String... alternativeNames) {
+			if (name == null || name.length() == 0) throw new IllegalArgumentException("name can't be null or empty");
+			if (type == null) throw new IllegalArgumentException("type can't be null");
+			if (getter == null) throw new IllegalArgumentException("getter can't be null");
+			if (type instanceof Class<?> && ((Class<?>) type).isPrimitive() && defaultValue == null) {
+				throw new IllegalArgumentException("defaultValue can't be null for primitive type: " + type);
+			}
+			this.name = name;
+			this.hash = JsonReader.hashName(name);
+			this.aliases = new int[alternativeNames.length];
+			for (int i = 0; i < alternativeNames.length; i++) {
+				this.aliases[i] = JsonReader.hashName(alternativeNames[i]);
+			}
+			this.quoted = ("\"" + name + "\":").getBytes(UTF_8);
+			this.type = type;
+			this.getter = getter;
+			this.mandatory = mandatory;
+			this.defaultValue = defaultValue;
+			this.reader = reader;
+			this.explicitReader = reader != null;
+			this.writer = writer;
+		}
+	}
+
+	private final Type manifest;
+	private final Instantiator<T> instantiator;
+	private final Property<T>[] properties;
+	private final Object[] defaults;
+	private final int[] hashes;
+	private final int[] indexes;
+	private final boolean skipUnknown;
+	private final long mandatoryMask;
+	private final int fixedSize;
+	private DslJson json;
+
+	/**
+	 * Create immutable description.
+	 *
+	 * @param manifest     immutable type
+	 * @param instantiator creates instance from collected arguments
+	 * @param skipUnknown  skip unknown properties or throw an error when they are detected
+	 * @param properties   properties in the order of instantiator arguments
+	 */
+	public ImmutableDescription(
+			final Type manifest,
+			final Instantiator<T> instantiator,
+			final boolean skipUnknown,
+			final Property<T>... properties) {
+		if (manifest == null) throw new IllegalArgumentException("manifest can't be null");
+		if (instantiator == null) throw new IllegalArgumentException("instantiator can't be null");
+		if (properties == null) throw new IllegalArgumentException("properties can't be null");
+		if (properties.length > 64) throw new IllegalArgumentException("Too many properties. At most 64 properties are supported");
+		this.manifest = manifest;
+		this.instantiator = instantiator;
+		this.skipUnknown = skipUnknown;
+		this.properties = properties.clone();
+		this.defaults = new Object[properties.length];
+		int total = 0;
+		long mask = 0;
+		for (int i = 0; i < properties.length; i++) {
+			final Property<T> p = properties[i];
+			if (p == null) throw new IllegalArgumentException("properties can't contain null");
+			defaults[i] = p.defaultValue;
+			total += 1 + p.aliases.length;
+			if (p.mandatory) {
+				mask |= 1L << i;
+			}
+		}
+		this.mandatoryMask = mask;
+		int fixed = 1 + properties.length;
+		for (final Property<T> p : properties) {
+			fixed += p.quoted.length;
+		}
+		this.fixedSize = fixed;
+		this.hashes = new int[total];
+		this.indexes = new int[total];
+		int pos = 0;
+		for (int i = 0; i < properties.length; i++) {
+			hashes[pos] = properties[i].hash;
+			indexes[pos++] = i;
+			for (int alias : properties[i].aliases) {
+				hashes[pos] = alias;
+				indexes[pos++] = i;
+			}
+		}
+		for (int i = 0; i < total; i++) {
+			for (int j = i + 1; j < total; j++) {
+				if (hashes[i] == hashes[j] && indexes[i] != indexes[j]) {
+					throw new IllegalArgumentException("Duplicate hash value detected for properties: '"
+							+ properties[indexes[i]].name + "' and '" + properties[indexes[j]].name + "' in " + manifest);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Bind description to DslJson instance.
+	 * Property readers and writers will be resolved from it on first usage.
+	 * Description can be bound only to a single DslJson instance,
+	 * so a new description (with new properties) should be created for each DslJson.
+	 *
+	 * @param json library instance
+	 */
+	@Override
+	public void configure(final DslJson json) {
+		if (json == null) throw new IllegalArgumentException("json can't be null");
+		synchronized (this) {
+			if (this.json != null && this.json != json) {
+				throw new IllegalArgumentException("Description for " + manifest + " is already configured with another DslJson instance. Create a new description for each DslJson");
+			}
+			this.json = json;
+		}
+	}
+
+	private int findIndex(final int hash) {
+		for (int i = 0; i < hashes.length; i++) {
+			if (hashes[i] == hash) {
+				return indexes[i];
+			}
+		}
+		return -1;
+	}
+
+	@Override
+	public T read(final JsonReader reader) throws IOException {
+		if (reader.wasNull()) {
+			return null;
+		}
+		if (reader.last() != '{') {
+			throw reader.expecting("{");
+		}
+		reader.getNextToken();
+		return readContent(reader);
+	}
+
+	/**
+	 * Read object properties when opening brace was already consumed.
+	 * Reader must be positioned on the first token after the brace
+	 * (either property name or closing brace).
+	 *
+	 * @param reader reader positioned inside the object
+	 * @return new instance
+	 * @throws IOException unable to process JSON
+	 */
+	T readContent(final JsonReader reader) throws IOException {
+		final Object[] args = defaults.clone();
+		final Projection projection = reader.projection;
+		final int[] projected = projection == null ? null : projection.hashesFor(manifest);
+		long found = 0;
+		byte nextToken = reader.last();
+		if (nextToken != '}') {
+			while (true) {
+				final int hash = reader.fillName();
+				nextToken = reader.getNextToken();
+				final int index = findIndex(hash);
+				if (index == -1) {
+					if (!skipUnknown) {
+						final String name = reader.getLastName();
+						throw new IOException("Unknown property detected: '" + name + "' at position " + reader.positionInStream(name.length() + 3));
+					}
+					nextToken = reader.skip();
+				} else if (projected != null && !Projection.includes(projected, properties[index].hash)) {
+					nextToken = reader.skip();
+				} else {
+					final Property<T> p = properties[index];
+					if (nextToken == 'n') {
+						if (!reader.wasNull()) {
+							throw reader.expecting("null");
+						}
+						args[index] = p.defaultValue;
+					} else {
+						args[index] = readValue(p, reader);
+					}
+					found |= 1L << index;
+					nextToken = reader.getNextToken();
+				}
+				if (nextToken != ',') {
+					break;
+				}
+				reader.getNextToken();
+			}
+			if (nextToken != '}') {
+				throw reader.expecting("}");
+			}
+		}
+		if ((found & mandatoryMask) != mandatoryMask) {
+			for (int i = 0; i < properties.length; i++) {
+				if (properties[i].mandatory && (found & (1L << i)) == 0
+						&& (projected == null || Projection.includes(projected, properties[i].hash))) {
+					throw new IOException("Mandatory property (" + properties[i].name + ") not found in " + manifest
+							+ " at position " + reader.positionInStream());
+				}
+			}
+		}
+		return instantiator.create(args);
+	}
+
+	@SuppressWarnings("unchecked")
+	private Object readValue(final Property<T> p, final JsonReader reader) throws IOException {
+		final JsonReader.ReadObject<?> propertyReader = p.reader;
+		if (p.explicitReader) {
+			return propertyReader.read(reader);
+		}
+		final DslJson dslJson = bound();
+		final JsonReader.ReadObject<?> projectedReader = reader.projection == null ? null : dslJson.projectedReader(p.type, reader);
+		if (projectedReader != null) {
+			return projectedReader.read(reader);
+		} else if (propertyReader != null) {
+			return propertyReader.read(reader);
+		}
+		final JsonReader.ReadObject<?> found = dslJson.tryFindReader(p.type);
+		if (found != null) {
+			p.reader = found;
+			return found.read(reader);
+		}
+		if (p.type instanceof Class<?> && JsonObject.class.isAssignableFrom((Class<?>) p.type)) {
+			final JsonReader.ReadJsonObject<JsonObject> objectReader = dslJson.getObjectReader((Class<?>) p.type);
+			if (objectReader != null) {
+				p.reader = new JsonReader.ReadObject<JsonObject>() {
+					@Override
+					public JsonObject read(final JsonReader reader) throws IOException {
+						if (reader.last() != '{') {
+							throw reader.expecting("{");
+						}
+						reader.getNextToken();
+						return objectReader.deserialize(reader);
+					}
+				};
+				return p.reader.read(reader);
+			}
+		}
+		final Object result = dslJson.deserializeWith(p.type, reader);
+		if (result == null) {
+			throw new IOException("Unable to find reader for property '" + p.name + "' of type: " + p.type + " in " + manifest);
+		}
+		if (p.type instanceof ParameterizedType && result instanceof Collection) {
+			final Class<?> container = (Class<?>) ((ParameterizedType) p.type).getRawType();
+			if (!container.isInstance(result)) {
+				return adaptCollection(container, (Collection<Object>) result);
+			}
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	static Collection<Object> adaptCollection(final Class<?> container, final Collection<Object> items) throws IOException {
+		if (container.isAssignableFrom(LinkedHashSet.class)) {
+			return new LinkedHashSet<Object>(items);
+		} else if (container.isAssignableFrom(LinkedList.class)) {
+			return new LinkedList<Object>(items);
+		}
+		try {
+			final Collection<Object> result = (Collection<Object>) container.newInstance();
+			result.addAll(items);
+			return result;
+		} catch (Exception ex) {
+			throw new IOException("Unable to create collection: " + container + ". " + ex.getMessage());
+		}
+	}
+
+	private DslJson bound() throws IOException {
+		final DslJson dslJson = json;
+		if (dslJson == null) {
+			throw new IOException("Description for " + manifest + " was not configured. Call configure(DslJson) before using it");
+		}
+		return dslJson;
+	}
+
+	@Override
+	public void write(final JsonWriter writer, final T value) {
+		if (value == null) {
+			writer.writeNull();
+			return;
+		}
+		final DslJson dslJson = json;
+		if (dslJson == null) {
+			throw new SerializationException("Description for " + manifest + " was not configured. Call configure(DslJson) before using it");
+		}
+		writer.writeByte(JsonWriter.OBJECT_START);
+		writeContent(dslJson, writer, value, false);
+		writer.writeByte(JsonWriter.OBJECT_END);
+	}
+
+	/**
+	 * Write object properties without the surrounding braces.
+	 *
+	 * @param writer     target writer
+	 * @param value      non null instance
+	 * @param hasWritten was some property already written, so comma is required before the first one
+	 */
+	void writeContent(final JsonWriter writer, final T value, final boolean hasWritten) {
+		final DslJson dslJson = json;
+		if (dslJson == null) {
+			throw new SerializationException("Description for " + manifest + " was not configured. Call configure(DslJson) before using it");
+		}
+		writeContent(dslJson, writer, value, hasWritten);
+	}
+
+	@SuppressWarnings("unchecked")
+	private void writeContent(final DslJson dslJson, final JsonWriter writer, final T value, boolean hasWritten) {
+		for (final Property<T> p : properties) {
+			final Object propertyValue = p.getter.get(value);
+			if (dslJson.omitDefaults && (propertyValue == null || propertyValue.equals(p.defaultValue))) {
+				continue;
+			}
+			if (hasWritten) {
+				writer.writeByte(JsonWriter.COMMA);
+			}
+			hasWritten = true;
+			writer.writeAscii(p.quoted);
+			if (propertyValue == null) {
+				writer.writeNull();
+				continue;
+			}
+			JsonWriter.WriteObject propertyWriter = p.writer;
+			if (propertyWriter == null && !(p.type instanceof ParameterizedType)) {
+				propertyWriter = p.writer = dslJson.tryFindWriter(p.type);
+			}
+			if (propertyWriter != null) {
+				propertyWriter.write(writer, propertyValue);
+			} else if (!dslJson.serialize(writer, p.type, propertyValue)) {
+				throw new SerializationException("Unable to find writer for property '" + p.name + "' of type: " + p.type + " in " + manifest);
+			}
+		}
+	}
+
+	/**
+	 * Estimate JSON size from property names and current property values.
+	 *
+	 * @param value instance which will be serialized
+	 * @return approximate size in bytes
+	 */
+	@Override
+	public int estimateSize(final T value) {
+		if (value == null) {
+			return 4;
+		}
+		int size = fixedSize;
+		for (final Property<T> p : properties) {
+			size += estimateValue(p.getter.get(value), p.writer);
+		}
+		return size;
+	}
+
+	@SuppressWarnings("unchecked")
+	static int estimateValue(final Object value, final JsonWriter.WriteObject writer) {
+		if (value == null) {
+			return 4;
+		} else if (writer instanceof JsonWriter.SizeEstimator) {
+			return ((JsonWriter.SizeEstimator) writer).estimateSize(value);
+		} else if (value instanceof CharSequence) {
+			return ((CharSequence) value).length() + 2;
+		} else if (value instanceof Boolean) {
+			return 5;
+		} else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+			return 11;
+		} else if (value instanceof Number) {
+			return 24;
+		} else if (value instanceof Collection) {
+			final Collection<?> collection = (Collection<?>) value;
+			if (collection.isEmpty()) {
+				return 2;
+			}
+			return 1 + collection.size() * (estimateValue(collection.iterator().next(), null) + 1);
+		} else if (value instanceof Map) {
+			return 2 + ((Map) value).size() * 24;
+		} else if (value instanceof byte[]) {
+			return ((byte[]) value).length * 4 / 3 + 4;
+		}
+		return 16;
+	}
+
+	/**
+	 * Reader which delegates to the description registered for the type in the DslJson instance
+	 * which created the JsonReader.
+	 * This way static converter references from generated code don't share state between DslJson instances,
+	 * while the description itself is created and configured for each DslJson.
+	 *
+	 * @param manifest immutable type
+	 * @param <T>      immutable type
+	 * @return reader which resolves the registered description
+	 */
+	public static <T> JsonReader.ReadObject<T> reader(final Class<T> manifest) {
+		if (manifest == null) throw new IllegalArgumentException("manifest can't be null");
+		return new Registered<T>(manifest);
+	}
+
+	/**
+	 * Writer which delegates to the description registered for the type in the DslJson instance
+	 * which created the JsonWriter.
+	 *
+	 * @param manifest immutable type
+	 * @param <T>      immutable type
+	 * @return writer which resolves the registered description
+	 */
+	public static <T> JsonWriter.WriteObject<T> writer(final Class<T> manifest) {
+		if (manifest == null) throw new IllegalArgumentException("manifest can't be null");
+		return new Registered<T>(manifest);
+	}
+
+	private static final class Registered<T> implements JsonReader.ReadObject<T>, JsonWriter.WriteObject<T> {
+		private final Class<T> manifest;
+
+		Registered(final Class<T> manifest) {
+			this.manifest = manifest;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public T read(final JsonReader reader) throws IOException {
+			final Object registered = reader.readers.get(manifest);
+			if (!(registered instanceof ImmutableDescription)) {
+				throw new IOException("Description for " + manifest + " was not registered. Register it in DslJson before using it");
+			}
+			return ((ImmutableDescription<T>) registered).read(reader);
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public void write(final JsonWriter writer, final T value) {
+			final Object registered = writer.unknownSerializer instanceof DslJson
+					? ((DslJson) writer.unknownSerializer).tryFindWriter(manifest)
+					: null;
+			if (!(registered instanceof ImmutableDescription)) {
+				throw new SerializationException("Description for " + manifest + " was not registered. Register it in DslJson before using it");
+			}
+			((ImmutableDescription<T>) registered).write(writer, value);
+		}
+	}
+
+	/**
+	 * Generic type description which can be used for properties such as {@code List<Item>}
+	 * so that appropriate reader can be resolved for collection elements.
+	 *
+	 * @param raw       raw type, eg. {@code java.util.List}
+	 * @param arguments type arguments
+	 * @return parameterized type compatible with the one obtained through reflection
+	 */
+	public static ParameterizedType genericType(final Class<?> raw, final Type... arguments) {
+		if (raw == null) throw new IllegalArgumentException("raw can't be null");
+		if (arguments == null || arguments.length == 0) throw new IllegalArgumentException("arguments can't be empty");
+		return new GenericType(raw, arguments.clone());
+	}
+
+	private static final class GenericType implements ParameterizedType {
+		private final Class<?> raw;
+		private final Type[] arguments;
+
+		GenericType(final Class<?> raw, final Type[] arguments) {
+			this.raw = raw;
+			this.arguments = arguments;
+		}
+
+		@Override
+		public Type[] getActualTypeArguments() {
+			return arguments.clone();
+		}
+
+		@Override
+		public Type getRawType() {
+			return raw;
+		}
+
+		@Override
+		public Type getOwnerType() {
+			return raw.getDeclaringClass();
+		}
+
+		@Override
+		public boolean equals(final Object other) {
+			if (!(other instanceof ParameterizedType)) {
+				return false;
+			}
+			final ParameterizedType pt = (ParameterizedType) other;
+			final Type owner = getOwnerType();
+			return raw.equals(pt.getRawType())
+					&& (owner == null ? pt.getOwnerType() == null : owner.equals(pt.getOwnerType()))
+					&& Arrays.equals(arguments, pt.getActualTypeArguments());
+		}
+
+		@Override
+		public int hashCode() {
+			final Type owner = getOwnerType();
+			return Arrays.hashCode(arguments) ^ (owner == null ? 0 : owner.hashCode()) ^ raw.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			final StringBuilder sb = new StringBuilder(raw.getName());
+			sb.append('<');
+			for (int i = 0; i < arguments.length; i++) {
+				if (i > 0) sb.append(", ");
+				sb.append(arguments[i] instanceof Class<?> ? ((Class<?>) arguments[i]).getName() : arguments[i].toString());
+			}
+			return sb.append('>').toString();
+		}
+	}
+
+	static Object defaultValue(final Type type) {
+		if (type == int.class) return 0;
+		if (type == long.class) return 0L;
+		if (type == double.class) return 0.0;
+		if (type == float.class) return 0f;
+		if (type == boolean.class) return false;
+		if (type == short.class) return (short) 0;
+		if (type == byte.class) return (byte) 0;
+		if (type == char.class) return '\0';
+		return null;
+	}
+}
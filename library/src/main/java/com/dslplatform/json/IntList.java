@@ -0,0 +1,129 @@
+package com.dslplatform.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * List of ints backed by an int[].
+ * Values are stored without boxing, so large numeric arrays take a fraction of the memory of ArrayList&lt;Integer&gt;.
+ * Primitive accessors ({@link #getInt(int)}, {@link #addInt(int)}) should be preferred,
+ * while List methods box values on access.
+ * <p>
+ * Null values are not supported.
+ */
+public final class IntList extends AbstractList<Integer> implements RandomAccess {
+
+	private int[] values;
+	private int size;
+
+	public IntList() {
+		this(8);
+	}
+
+	public IntList(final int capacity) {
+		if (capacity < 0) throw new IllegalArgumentException("capacity can't be negative");
+		this.values = new int[capacity];
+	}
+
+	/**
+	 * Create list backed by the provided array.
+	 * Array will be used until list needs to grow.
+	 *
+	 * @param values initial values
+	 */
+	public IntList(final int[] values) {
+		if (values == null) throw new IllegalArgumentException("values can't be null");
+		this.values = values;
+		this.size = values.length;
+	}
+
+	private void checkIndex(final int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	private void ensureCapacity(final int capacity) {
+		if (capacity > values.length) {
+			values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1) + 4));
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	public int getInt(final int index) {
+		checkIndex(index);
+		return values[index];
+	}
+
+	@Override
+	public Integer get(final int index) {
+		return getInt(index);
+	}
+
+	public int setInt(final int index, final int value) {
+		checkIndex(index);
+		final int old = values[index];
+		values[index] = value;
+		return old;
+	}
+
+	@Override
+	public Integer set(final int index, final Integer value) {
+		return setInt(index, value);
+	}
+
+	public void addInt(final int value) {
+		ensureCapacity(size + 1);
+		values[size++] = value;
+		modCount++;
+	}
+
+	@Override
+	public boolean add(final Integer value) {
+		addInt(value);
+		return true;
+	}
+
+	@Override
+	public void add(final int index, final Integer value) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		final int primitive = value;
+		ensureCapacity(size + 1);
+		System.arraycopy(values, index, values, index + 1, size - index);
+		values[index] = primitive;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public Integer remove(final int index) {
+		checkIndex(index);
+		final int old = values[index];
+		System.arraycopy(values, index + 1, values, index, size - index - 1);
+		size--;
+		modCount++;
+		return old;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Copy values into a new array.
+	 *
+	 * @return array with list values
+	 */
+	public int[] toIntArray() {
+		return Arrays.copyOf(values, size);
+	}
+}
@@ -74,6 +74,16 @@ public @interface JsonAttribute {
 	 */
 	Class converter() default JsonAttribute.class;
 
+	/**
+	 * Deduplicate String values of this property through a dedicated cache.
+	 * Useful for low cardinality properties, such as status or currency code,
+	 * without using the values cache for every string in the document.
+	 * Ignored when custom converter is specified.
+	 *
+	 * @return should values be looked up from the cache
+	 */
+	boolean cached() default false;
+
 	/**
 	 * Abstract types used as properties by default include type signature information so they can be properly deserialized.
 	 * Type signature is included with as additional "$type":"actual.type.name" property (at the start of the object).
@@ -0,0 +1,703 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
+/**
+ * Lazy JSON document which records only the structure of the input.
+ * During parsing a compact tape is created, with four ints per token:
+ * token type, offset in the input, length in bytes and the index of the next sibling token.
+ * Strings, numbers and nested objects are not materialized until they are accessed,
+ * which makes this a good fit for inspecting a few values from large documents.
+ * <p>
+ * Tokens are addressed by their index, with the root value at index 0.
+ * Object members are stored as a key token (of STRING type) followed by the value token.
+ *
+ * <pre>
+ *     JsonDocument doc = JsonDocument.parse(bytes, length);
+ *     int customer = doc.member(doc.root(), "customer");
+ *     long id = doc.getLong(doc.member(customer, "id"));
+ * </pre>
+ * <p>
+ * Document references the provided input, so it must not be changed while document is used.
+ */
+public final class JsonDocument {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	public static final byte OBJECT = 1;
+	public static final byte ARRAY = 2;
+	public static final byte STRING = 3;
+	public static final byte NUMBER = 4;
+	public static final byte TRUE = 5;
+	public static final byte FALSE = 6;
+	public static final byte NULL = 7;
+
+	private static final int ESCAPED = 0x10;
+	private static final int DEFAULT_MAX_DEPTH = 1024;
+	private static final int TYPE_MASK = 0x0F;
+
+	private final byte[] input;
+	private final int size;
+	private int[] tape;
+	private int count;
+
+	private JsonDocument(final byte[] input, final int size) {
+		this.input = input;
+		this.size = size;
+		this.tape = new int[Math.max(64, (size >> 2) & ~3)];
+	}
+
+	/**
+	 * Parse input into a lazy document.
+	 * Only structure is validated. Values are validated when they are accessed.
+	 * Nesting is limited to the same default depth as in {@link DslJson.Settings#limitDepth(int)}.
+	 *
+	 * @param body input JSON
+	 * @param size length of the JSON in the input
+	 * @return parsed document
+	 * @throws IOException invalid JSON structure
+	 */
+	public static JsonDocument parse(final byte[] body, final int size) throws IOException {
+		return parse(body, size, DEFAULT_MAX_DEPTH);
+	}
+
+	/**
+	 * Parse input into a lazy document with custom nesting limit.
+	 * Limit protects both parsing and {@link #getValue(int)} materialization from deeply nested input.
+	 *
+	 * @param body     input JSON
+	 * @param size     length of the JSON in the input
+	 * @param maxDepth maximum nesting of objects and arrays
+	 * @return parsed document
+	 * @throws IOException invalid JSON structure or nesting is too deep
+	 */
+	public static JsonDocument parse(final byte[] body, final int size, final int maxDepth) throws IOException {
+		if (body == null) {
+			throw new IllegalArgumentException("body can't be null");
+		}
+		if (size < 0 || size > body.length) {
+			throw new IllegalArgumentException("Invalid size provided: " + size);
+		}
+		if (maxDepth < 1) {
+			throw new IllegalArgumentException("maxDepth must be positive");
+		}
+		final JsonDocument doc = new JsonDocument(body, size);
+		doc.parse(maxDepth);
+		return doc;
+	}
+
+	private int add(final int type, final int offset, final int length) {
+		final int token = count++;
+		final int at = token << 2;
+		if (at + 4 > tape.length) {
+			tape = Arrays.copyOf(tape, tape.length << 1);
+		}
+		tape[at] = type;
+		tape[at + 1] = offset;
+		tape[at + 2] = length;
+		tape[at + 3] = token + 1;
+		return token;
+	}
+
+	private int whitespace(int pos) {
+		while (pos < size) {
+			final byte b = input[pos];
+			if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+				break;
+			}
+			pos++;
+		}
+		return pos;
+	}
+
+	private IOException error(final String expected, final int pos) {
+		if (pos >= size) {
+			return new IOException("Unexpected end of JSON input. Expecting " + expected);
+		}
+		return new IOException("Expecting " + expected + " at position " + pos + ". Found " + (char) input[pos]);
+	}
+
+	private int string(final int pos) throws IOException {
+		int type = STRING;
+		int i = pos + 1;
+		while (i < size) {
+			final byte b = input[i];
+			if (b == '"') {
+				add(type, pos + 1, i - pos - 1);
+				return i + 1;
+			} else if (b == '\\') {
+				type = STRING | ESCAPED;
+				i += 2;
+			} else {
+				i++;
+			}
+		}
+		throw new IOException("JSON string was not closed with a double quote at: " + pos);
+	}
+
+	private int key(int pos) throws IOException {
+		if (pos >= size || input[pos] != '"') {
+			throw error("'\"'", pos);
+		}
+		pos = whitespace(string(pos));
+		if (pos >= size || input[pos] != ':') {
+			throw error("':'", pos);
+		}
+		return whitespace(pos + 1);
+	}
+
+	private int literal(final int pos, final String value, final byte type) throws IOException {
+		if (pos + value.length() > size) {
+			throw error(value, pos);
+		}
+		for (int i = 1; i < value.length(); i++) {
+			if (input[pos + i] != value.charAt(i)) {
+				throw error(value, pos);
+			}
+		}
+		add(type, pos, value.length());
+		return pos + value.length();
+	}
+
+	private int number(final int pos) throws IOException {
+		int i = pos;
+		while (i < size) {
+			final byte b = input[i];
+			if (b >= '0' && b <= '9' || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E') {
+				i++;
+			} else {
+				break;
+			}
+		}
+		if (i == pos) {
+			throw error("value", pos);
+		}
+		add(NUMBER, pos, i - pos);
+		return i;
+	}
+
+	private void parse(final int maxDepth) throws IOException {
+		int[] stack = new int[16];
+		int depth = 0;
+		int pos = whitespace(0);
+		while (true) {
+			if (pos >= size) {
+				throw error("value", pos);
+			}
+			final byte b = input[pos];
+			boolean opened = false;
+			switch (b) {
+				case '{':
+				case '[':
+					if (depth == maxDepth) {
+						throw new IOException("Maximum nesting depth of " + maxDepth + " exceeded at position " + pos);
+					}
+					if (depth == stack.length) {
+						stack = Arrays.copyOf(stack, depth << 1);
+					}
+					stack[depth++] = add(b == '{' ? OBJECT : ARRAY, pos, 0);
+					pos = whitespace(pos + 1);
+					if (pos < size && input[pos] == (b == '{' ? '}' : ']')) {
+						pos = close(stack[--depth], pos);
+					} else {
+						opened = true;
+						if (b == '{') {
+							pos = key(pos);
+						}
+					}
+					break;
+				case '"':
+					pos = string(pos);
+					break;
+				case 't':
+					pos = literal(pos, "true", TRUE);
+					break;
+				case 'f':
+					pos = literal(pos, "false", FALSE);
+					break;
+				case 'n':
+					pos = literal(pos, "null", NULL);
+					break;
+				default:
+					pos = number(pos);
+			}
+			if (opened) {
+				continue;
+			}
+			while (true) {
+				if (depth == 0) {
+					pos = whitespace(pos);
+					if (pos != size) {
+						throw new IOException("Unexpected content after the end of JSON at position " + pos);
+					}
+					return;
+				}
+				pos = whitespace(pos);
+				final int container = stack[depth - 1];
+				final boolean isObject = tape[container << 2] == OBJECT;
+				if (pos < size && input[pos] == ',') {
+					pos = whitespace(pos + 1);
+					if (isObject) {
+						pos = key(pos);
+					}
+					break;
+				} else if (pos < size && input[pos] == (isObject ? '}' : ']')) {
+					depth--;
+					pos = close(container, pos);
+				} else {
+					throw error(isObject ? "',' or '}'" : "',' or ']'", pos);
+				}
+			}
+		}
+	}
+
+	private int close(final int container, final int pos) {
+		final int at = container << 2;
+		tape[at + 2] = pos + 1 - tape[at + 1];
+		tape[at + 3] = count;
+		return pos + 1;
+	}
+
+	/**
+	 * Index of the root token
+	 *
+	 * @return root index
+	 */
+	public int root() {
+		return 0;
+	}
+
+	/**
+	 * Number of tokens in the tape
+	 *
+	 * @return total number of tokens
+	 */
+	public int tokens() {
+		return count;
+	}
+
+	/**
+	 * Type of the token. One of OBJECT, ARRAY, STRING, NUMBER, TRUE, FALSE or NULL.
+	 *
+	 * @param token token index
+	 * @return token type
+	 */
+	public byte type(final int token) {
+		return (byte) (tape[token << 2] & TYPE_MASK);
+	}
+
+	/**
+	 * Offset of the token in the input.
+	 * For strings offset starts after the opening quote.
+	 *
+	 * @param token token index
+	 * @return offset in input
+	 */
+	public int offset(final int token) {
+		return tape[(token << 2) + 1];
+	}
+
+	/**
+	 * Length of the token in bytes.
+	 * For strings length excludes quotes and escaping is not processed.
+	 *
+	 * @param token token index
+	 * @return length in bytes
+	 */
+	public int length(final int token) {
+		return tape[(token << 2) + 2];
+	}
+
+	/**
+	 * Raw JSON for the token, eg. whole object or array with its content.
+	 *
+	 * @param token token index
+	 * @return JSON as string
+	 */
+	public String raw(final int token) {
+		final int at = token << 2;
+		if ((tape[at] & TYPE_MASK) == STRING) {
+			return new String(input, tape[at + 1] - 1, tape[at + 2] + 2, UTF_8);
+		}
+		return new String(input, tape[at + 1], tape[at + 2], UTF_8);
+	}
+
+	/**
+	 * First child of an object or array.
+	 * For objects, this is the key token and the value is always at key index + 1.
+	 *
+	 * @param container object or array token
+	 * @return first child index or -1 if container is empty
+	 */
+	public int first(final int container) {
+		final int at = container << 2;
+		final int type = tape[at];
+		if (type != OBJECT && type != ARRAY) {
+			return -1;
+		}
+		return container + 1 < tape[at + 3] ? container + 1 : -1;
+	}
+
+	/**
+	 * Next element in an array or next key in an object.
+	 * For objects, value token must be provided (key index + 1).
+	 *
+	 * @param container object or array token
+	 * @param token     current element or current value token
+	 * @return next element (or key) index or -1 if there are no more elements
+	 */
+	public int next(final int container, final int token) {
+		final int next = tape[(token << 2) + 3];
+		return next < tape[(container << 2) + 3] ? next : -1;
+	}
+
+	/**
+	 * Number of elements in an array or members in an object.
+	 * Children are counted by walking the tape without materializing them.
+	 *
+	 * @param container object or array token
+	 * @return number of children
+	 */
+	public int size(final int container) {
+		final boolean isObject = type(container) == OBJECT;
+		int total = 0;
+		int cur = first(container);
+		while (cur != -1) {
+			total++;
+			cur = next(container, isObject ? cur + 1 : cur);
+		}
+		return total;
+	}
+
+	/**
+	 * Find member in an object by its name.
+	 * Name is compared against raw bytes, so no String is created for keys.
+	 *
+	 * @param object object token
+	 * @param name   member name
+	 * @return value token index or -1 if member is not found (or token is not an object)
+	 */
+	public int member(final int object, final String name) {
+		if (type(object) != OBJECT) {
+			return -1;
+		}
+		int key = first(object);
+		while (key != -1) {
+			if (nameEquals(key, name)) {
+				return key + 1;
+			}
+			key = next(object, key + 1);
+		}
+		return -1;
+	}
+
+	/**
+	 * Find array element by its position.
+	 *
+	 * @param array array token
+	 * @param index position in array
+	 * @return element token index or -1 if there is no such element (or token is not an array)
+	 */
+	public int element(final int array, final int index) {
+		if (type(array) != ARRAY || index < 0) {
+			return -1;
+		}
+		int cur = first(array);
+		for (int i = 0; i < index && cur != -1; i++) {
+			cur = next(array, cur);
+		}
+		return cur;
+	}
+
+	private boolean nameEquals(final int key, final String name) {
+		try {
+			return nameEquals(key, name, key << 2);
+		} catch (IOException ignore) {
+			//key with invalid escape can't match any name
+			return false;
+		}
+	}
+
+	private boolean nameEquals(final int key, final String name, final int at) throws IOException {
+		final int offset = tape[at + 1];
+		final int length = tape[at + 2];
+		if (tape[at] == STRING && length == name.length()) {
+			for (int i = 0; i < length; i++) {
+				final char c = name.charAt(i);
+				if (c >= 0x80) {
+					return name.equals(decode(key));
+				}
+				if (input[offset + i] != c) {
+					return false;
+				}
+			}
+			return true;
+		} else if (tape[at] == STRING) {
+			if (length < name.length()) {
+				return false;
+			}
+			for (int i = 0; i < name.length(); i++) {
+				if (name.charAt(i) >= 0x80) {
+					return name.equals(decode(key));
+				}
+			}
+			return false;
+		}
+		return name.equals(decode(key));
+	}
+
+	private String decode(final int token) throws IOException {
+		final int at = token << 2;
+		final int start = tape[at + 1];
+		final int end = start + tape[at + 2];
+		if ((tape[at] & ESCAPED) == 0) {
+			return new String(input, start, end - start, UTF_8);
+		}
+		final StringBuilder sb = new StringBuilder(end - start);
+		int segment = start;
+		for (int i = start; i < end; i++) {
+			if (input[i] != '\\') {
+				continue;
+			}
+			if (i > segment) {
+				sb.append(new String(input, segment, i - segment, UTF_8));
+			}
+			if (i + 1 == end) {
+				throw invalidEscape(i);
+			}
+			switch (input[i + 1]) {
+				case '"':
+				case '\\':
+				case '/':
+					sb.append((char) input[i + 1]);
+					break;
+				case 'b':
+					sb.append('\b');
+					break;
+				case 'f':
+					sb.append('\f');
+					break;
+				case 'n':
+					sb.append('\n');
+					break;
+				case 'r':
+					sb.append('\r');
+					break;
+				case 't':
+					sb.append('\t');
+					break;
+				case 'u':
+					if (i + 5 >= end) {
+						throw invalidEscape(i);
+					}
+					int code = 0;
+					for (int j = i + 2; j < i + 6; j++) {
+						final int digit = Character.digit((char) input[j], 16);
+						if (digit < 0) {
+							throw invalidEscape(i);
+						}
+						code = (code << 4) + digit;
+					}
+					sb.append((char) code);
+					i += 4;
+					break;
+				default:
+					throw invalidEscape(i);
+			}
+			i++;
+			segment = i + 1;
+		}
+		if (segment < end) {
+			sb.append(new String(input, segment, end - segment, UTF_8));
+		}
+		return sb.toString();
+	}
+
+	private IOException invalidEscape(final int pos) {
+		final int end = Math.min(pos + 6, size);
+		return new IOException("Invalid escape sequence at position " + pos + ". Found '" + new String(input, pos, end - pos, UTF_8) + "'");
+	}
+
+	private IOException wrongType(final String expected, final int token) {
+		return new IOException("Expecting " + expected + " at position " + offset(token) + ". Found " + raw(token));
+	}
+
+	/**
+	 * Decode string value (or object key).
+	 *
+	 * @param token string token
+	 * @return decoded string or null when value is null
+	 * @throws IOException token is not a string
+	 */
+	public String getString(final int token) throws IOException {
+		final byte type = type(token);
+		if (type == NULL) return null;
+		if (type != STRING) throw wrongType("string", token);
+		return decode(token);
+	}
+
+	/**
+	 * Parse integer number without allocation.
+	 *
+	 * @param token number token
+	 * @return parsed value
+	 * @throws IOException token is not a number or number doesn't fit into long
+	 */
+	public long getLong(final int token) throws IOException {
+		if (type(token) != NUMBER) throw wrongType("number", token);
+		final int at = token << 2;
+		int i = tape[at + 1];
+		final int end = i + tape[at + 2];
+		final boolean negative = input[i] == '-';
+		if (negative) i++;
+		if (i == end) throw wrongType("number", token);
+		long value = 0;
+		for (; i < end; i++) {
+			final int digit = input[i] - '0';
+			if (digit < 0 || digit > 9 || value < -922337203685477580L || value == -922337203685477580L && digit > 8) {
+				final BigDecimal decimal = getDecimal(token);
+				try {
+					return decimal.longValueExact();
+				} catch (ArithmeticException ex) {
+					throw new IOException("Number " + decimal + " at position " + tape[at + 1] + " can't be converted to long");
+				}
+			}
+			value = value * 10 - digit;
+		}
+		if (negative) {
+			return value;
+		}
+		if (value == Long.MIN_VALUE) {
+			throw new IOException("Number " + raw(token) + " at position " + tape[at + 1] + " can't be converted to long");
+		}
+		return -value;
+	}
+
+	/**
+	 * Parse integer number without allocation.
+	 *
+	 * @param token number token
+	 * @return parsed value
+	 * @throws IOException token is not a number or number doesn't fit into int
+	 */
+	public int getInt(final int token) throws IOException {
+		final long value = getLong(token);
+		if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw new IOException("Number " + value + " at position " + offset(token) + " can't be converted to int");
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Parse number as double.
+	 *
+	 * @param token number token
+	 * @return parsed value
+	 * @throws IOException token is not a number
+	 */
+	public double getDouble(final int token) throws IOException {
+		if (type(token) != NUMBER) throw wrongType("number", token);
+		try {
+			return Double.parseDouble(raw(token));
+		} catch (NumberFormatException ex) {
+			throw wrongType("number", token);
+		}
+	}
+
+	/**
+	 * Parse number as decimal.
+	 *
+	 * @param token number token
+	 * @return parsed value
+	 * @throws IOException token is not a number
+	 */
+	public BigDecimal getDecimal(final int token) throws IOException {
+		if (type(token) != NUMBER) throw wrongType("number", token);
+		try {
+			return new BigDecimal(raw(token));
+		} catch (NumberFormatException ex) {
+			throw wrongType("number", token);
+		}
+	}
+
+	/**
+	 * Boolean value
+	 *
+	 * @param token boolean token
+	 * @return true or false
+	 * @throws IOException token is not a boolean
+	 */
+	public boolean getBoolean(final int token) throws IOException {
+		final byte type = type(token);
+		if (type == TRUE) return true;
+		if (type == FALSE) return false;
+		throw wrongType("boolean", token);
+	}
+
+	/**
+	 * Check if token is a null value
+	 *
+	 * @param token token index
+	 * @return is null
+	 */
+	public boolean isNull(final int token) {
+		return type(token) == NULL;
+	}
+
+	/**
+	 * Materialize value in the same representation as {@link ObjectConverter}:
+	 * LinkedHashMap for objects, ArrayList for arrays, Long or BigDecimal for numbers.
+	 *
+	 * @param token token index
+	 * @return materialized value
+	 * @throws IOException invalid value
+	 */
+	public Object getValue(final int token) throws IOException {
+		switch (type(token)) {
+			case OBJECT:
+				final LinkedHashMap<String, Object> map = new LinkedHashMap<String, Object>();
+				for (int key = first(token); key != -1; key = next(token, key + 1)) {
+					map.put(decode(key), getValue(key + 1));
+				}
+				return map;
+			case ARRAY:
+				final ArrayList<Object> list = new ArrayList<Object>();
+				for (int item = first(token); item != -1; item = next(token, item)) {
+					list.add(getValue(item));
+				}
+				return list;
+			case STRING:
+				return decode(token);
+			case NUMBER:
+				final int at = token << 2;
+				final int start = tape[at + 1];
+				final int end = start + tape[at + 2];
+				for (int i = start; i < end; i++) {
+					final byte b = input[i];
+					if (b == '.' || b == 'e' || b == 'E') {
+						return getDecimal(token);
+					}
+				}
+				if (end - start < 19) {
+					return getLong(token);
+				}
+				final BigDecimal decimal = getDecimal(token);
+				try {
+					return decimal.longValueExact();
+				} catch (ArithmeticException ignore) {
+					return decimal;
+				}
+			case TRUE:
+				return true;
+			case FALSE:
+				return false;
+			default:
+				return null;
+		}
+	}
+}
@@ -0,0 +1,343 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+
+/**
+ * Precompiled JSON Pointer (RFC 6901) which can be used for extracting values
+ * without deserializing the whole document.
+ * <p>
+ * Input is processed with {@link JsonReader#fillName()} hash matching of the path segments
+ * and {@link JsonReader#skip()} of irrelevant subtrees.
+ * Only the target value is deserialized, with the reader registered for the requested type.
+ * Processing stops as soon as all requested values were found.
+ * <p>
+ * Pointers should be compiled once and reused:
+ *
+ * <pre>
+ *     static final JsonPointer CUSTOMER_ID = JsonPointer.compile("/order/customer/id");
+ *     ...
+ *     Long id = dslJson.extract(bytes, length, CUSTOMER_ID, Long.class);
+ * </pre>
+ */
+public final class JsonPointer {
+
+	private final String pointer;
+	private final String[] names;
+	private final int[] hashes;
+	private final int[] indexes;
+
+	private JsonPointer(final String pointer, final String[] names) {
+		this.pointer = pointer;
+		this.names = names;
+		this.hashes = new int[names.length];
+		this.indexes = new int[names.length];
+		for (int i = 0; i < names.length; i++) {
+			hashes[i] = JsonReader.hashName(names[i]);
+			indexes[i] = parseIndex(names[i]);
+		}
+	}
+
+	/**
+	 * Compile JSON Pointer.
+	 * Empty pointer references the whole document, while other pointers must start with /.
+	 * Escape sequences ~0 and ~1 are supported for ~ and / in property names.
+	 *
+	 * @param pointer JSON pointer such as /order/items/0/name
+	 * @return compiled pointer
+	 */
+	public static JsonPointer compile(final String pointer) {
+		if (pointer == null) throw new IllegalArgumentException("pointer can't be null");
+		if (pointer.length() == 0) {
+			return new JsonPointer(pointer, new String[0]);
+		}
+		if (pointer.charAt(0) != '/') {
+			throw new IllegalArgumentException("JSON pointer must start with '/'. Found: " + pointer);
+		}
+		final ArrayList<String> segments = new ArrayList<String>();
+		int start = 1;
+		while (true) {
+			final int end = pointer.indexOf('/', start);
+			final String segment = end == -1 ? pointer.substring(start) : pointer.substring(start, end);
+			segments.add(unescape(segment, pointer));
+			if (end == -1) {
+				break;
+			}
+			start = end + 1;
+		}
+		return new JsonPointer(pointer, segments.toArray(new String[segments.size()]));
+	}
+
+	private static String unescape(final String segment, final String pointer) {
+		if (segment.indexOf('~') == -1) {
+			return segment;
+		}
+		final StringBuilder sb = new StringBuilder(segment.length());
+		for (int i = 0; i < segment.length(); i++) {
+			final char c = segment.charAt(i);
+			if (c != '~') {
+				sb.append(c);
+			} else if (i + 1 < segment.length() && segment.charAt(i + 1) == '0') {
+				sb.append('~');
+				i++;
+			} else if (i + 1 < segment.length() && segment.charAt(i + 1) == '1') {
+				sb.append('/');
+				i++;
+			} else {
+				throw new IllegalArgumentException("Invalid escape sequence in JSON pointer: " + pointer);
+			}
+		}
+		return sb.toString();
+	}
+
+	private static int parseIndex(final String segment) {
+		if (segment.length() == 0 || segment.length() > 9 || segment.length() > 1 && segment.charAt(0) == '0') {
+			return -1;
+		}
+		int value = 0;
+		for (int i = 0; i < segment.length(); i++) {
+			final char c = segment.charAt(i);
+			if (c < '0' || c > '9') {
+				return -1;
+			}
+			value = value * 10 + c - '0';
+		}
+		return value;
+	}
+
+	/**
+	 * Number of path segments
+	 *
+	 * @return depth of the referenced value
+	 */
+	public int depth() {
+		return names.length;
+	}
+
+	String name(final int depth) {
+		return names[depth];
+	}
+
+	int hash(final int depth) {
+		return hashes[depth];
+	}
+
+	int index(final int depth) {
+		return indexes[depth];
+	}
+
+	@Override
+	public String toString() {
+		return pointer;
+	}
+
+	@Override
+	public boolean equals(final Object other) {
+		return other instanceof JsonPointer && ((JsonPointer) other).pointer.equals(pointer);
+	}
+
+	@Override
+	public int hashCode() {
+		return pointer.hashCode();
+	}
+
+	private boolean isPrefixOf(final JsonPointer other) {
+		if (names.length > other.names.length) {
+			return false;
+		}
+		for (int i = 0; i < names.length; i++) {
+			if (!names[i].equals(other.names[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	static void validate(final JsonPointer[] pointers, final Type[] manifests) {
+		if (pointers == null) throw new IllegalArgumentException("pointers can't be null");
+		if (manifests == null) throw new IllegalArgumentException("manifests can't be null");
+		if (pointers.length != manifests.length) {
+			throw new IllegalArgumentException("pointers and manifests must have the same length");
+		}
+		if (pointers.length > 64) {
+			throw new IllegalArgumentException("At most 64 pointers can be extracted at once");
+		}
+		for (int i = 0; i < pointers.length; i++) {
+			if (pointers[i] == null) throw new IllegalArgumentException("pointers can't contain null");
+			if (manifests[i] == null) throw new IllegalArgumentException("manifests can't contain null");
+			for (int j = 0; j < i; j++) {
+				if (pointers[i].isPrefixOf(pointers[j]) || pointers[j].isPrefixOf(pointers[i])) {
+					throw new IllegalArgumentException("Overlapping pointers are not supported: '"
+							+ pointers[j] + "' and '" + pointers[i] + "'");
+				}
+			}
+		}
+	}
+
+	/**
+	 * Single pass extraction state.
+	 * Pointers are tracked as a bitmask, so only matching pointers are considered for each level.
+	 */
+	static final class Extraction {
+		private final DslJson json;
+		private final JsonPointer[] pointers;
+		private final Type[] manifests;
+		final Object[] results;
+		private long pending;
+
+		Extraction(final DslJson json, final JsonPointer[] pointers, final Type[] manifests) {
+			this.json = json;
+			this.pointers = pointers;
+			this.manifests = manifests;
+			this.results = new Object[pointers.length];
+			this.pending = pointers.length == 64 ? -1L : (1L << pointers.length) - 1;
+		}
+
+		void process(final JsonReader reader) throws IOException {
+			if (pending == 0) {
+				return;
+			}
+			reader.getNextToken();
+			value(reader, 0, pending);
+		}
+
+		/**
+		 * Process value at the current position.
+		 * Reader is positioned on the first token of the value and after processing it's positioned
+		 * on the last token of the value (unless processing was finished early).
+		 */
+		private void value(final JsonReader reader, final int depth, final long active) throws IOException {
+			for (int i = 0; i < pointers.length; i++) {
+				if ((active & (1L << i)) != 0 && pointers[i].names.length == depth) {
+					results[i] = read(reader, manifests[i]);
+					pending &= ~(1L << i);
+					return;
+				}
+			}
+			final byte start = reader.last();
+			if (start == '{') {
+				object(reader, depth, active);
+			} else if (start == '[') {
+				array(reader, depth, active);
+			}
+		}
+
+		private long matchName(final JsonReader reader, final int hash, final int depth, final long active) {
+			long matched = 0;
+			for (int i = 0; i < pointers.length; i++) {
+				final long bit = 1L << i;
+				if ((active & bit) != 0
+						&& pointers[i].hashes[depth] == hash
+						&& reader.wasLastName(pointers[i].names[depth])) {
+					matched |= bit;
+				}
+			}
+			return matched;
+		}
+
+		private long matchIndex(final int index, final int depth, final long active) {
+			long matched = 0;
+			for (int i = 0; i < pointers.length; i++) {
+				final long bit = 1L << i;
+				if ((active & bit) != 0 && pointers[i].indexes[depth] == index) {
+					matched |= bit;
+				}
+			}
+			return matched;
+		}
+
+		private boolean descend(final JsonReader reader, final int depth, final long matched) throws IOException {
+			final byte token = reader.last();
+			if (token == '{' || token == '[') {
+				return true;
+			}
+			for (int i = 0; i < pointers.length; i++) {
+				if ((matched & (1L << i)) != 0 && pointers[i].names.length == depth) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private void object(final JsonReader reader, final int depth, final long active) throws IOException {
+			byte nextToken = reader.getNextToken();
+			if (nextToken == '}') {
+				return;
+			}
+			while (true) {
+				final int hash = reader.fillName();
+				reader.getNextToken();
+				final long matched = matchName(reader, hash, depth, active);
+				if (matched != 0 && descend(reader, depth + 1, matched)) {
+					value(reader, depth + 1, matched);
+					if (pending == 0) {
+						return;
+					}
+					nextToken = reader.getNextToken();
+				} else {
+					nextToken = reader.skip();
+				}
+				if (nextToken != ',') {
+					break;
+				}
+				reader.getNextToken();
+			}
+			if (nextToken != '}') {
+				throw reader.expecting("}", nextToken);
+			}
+		}
+
+		private void array(final JsonReader reader, final int depth, final long active) throws IOException {
+			byte nextToken = reader.getNextToken();
+			if (nextToken == ']') {
+				return;
+			}
+			int index = 0;
+			while (true) {
+				final long matched = matchIndex(index++, depth, active);
+				if (matched != 0 && descend(reader, depth + 1, matched)) {
+					value(reader, depth + 1, matched);
+					if (pending == 0) {
+						return;
+					}
+					nextToken = reader.getNextToken();
+				} else {
+					nextToken = reader.skip();
+				}
+				if (nextToken != ',') {
+					break;
+				}
+				reader.getNextToken();
+			}
+			if (nextToken != ']') {
+				throw reader.expecting("]", nextToken);
+			}
+		}
+
+		private Object read(final JsonReader reader, final Type manifest) throws IOException {
+			if (reader.wasNull()) {
+				return null;
+			}
+			final JsonReader.ReadObject<?> simpleReader = json.tryFindReader(manifest);
+			if (simpleReader != null) {
+				return simpleReader.read(reader);
+			}
+			if (manifest instanceof Class<?> && JsonObject.class.isAssignableFrom((Class<?>) manifest)) {
+				final JsonReader.ReadJsonObject<JsonObject> objectReader = json.getObjectReader((Class<?>) manifest);
+				if (objectReader != null) {
+					if (reader.last() != '{') {
+						throw reader.expecting("{");
+					}
+					reader.getNextToken();
+					return objectReader.deserialize(reader);
+				}
+			}
+			final Object result = json.deserializeWith(manifest, reader);
+			if (result == null) {
+				throw new IOException("Unable to find reader for " + manifest);
+			}
+			return result;
+		}
+	}
+}
@@ -3,6 +3,9 @@ package com.dslplatform.json;
 import javax.xml.bind.DatatypeConverter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.CharBuffer;
 import java.lang.reflect.Type;
 import java.nio.charset.Charset;
 import java.util.*;
@@ -53,9 +56,15 @@ public final class JsonReader<TContext> {
 
 	private final StringCache keyCache;
 	private final StringCache valuesCache;
-	private final HashMap<Type, ReadObject<?>> readers;
+	private final ByteStringCache keyBytesCache;
+	private final ByteStringCache valuesBytesCache;
+	private final StringCache cachedStringsCache;
+	private final ByteStringCache cachedStringsBytesCache;
+	final HashMap<Type, ReadObject<?>> readers;
 	private final HashMap<Type, BindObject<?>> binders;
 
+	Projection projection;
+
 	public enum DoublePrecision {
 		EXACT(0),
 		HIGH(1),
@@ -81,6 +90,9 @@ public final class JsonReader<TContext> {
 	protected final UnknownNumberParsing unknownNumbers;
 	protected final int maxNumberDigits;
 	private final int maxStringSize;
+	private final int maxDepth;
+	final boolean compactMaps;
+	private long[] skipStack = new long[1];
 
 	private JsonReader(
 			final char[] tmp,
@@ -89,12 +101,15 @@ public final class JsonReader<TContext> {
 			final TContext context,
 			final StringCache keyCache,
 			final StringCache valuesCache,
+			final StringCache cachedStringsCache,
 			final HashMap<Type, ReadObject<?>> readers,
 			final HashMap<Type, BindObject<?>> binders,
 			final DoublePrecision doublePrecision,
 			final UnknownNumberParsing unknownNumbers,
 			final int maxNumberDigits,
-			final int maxStringSize) {
+			final int maxStringSize,
+			final int maxDepth,
+			final boolean compactMaps) {
 		this.tmp = tmp;
 		this.buffer = buffer;
 		this.length = length;
@@ -103,12 +118,18 @@ public final class JsonReader<TContext> {
 		this.chars = tmp;
 		this.keyCache = keyCache;
 		this.valuesCache = valuesCache;
+		this.keyBytesCache = keyCache instanceof ByteStringCache ? (ByteStringCache) keyCache : null;
+		this.valuesBytesCache = valuesCache instanceof ByteStringCache ? (ByteStringCache) valuesCache : null;
+		this.cachedStringsCache = cachedStringsCache;
+		this.cachedStringsBytesCache = cachedStringsCache instanceof ByteStringCache ? (ByteStringCache) cachedStringsCache : null;
 		this.readers = readers;
 		this.binders = binders;
 		this.doublePrecision = doublePrecision;
 		this.unknownNumbers = unknownNumbers;
 		this.maxNumberDigits = maxNumberDigits;
 		this.maxStringSize = maxStringSize;
+		this.maxDepth = maxDepth;
+		this.compactMaps = compactMaps;
 		this.doubleLengthLimit = 15 + doublePrecision.level;
 	}
 
@@ -151,7 +172,7 @@ public final class JsonReader<TContext> {
 
 	@Deprecated
 	public JsonReader(final byte[] buffer, final int length, final TContext context, final char[] tmp, final StringCache keyCache, final StringCache valuesCache) {
-		this(tmp, buffer, length, context, keyCache, valuesCache, new HashMap<Type, ReadObject<?>>(0), new HashMap<Type, BindObject<?>>(0), DoublePrecision.DEFAULT, UnknownNumberParsing.LONG_AND_BIGDECIMAL, 512, 256 * 1024 * 1024);
+		this(tmp, buffer, length, context, keyCache, valuesCache, null, new HashMap<Type, ReadObject<?>>(0), new HashMap<Type, BindObject<?>>(0), DoublePrecision.DEFAULT, UnknownNumberParsing.LONG_AND_BIGDECIMAL, 512, 256 * 1024 * 1024, 1024, false);
 		if (tmp == null) {
 			throw new IllegalArgumentException("tmp buffer provided as null.");
 		}
@@ -169,13 +190,16 @@ public final class JsonReader<TContext> {
 			final char[] tmp,
 			final StringCache keyCache,
 			final StringCache valuesCache,
+			final StringCache cachedStringsCache,
 			final HashMap<Type, ReadObject<?>> readers,
 			final HashMap<Type, BindObject<?>> binders,
 			final DoublePrecision doublePrecision,
 			final UnknownNumberParsing unknownNumbers,
 			final int maxNumberDigits,
-			final int maxStringSize) {
-		this(tmp, buffer, length, context, keyCache, valuesCache, readers, binders, doublePrecision, unknownNumbers, maxNumberDigits, maxStringSize);
+			final int maxStringSize,
+			final int maxDepth,
+			final boolean compactMaps) {
+		this(tmp, buffer, length, context, keyCache, valuesCache, cachedStringsCache, readers, binders, doublePrecision, unknownNumbers, maxNumberDigits, maxStringSize, maxDepth, compactMaps);
 		if (tmp == null) {
 			throw new IllegalArgumentException("tmp buffer provided as null.");
 		}
@@ -295,6 +319,10 @@ public final class JsonReader<TContext> {
 	}
 
 	private int prepareNextBlock() throws IOException {
+		if (copyTarget != null) {
+			copyTarget.writeRaw(buffer, copyStart, currentIndex - copyStart);
+			copyStart = 0;
+		}
 		final int len = length - currentIndex;
 		System.arraycopy(buffer, currentIndex, buffer, 0, len);
 		final int available = readFully(buffer, stream, len);
@@ -321,6 +349,19 @@ public final class JsonReader<TContext> {
 		return prepareNextBlock() == 0;
 	}
 
+	/**
+	 * Continue processing the current object as if it was just opened.
+	 * Must be called when positioned at the quote of the next property name or at the closing '}'.
+	 * This allows reader which expects to start at '{' to process the remaining properties in place,
+	 * eg. after the discriminator property was consumed.
+	 */
+	final void restartObject() {
+		if (last == '"' || last == '}') {
+			currentIndex--;
+		}
+		last = '{';
+	}
+
 	/**
 	 * Which was last byte read from the JSON input.
 	 * JsonReader doesn't allow to go back, but it remembers previously read byte
@@ -478,8 +519,242 @@ public final class JsonReader<TContext> {
 	 * @throws IOException error reading string input
 	 */
 	public final String readString() throws IOException {
+		return readString(valuesCache, valuesBytesCache);
+	}
+
+	/**
+	 * Read string through the cache for cached string properties configured on DslJson.
+	 * Readers which were not created through DslJson don't have such cache, so strings are not deduplicated.
+	 *
+	 * @return parsed string
+	 * @throws IOException unable to parse string
+	 */
+	final String readCachedString() throws IOException {
+		return readString(cachedStringsCache, cachedStringsBytesCache);
+	}
+
+	/**
+	 * Read string through the provided cache instead of the configured values cache.
+	 * Used for properties which have their own dedicated cache.
+	 *
+	 * @param cache      optional string cache
+	 * @param bytesCache same cache if it can look up strings from bytes, null otherwise
+	 * @return parsed string
+	 * @throws IOException unable to parse string
+	 */
+	final String readString(final StringCache cache, final ByteStringCache bytesCache) throws IOException {
+		if (last == '"' && (cache == null || bytesCache != null)) {
+			final String value = readAsciiString(bytesCache);
+			if (value != null) return value;
+		}
 		final int len = parseString();
-		return valuesCache == null ? new String(chars, 0, len) : valuesCache.get(chars, len);
+		return cache == null ? new String(chars, 0, len) : cache.get(chars, len);
+	}
+
+	/**
+	 * Fast path for strings without escapes and multibyte characters which are fully inside the buffer.
+	 * Ascii bytes are copied directly into the string without intermediate char[],
+	 * or looked up from the byte cache with the hash calculated during the scan.
+	 *
+	 * @param cache optional byte level cache
+	 * @return string or null if fast path can't be used
+	 */
+	@SuppressWarnings("deprecation")
+	private String readAsciiString(final ByteStringCache cache) {
+		final int start = currentIndex;
+		final byte[] _buf = buffer;
+		final int end = length;
+		long hash = 0x811c9dc5;
+		for (int ci = start; ci < end; ci++) {
+			final byte b = _buf[ci];
+			if (b == '"') {
+				currentIndex = ci + 1;
+				return cache == null
+						? new String(_buf, 0, start, ci - start)
+						: cache.get(_buf, start, ci - start, (int) hash);
+			}
+			if ((b ^ '\\') < 1) return null;
+			if (cache != null) {
+				hash ^= b;
+				hash *= 0x1000193;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Read string from JSON input in chunks.
+	 * Decoded characters are passed to the target whenever the internal char buffer is full,
+	 * so very large strings can be processed without contiguous allocation of the whole value.
+	 * Values cache is not used.
+	 * <p>
+	 * String value must start and end with a double quote (").
+	 *
+	 * @param target where decoded characters will be appended
+	 * @return number of decoded characters
+	 * @throws IOException error reading string input or appending to target
+	 */
+	public final long readString(final Appendable target) throws IOException {
+		if (target == null) throw new IllegalArgumentException("target can't be null");
+		if (last != '"') {
+			throw new IOException("JSON string must start with a double quote at: " + positionInStream());
+		}
+		final char[] _tmp = chars;
+		final int limit = _tmp.length - 2;
+		long total = 0;
+		int pos = 0;
+		while (true) {
+			if (pos >= limit) {
+				appendChunk(target, _tmp, pos);
+				total += pos;
+				pos = 0;
+			}
+			int ci = currentIndex;
+			final int end = Math.min(length, ci + limit - pos);
+			final byte[] _buf = buffer;
+			while (ci < end) {
+				final byte b = _buf[ci];
+				if (b == '"' || b == '\\' || b < 0) break;
+				_tmp[pos++] = (char) b;
+				ci++;
+			}
+			currentIndex = ci;
+			if (pos >= limit) {
+				continue;
+			}
+			if (isEndOfStream()) {
+				throw new IOException("JSON string was not closed with a double quote at: " + positionInStream());
+			}
+			int bc = read();
+			if (bc == '"') {
+				break;
+			}
+			if (bc == '\\') {
+				bc = read();
+				switch (bc) {
+					case 'b':
+						bc = '\b';
+						break;
+					case 't':
+						bc = '\t';
+						break;
+					case 'n':
+						bc = '\n';
+						break;
+					case 'f':
+						bc = '\f';
+						break;
+					case 'r':
+						bc = '\r';
+						break;
+					case '"':
+					case '/':
+					case '\\':
+						break;
+					case 'u':
+						bc = (hexToInt(read()) << 12) + (hexToInt(read()) << 8) + (hexToInt(read()) << 4) + hexToInt(read());
+						break;
+					default:
+						throw new IOException("Could not parse String at position: " + positionInStream() + ". Invalid escape combination detected: '\\" + bc + "'");
+				}
+			} else if ((bc & 0x80) != 0) {
+				final int u2 = read();
+				if ((bc & 0xE0) == 0xC0) {
+					bc = ((bc & 0x1F) << 6) + (u2 & 0x3F);
+				} else {
+					final int u3 = read();
+					if ((bc & 0xF0) == 0xE0) {
+						bc = ((bc & 0x0F) << 12) + ((u2 & 0x3F) << 6) + (u3 & 0x3F);
+					} else {
+						final int u4 = read();
+						if ((bc & 0xF8) != 0xF0) {
+							throw new IOException("Invalid unicode character detected at: " + positionInStream());
+						}
+						bc = ((bc & 0x07) << 18) + ((u2 & 0x3F) << 12) + ((u3 & 0x3F) << 6) + (u4 & 0x3F);
+						if (bc >= 0x110000) {
+							throw new IOException("Invalid unicode character detected at: " + positionInStream());
+						}
+						final int sup = bc - 0x10000;
+						_tmp[pos++] = (char) ((sup >>> 10) + 0xd800);
+						bc = (sup & 0x3ff) + 0xdc00;
+					}
+				}
+			}
+			_tmp[pos++] = (char) bc;
+		}
+		if (pos > 0) {
+			appendChunk(target, _tmp, pos);
+			total += pos;
+		}
+		return total;
+	}
+
+	private static void appendChunk(final Appendable target, final char[] chunk, final int len) throws IOException {
+		if (target instanceof Writer) {
+			((Writer) target).write(chunk, 0, len);
+		} else if (target instanceof StringBuilder) {
+			((StringBuilder) target).append(chunk, 0, len);
+		} else {
+			target.append(CharBuffer.wrap(chunk, 0, len));
+		}
+	}
+
+	/**
+	 * Read base64 encoded binary from JSON input in chunks.
+	 * Decoded bytes are written into the target stream in bounded chunks,
+	 * so very large embedded binaries can be processed without allocating the whole value.
+	 *
+	 * @param target where decoded bytes will be written
+	 * @return number of decoded bytes
+	 * @throws IOException error reading base64 input or writing to target
+	 */
+	public final long readBase64(final OutputStream target) throws IOException {
+		if (target == null) throw new IllegalArgumentException("target can't be null");
+		if (last != '"') {
+			throw new IOException("Expecting '\"' at position " + positionInStream() + " at base64 start. Found " + (char) last);
+		}
+		final byte[] chunk = new byte[3 * 1024];
+		long total = 0;
+		int pos = 0;
+		int quad = 0;
+		int count = 0;
+		int padding = 0;
+		while (true) {
+			byte b = read();
+			if (b == '"') {
+				break;
+			}
+			if (b == '\\' && read() == '/') {
+				b = '/';
+			}
+			final int value = Base64.decode(b);
+			if (b == '=' && count >= 2) {
+				padding++;
+			} else if (value < 0 || padding > 0) {
+				throw new IOException("Invalid base64 character detected at: " + positionInStream());
+			}
+			quad = (quad << 6) | (value < 0 ? 0 : value);
+			if (++count == 4) {
+				chunk[pos++] = (byte) (quad >> 16);
+				if (padding < 2) chunk[pos++] = (byte) (quad >> 8);
+				if (padding < 1) chunk[pos++] = (byte) quad;
+				quad = 0;
+				count = 0;
+				if (pos == chunk.length) {
+					target.write(chunk, 0, pos);
+					total += pos;
+					pos = 0;
+				}
+			}
+		}
+		if (count != 0) {
+			throw new IOException("Invalid base64 length detected at: " + positionInStream());
+		}
+		if (pos > 0) {
+			target.write(chunk, 0, pos);
+			total += pos;
+		}
+		return total;
 	}
 
 	final int parseString() throws IOException {
@@ -590,6 +865,7 @@ public final class JsonReader<TContext> {
 							final int sup = bc - 0x10000;
 							_tmp[soFar++] = (char) ((sup >>> 10) + 0xd800);
 							_tmp[soFar++] = (char) ((sup & 0x3ff) + 0xdc00);
+							continue;
 						}
 					}
 				}
@@ -708,6 +984,22 @@ public final class JsonReader<TContext> {
 		return hash;
 	}
 
+	/**
+	 * Hash of the property name, matching the one calculated by {@link #calcHash()} and {@link #fillName()}
+	 * for the same name in JSON. Used for precalculating hashes of known property names.
+	 *
+	 * @param name property name
+	 * @return FNV-1a hash of the UTF-8 name
+	 */
+	static int hashName(final String name) {
+		long hash = 0x811c9dc5;
+		for (final byte b : name.getBytes(UTF_8)) {
+			hash ^= b;
+			hash *= 0x1000193;
+		}
+		return (int) hash;
+	}
+
 	public final int calcHash() throws IOException {
 		if (last != '"') {
 			throw new IOException("Expecting '\"' at position " + positionInStream() + ". Found " + (char) last);
@@ -799,69 +1091,64 @@ public final class JsonReader<TContext> {
 		return new String(buffer, tokenStart, nameEnd - tokenStart - 1, "UTF-8");
 	}
 
-	private byte skipString() throws IOException {
-		byte c = read();
-		byte prev = c;
-		boolean inEscape = false;
-		while (c != '"' || inEscape) {
-			prev = c;
-			inEscape = !inEscape && prev == '\\';
-			c = read();
-		}
-		return getNextToken();
-	}
-
 	/**
-	 * Skip to next non-whitespace token (byte)
-	 * Will not allocate memory while skipping over JSON input.
-	 *
-	 * @return next non-whitespace byte
-	 * @throws IOException unable to read next byte (end of stream, invalid JSON, ...)
+	 * Move to the closing quote of the current string.
+	 * Buffer is scanned in bulk and escaped bytes are jumped over,
+	 * instead of processing string byte by byte through read().
 	 */
-	public final byte skip() throws IOException {
-		if (last == '"') return skipString();
-		if (last == '{') {
-			byte nextToken = getNextToken();
-			if (nextToken == '}') return getNextToken();
-			if (nextToken == '"') {
-				nextToken = skipString();
-			} else {
-				throw new IOException("Expecting '\"' at position " + positionInStream() + ". Found " + (char) nextToken);
+	private void skipStringBody() throws IOException {
+		int ci = currentIndex;
+		while (true) {
+			final byte[] _buf = buffer;
+			final int end = length;
+			while (ci < end) {
+				final byte b = _buf[ci];
+				if (b == '"') {
+					currentIndex = ci + 1;
+					last = '"';
+					return;
+				}
+				ci += b == '\\' ? 2 : 1;
 			}
-			if (nextToken != ':') {
-				throw new IOException("Expecting ':' at position " + positionInStream() + ". Found " + (char) nextToken);
+			final int overflow = ci - end;
+			currentIndex = end;
+			if (isEndOfStream()) {
+				throw new IOException("Unexpected end of JSON input");
 			}
-			getNextToken();
-			nextToken = skip();
-			while (nextToken == ',') {
-				nextToken = getNextToken();
-				if (nextToken == '"') {
-					nextToken = skipString();
+			ci = currentIndex + overflow;
+		}
+	}
+
+	private byte skipString() throws IOException {
+		skipStringBody();
+		return getNextToken();
+	}
+
+	private byte skipNumber() throws IOException {
+		int ci = currentIndex;
+		while (true) {
+			final byte[] _buf = buffer;
+			final int end = length;
+			while (ci < end) {
+				final byte b = _buf[ci];
+				if (b >= '0' && b <= '9' || b == '.' || b == 'e' || b == 'E' || b == '+' || b == '-') {
+					ci++;
 				} else {
-					throw new IOException("Expecting '\"' at position " + positionInStream() + ". Found " + (char) nextToken);
+					currentIndex = ci;
+					return getNextToken();
 				}
-				if (nextToken != ':') {
-					throw new IOException("Expecting ':' at position " + positionInStream() + ". Found " + (char) nextToken);
-				}
-				getNextToken();
-				nextToken = skip();
 			}
-			if (nextToken != '}') {
-				throw new IOException("Expecting '}' at position " + positionInStream() + ". Found " + (char) nextToken);
+			currentIndex = end;
+			if (isEndOfStream()) {
+				return getNextToken();
 			}
-			return getNextToken();
+			ci = currentIndex;
 		}
-		if (last == '[') {
-			getNextToken();
-			byte nextToken = skip();
-			while (nextToken == ',') {
-				getNextToken();
-				nextToken = skip();
-			}
-			if (nextToken != ']') {
-				throw new IOException("Expecting ']' at position " + positionInStream() + ". Found " + (char) nextToken);
-			}
-			return getNextToken();
+	}
+
+	private byte skipScalar() throws IOException {
+		if (last == '"') {
+			return skipString();
 		}
 		if (last == 'n') {
 			if (!wasNull()) {
@@ -881,12 +1168,249 @@ public final class JsonReader<TContext> {
 			}
 			return getNextToken();
 		}
+		if (last == '-' || last >= '0' && last <= '9') {
+			return skipNumber();
+		}
 		while (last != ',' && last != '}' && last != ']') {
 			read();
 		}
 		return last;
 	}
 
+	private byte skipAttributeName(final byte token) throws IOException {
+		if (token != '"') {
+			throw new IOException("Expecting '\"' at position " + positionInStream() + ". Found " + (char) token);
+		}
+		skipStringBody();
+		final byte nextToken = getNextToken();
+		if (nextToken != ':') {
+			throw new IOException("Expecting ':' at position " + positionInStream() + ". Found " + (char) nextToken);
+		}
+		return getNextToken();
+	}
+
+	private void pushNesting(final int depth, final boolean isObject) throws IOException {
+		if (depth == maxDepth) {
+			throw new IOException("Maximum nesting depth of " + maxDepth + " exceeded at position " + positionInStream());
+		}
+		final int word = depth >> 6;
+		if (word == skipStack.length) {
+			skipStack = Arrays.copyOf(skipStack, word * 2);
+		}
+		if (isObject) {
+			skipStack[word] |= 1L << depth;
+		} else {
+			skipStack[word] &= ~(1L << depth);
+		}
+	}
+
+	private boolean isObjectNesting(final int depth) {
+		return (skipStack[(depth - 1) >> 6] & (1L << (depth - 1))) != 0;
+	}
+
+	/**
+	 * Skip to next non-whitespace token (byte)
+	 * Will not allocate memory while skipping over JSON input.
+	 * Nested objects and arrays are processed without recursion,
+	 * up to the configured maximum depth.
+	 *
+	 * @return next non-whitespace byte
+	 * @throws IOException unable to read next byte (end of stream, invalid JSON, too deep nesting, ...)
+	 */
+	public final byte skip() throws IOException {
+		if (last != '{' && last != '[') {
+			return skipScalar();
+		}
+		byte token = last;
+		int depth = 0;
+		while (true) {
+			if (token == '{' || token == '[') {
+				final boolean isObject = token == '{';
+				pushNesting(depth, isObject);
+				depth++;
+				token = getNextToken();
+				if (token == (isObject ? '}' : ']')) {
+					depth--;
+					token = getNextToken();
+				} else {
+					if (isObject) {
+						token = skipAttributeName(token);
+					}
+					continue;
+				}
+			} else {
+				token = skipScalar();
+			}
+			while (depth > 0) {
+				final boolean inObject = isObjectNesting(depth);
+				if (token == ',') {
+					token = getNextToken();
+					if (inObject) {
+						token = skipAttributeName(token);
+					}
+					break;
+				}
+				if (token != (inObject ? '}' : ']')) {
+					throw new IOException("Expecting '" + (inObject ? '}' : ']') + "' at position " + positionInStream() + ". Found " + (char) token);
+				}
+				depth--;
+				token = getNextToken();
+			}
+			if (depth == 0) {
+				return token;
+			}
+		}
+	}
+
+	/**
+	 * Capture exact bytes of the current JSON value.
+	 * Unlike {@link #skip()}, reader will be positioned at the last byte of the value,
+	 * so it can be used as a regular {@link ReadObject}.
+	 * When processing byte[] input, bytes are copied from the buffer once the end of the value was found.
+	 *
+	 * @return copy of the bytes representing the current value
+	 * @throws IOException unable to find the end of the value or invalid JSON detected
+	 */
+	final byte[] readRaw() throws IOException {
+		if (stream == null) {
+			final int start = currentIndex - 1;
+			scanValue();
+			return Arrays.copyOfRange(buffer, start, currentIndex);
+		}
+		final JsonWriter raw = new JsonWriter(64, null);
+		copyValue(raw);
+		return raw.toByteArray();
+	}
+
+	private JsonWriter copyTarget;
+	private int copyStart;
+
+	/**
+	 * Copy exact bytes of the current JSON value into the writer.
+	 * Bytes are copied in chunks directly from the input buffer.
+	 * When processing a stream, pending chunk is copied before the buffer is refilled,
+	 * so memory usage is bounded by the size of the buffers regardless of the size of the value.
+	 * After copy, reader will be positioned at the last byte of the value.
+	 *
+	 * @param writer target for the bytes of the value
+	 * @throws IOException unable to find the end of the value or invalid JSON detected
+	 */
+	final void copyValue(final JsonWriter writer) throws IOException {
+		copyTarget = writer;
+		copyStart = currentIndex - 1;
+		try {
+			scanValue();
+			writer.writeRaw(buffer, copyStart, currentIndex - copyStart);
+		} finally {
+			copyTarget = null;
+		}
+	}
+
+	/**
+	 * Copy name of the last processed attribute into the writer, including the quotes.
+	 * Must be called after {@link #calcHash()}.
+	 *
+	 * @param writer target for the name
+	 */
+	final void copyLastName(final JsonWriter writer) {
+		if (stream != null && nameEnd == -1) {
+			final byte[] buf = writer.ensureCapacity(lastNameLen + 2);
+			int pos = writer.size();
+			buf[pos++] = '"';
+			for (int i = 0; i < lastNameLen; i++) {
+				buf[pos++] = (byte) chars[i];
+			}
+			buf[pos] = '"';
+			writer.advance(lastNameLen + 2);
+		} else {
+			writer.writeRaw(buffer, tokenStart - 1, nameEnd - tokenStart + 1);
+		}
+	}
+
+	private void scanLiteral(final String literal) throws IOException {
+		for (int i = 1; i < literal.length(); i++) {
+			if (read() != literal.charAt(i)) {
+				throw new IOException("Expecting '" + literal + "' at position " + positionInStream());
+			}
+		}
+	}
+
+	private void scanScalar() throws IOException {
+		if (last == '"') {
+			skipStringBody();
+		} else if (last == 'n') {
+			scanLiteral("null");
+		} else if (last == 't') {
+			scanLiteral("true");
+		} else if (last == 'f') {
+			scanLiteral("false");
+		} else if (last == '-' || last >= '0' && last <= '9') {
+			while (!isEndOfStream()) {
+				final byte b = buffer[currentIndex];
+				if (b >= '0' && b <= '9' || b == '.' || b == 'e' || b == 'E' || b == '+' || b == '-') {
+					read();
+				} else {
+					break;
+				}
+			}
+		} else {
+			throw new IOException("Unexpected '" + (char) last + "' at position " + positionInStream() + " while reading JSON value");
+		}
+	}
+
+	/**
+	 * Validate and find the end of the current JSON value.
+	 * Reader will be positioned at the last byte of the value.
+	 * Nested objects and arrays are processed without recursion,
+	 * up to the configured maximum depth.
+	 *
+	 * @throws IOException unable to find the end of the value, invalid JSON or too deep nesting detected
+	 */
+	final void scanValue() throws IOException {
+		if (last != '{' && last != '[') {
+			scanScalar();
+			return;
+		}
+		byte token = last;
+		int depth = 0;
+		while (true) {
+			if (token == '{' || token == '[') {
+				final boolean isObject = token == '{';
+				pushNesting(depth, isObject);
+				depth++;
+				token = getNextToken();
+				if (token == (isObject ? '}' : ']')) {
+					depth--;
+				} else {
+					if (isObject) {
+						token = skipAttributeName(token);
+					}
+					continue;
+				}
+			} else {
+				scanScalar();
+			}
+			while (depth > 0) {
+				final boolean inObject = isObjectNesting(depth);
+				token = getNextToken();
+				if (token == ',') {
+					token = getNextToken();
+					if (inObject) {
+						token = skipAttributeName(token);
+					}
+					break;
+				}
+				if (token != (inObject ? '}' : ']')) {
+					throw expecting(inObject ? "}" : "]", token);
+				}
+				depth--;
+			}
+			if (depth == 0) {
+				return;
+			}
+		}
+	}
+
 	/**
 	 * will be removed
 	 *
@@ -917,6 +1441,39 @@ public final class JsonReader<TContext> {
 		return Base64.decodeFast(buffer, start, currentIndex - 1);
 	}
 
+	/**
+	 * Count elements of the current object or array when it's fully inside the buffer.
+	 * Used for sizing array backed collections before processing. Reader position is not changed.
+	 * Must be called after the first token of the first element was read.
+	 *
+	 * @return number of elements or -1 when end was not found in the buffer
+	 */
+	final int countElements() {
+		final byte[] _buf = buffer;
+		final int end = length;
+		int depth = 0;
+		int count = 1;
+		int ci = currentIndex - 1;
+		while (ci < end) {
+			final byte b = _buf[ci++];
+			if (b == '"') {
+				while (ci < end) {
+					final byte c = _buf[ci++];
+					if (c == '"') break;
+					if (c == '\\') ci++;
+				}
+			} else if (b == ',') {
+				if (depth == 0) count++;
+			} else if (b == '{' || b == '[') {
+				depth++;
+			} else if (b == '}' || b == ']') {
+				if (depth == 0) return count;
+				depth--;
+			}
+		}
+		return -1;
+	}
+
 	/**
 	 * Read key value of JSON input.
 	 * If key cache is used, it will be looked up from there.
@@ -925,8 +1482,14 @@ public final class JsonReader<TContext> {
 	 * @throws IOException unable to parse string input
 	 */
 	public final String readKey() throws IOException {
-		final int len = parseString();
-		final String key = keyCache != null ? keyCache.get(chars, len) : new String(chars, 0, len);
+		String key = null;
+		if (last == '"' && (keyCache == null || keyBytesCache != null)) {
+			key = readAsciiString(keyBytesCache);
+		}
+		if (key == null) {
+			final int len = parseString();
+			key = keyCache != null ? keyCache.get(chars, len) : new String(chars, 0, len);
+		}
 		if (getNextToken() != ':') {
 			throw new IOException("Expecting ':' at position " + positionInStream() + ". Found " + (char) last);
 		}
@@ -1253,6 +1816,66 @@ public final class JsonReader<TContext> {
 		return new WithObjectReader<T>(reader, this);
 	}
 
+	/**
+	 * Iterate over entries of an object.
+	 * Reader must be positioned on the quote of the first key.
+	 * Keys are read through the key cache, while values are deserialized with the provided reader.
+	 * Each entry is deserialized on next() invocation, so only a single value is kept in memory at once.
+	 *
+	 * @param reader value reader
+	 * @param <T>    value type
+	 * @return iterator over key/value pairs
+	 */
+	public final <T> Iterator<Map.Entry<String, T>> iterateOverEntries(final JsonReader.ReadObject<T> reader) {
+		return new WithKeyReader<T>(reader, this);
+	}
+
+	private static class WithKeyReader<T> implements Iterator<Map.Entry<String, T>> {
+		private final JsonReader.ReadObject<T> reader;
+		private final JsonReader json;
+
+		private boolean hasNext;
+
+		WithKeyReader(JsonReader.ReadObject<T> reader, JsonReader json) {
+			this.reader = reader;
+			this.json = json;
+			hasNext = true;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return hasNext;
+		}
+
+		@Override
+		public void remove() {
+		}
+
+		@Override
+		public Map.Entry<String, T> next() {
+			try {
+				final String key = json.readKey();
+				final T instance;
+				if (json.wasNull()) {
+					instance = null;
+				} else {
+					instance = reader.read(json);
+				}
+				hasNext = json.getNextToken() == ',';
+				if (hasNext) {
+					json.getNextToken();
+				} else {
+					if (json.last() != '}') {
+						throw json.expecting("}");
+					}
+				}
+				return new AbstractMap.SimpleImmutableEntry<String, T>(key, instance);
+			} catch (IOException e) {
+				throw new SerializationException(e);
+			}
+		}
+	}
+
 	private static class WithReader<T> implements Iterator<T> {
 		private final JsonReader.ReadObject<T> reader;
 		private final JsonReader json;
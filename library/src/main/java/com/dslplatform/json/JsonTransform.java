@@ -0,0 +1,302 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Precompiled set of rules for streaming JSON to JSON transformation.
+ * Input is processed token by token and copied directly from the input buffer into the output buffer,
+ * without building an object model.
+ * Subtrees which are not targeted by any rule are copied in bulk.
+ * When used with streams, memory usage is bounded by the size of reader and writer buffers.
+ * <p>
+ * Rules are specified with JSON Pointers.
+ * In addition to RFC 6901 syntax, * can be used as a segment which matches any property or array index.
+ *
+ * <pre>
+ *     static final JsonTransform SANITIZE = JsonTransform.dropping("/user/password")
+ *         .drop("/items/&#42;/internalId")
+ *         .rename("/user/mail", "email")
+ *         .replace("/user/ssn", RawJson.of("null"));
+ *     ...
+ *     dslJson.transform(input, output, SANITIZE);
+ * </pre>
+ * <p>
+ * Whitespace between tokens is not preserved, while values which are copied as is retain their formatting.
+ * Rules can target at most 64 paths.
+ */
+public final class JsonTransform {
+
+	private static final int DROP = 1;
+	private static final int RENAME = 2;
+	private static final int REPLACE = 3;
+
+	private static final JsonTransform EMPTY = new JsonTransform(new JsonPointer[0], new int[0], new String[0], new byte[0][]);
+
+	private final JsonPointer[] pointers;
+	private final boolean[][] wildcards;
+	private final int[] actions;
+	private final String[] renames;
+	private final byte[][] replacements;
+
+	private JsonTransform(
+			final JsonPointer[] pointers,
+			final int[] actions,
+			final String[] renames,
+			final byte[][] replacements) {
+		this.pointers = pointers;
+		this.actions = actions;
+		this.renames = renames;
+		this.replacements = replacements;
+		this.wildcards = new boolean[pointers.length][];
+		for (int i = 0; i < pointers.length; i++) {
+			wildcards[i] = new boolean[pointers[i].depth()];
+			for (int j = 0; j < wildcards[i].length; j++) {
+				wildcards[i][j] = "*".equals(pointers[i].name(j));
+			}
+		}
+	}
+
+	/**
+	 * Create transformation which removes property or array element at specified path.
+	 *
+	 * @param pointer path to the removed value
+	 * @return compiled transformation
+	 */
+	public static JsonTransform dropping(final String pointer) {
+		return EMPTY.drop(pointer);
+	}
+
+	/**
+	 * Create transformation which renames property at specified path.
+	 *
+	 * @param pointer path to the renamed property
+	 * @param name    new property name
+	 * @return compiled transformation
+	 */
+	public static JsonTransform renaming(final String pointer, final String name) {
+		return EMPTY.rename(pointer, name);
+	}
+
+	/**
+	 * Create transformation which replaces value at specified path.
+	 *
+	 * @param pointer path to the replaced value
+	 * @param value   value which will be written instead
+	 * @return compiled transformation
+	 */
+	public static JsonTransform replacing(final String pointer, final RawJson value) {
+		return EMPTY.replace(pointer, value);
+	}
+
+	/**
+	 * Create a new transformation which also removes property or array element at specified path.
+	 *
+	 * @param pointer path to the removed value
+	 * @return new compiled transformation
+	 */
+	public JsonTransform drop(final String pointer) {
+		return with(pointer, DROP, null, null);
+	}
+
+	/**
+	 * Create a new transformation which also renames property at specified path.
+	 * Renamed property can still be targeted by other rules using the original name.
+	 *
+	 * @param pointer path to the renamed property
+	 * @param name    new property name
+	 * @return new compiled transformation
+	 */
+	public JsonTransform rename(final String pointer, final String name) {
+		if (name == null) throw new IllegalArgumentException("name can't be null");
+		return with(pointer, RENAME, name, null);
+	}
+
+	/**
+	 * Create a new transformation which also replaces value at specified path.
+	 *
+	 * @param pointer path to the replaced value
+	 * @param value   value which will be written instead
+	 * @return new compiled transformation
+	 */
+	public JsonTransform replace(final String pointer, final RawJson value) {
+		if (value == null) throw new IllegalArgumentException("value can't be null");
+		return with(pointer, REPLACE, null, value.value);
+	}
+
+	private JsonTransform with(final String pointer, final int action, final String rename, final byte[] replacement) {
+		final JsonPointer compiled = JsonPointer.compile(pointer);
+		if (compiled.depth() == 0) {
+			throw new IllegalArgumentException("Transformation of the whole document is not supported");
+		}
+		if (pointers.length == 64) {
+			throw new IllegalArgumentException("At most 64 rules can be defined");
+		}
+		final int len = pointers.length;
+		final JsonPointer[] newPointers = Arrays.copyOf(pointers, len + 1);
+		final int[] newActions = Arrays.copyOf(actions, len + 1);
+		final String[] newRenames = Arrays.copyOf(renames, len + 1);
+		final byte[][] newReplacements = Arrays.copyOf(replacements, len + 1);
+		newPointers[len] = compiled;
+		newActions[len] = action;
+		newRenames[len] = rename;
+		newReplacements[len] = replacement;
+		return new JsonTransform(newPointers, newActions, newRenames, newReplacements);
+	}
+
+	/**
+	 * Transform a single JSON value from the reader into the writer.
+	 * Reader will be positioned at the last byte of the processed value.
+	 * When writer targets a stream, flush must be called after transformation.
+	 *
+	 * @param reader input JSON
+	 * @param writer output JSON
+	 * @throws IOException error during processing of JSON
+	 */
+	public void apply(final JsonReader reader, final JsonWriter writer) throws IOException {
+		if (reader == null) throw new IllegalArgumentException("reader can't be null");
+		if (writer == null) throw new IllegalArgumentException("writer can't be null");
+		reader.getNextToken();
+		value(reader, writer, 0, pointers.length == 64 ? -1L : (1L << pointers.length) - 1);
+	}
+
+	private void value(final JsonReader reader, final JsonWriter writer, final int depth, final long active) throws IOException {
+		final byte start = reader.last();
+		if (active == 0 || start != '{' && start != '[') {
+			reader.copyValue(writer);
+		} else if (start == '{') {
+			object(reader, writer, depth, active);
+		} else {
+			array(reader, writer, depth, active);
+		}
+	}
+
+	private long matchName(final JsonReader reader, final int hash, final int depth, final long active) {
+		long matched = 0;
+		for (int i = 0; i < pointers.length; i++) {
+			final long bit = 1L << i;
+			if ((active & bit) != 0
+					&& (wildcards[i][depth]
+					|| pointers[i].hash(depth) == hash && reader.wasLastName(pointers[i].name(depth)))) {
+				matched |= bit;
+			}
+		}
+		return matched;
+	}
+
+	private long matchIndex(final int index, final int depth, final long active) {
+		long matched = 0;
+		for (int i = 0; i < pointers.length; i++) {
+			final long bit = 1L << i;
+			if ((active & bit) != 0 && (wildcards[i][depth] || pointers[i].index(depth) == index)) {
+				matched |= bit;
+			}
+		}
+		return matched;
+	}
+
+	private int findRule(final long matched, final int depth) {
+		for (int i = 0; i < pointers.length; i++) {
+			if ((matched & (1L << i)) != 0 && pointers[i].depth() == depth) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private long nested(final long matched, final int depth) {
+		long result = 0;
+		for (int i = 0; i < pointers.length; i++) {
+			final long bit = 1L << i;
+			if ((matched & bit) != 0 && pointers[i].depth() > depth) {
+				result |= bit;
+			}
+		}
+		return result;
+	}
+
+	private void member(
+			final JsonReader reader,
+			final JsonWriter writer,
+			final int depth,
+			final long matched,
+			final int rule) throws IOException {
+		if (rule != -1 && actions[rule] == DROP) {
+			reader.scanValue();
+		} else if (rule != -1 && actions[rule] == REPLACE) {
+			reader.scanValue();
+			writer.writeAscii(replacements[rule]);
+		} else {
+			value(reader, writer, depth, nested(matched, depth));
+		}
+	}
+
+	private void object(final JsonReader reader, final JsonWriter writer, final int depth, final long active) throws IOException {
+		writer.writeByte(JsonWriter.OBJECT_START);
+		byte nextToken = reader.getNextToken();
+		if (nextToken != '}') {
+			boolean written = false;
+			while (true) {
+				final int hash = reader.calcHash();
+				final long matched = matchName(reader, hash, depth, active);
+				final int rule = findRule(matched, depth + 1);
+				if (rule == -1 || actions[rule] != DROP) {
+					if (written) {
+						writer.writeByte(JsonWriter.COMMA);
+					}
+					if (rule != -1 && actions[rule] == RENAME) {
+						writer.writeString(renames[rule]);
+					} else {
+						reader.copyLastName(writer);
+					}
+					writer.writeByte(JsonWriter.SEMI);
+					written = true;
+				}
+				nextToken = reader.getNextToken();
+				if (nextToken != ':') {
+					throw reader.expecting(":", nextToken);
+				}
+				reader.getNextToken();
+				member(reader, writer, depth + 1, matched, rule);
+				nextToken = reader.getNextToken();
+				if (nextToken != ',') {
+					break;
+				}
+				reader.getNextToken();
+			}
+			if (nextToken != '}') {
+				throw reader.expecting("}", nextToken);
+			}
+		}
+		writer.writeByte(JsonWriter.OBJECT_END);
+	}
+
+	private void array(final JsonReader reader, final JsonWriter writer, final int depth, final long active) throws IOException {
+		writer.writeByte(JsonWriter.ARRAY_START);
+		byte nextToken = reader.getNextToken();
+		if (nextToken != ']') {
+			boolean written = false;
+			int index = 0;
+			while (true) {
+				final long matched = matchIndex(index++, depth, active);
+				final int rule = findRule(matched, depth + 1);
+				if (rule == -1 || actions[rule] != DROP) {
+					if (written) {
+						writer.writeByte(JsonWriter.COMMA);
+					}
+					written = true;
+				}
+				member(reader, writer, depth + 1, matched, rule);
+				nextToken = reader.getNextToken();
+				if (nextToken != ',') {
+					break;
+				}
+				reader.getNextToken();
+			}
+			if (nextToken != ']') {
+				throw reader.expecting("]", nextToken);
+			}
+		}
+		writer.writeByte(JsonWriter.ARRAY_END);
+	}
+}
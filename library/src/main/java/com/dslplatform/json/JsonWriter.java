@@ -1,7 +1,10 @@
 package com.dslplatform.json;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
 import java.util.*;
 
@@ -35,6 +38,17 @@ public final class JsonWriter {
 		return buffer;
 	}
 
+	/**
+	 * Reserve space for the next slice of a large value.
+	 * When writer targets a stream, buffered content is flushed instead of growing the buffer.
+	 */
+	final byte[] ensureSliceCapacity(final int free) {
+		if (position + free >= buffer.length) {
+			enlargeOrFlush(position, free);
+		}
+		return buffer;
+	}
+
 	void advance(int size) {
 		position += size;
 	}
@@ -43,7 +57,59 @@ public final class JsonWriter {
 	private OutputStream target;
 	private byte[] buffer;
 
-	private final UnknownSerializer unknownSerializer;
+	final UnknownSerializer unknownSerializer;
+	private final byte[] escapes;
+	private final boolean escapeNonAscii;
+	private final boolean escapeSeparators;
+	private final boolean encodeFromBytes;
+
+	/**
+	 * Rules for escaping characters in strings.
+	 * Characters required by JSON (quote, backslash and control characters) are always escaped.
+	 * Pre-encoded property names are not affected by the policy.
+	 */
+	public enum EscapePolicy {
+		/**
+		 * Escape only required characters and write everything else as UTF-8.
+		 */
+		MINIMAL,
+		/**
+		 * Escape all non-ASCII characters, so output consists only of ASCII bytes.
+		 */
+		ASCII,
+		/**
+		 * Escape HTML sensitive characters (&lt; &gt; &amp; ') and JavaScript line separators (U+2028 and U+2029),
+		 * so JSON can be safely embedded into HTML script tags.
+		 */
+		HTML
+	}
+
+	/**
+	 * Escape table for ASCII characters.
+	 * 0 for characters which are written as is,
+	 * 'u' for characters written as unicode escape
+	 * and escape character for two character escapes.
+	 */
+	private static final byte[] MINIMAL_ESCAPES = new byte[128];
+	private static final byte[] HTML_ESCAPES;
+
+	static {
+		for (int i = 0; i < 32; i++) {
+			MINIMAL_ESCAPES[i] = 'u';
+		}
+		MINIMAL_ESCAPES['\b'] = 'b';
+		MINIMAL_ESCAPES['\t'] = 't';
+		MINIMAL_ESCAPES['\n'] = 'n';
+		MINIMAL_ESCAPES['\f'] = 'f';
+		MINIMAL_ESCAPES['\r'] = 'r';
+		MINIMAL_ESCAPES['"'] = '"';
+		MINIMAL_ESCAPES['\\'] = '\\';
+		HTML_ESCAPES = Arrays.copyOf(MINIMAL_ESCAPES, 128);
+		HTML_ESCAPES['<'] = 'u';
+		HTML_ESCAPES['>'] = 'u';
+		HTML_ESCAPES['&'] = 'u';
+		HTML_ESCAPES['\''] = 'u';
+	}
 
 	/**
 	 * Prefer creating JsonWriter through DslJson#newWriter
@@ -63,8 +129,20 @@ public final class JsonWriter {
 	}
 
 	JsonWriter(final byte[] buffer, final UnknownSerializer unknownSerializer) {
+		this(buffer, unknownSerializer, EscapePolicy.MINIMAL);
+	}
+
+	JsonWriter(final byte[] buffer, final UnknownSerializer unknownSerializer, final EscapePolicy escapePolicy) {
+		this(buffer, unknownSerializer, escapePolicy, ENCODE_FROM_BYTES);
+	}
+
+	JsonWriter(final byte[] buffer, final UnknownSerializer unknownSerializer, final EscapePolicy escapePolicy, final boolean encodeFromBytes) {
 		this.buffer = buffer;
 		this.unknownSerializer = unknownSerializer;
+		this.escapes = escapePolicy == EscapePolicy.HTML ? HTML_ESCAPES : MINIMAL_ESCAPES;
+		this.escapeNonAscii = escapePolicy == EscapePolicy.ASCII;
+		this.escapeSeparators = escapePolicy == EscapePolicy.HTML;
+		this.encodeFromBytes = encodeFromBytes && escapePolicy == EscapePolicy.MINIMAL;
 	}
 
 	/**
@@ -146,202 +224,272 @@ public final class JsonWriter {
 
 	/**
 	 * Write a quoted string into the JSON.
-	 * String will be appropriately escaped according to JSON escaping rules.
+	 * String will be appropriately escaped according to JSON escaping rules
+	 * and escape policy of this writer.
 	 *
 	 * @param value string to write
 	 */
 	public final void writeString(final String value) {
 		final int len = value.length();
+		if (len > CHUNK_SIZE) {
+			writeStringChunked(value);
+			return;
+		}
 		if (position + (len << 2) + (len << 1) + 2 >= buffer.length) {
 			enlargeOrFlush(position, (len << 2) + (len << 1) + 2);
 		}
+		buffer[position] = QUOTE;
+		final int cur = writeChars(value, 0, position + 1, len);
+		buffer[cur] = QUOTE;
+		position = cur + 1;
+	}
+
+	/**
+	 * Write chars of the string without quotes.
+	 * Buffer must have enough capacity for escaping all of them.
+	 *
+	 * @param value string to write
+	 * @param i     first char to write
+	 * @param cur   position in the buffer
+	 * @param len   end of the chars to write
+	 * @return new position in the buffer
+	 */
+	private int writeChars(final String value, int i, int cur, final int len) {
 		final byte[] _result = buffer;
-		_result[position] = QUOTE;
-		int cur = position + 1;
-		for (int i = 0; i < len; i++) {
+		final byte[] _escapes = escapes;
+		for (; i < len; i++) {
 			final char c = value.charAt(i);
-			if (c > 31 && c != '"' && c != '\\' && c < 126) {
+			if (c < 128 && _escapes[c] == 0) {
 				_result[cur++] = (byte) c;
 			} else {
-				writeQuotedString(value, i, cur, len);
-				return;
+				if (c > 0xFF && encodeFromBytes && len - i >= ENCODE_FROM_BYTES_SIZE) {
+					final int encoded = writeEncoded(value, i, len, cur);
+					if (encoded != -1) {
+						return encoded;
+					}
+				}
+				return writeEscaped(value, i, cur, len);
 			}
 		}
-		_result[cur] = QUOTE;
-		position = cur + 1;
+		return cur;
 	}
 
-	private void writeQuotedString(final String str, int i, int cur, final int len) {
-		final byte[] _result = this.buffer;
-		for (; i < len; i++) {
-			final char c = str.charAt(i);
-			if (c == '"') {
-				_result[cur++] = ESCAPE;
-				_result[cur++] = QUOTE;
-			} else if (c == '\\') {
-				_result[cur++] = ESCAPE;
+	/**
+	 * On JDK 9 and newer String.getBytes(UTF-8) works directly on the compact string representation,
+	 * which is considerably faster for strings with characters outside of Latin-1 (Cyrillic, CJK, ...).
+	 * Such strings are encoded by the JDK and only escaped afterwards.
+	 * ASCII and Latin-1 strings, as well as all strings on Java 6, Java 8 and Android, are encoded char by char.
+	 */
+	private static final boolean ENCODE_FROM_BYTES = encodeFromBytes();
+	private static final int ENCODE_FROM_BYTES_SIZE = 32;
+	/**
+	 * Minimal escapes with '?' marked, since that's how JDK replaces invalid surrogates.
+	 */
+	private static final byte[] ENCODED_ESCAPES = Arrays.copyOf(MINIMAL_ESCAPES, 128);
+
+	static {
+		ENCODED_ESCAPES['?'] = '?';
+	}
+
+	private static boolean encodeFromBytes() {
+		try {
+			final String version = System.getProperty("java.specification.version");
+			return version != null && !version.startsWith("1.") && !version.startsWith("0.")
+					&& !"Dalvik".equals(System.getProperty("java.vm.name"));
+		} catch (SecurityException ignore) {
+			return false;
+		}
+	}
+
+	/**
+	 * Encode part of the string to UTF-8 through the JDK and escape it.
+	 * Only the specified chars are encoded, so the temporary byte[] is bounded by the slice length
+	 * (at most CHUNK_SIZE chars, since longer strings are written in slices).
+	 * Escaping is only valid for minimal escape policy.
+	 *
+	 * @param value  string to encode
+	 * @param offset first char to write
+	 * @param limit  end of the chars to write
+	 * @param cur    position in the buffer
+	 * @return new position in the buffer or -1 if the slice contains invalid surrogates
+	 */
+	final int writeEncoded(final String value, final int offset, final int limit, int cur) {
+		final String slice = offset == 0 && limit == value.length() ? value : value.substring(offset, limit);
+		final byte[] bytes = slice.getBytes(UTF_8);
+		final byte[] _result = buffer;
+		final int len = bytes.length;
+		int questionMarks = 0;
+		int start = 0;
+		while (start < len) {
+			int end = start;
+			byte b = 0;
+			while (end < len && ((b = bytes[end]) < 0 || ENCODED_ESCAPES[b] == 0)) {
+				end++;
+			}
+			System.arraycopy(bytes, start, _result, cur, end - start);
+			cur += end - start;
+			if (end == len) {
+				break;
+			}
+			start = end + 1;
+			final byte escape = ENCODED_ESCAPES[b];
+			if (escape == 'u') {
+				cur = writeUnicodeEscape(_result, cur, (char) b);
+			} else if (escape == '?') {
+				questionMarks++;
+				_result[cur++] = b;
+			} else {
 				_result[cur++] = ESCAPE;
-			} else if (c < 32) {
-				if (c == 8) {
-					_result[cur++] = ESCAPE;
-					_result[cur++] = 'b';
-				} else if (c == 9) {
-					_result[cur++] = ESCAPE;
-					_result[cur++] = 't';
-				} else if (c == 10) {
-					_result[cur++] = ESCAPE;
-					_result[cur++] = 'n';
-				} else if (c == 12) {
-					_result[cur++] = ESCAPE;
-					_result[cur++] = 'f';
-				} else if (c == 13) {
-					_result[cur++] = ESCAPE;
-					_result[cur++] = 'r';
-				} else {
-					_result[cur] = ESCAPE;
-					_result[cur + 1] = 'u';
-					_result[cur + 2] = '0';
-					_result[cur + 3] = '0';
-					switch (c) {
-						case 0:
-							_result[cur + 4] = '0';
-							_result[cur + 5] = '0';
-							break;
-						case 1:
-							_result[cur + 4] = '0';
-							_result[cur + 5] = '1';
-							break;
-						case 2:
-							_result[cur + 4] = '0';
-							_result[cur + 5] = '2';
-							break;
-						case 3:
-							_result[cur + 4] = '0';
-							_result[cur + 5] = '3';
-							break;
-						case 4:
-							_result[cur + 4] = '0';
-							_result[cur + 5] = '4';
-							break;
-						case 5:
-							_result[cur + 4] = '0';
-							_result[cur + 5] = '5';
-							break;
-						case 6:
-							_result[cur + 4] = '0';
-							_result[cur + 5] = '6';
-							break;
-						case 7:
-							_result[cur + 4] = '0';
-							_result[cur + 5] = '7';
-							break;
-						case 11:
-							_result[cur + 4] = '0';
-							_result[cur + 5] = 'B';
-							break;
-						case 14:
-							_result[cur + 4] = '0';
-							_result[cur + 5] = 'E';
-							break;
-						case 15:
-							_result[cur + 4] = '0';
-							_result[cur + 5] = 'F';
-							break;
-						case 16:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = '0';
-							break;
-						case 17:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = '1';
-							break;
-						case 18:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = '2';
-							break;
-						case 19:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = '3';
-							break;
-						case 20:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = '4';
-							break;
-						case 21:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = '5';
-							break;
-						case 22:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = '6';
-							break;
-						case 23:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = '7';
-							break;
-						case 24:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = '8';
-							break;
-						case 25:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = '9';
-							break;
-						case 26:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = 'A';
-							break;
-						case 27:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = 'B';
-							break;
-						case 28:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = 'C';
-							break;
-						case 29:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = 'D';
-							break;
-						case 30:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = 'E';
-							break;
-						default:
-							_result[cur + 4] = '1';
-							_result[cur + 5] = 'F';
-							break;
-					}
-					cur += 6;
-				}
-			} else if (c < 0x007F) {
-				_result[cur++] = (byte) c;
+				_result[cur++] = escape;
+			}
+		}
+		if (questionMarks > 0) {
+			int index = slice.indexOf('?');
+			while (index != -1) {
+				questionMarks--;
+				index = slice.indexOf('?', index + 1);
+			}
+			if (questionMarks != 0) return -1;
+		}
+		return cur;
+	}
+
+	/**
+	 * Maximum number of chars or bytes which are encoded at once.
+	 * Large values are processed in slices of this size, so buffer capacity is reserved per slice
+	 * and buffer is flushed between slices when writer targets a stream.
+	 */
+	private static final int CHUNK_SIZE = 4096;
+
+	private void writeStringChunked(final String value) {
+		writeByte(QUOTE);
+		final int len = value.length();
+		int i = 0;
+		while (i < len) {
+			int end = i + CHUNK_SIZE < len ? i + CHUNK_SIZE : len;
+			if (end < len && Character.isHighSurrogate(value.charAt(end - 1))) {
+				end--;
+			}
+			final int maxSize = (end - i) * 6;
+			if (position + maxSize >= buffer.length) {
+				enlargeOrFlush(position, maxSize);
+			}
+			position = writeChars(value, i, position, end);
+			i = end;
+		}
+		writeByte(QUOTE);
+	}
+
+	private void writeEscapedSlice(final CharSequence value, final int start, final int end) {
+		final int maxSize = (end - start) * 6;
+		if (position + maxSize >= buffer.length) {
+			enlargeOrFlush(position, maxSize);
+		}
+		position = writeEscaped(value, start, position, end);
+	}
+
+	/**
+	 * Write a quoted string from the reader into the JSON.
+	 * String will be appropriately escaped according to JSON escaping rules.
+	 * Reader is processed in chunks, so the whole string doesn't need to be in memory.
+	 * Reader will not be closed.
+	 *
+	 * @param reader source of the string
+	 * @throws IOException unable to read from the reader
+	 */
+	public final void writeString(final Reader reader) throws IOException {
+		if (reader == null) throw new IllegalArgumentException("reader can't be null");
+		final char[] chunk = new char[CHUNK_SIZE];
+		final CharBuffer sequence = CharBuffer.wrap(chunk);
+		writeByte(QUOTE);
+		int pending = 0;
+		int read;
+		while ((read = reader.read(chunk, pending, chunk.length - pending)) != -1) {
+			final int available = pending + read;
+			if (available == 0) {
+				continue;
+			}
+			final int end = Character.isHighSurrogate(chunk[available - 1]) ? available - 1 : available;
+			writeEscapedSlice(sequence, 0, end);
+			pending = available - end;
+			if (pending > 0) {
+				chunk[0] = chunk[end];
+			}
+		}
+		if (pending > 0) {
+			writeEscapedSlice(sequence, 0, pending);
+		}
+		writeByte(QUOTE);
+	}
+
+	/**
+	 * Minimum length of safe run which is copied through String.getBytes instead of char by char.
+	 */
+	private static final int BULK_COPY_SIZE = 16;
+
+	@SuppressWarnings("deprecation")
+	private int writeEscaped(final CharSequence str, int i, int cur, final int len) {
+		final byte[] _result = this.buffer;
+		final byte[] _escapes = this.escapes;
+		final String string = str instanceof String ? (String) str : null;
+		while (i < len) {
+			int end = i;
+			char c = 0;
+			while (end < len && (c = str.charAt(end)) < 128 && _escapes[c] == 0) {
+				end++;
+			}
+			if (end - i >= BULK_COPY_SIZE && string != null) {
+				string.getBytes(i, end, _result, cur);
+				cur += end - i;
 			} else {
-				final int cp = str.codePointAt(i);
-				if (Character.isSupplementaryCodePoint(cp)) {
-					i++;
+				for (; i < end; i++) {
+					_result[cur++] = (byte) str.charAt(i);
 				}
-				if (cp == 0x007F) {
-					_result[cur++] = (byte) cp;
-				} else if (cp <= 0x7FF) {
-					_result[cur++] = (byte) (0xC0 | ((cp >> 6) & 0x1F));
-					_result[cur++] = (byte) (0x80 | (cp & 0x3F));
-				} else if ((cp < 0xD800) || (cp > 0xDFFF && cp <= 0xFFFD)) {
-					_result[cur++] = (byte) (0xE0 | ((cp >> 12) & 0x0F));
-					_result[cur++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
-					_result[cur++] = (byte) (0x80 | (cp & 0x3F));
-				} else if (cp >= 0x10000 && cp <= 0x10FFFF) {
-					_result[cur++] = (byte) (0xF0 | ((cp >> 18) & 0x07));
-					_result[cur++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
-					_result[cur++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
-					_result[cur++] = (byte) (0x80 | (cp & 0x3F));
+			}
+			if (end == len) {
+				break;
+			}
+			i = end + 1;
+			if (c < 128) {
+				final byte escape = _escapes[c];
+				if (escape == 'u') {
+					cur = writeUnicodeEscape(_result, cur, c);
 				} else {
-					throw new SerializationException("Unknown unicode codepoint in string! " + Integer.toHexString(cp));
+					_result[cur++] = ESCAPE;
+					_result[cur++] = escape;
 				}
+			} else if (escapeNonAscii || escapeSeparators && (c == 0x2028 || c == 0x2029)) {
+				cur = writeUnicodeEscape(_result, cur, c);
+			} else if (c < 0x800) {
+				_result[cur++] = (byte) (0xC0 | (c >> 6));
+				_result[cur++] = (byte) (0x80 | (c & 0x3F));
+			} else if (c < 0xD800 || c > 0xDFFF) {
+				_result[cur++] = (byte) (0xE0 | (c >> 12));
+				_result[cur++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				_result[cur++] = (byte) (0x80 | (c & 0x3F));
+			} else if (Character.isHighSurrogate(c) && i < len && Character.isLowSurrogate(str.charAt(i))) {
+				final int cp = Character.toCodePoint(c, str.charAt(i++));
+				_result[cur++] = (byte) (0xF0 | (cp >> 18));
+				_result[cur++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+				_result[cur++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+				_result[cur++] = (byte) (0x80 | (cp & 0x3F));
+			} else {
+				throw new SerializationException("Unknown unicode codepoint in string! " + Integer.toHexString(c));
 			}
 		}
-		_result[cur] = QUOTE;
-		position = cur + 1;
+		return cur;
+	}
+
+	private static final byte[] HEX = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+
+	private static int writeUnicodeEscape(final byte[] result, final int cur, final char c) {
+		result[cur] = ESCAPE;
+		result[cur + 1] = 'u';
+		result[cur + 2] = HEX[c >> 12];
+		result[cur + 3] = HEX[(c >> 8) & 0xF];
+		result[cur + 4] = HEX[(c >> 4) & 0xF];
+		result[cur + 5] = HEX[c & 0xF];
+		return cur + 6;
 	}
 
 	/**
@@ -414,6 +562,14 @@ public final class JsonWriter {
 		position += len;
 	}
 
+	final void writeRaw(final byte[] buf, final int offset, final int len) {
+		if (position + len >= buffer.length) {
+			enlargeOrFlush(position, len);
+		}
+		System.arraycopy(buf, offset, buffer, position, len);
+		position += len;
+	}
+
 	/**
 	 * Encode bytes as Base 64.
 	 * Provided value can't be null.
@@ -421,6 +577,14 @@ public final class JsonWriter {
 	 * @param value bytes to encode
 	 */
 	public final void writeBinary(final byte[] value) {
+		if (value.length > CHUNK_SIZE) {
+			writeByte(QUOTE);
+			for (int i = 0; i < value.length; i += BINARY_CHUNK_SIZE) {
+				writeBase64Slice(value, i, i + BINARY_CHUNK_SIZE < value.length ? BINARY_CHUNK_SIZE : value.length - i);
+			}
+			writeByte(QUOTE);
+			return;
+		}
 		if (position + (value.length << 1) + 2 >= buffer.length) {
 			enlargeOrFlush(position, (value.length << 1) + 2);
 		}
@@ -429,6 +593,45 @@ public final class JsonWriter {
 		buffer[position++] = '"';
 	}
 
+	//multiple of 3 so that padding is only used for the last slice
+	private static final int BINARY_CHUNK_SIZE = 3 * 1024;
+
+	private void writeBase64Slice(final byte[] value, final int offset, final int len) {
+		final int maxSize = ((len + 2) / 3) << 2;
+		if (position + maxSize >= buffer.length) {
+			enlargeOrFlush(position, maxSize);
+		}
+		position += Base64.encodeToBytes(value, offset, len, buffer, position);
+	}
+
+	/**
+	 * Encode bytes from the stream as Base 64.
+	 * Stream is processed in chunks, so the whole binary doesn't need to be in memory.
+	 * Stream will not be closed.
+	 *
+	 * @param stream source of the bytes
+	 * @throws IOException unable to read from the stream
+	 */
+	public final void writeBinary(final InputStream stream) throws IOException {
+		if (stream == null) throw new IllegalArgumentException("stream can't be null");
+		final byte[] chunk = new byte[BINARY_CHUNK_SIZE];
+		writeByte(QUOTE);
+		while (true) {
+			int len = 0;
+			int read;
+			while (len < chunk.length && (read = stream.read(chunk, len, chunk.length - len)) != -1) {
+				len += read;
+			}
+			if (len > 0) {
+				writeBase64Slice(chunk, 0, len);
+			}
+			if (len < chunk.length) {
+				break;
+			}
+		}
+		writeByte(QUOTE);
+	}
+
 	@Override
 	public String toString() {
 		return new String(buffer, 0, position, UTF_8);
@@ -484,6 +687,23 @@ public final class JsonWriter {
 		return position;
 	}
 
+	final boolean hasTarget() {
+		return target != null;
+	}
+
+	/**
+	 * Ensure that buffer can hold specified number of additional bytes.
+	 * Buffer will be grown at most once, instead of multiple times during serialization.
+	 * When stream is used as target, buffer will not be grown since its content will be flushed to stream instead.
+	 *
+	 * @param size expected number of bytes which will be written
+	 */
+	public final void reserve(final int size) {
+		if (target == null && size > 0 && position + size >= buffer.length) {
+			buffer = Arrays.copyOf(buffer, position + size + 64);
+		}
+	}
+
 	/**
 	 * Resets the writer - same as calling reset(OutputStream = null)
 	 */
@@ -544,6 +764,18 @@ public final class JsonWriter {
 		void write(JsonWriter writer, T value);
 	}
 
+	/**
+	 * Writers can optionally provide an estimate of the resulting JSON size.
+	 * Estimate is used to reserve buffer capacity before serialization starts,
+	 * so that buffer doesn't need to be grown multiple times for large objects.
+	 * It should be cheap to calculate and it's fine if it's not exact.
+	 *
+	 * @param <T> type
+	 */
+	public interface SizeEstimator<T> {
+		int estimateSize(T value);
+	}
+
 	/**
 	 * Convenience method for serializing array of JsonObject's.
 	 * Array can't be null nor can't contain null values (it will result in NullPointerException).
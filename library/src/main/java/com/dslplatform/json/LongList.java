@@ -0,0 +1,129 @@
+package com.dslplatform.json;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * List of longs backed by a long[].
+ * Values are stored without boxing, so large numeric arrays take a fraction of the memory of ArrayList&lt;Long&gt;.
+ * Primitive accessors ({@link #getLong(int)}, {@link #addLong(long)}) should be preferred,
+ * while List methods box values on access.
+ * <p>
+ * Null values are not supported.
+ */
+public final class LongList extends AbstractList<Long> implements RandomAccess {
+
+	private long[] values;
+	private int size;
+
+	public LongList() {
+		this(8);
+	}
+
+	public LongList(final int capacity) {
+		if (capacity < 0) throw new IllegalArgumentException("capacity can't be negative");
+		this.values = new long[capacity];
+	}
+
+	/**
+	 * Create list backed by the provided array.
+	 * Array will be used until list needs to grow.
+	 *
+	 * @param values initial values
+	 */
+	public LongList(final long[] values) {
+		if (values == null) throw new IllegalArgumentException("values can't be null");
+		this.values = values;
+		this.size = values.length;
+	}
+
+	private void checkIndex(final int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	private void ensureCapacity(final int capacity) {
+		if (capacity > values.length) {
+			values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1) + 4));
+		}
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	public long getLong(final int index) {
+		checkIndex(index);
+		return values[index];
+	}
+
+	@Override
+	public Long get(final int index) {
+		return getLong(index);
+	}
+
+	public long setLong(final int index, final long value) {
+		checkIndex(index);
+		final long old = values[index];
+		values[index] = value;
+		return old;
+	}
+
+	@Override
+	public Long set(final int index, final Long value) {
+		return setLong(index, value);
+	}
+
+	public void addLong(final long value) {
+		ensureCapacity(size + 1);
+		values[size++] = value;
+		modCount++;
+	}
+
+	@Override
+	public boolean add(final Long value) {
+		addLong(value);
+		return true;
+	}
+
+	@Override
+	public void add(final int index, final Long value) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		final long primitive = value;
+		ensureCapacity(size + 1);
+		System.arraycopy(values, index, values, index + 1, size - index);
+		values[index] = primitive;
+		size++;
+		modCount++;
+	}
+
+	@Override
+	public Long remove(final int index) {
+		checkIndex(index);
+		final long old = values[index];
+		System.arraycopy(values, index + 1, values, index, size - index - 1);
+		size--;
+		modCount++;
+		return old;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Copy values into a new array.
+	 *
+	 * @return array with list values
+	 */
+	public long[] toLongArray() {
+		return Arrays.copyOf(values, size);
+	}
+}
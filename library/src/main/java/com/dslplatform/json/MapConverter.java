@@ -45,31 +45,48 @@ public abstract class MapConverter {
 			throw new IOException("Expecting '{' at position " + reader.positionInStream() + ". Found " + (char) reader.last());
 		}
 		byte nextToken = reader.getNextToken();
-		if (nextToken == '}') return new LinkedHashMap<String, String>(0);
+		if (nextToken == '}') {
+			return reader.compactMaps ? Collections.<String, String>emptyMap() : new LinkedHashMap<String, String>(0);
+		}
+		if (reader.compactMaps) {
+			//compact map is backed by arrays, so it's worth scanning ahead for their exact size
+			return deserializeCompact(reader, reader.countElements());
+		}
 		final LinkedHashMap<String, String> res = new LinkedHashMap<String, String>();
-		String key = StringConverter.deserialize(reader);
-		nextToken = reader.getNextToken();
-		if (nextToken != ':') {
-			throw new IOException("Expecting ':' at position " + reader.positionInStream() + ". Found " + (char) nextToken);
+		String key = reader.readKey();
+		res.put(key, StringConverter.deserializeNullable(reader));
+		while ((nextToken = reader.getNextToken()) == ',') {
+			reader.getNextToken();
+			key = reader.readKey();
+			res.put(key, StringConverter.deserializeNullable(reader));
+		}
+		if (nextToken != '}') {
+			throw new IOException("Expecting '}' at position " + reader.positionInStream() + ". Found " + (char) nextToken);
 		}
-		reader.getNextToken();
-		String value = StringConverter.deserializeNullable(reader);
-		res.put(key, value);
+		return res;
+	}
+
+	private static Map<String, String> deserializeCompact(final JsonReader reader, final int count) throws IOException {
+		String[] keys = new String[count > 0 ? count : 8];
+		String[] values = new String[keys.length];
+		keys[0] = reader.readKey();
+		values[0] = StringConverter.deserializeNullable(reader);
+		int size = 1;
+		byte nextToken;
 		while ((nextToken = reader.getNextToken()) == ',') {
 			reader.getNextToken();
-			key = StringConverter.deserialize(reader);
-			nextToken = reader.getNextToken();
-			if (nextToken != ':') {
-				throw new IOException("Expecting ':' at position " + reader.positionInStream() + ". Found " + (char) nextToken);
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, size * 2);
+				values = Arrays.copyOf(values, size * 2);
 			}
-			reader.getNextToken();
-			value = StringConverter.deserializeNullable(reader);
-			res.put(key, value);
+			keys[size] = reader.readKey();
+			values[size] = StringConverter.deserializeNullable(reader);
+			size++;
 		}
 		if (nextToken != '}') {
 			throw new IOException("Expecting '}' at position " + reader.positionInStream() + ". Found " + (char) nextToken);
 		}
-		return res;
+		return new CompactMap<String>(keys, values, size);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -0,0 +1,466 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.*;
+
+/**
+ * Converter for abstract types (interfaces and abstract classes) with a known set of implementations.
+ * Implementation is recognized through the discriminator property (by default {@code $type})
+ * which is expected as the first property in the object.
+ * <p>
+ * Discriminator value is never converted into a String when it's the first property.
+ * Hash is calculated over the raw bytes, implementation is looked up in a precomputed table
+ * and the rest of the object is processed in place by the concrete reader,
+ * which sees the remaining properties as if the object had just started.
+ * Discriminator can also be a compact integer, eg. {@code {"$type":12,...}},
+ * which is used during serialization when compact option is enabled.
+ * <p>
+ * When discriminator is not the first property, whole object will be processed as a generic map
+ * and converted to the concrete type afterwards, which is significantly slower.
+ *
+ * <pre>
+ *     MixinDescription&lt;Event&gt; description = new MixinDescription&lt;Event&gt;(
+ *         Event.class,
+ *         new MixinDescription.Subtype(Created.class, "Created", 1),
+ *         new MixinDescription.Subtype(Deleted.class, "Deleted", 2));
+ *     description.configure(dslJson);
+ *     dslJson.registerReader(Event.class, description);
+ *     dslJson.registerWriter(Event.class, description);
+ * </pre>
+ *
+ * @param <T> abstract type
+ */
+public final class MixinDescription<T> implements JsonReader.ReadObject<T>, JsonWriter.WriteObject<T>, JsonWriter.SizeEstimator<T>, Configuration {
+
+	/**
+	 * Default name of the discriminator property.
+	 */
+	public static final String DISCRIMINATOR = "$type";
+
+	/**
+	 * Implementation of the abstract type.
+	 * Name is always required while integer identifier is optional
+	 * and can be used for compact representation.
+	 */
+	public static final class Subtype {
+		public final Class<?> manifest;
+		public final String name;
+		public final Integer id;
+		private final int hash;
+		private final byte[] quoted;
+		private JsonReader.ReadObject<?> reader;
+		private JsonReader.ReadJsonObject<JsonObject> objectReader;
+		private JsonWriter.WriteObject<?> writer;
+
+		public Subtype(final Class<?> manifest, final String name) {
+			this(manifest, name, null);
+		}
+
+		public Subtype(final Class<?> manifest, final String name, final Integer id) {
+			if (manifest == null) throw new IllegalArgumentException("manifest can't be null");
+			if (name == null || name.length() == 0) throw new IllegalArgumentException("name can't be empty");
+			this.manifest = manifest;
+			this.name = name;
+			this.id = id;
+			this.hash = JsonReader.hashName(name);
+			final JsonWriter quoting = new JsonWriter(name.length() + 8, null);
+			quoting.writeString(name);
+			this.quoted = quoting.toByteArray();
+		}
+	}
+
+	private final Type manifest;
+	private final String discriminator;
+	private final byte[] quotedDiscriminator;
+	private final int discriminatorHash;
+	private final boolean compact;
+	private final Subtype[] subtypes;
+	private final int[] nameHashes;
+	private final Subtype[] nameSlots;
+	private final int[] idKeys;
+	private final Subtype[] idSlots;
+	private final HashMap<String, Subtype> byName;
+	private final HashMap<Class<?>, Subtype> byClass;
+	private final ThreadLocal<JsonWriter> scratch = new ThreadLocal<JsonWriter>();
+	private DslJson json;
+
+	/**
+	 * Create description with the default discriminator name.
+	 * Types will be serialized with their names.
+	 *
+	 * @param manifest abstract type
+	 * @param subtypes known implementations
+	 */
+	public MixinDescription(final Type manifest, final Subtype... subtypes) {
+		this(manifest, DISCRIMINATOR, false, subtypes);
+	}
+
+	/**
+	 * Create description for an abstract type.
+	 *
+	 * @param manifest      abstract type
+	 * @param discriminator name of the property which holds the type information
+	 * @param compact       serialize integer identifiers instead of names
+	 * @param subtypes      known implementations
+	 */
+	public MixinDescription(
+			final Type manifest,
+			final String discriminator,
+			final boolean compact,
+			final Subtype... subtypes) {
+		if (manifest == null) throw new IllegalArgumentException("manifest can't be null");
+		if (discriminator == null || discriminator.length() == 0) throw new IllegalArgumentException("discriminator can't be empty");
+		if (subtypes == null || subtypes.length == 0) throw new IllegalArgumentException("subtypes can't be empty");
+		this.manifest = manifest;
+		this.discriminator = discriminator;
+		this.discriminatorHash = JsonReader.hashName(discriminator);
+		final JsonWriter quoting = new JsonWriter(discriminator.length() + 8, null);
+		quoting.writeString(discriminator);
+		quoting.writeByte(JsonWriter.SEMI);
+		this.quotedDiscriminator = quoting.toByteArray();
+		this.compact = compact;
+		this.subtypes = subtypes.clone();
+		int size = 4;
+		while (size < subtypes.length * 2) {
+			size <<= 1;
+		}
+		this.nameHashes = new int[size];
+		this.nameSlots = new Subtype[size];
+		this.idKeys = new int[size];
+		this.idSlots = new Subtype[size];
+		this.byName = new HashMap<String, Subtype>();
+		this.byClass = new HashMap<Class<?>, Subtype>();
+		for (final Subtype st : this.subtypes) {
+			if (st == null) throw new IllegalArgumentException("subtypes can't contain null");
+			if (manifest instanceof Class<?> && !((Class<?>) manifest).isAssignableFrom(st.manifest)) {
+				throw new IllegalArgumentException(st.manifest + " is not a subtype of " + manifest);
+			}
+			if (compact && st.id == null) {
+				throw new IllegalArgumentException("Compact discriminator requires id for all subtypes. Missing id for: " + st.name);
+			}
+			if (byName.put(st.name, st) != null) {
+				throw new IllegalArgumentException("Duplicate subtype name: '" + st.name + "' in " + manifest);
+			}
+			if (byClass.put(st.manifest, st) != null) {
+				throw new IllegalArgumentException("Duplicate subtype class: " + st.manifest + " in " + manifest);
+			}
+			int pos = st.hash & (size - 1);
+			while (nameSlots[pos] != null) {
+				if (nameHashes[pos] == st.hash) {
+					throw new IllegalArgumentException("Duplicate hash value detected for subtypes: '"
+							+ nameSlots[pos].name + "' and '" + st.name + "' in " + manifest);
+				}
+				pos = (pos + 1) & (size - 1);
+			}
+			nameHashes[pos] = st.hash;
+			nameSlots[pos] = st;
+			if (st.id != null) {
+				final int id = st.id;
+				pos = mix(id) & (size - 1);
+				while (idSlots[pos] != null) {
+					if (idKeys[pos] == id) {
+						throw new IllegalArgumentException("Duplicate subtype id: " + id + " in " + manifest);
+					}
+					pos = (pos + 1) & (size - 1);
+				}
+				idKeys[pos] = id;
+				idSlots[pos] = st;
+			}
+		}
+	}
+
+	/**
+	 * Bind description to DslJson instance.
+	 * Subtype readers and writers will be resolved from it on first usage.
+	 * Description can be bound only to a single DslJson instance,
+	 * so a new description (with new subtypes) should be created for each DslJson.
+	 *
+	 * @param json library instance
+	 */
+	@Override
+	public void configure(final DslJson json) {
+		if (json == null) throw new IllegalArgumentException("json can't be null");
+		synchronized (this) {
+			if (this.json != null && this.json != json) {
+				throw new IllegalArgumentException("Description for " + manifest + " is already configured with another DslJson instance. Create a new description for each DslJson");
+			}
+			this.json = json;
+		}
+	}
+
+	private static int mix(final int id) {
+		final int h = id * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private Subtype findByHash(final int hash) {
+		final int mask = nameSlots.length - 1;
+		int pos = hash & mask;
+		Subtype st;
+		while ((st = nameSlots[pos]) != null) {
+			if (nameHashes[pos] == hash) {
+				return st;
+			}
+			pos = (pos + 1) & mask;
+		}
+		return null;
+	}
+
+	private Subtype findById(final int id) {
+		final int mask = idSlots.length - 1;
+		int pos = mix(id) & mask;
+		Subtype st;
+		while ((st = idSlots[pos]) != null) {
+			if (idKeys[pos] == id) {
+				return st;
+			}
+			pos = (pos + 1) & mask;
+		}
+		return null;
+	}
+
+	private DslJson bound() throws IOException {
+		final DslJson dslJson = json;
+		if (dslJson == null) {
+			throw new IOException("Description for " + manifest + " was not configured. Call configure(DslJson) before using it");
+		}
+		return dslJson;
+	}
+
+	@Override
+	public T read(final JsonReader reader) throws IOException {
+		if (reader.wasNull()) {
+			return null;
+		}
+		if (reader.last() != '{') {
+			throw reader.expecting("{");
+		}
+		final byte nextToken = reader.getNextToken();
+		if (nextToken == '}') {
+			throw new IOException("Missing '" + discriminator + "' property for " + manifest + " at position " + reader.positionInStream());
+		}
+		final int hash = reader.fillName();
+		if (hash != discriminatorHash || !reader.wasLastName(discriminator)) {
+			final LinkedHashMap<String, Object> content = new LinkedHashMap<String, Object>();
+			content.put(reader.getLastName(), readFirstValue(reader));
+			return readFromMap(reader, content);
+		}
+		final Subtype st = readSubtype(reader);
+		final byte afterType = reader.getNextToken();
+		if (afterType == ',') {
+			if (reader.getNextToken() != '"') {
+				throw reader.expecting("\"");
+			}
+		} else if (afterType != '}') {
+			throw reader.expecting("}", afterType);
+		}
+		return readContent(st, reader);
+	}
+
+	private Subtype readSubtype(final JsonReader reader) throws IOException {
+		final byte start = reader.getNextToken();
+		if (start == '"') {
+			final int hash = reader.calcHash();
+			final Subtype st = findByHash(hash);
+			if (st == null || !reader.wasLastName(st.name)) {
+				final String name = reader.getLastName();
+				throw new IOException("Unknown '" + discriminator + "' value: '" + name + "' for " + manifest
+						+ " at position " + reader.positionInStream(name.length() + 1));
+			}
+			return st;
+		}
+		final int id = NumberConverter.deserializeInt(reader);
+		final Subtype st = findById(id);
+		if (st == null) {
+			throw new IOException("Unknown '" + discriminator + "' value: " + id + " for " + manifest + " at position " + reader.positionInStream());
+		}
+		return st;
+	}
+
+	private JsonReader.ReadObject<?> resolve(final Subtype st) throws IOException {
+		JsonReader.ReadObject<?> concrete = st.reader;
+		if (concrete == null && st.objectReader == null) {
+			final DslJson dslJson = bound();
+			concrete = dslJson.tryFindReader(st.manifest);
+			if (concrete != null) {
+				st.reader = concrete;
+			} else if (JsonObject.class.isAssignableFrom(st.manifest)) {
+				st.objectReader = dslJson.getObjectReader(st.manifest);
+			}
+			if (concrete == null && st.objectReader == null) {
+				throw new IOException("Unable to find reader for " + st.manifest);
+			}
+		}
+		return concrete;
+	}
+
+	/**
+	 * Read the rest of the object after the discriminator.
+	 * Reader is expected to be positioned at the first remaining property or at the closing '}'.
+	 */
+	@SuppressWarnings("unchecked")
+	private T readContent(final Subtype st, final JsonReader reader) throws IOException {
+		final JsonReader.ReadObject<?> concrete = resolve(st);
+		if (st.objectReader != null) {
+			return (T) st.objectReader.deserialize(reader);
+		} else if (concrete instanceof ImmutableDescription) {
+			return (T) ((ImmutableDescription) concrete).readContent(reader);
+		}
+		final JsonReader.ReadObject<?> projected = reader.projection == null ? null : bound().projectedReader(st.manifest, reader);
+		reader.restartObject();
+		return (T) (projected != null ? projected : concrete).read(reader);
+	}
+
+	private static Object readFirstValue(final JsonReader reader) throws IOException {
+		reader.getNextToken();
+		return ObjectConverter.deserializeObject(reader);
+	}
+
+	private static void readRemaining(final JsonReader reader, final Map<String, Object> content) throws IOException {
+		byte nextToken;
+		while ((nextToken = reader.getNextToken()) == ',') {
+			reader.getNextToken();
+			final String key = reader.readKey();
+			content.put(key, ObjectConverter.deserializeObject(reader));
+		}
+		if (nextToken != '}') {
+			throw reader.expecting("}", nextToken);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private T readFromMap(final JsonReader reader, final LinkedHashMap<String, Object> content) throws IOException {
+		readRemaining(reader, content);
+		if (!content.containsKey(discriminator)) {
+			throw new IOException("Missing '" + discriminator + "' property for " + manifest + " at position " + reader.positionInStream());
+		}
+		final Object value = content.remove(discriminator);
+		final Subtype st;
+		if (value instanceof String) {
+			st = byName.get(value);
+		} else if (value instanceof Number) {
+			st = findById(((Number) value).intValue());
+		} else {
+			st = null;
+		}
+		if (st == null) {
+			throw new IOException("Unknown '" + discriminator + "' value: " + value + " for " + manifest + " at position " + reader.positionInStream());
+		}
+		return convert(st, content);
+	}
+
+	@SuppressWarnings("unchecked")
+	private T convert(final Subtype st, final Map<String, Object> content) throws IOException {
+		final DslJson dslJson = bound();
+		final JsonReader.ReadObject<?> concrete = resolve(st);
+		final JsonWriter writer = dslJson.newWriter();
+		writer.serializeObject(content);
+		final JsonReader reader = dslJson.newReader(writer.getByteBuffer(), writer.size());
+		reader.getNextToken();
+		if (st.objectReader == null && !(concrete instanceof ImmutableDescription)) {
+			return (T) concrete.read(reader);
+		}
+		reader.getNextToken();
+		return readContent(st, reader);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void write(final JsonWriter writer, final T value) {
+		if (value == null) {
+			writer.writeNull();
+			return;
+		}
+		final DslJson dslJson = json;
+		if (dslJson == null) {
+			throw new SerializationException("Description for " + manifest + " was not configured. Call configure(DslJson) before using it");
+		}
+		final Subtype st = byClass.get(value.getClass());
+		if (st == null) {
+			throw new SerializationException("Unknown subtype " + value.getClass() + " for " + manifest);
+		}
+		JsonWriter.WriteObject concrete = st.writer;
+		if (concrete == null && !(value instanceof JsonObject)) {
+			concrete = st.writer = dslJson.tryFindWriter(st.manifest);
+		}
+		if (concrete instanceof ImmutableDescription) {
+			writeDiscriminator(writer, st);
+			((ImmutableDescription) concrete).writeContent(writer, value, true);
+			writer.writeByte(JsonWriter.OBJECT_END);
+			return;
+		}
+		JsonWriter tmp = scratch.get();
+		if (tmp == null) {
+			tmp = dslJson.newWriter();
+		} else {
+			scratch.set(null);
+			tmp.reset();
+		}
+		try {
+			if (value instanceof JsonObject) {
+				((JsonObject) value).serialize(tmp, dslJson.omitDefaults);
+			} else if (concrete != null) {
+				concrete.write(tmp, value);
+			} else if (!dslJson.serialize(tmp, st.manifest, value)) {
+				throw new SerializationException("Unable to find writer for " + st.manifest);
+			}
+			final byte[] buffer = tmp.getByteBuffer();
+			final int size = tmp.size();
+			if (size < 2 || buffer[0] != JsonWriter.OBJECT_START || buffer[size - 1] != JsonWriter.OBJECT_END) {
+				throw new SerializationException("Expecting JSON object for " + st.manifest + ". Found: " + tmp.toString());
+			}
+			if (startsWithDiscriminator(buffer, size)) {
+				writer.writeRaw(buffer, 0, size);
+				return;
+			}
+			writeDiscriminator(writer, st);
+			if (size > 2) {
+				writer.writeByte(JsonWriter.COMMA);
+				writer.writeRaw(buffer, 1, size - 1);
+			} else {
+				writer.writeByte(JsonWriter.OBJECT_END);
+			}
+		} finally {
+			scratch.set(tmp);
+		}
+	}
+
+	private void writeDiscriminator(final JsonWriter writer, final Subtype st) {
+		writer.writeByte(JsonWriter.OBJECT_START);
+		writer.writeAscii(quotedDiscriminator);
+		if (compact) {
+			NumberConverter.serialize(st.id, writer);
+		} else {
+			writer.writeAscii(st.quoted);
+		}
+	}
+
+	/**
+	 * Generated writers for subtypes can already include the type signature as the first property.
+	 * Such output is used as is, so the discriminator is not duplicated.
+	 */
+	private boolean startsWithDiscriminator(final byte[] buffer, final int size) {
+		if (size <= quotedDiscriminator.length + 1) {
+			return false;
+		}
+		for (int i = 0; i < quotedDiscriminator.length; i++) {
+			if (buffer[i + 1] != quotedDiscriminator[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int estimateSize(final T value) {
+		if (value == null) {
+			return 4;
+		}
+		final Subtype st = byClass.get(value.getClass());
+		if (st == null) {
+			return 16;
+		}
+		return quotedDiscriminator.length + st.quoted.length + ImmutableDescription.estimateValue(value, st.writer);
+	}
+}
@@ -8,6 +8,7 @@ import java.util.Collection;
 
 public abstract class NumberConverter {
 
+	private final static int LIST_CHUNK = 1024;
 	private final static int[] DIGITS = new int[1000];
 	private final static double[] POW_10 = {
 			1e1,  1e2,  1e3,  1e4,  1e5, 1e6, 1e7, 1e8,  1e9,
@@ -82,6 +83,42 @@ public abstract class NumberConverter {
 			return deserializeNumber(reader);
 		}
 	};
+	static final JsonReader.ReadObject<IntList> IntListReader = new JsonReader.ReadObject<IntList>() {
+		@Override
+		public IntList read(JsonReader reader) throws IOException {
+			return reader.wasNull() ? null : deserializeIntList(reader);
+		}
+	};
+	static final JsonWriter.WriteObject<IntList> IntListWriter = new JsonWriter.WriteObject<IntList>() {
+		@Override
+		public void write(JsonWriter writer, IntList value) {
+			serialize(value, writer);
+		}
+	};
+	static final JsonReader.ReadObject<LongList> LongListReader = new JsonReader.ReadObject<LongList>() {
+		@Override
+		public LongList read(JsonReader reader) throws IOException {
+			return reader.wasNull() ? null : deserializeLongList(reader);
+		}
+	};
+	static final JsonWriter.WriteObject<LongList> LongListWriter = new JsonWriter.WriteObject<LongList>() {
+		@Override
+		public void write(JsonWriter writer, LongList value) {
+			serialize(value, writer);
+		}
+	};
+	static final JsonReader.ReadObject<DoubleList> DoubleListReader = new JsonReader.ReadObject<DoubleList>() {
+		@Override
+		public DoubleList read(JsonReader reader) throws IOException {
+			return reader.wasNull() ? null : deserializeDoubleList(reader);
+		}
+	};
+	static final JsonWriter.WriteObject<DoubleList> DoubleListWriter = new JsonWriter.WriteObject<DoubleList>() {
+		@Override
+		public void write(JsonWriter writer, DoubleList value) {
+			serialize(value, writer);
+		}
+	};
 
 	static {
 		for (int i = 0; i < 1000; i++) {
@@ -189,6 +226,39 @@ public abstract class NumberConverter {
 		}
 	}
 
+	public static void serialize(final DoubleList values, final JsonWriter sw) {
+		if (values == null) {
+			sw.writeNull();
+		} else if (values.size() == 0) {
+			sw.writeAscii("[]");
+		} else {
+			sw.writeByte(JsonWriter.ARRAY_START);
+			serialize(values.getDouble(0), sw);
+			for (int i = 1; i < values.size(); i++) {
+				sw.writeByte(JsonWriter.COMMA);
+				serialize(values.getDouble(i), sw);
+			}
+			sw.writeByte(JsonWriter.ARRAY_END);
+		}
+	}
+
+	public static DoubleList deserializeDoubleList(final JsonReader reader) throws IOException {
+		if (reader.last() != '[') {
+			throw reader.expecting("[");
+		}
+		if (reader.getNextToken() == ']') {
+			return new DoubleList(0);
+		}
+		final DoubleList res = new DoubleList();
+		res.addDouble(deserializeDouble(reader));
+		while (reader.getNextToken() == ',') {
+			reader.getNextToken();
+			res.addDouble(deserializeDouble(reader));
+		}
+		reader.checkArrayEnd();
+		return res;
+	}
+
 	private static class NumberInfo {
 		final char[] buffer;
 		final int length;
@@ -240,7 +310,7 @@ public abstract class NumberConverter {
 				final NumberInfo tmp = readLongNumber(reader, start + offset);
 				return parseDoubleGeneric(tmp.buffer, tmp.length, reader);
 			}
-			return parseDoubleGeneric(reader.prepareBuffer(start + offset, end - start - offset), end - start - offset, reader);
+			return parseDoubleExact(buf, reader, start, end, offset);
 		}
 		long value = 0;
 		byte ch = ' ';
@@ -328,7 +398,7 @@ public abstract class NumberConverter {
 
 	private static double doubleExponent(JsonReader reader, final long whole, final int decimals, double fraction, byte[] buf, int start, int end, int offset, int i) throws IOException {
 		if (reader.doublePrecision == JsonReader.DoublePrecision.EXACT) {
-			return parseDoubleGeneric(reader.prepareBuffer(start + offset, end - start - offset), end - start - offset, reader);
+			return parseDoubleExact(buf, reader, start, end, offset);
 		}
 		byte ch;
 		ch = buf[++i];
@@ -357,6 +427,12 @@ public abstract class NumberConverter {
 				else if (exp > -300 && exp < 0) return whole / Math.pow(10, exp);
 			}
 		}
+		return parseDoubleExact(buf, reader, start, end, offset);
+	}
+
+	private static double parseDoubleExact(final byte[] buf, final JsonReader reader, final int start, final int end, final int offset) throws IOException {
+		final double value = DoubleParser.parse(buf, start + offset, end);
+		if (value == value) return value;
 		return parseDoubleGeneric(reader.prepareBuffer(start + offset, end - start - offset), end - start - offset, reader);
 	}
 
@@ -652,6 +728,46 @@ public abstract class NumberConverter {
 		}
 	}
 
+	public static void serialize(final IntList values, final JsonWriter sw) {
+		if (values == null) {
+			sw.writeNull();
+		} else if (values.size() == 0) {
+			sw.writeAscii("[]");
+		} else {
+			sw.writeByte(JsonWriter.ARRAY_START);
+			final int size = values.size();
+			int i = 0;
+			while (i < size) {
+				final int end = Math.min(size, i + LIST_CHUNK);
+				final byte[] buf = sw.ensureSliceCapacity((end - i) * 12);
+				int position = sw.size();
+				for (; i < end; i++) {
+					if (i > 0) buf[position++] = ',';
+					position = serialize(buf, position, values.getInt(i));
+				}
+				sw.advance(position - sw.size());
+			}
+			sw.writeByte(JsonWriter.ARRAY_END);
+		}
+	}
+
+	public static IntList deserializeIntList(final JsonReader reader) throws IOException {
+		if (reader.last() != '[') {
+			throw reader.expecting("[");
+		}
+		if (reader.getNextToken() == ']') {
+			return new IntList(0);
+		}
+		final IntList res = new IntList();
+		res.addInt(deserializeInt(reader));
+		while (reader.getNextToken() == ',') {
+			reader.getNextToken();
+			res.addInt(deserializeInt(reader));
+		}
+		reader.checkArrayEnd();
+		return res;
+	}
+
 	public static void serialize(final short[] value, final JsonWriter sw) {
 		if (value == null) {
 			sw.writeNull();
@@ -688,10 +804,46 @@ public abstract class NumberConverter {
 		return parsePositiveInt(buf, reader, start, end, 0);
 	}
 
+	/**
+	 * Parse eight ASCII digits at once (SWAR).
+	 * Bytes are loaded into a long with the first digit in the lowest byte,
+	 * validated with a single mask check and converted with three multiplications
+	 * instead of eight dependent multiply-add steps.
+	 *
+	 * @param buf input bytes
+	 * @param i   position of the first digit. Eight bytes must be available
+	 * @return value of the eight digits or -1 if some byte is not a digit
+	 */
+	static int parseEightDigits(final byte[] buf, final int i) {
+		long chunk = (buf[i] & 0xFFL)
+				| (buf[i + 1] & 0xFFL) << 8
+				| (buf[i + 2] & 0xFFL) << 16
+				| (buf[i + 3] & 0xFFL) << 24
+				| (buf[i + 4] & 0xFFL) << 32
+				| (buf[i + 5] & 0xFFL) << 40
+				| (buf[i + 6] & 0xFFL) << 48
+				| (buf[i + 7] & 0xFFL) << 56;
+		if (((chunk & 0xF0F0F0F0F0F0F0F0L) | (((chunk + 0x0606060606060606L) & 0xF0F0F0F0F0F0F0F0L) >>> 4)) != 0x3333333333333333L) {
+			return -1;
+		}
+		chunk -= 0x3030303030303030L;
+		chunk = chunk * 10 + (chunk >>> 8);
+		chunk = ((chunk & 0x000000FF000000FFL) * 0x000F424000000064L
+				+ ((chunk >>> 16) & 0x000000FF000000FFL) * 0x0000271000000001L) >>> 32;
+		return (int) chunk;
+	}
+
 	private static int parsePositiveInt(final byte[] buf, final JsonReader reader, final int start, final int end, final int offset) throws IOException {
 		int value = 0;
 		int i = start + offset;
 		if (i == end) numberException(reader, start, end, "Digit not found");
+		if (end - i >= 8) {
+			final int eight = parseEightDigits(buf, i);
+			if (eight >= 0) {
+				value = eight;
+				i += 8;
+			}
+		}
 		for (; i < end; i++) {
 			final int ind = buf[i] - 48;
 			if (ind < 0 || ind > 9) {
@@ -714,6 +866,13 @@ public abstract class NumberConverter {
 		int value = 0;
 		int i = start + 1;
 		if (i == end) numberException(reader, start, end, "Digit not found");
+		if (end - i >= 8) {
+			final int eight = parseEightDigits(buf, i);
+			if (eight >= 0) {
+				value = -eight;
+				i += 8;
+			}
+		}
 		for (; i < end; i++) {
 			final int ind = buf[i] - 48;
 			if (ind < 0 || ind > 9) {
@@ -965,6 +1124,46 @@ public abstract class NumberConverter {
 		}
 	}
 
+	public static void serialize(final LongList values, final JsonWriter sw) {
+		if (values == null) {
+			sw.writeNull();
+		} else if (values.size() == 0) {
+			sw.writeAscii("[]");
+		} else {
+			sw.writeByte(JsonWriter.ARRAY_START);
+			final int size = values.size();
+			int i = 0;
+			while (i < size) {
+				final int end = Math.min(size, i + LIST_CHUNK);
+				final byte[] buf = sw.ensureSliceCapacity((end - i) * 21);
+				int position = sw.size();
+				for (; i < end; i++) {
+					if (i > 0) buf[position++] = ',';
+					position = serialize(buf, position, values.getLong(i));
+				}
+				sw.advance(position - sw.size());
+			}
+			sw.writeByte(JsonWriter.ARRAY_END);
+		}
+	}
+
+	public static LongList deserializeLongList(final JsonReader reader) throws IOException {
+		if (reader.last() != '[') {
+			throw reader.expecting("[");
+		}
+		if (reader.getNextToken() == ']') {
+			return new LongList(0);
+		}
+		final LongList res = new LongList();
+		res.addLong(deserializeLong(reader));
+		while (reader.getNextToken() == ',') {
+			reader.getNextToken();
+			res.addLong(deserializeLong(reader));
+		}
+		reader.checkArrayEnd();
+		return res;
+	}
+
 	public static long deserializeLong(final JsonReader reader) throws IOException {
 		if (reader.last() == '"') {
 			final int position = reader.getCurrentIndex();
@@ -984,6 +1183,12 @@ public abstract class NumberConverter {
 		if (ch == '-') {
 			i = start + 1;
 			if (i == end) numberException(reader, start, end, "Digit not found");
+			while (end - i >= 8 && value >= -SWAR_LONG_LIMIT) {
+				final int eight = parseEightDigits(buf, i);
+				if (eight < 0) break;
+				value = value * 100000000 - eight;
+				i += 8;
+			}
 			for (; i < end; i++) {
 				final int ind = buf[i] - 48;
 				if (ind < 0 || ind > 9) {
@@ -998,6 +1203,12 @@ public abstract class NumberConverter {
 			return value;
 		}
 		if (i == end) numberException(reader, start, end, "Digit not found");
+		while (end - i >= 8 && value <= SWAR_LONG_LIMIT) {
+			final int eight = parseEightDigits(buf, i);
+			if (eight < 0) break;
+			value = value * 100000000 + eight;
+			i += 8;
+		}
 		for (; i < end; i++) {
 			final int ind = buf[i] - 48;
 			if (ind < 0 || ind > 9) {
@@ -1013,6 +1224,9 @@ public abstract class NumberConverter {
 		return value;
 	}
 
+	//largest value which can be followed by eight more digits without long overflow
+	private static final long SWAR_LONG_LIMIT = (Long.MAX_VALUE - 99999999) / 100000000;
+
 	private static long parseLongGeneric(final JsonReader reader, final int start, final int end) throws IOException {
 		final int len = end - start;
 		final char[] buf = reader.prepareBuffer(start, len);
@@ -1253,6 +1467,12 @@ public abstract class NumberConverter {
 		long value = 0;
 		byte ch = ' ';
 		int i = start;
+		while (end - i >= 8 && value <= SWAR_LONG_LIMIT) {
+			final int eight = parseEightDigits(buf, i);
+			if (eight < 0) break;
+			value = value * 100000000 + eight;
+			i += 8;
+		}
 		for (; i < end; i++) {
 			ch = buf[i];
 			if (ch == '.' || ch == 'e' || ch == 'E') break;
@@ -1315,6 +1535,12 @@ public abstract class NumberConverter {
 		long value = 0;
 		byte ch = ' ';
 		int i = start + 1;
+		while (end - i >= 8 && value >= -SWAR_LONG_LIMIT) {
+			final int eight = parseEightDigits(buf, i);
+			if (eight < 0) break;
+			value = value * 100000000 - eight;
+			i += 8;
+		}
 		for (; i < end; i++) {
 			ch = buf[i];
 			if (ch == '.' || ch == 'e' || ch == 'E') break;
@@ -32,6 +32,35 @@ public abstract class ObjectConverter {
 		}
 	};
 
+	static final JsonReader.ReadObject<Object> CompactObjectReader = new JsonReader.ReadObject<Object>() {
+		@Override
+		public Object read(JsonReader reader) throws IOException {
+			return deserializeCompactObject(reader);
+		}
+	};
+	@SuppressWarnings("rawtypes")
+	static final JsonReader.ReadObject<List> CompactListReader = new JsonReader.ReadObject<List>() {
+		@Override
+		public List read(JsonReader reader) throws IOException {
+			return deserializeCompactList(reader);
+		}
+	};
+	@SuppressWarnings("rawtypes")
+	static final JsonReader.ReadObject<Map> CompactMapReader = new JsonReader.ReadObject<Map>() {
+		@Override
+		public Map read(JsonReader reader) throws IOException {
+			return deserializeCompactMap(reader);
+		}
+	};
+
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	static final JsonReader.BindObject<Map> MapBinder = new JsonReader.BindObject<Map>() {
+		@Override
+		public Map bind(JsonReader reader, Map instance) throws IOException {
+			return deserializeMap(reader, instance);
+		}
+	};
+
 	public static void serializeNullableMap(final Map<String, Object> value, final JsonWriter sw) {
 		if (value == null) {
 			sw.writeNull();
@@ -130,6 +159,257 @@ public abstract class ObjectConverter {
 		return res;
 	}
 
+	/**
+	 * Deserialize JSON object into an existing map.
+	 * Map will be cleared before new entries are added to it.
+	 *
+	 * @param reader input JSON
+	 * @param res    target map
+	 * @return provided map
+	 * @throws IOException unable to process JSON
+	 */
+	public static Map<String, Object> deserializeMap(final JsonReader reader, final Map<String, Object> res) throws IOException {
+		if (reader.last() != '{') {
+			throw reader.expecting("{");
+		}
+		res.clear();
+		byte nextToken = reader.getNextToken();
+		if (nextToken == '}') return res;
+		String key = reader.readKey();
+		res.put(key, deserializeObject(reader));
+		while ((nextToken = reader.getNextToken()) == ',') {
+			reader.getNextToken();
+			key = reader.readKey();
+			res.put(key, deserializeObject(reader));
+		}
+		if (nextToken != '}') {
+			throw reader.expecting("}", nextToken);
+		}
+		return res;
+	}
+
+	/**
+	 * Deserialize unknown JSON into compact generic model.
+	 * Objects are deserialized into immutable array based maps which preserve insertion order.
+	 * Arrays of integers are deserialized into {@link LongList} and arrays of doubles into {@link DoubleList},
+	 * so numeric arrays are stored without boxing.
+	 * Array which mixes integers and doubles will be stored as {@link DoubleList} when all integers can be
+	 * represented as double without loss of precision.
+	 * Other arrays are deserialized into ArrayList.
+	 * <p>
+	 * Decimal numbers are parsed according to {@link JsonReader.UnknownNumberParsing},
+	 * so {@link DoubleList} is used only when decimals are parsed as doubles
+	 * ({@code LONG_AND_DOUBLE} or {@code DOUBLE}). With the default {@code LONG_AND_BIGDECIMAL}
+	 * arrays with decimals are stored as ArrayList of BigDecimal values.
+	 *
+	 * @param reader input JSON
+	 * @return compact model for the current value
+	 * @throws IOException unable to process JSON
+	 */
+	public static Object deserializeCompactObject(final JsonReader reader) throws IOException {
+		switch (reader.last()) {
+			case '{':
+				return deserializeCompactMap(reader);
+			case '[':
+				return deserializeCompactList(reader);
+			default:
+				return deserializeObject(reader);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public static List<Object> deserializeCompactList(final JsonReader reader) throws IOException {
+		if (reader.last() != '[') {
+			throw reader.expecting("[");
+		}
+		byte nextToken = reader.getNextToken();
+		if (nextToken == ']') return new ArrayList<Object>(0);
+		LongList longs = null;
+		DoubleList doubles = null;
+		ArrayList<Object> objects = null;
+		final int kind = numberKind(reader);
+		if (kind == INTEGER) {
+			longs = new LongList();
+			longs.addLong(NumberConverter.deserializeLong(reader));
+		} else if (kind == DECIMAL) {
+			doubles = new DoubleList();
+			doubles.addDouble(NumberConverter.deserializeDouble(reader));
+		} else {
+			final Object value = deserializeCompactObject(reader);
+			if (value instanceof Long) {
+				longs = new LongList();
+				longs.addLong((Long) value);
+			} else if (value instanceof Double) {
+				doubles = new DoubleList();
+				doubles.addDouble((Double) value);
+			} else {
+				objects = new ArrayList<Object>(4);
+				objects.add(value);
+			}
+		}
+		while ((nextToken = reader.getNextToken()) == ',') {
+			reader.getNextToken();
+			if (objects != null) {
+				objects.add(deserializeCompactObject(reader));
+				continue;
+			}
+			switch (numberKind(reader)) {
+				case INTEGER:
+					final long longValue = NumberConverter.deserializeLong(reader);
+					if (longs != null) {
+						longs.addLong(longValue);
+					} else if (exactDouble(longValue)) {
+						doubles.addDouble(longValue);
+					} else {
+						objects = new ArrayList<Object>(doubles);
+						objects.add(longValue);
+						doubles = null;
+					}
+					break;
+				case DECIMAL:
+					final double doubleValue = NumberConverter.deserializeDouble(reader);
+					if (longs != null) {
+						if (exactDoubles(longs)) {
+							doubles = toDoubles(longs);
+						} else {
+							objects = new ArrayList<Object>(longs);
+							objects.add(doubleValue);
+						}
+						longs = null;
+					}
+					if (doubles != null) {
+						doubles.addDouble(doubleValue);
+					}
+					break;
+				default:
+					final Object value = deserializeCompactObject(reader);
+					if (longs != null) {
+						if (value instanceof Long) {
+							longs.addLong((Long) value);
+							continue;
+						}
+						if (value instanceof Double && exactDoubles(longs)) {
+							doubles = toDoubles(longs);
+						} else {
+							objects = new ArrayList<Object>(longs);
+						}
+						longs = null;
+					}
+					if (doubles != null) {
+						if (value instanceof Double) {
+							doubles.addDouble((Double) value);
+							continue;
+						}
+						if (value instanceof Long && exactDouble((Long) value)) {
+							doubles.addDouble((Long) value);
+							continue;
+						}
+						objects = new ArrayList<Object>(doubles);
+						doubles = null;
+					}
+					objects.add(value);
+			}
+		}
+		if (nextToken != ']') {
+			throw reader.expecting("]", nextToken);
+		}
+		if (longs != null) return (List) longs;
+		if (doubles != null) return (List) doubles;
+		return objects;
+	}
+
+	private static final int OTHER = 0;
+	private static final int INTEGER = 1;
+	private static final int DECIMAL = 2;
+
+	/**
+	 * Classify number at the current position without consuming it,
+	 * so it can be parsed directly into a primitive value.
+	 * Classification follows {@link JsonReader.UnknownNumberParsing}, so primitive value matches the boxed one:
+	 * integers are recognized only when they fit into long for sure (at most 18 digits)
+	 * and decimals only when unknown numbers are parsed as doubles.
+	 * Everything else (including number which is not fully inside the buffer) is reported as OTHER.
+	 */
+	private static int numberKind(final JsonReader reader) {
+		final byte first = reader.last();
+		if (first != '-' && (first < '0' || first > '9')) return OTHER;
+		final byte[] buf = reader.buffer;
+		final int length = reader.length();
+		final int start = reader.getCurrentIndex();
+		boolean decimal = false;
+		int i = start;
+		for (; i < length; i++) {
+			final byte b = buf[i];
+			if (b >= '0' && b <= '9') continue;
+			if (b == '.' || b == 'e' || b == 'E' || b == '+' || b == '-') {
+				decimal = true;
+				continue;
+			}
+			break;
+		}
+		if (i == length) return OTHER;
+		switch (reader.unknownNumbers) {
+			case DOUBLE:
+				return DECIMAL;
+			case LONG_AND_DOUBLE:
+				return decimal ? DECIMAL : i - start < 18 ? INTEGER : OTHER;
+			case LONG_AND_BIGDECIMAL:
+				return decimal || i - start >= 18 ? OTHER : INTEGER;
+			default:
+				return OTHER;
+		}
+	}
+
+	private static DoubleList toDoubles(final LongList longs) {
+		final DoubleList doubles = new DoubleList(longs.size() * 2);
+		for (int i = 0; i < longs.size(); i++) {
+			doubles.addDouble(longs.getLong(i));
+		}
+		return doubles;
+	}
+
+	private static boolean exactDouble(final long value) {
+		return value <= 1L << 53 && value >= -(1L << 53);
+	}
+
+	private static boolean exactDoubles(final LongList longs) {
+		for (int i = 0; i < longs.size(); i++) {
+			if (!exactDouble(longs.getLong(i))) return false;
+		}
+		return true;
+	}
+
+	public static Map<String, Object> deserializeCompactMap(final JsonReader reader) throws IOException {
+		if (reader.last() != '{') {
+			throw reader.expecting("{");
+		}
+		byte nextToken = reader.getNextToken();
+		if (nextToken == '}') return Collections.emptyMap();
+		String[] keys = new String[4];
+		Object[] values = new Object[4];
+		keys[0] = reader.readKey();
+		values[0] = deserializeCompactObject(reader);
+		int size = 1;
+		while ((nextToken = reader.getNextToken()) == ',') {
+			reader.getNextToken();
+			if (size == keys.length) {
+				keys = Arrays.copyOf(keys, size * 2);
+				values = Arrays.copyOf(values, size * 2);
+			}
+			keys[size] = reader.readKey();
+			values[size] = deserializeCompactObject(reader);
+			size++;
+		}
+		if (nextToken != '}') {
+			throw reader.expecting("}", nextToken);
+		}
+		if (size < keys.length) {
+			keys = Arrays.copyOf(keys, size);
+			values = Arrays.copyOf(values, size);
+		}
+		return new CompactMap<Object>(keys, values, size);
+	}
+
 	@SuppressWarnings("unchecked")
 	public static ArrayList<Map<String, Object>> deserializeMapCollection(final JsonReader reader) throws IOException {
 		return reader.deserializeCollection(TypedMapReader);
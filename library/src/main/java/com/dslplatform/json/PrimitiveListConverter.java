@@ -0,0 +1,60 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+
+/**
+ * Converters for lists backed by primitive arrays.
+ * Properties declared as {@link IntList}, {@link LongList} or {@link DoubleList}
+ * are processed without boxing of the elements.
+ * Annotation processor uses these converters for such properties.
+ */
+public abstract class PrimitiveListConverter {
+
+	@JsonConverter(target = IntList.class)
+	public static abstract class Ints {
+		public static final JsonReader.ReadObject<IntList> JSON_READER = new JsonReader.ReadObject<IntList>() {
+			@Override
+			public IntList read(JsonReader reader) throws IOException {
+				return NumberConverter.IntListReader.read(reader);
+			}
+		};
+		public static final JsonWriter.WriteObject<IntList> JSON_WRITER = new JsonWriter.WriteObject<IntList>() {
+			@Override
+			public void write(JsonWriter writer, IntList value) {
+				NumberConverter.serialize(value, writer);
+			}
+		};
+	}
+
+	@JsonConverter(target = LongList.class)
+	public static abstract class Longs {
+		public static final JsonReader.ReadObject<LongList> JSON_READER = new JsonReader.ReadObject<LongList>() {
+			@Override
+			public LongList read(JsonReader reader) throws IOException {
+				return NumberConverter.LongListReader.read(reader);
+			}
+		};
+		public static final JsonWriter.WriteObject<LongList> JSON_WRITER = new JsonWriter.WriteObject<LongList>() {
+			@Override
+			public void write(JsonWriter writer, LongList value) {
+				NumberConverter.serialize(value, writer);
+			}
+		};
+	}
+
+	@JsonConverter(target = DoubleList.class)
+	public static abstract class Doubles {
+		public static final JsonReader.ReadObject<DoubleList> JSON_READER = new JsonReader.ReadObject<DoubleList>() {
+			@Override
+			public DoubleList read(JsonReader reader) throws IOException {
+				return NumberConverter.DoubleListReader.read(reader);
+			}
+		};
+		public static final JsonWriter.WriteObject<DoubleList> JSON_WRITER = new JsonWriter.WriteObject<DoubleList>() {
+			@Override
+			public void write(JsonWriter writer, DoubleList value) {
+				NumberConverter.serialize(value, writer);
+			}
+		};
+	}
+}
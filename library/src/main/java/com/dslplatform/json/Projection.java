@@ -0,0 +1,98 @@
+package com.dslplatform.json;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+
+/**
+ * Precompiled selection of properties which should be deserialized.
+ * Properties which are not part of the projection will be skipped without allocation
+ * and left at their default values.
+ * This gives the speed of a narrow DTO without maintaining a separate class.
+ * <p>
+ * Projection is defined per type, so nested objects of other types are processed fully:
+ *
+ * <pre>
+ *     static final Projection SUMMARY = Projection.of(Order.class, "id", "status")
+ *         .and(Customer.class, "name");
+ *     ...
+ *     Order order = dslJson.deserialize(Order.class, bytes, length, SUMMARY);
+ * </pre>
+ * <p>
+ * Projection is honored by converters which are created at runtime,
+ * such as {@link ImmutableDescription} or converters created by {@link BeanAnalyzer}.
+ * For mutable @CompiledJson classes DSL generated readers can't skip properties,
+ * so {@link BindDescription} registered for them is used instead.
+ * Deserialization with projection fails when reader for some of the projected types
+ * can't honor it (eg. custom readers without a {@link BindDescription}).
+ * Mandatory properties are validated only when they are part of the projection.
+ */
+public final class Projection {
+
+	/**
+	 * Marker for readers which skip properties not included in the projection.
+	 */
+	interface Aware {
+	}
+
+	private final Type[] manifests;
+	private final int[][] hashes;
+
+	private Projection(final Type[] manifests, final int[][] hashes) {
+		this.manifests = manifests;
+		this.hashes = hashes;
+	}
+
+	/**
+	 * Create projection for a single type.
+	 *
+	 * @param manifest projected type
+	 * @param names    property names which should be deserialized
+	 * @return precompiled projection
+	 */
+	public static Projection of(final Type manifest, final String... names) {
+		return new Projection(new Type[0], new int[0][]).and(manifest, names);
+	}
+
+	/**
+	 * Create a new projection which includes another type.
+	 *
+	 * @param manifest projected type
+	 * @param names    property names which should be deserialized
+	 * @return new precompiled projection
+	 */
+	public Projection and(final Type manifest, final String... names) {
+		if (manifest == null) throw new IllegalArgumentException("manifest can't be null");
+		if (names == null) throw new IllegalArgumentException("names can't be null");
+		if (hashesFor(manifest) != null) {
+			throw new IllegalArgumentException("Projection for " + manifest + " was already defined");
+		}
+		final int[] selected = new int[names.length];
+		for (int i = 0; i < names.length; i++) {
+			if (names[i] == null) throw new IllegalArgumentException("names can't contain null");
+			selected[i] = JsonReader.hashName(names[i]);
+		}
+		Arrays.sort(selected);
+		final Type[] newManifests = Arrays.copyOf(manifests, manifests.length + 1);
+		final int[][] newHashes = Arrays.copyOf(hashes, hashes.length + 1);
+		newManifests[manifests.length] = manifest;
+		newHashes[hashes.length] = selected;
+		return new Projection(newManifests, newHashes);
+	}
+
+	int[] hashesFor(final Type manifest) {
+		for (int i = 0; i < manifests.length; i++) {
+			if (manifests[i].equals(manifest)) {
+				return hashes[i];
+			}
+		}
+		return null;
+	}
+
+	Type[] manifests() {
+		return manifests;
+	}
+
+	static boolean includes(final int[] selected, final int hash) {
+		return Arrays.binarySearch(selected, hash) >= 0;
+	}
+}
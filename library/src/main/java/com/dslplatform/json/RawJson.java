@@ -0,0 +1,85 @@
+package com.dslplatform.json;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Exact bytes of a JSON value.
+ * It can be used as a property type for parts of the document which should be passed through
+ * without being processed, such as opaque payloads or extension points.
+ * <p>
+ * During deserialization value is captured as is, including whitespace inside objects and arrays.
+ * During serialization bytes are written verbatim, so instances created from user input
+ * must contain a single valid JSON value.
+ */
+public final class RawJson {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	final byte[] value;
+
+	RawJson(final byte[] value) {
+		this.value = value;
+	}
+
+	/**
+	 * Create raw JSON from a slice of bytes.
+	 * Bytes will be copied.
+	 *
+	 * @param bytes  input which contains JSON value
+	 * @param offset start of the value
+	 * @param length size of the value
+	 */
+	public RawJson(final byte[] bytes, final int offset, final int length) {
+		if (bytes == null) throw new IllegalArgumentException("bytes can't be null");
+		if (offset < 0 || length < 1 || offset + length > bytes.length) {
+			throw new IllegalArgumentException("Invalid offset or length for provided bytes");
+		}
+		this.value = Arrays.copyOfRange(bytes, offset, offset + length);
+	}
+
+	/**
+	 * Create raw JSON from a string.
+	 *
+	 * @param json single JSON value, such as {"a":1}
+	 * @return raw JSON
+	 */
+	public static RawJson of(final String json) {
+		if (json == null) throw new IllegalArgumentException("json can't be null");
+		final byte[] bytes = json.getBytes(UTF_8);
+		return new RawJson(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * Size of the JSON value in bytes
+	 *
+	 * @return number of bytes
+	 */
+	public int length() {
+		return value.length;
+	}
+
+	/**
+	 * Copy of the JSON value
+	 *
+	 * @return bytes representing the JSON value
+	 */
+	public byte[] toByteArray() {
+		return value.clone();
+	}
+
+	@Override
+	public boolean equals(final Object other) {
+		return other instanceof RawJson && Arrays.equals(value, ((RawJson) other).value);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(value);
+	}
+
+	@Override
+	public String toString() {
+		return new String(value, UTF_8);
+	}
+}
@@ -0,0 +1,60 @@
+package com.dslplatform.json;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Converter for {@link RawJson} values.
+ * Value is captured without parsing into objects and written back without escaping.
+ */
+@JsonConverter(target = RawJson.class)
+public abstract class RawJsonConverter {
+
+	public static final JsonReader.ReadObject<RawJson> JSON_READER = new JsonReader.ReadObject<RawJson>() {
+		@Override
+		public RawJson read(JsonReader reader) throws IOException {
+			return deserialize(reader);
+		}
+	};
+	public static final JsonWriter.WriteObject<RawJson> JSON_WRITER = new JsonWriter.WriteObject<RawJson>() {
+		@Override
+		public void write(JsonWriter writer, RawJson value) {
+			serializeNullable(value, writer);
+		}
+	};
+
+	public static void serializeNullable(final RawJson value, final JsonWriter sw) {
+		if (value == null) {
+			sw.writeNull();
+		} else {
+			serialize(value, sw);
+		}
+	}
+
+	public static void serialize(final RawJson value, final JsonWriter sw) {
+		sw.writeAscii(value.value);
+	}
+
+	public static RawJson deserialize(final JsonReader reader) throws IOException {
+		return new RawJson(reader.readRaw());
+	}
+
+	@SuppressWarnings("unchecked")
+	public static ArrayList<RawJson> deserializeCollection(final JsonReader reader) throws IOException {
+		return reader.deserializeCollection(JSON_READER);
+	}
+
+	public static void deserializeCollection(final JsonReader reader, final Collection<RawJson> res) throws IOException {
+		reader.deserializeCollection(JSON_READER, res);
+	}
+
+	@SuppressWarnings("unchecked")
+	public static ArrayList<RawJson> deserializeNullableCollection(final JsonReader reader) throws IOException {
+		return reader.deserializeNullableCollection(JSON_READER);
+	}
+
+	public static void deserializeNullableCollection(final JsonReader reader, final Collection<RawJson> res) throws IOException {
+		reader.deserializeNullableCollection(JSON_READER, res);
+	}
+}
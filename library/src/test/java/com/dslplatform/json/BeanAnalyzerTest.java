@@ -0,0 +1,149 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BeanAnalyzerTest {
+
+	public static class Item {
+		public String name;
+		public int quantity;
+	}
+
+	public static class Order {
+		public long id;
+		public transient String ignored;
+		public final String constant = "x";
+		private boolean paid;
+		private Item main;
+		private List<Item> items = new ArrayList<Item>();
+		private Order parent;
+
+		public boolean isPaid() {
+			return paid;
+		}
+
+		public void setPaid(boolean paid) {
+			this.paid = paid;
+		}
+
+		public Item getMain() {
+			return main;
+		}
+
+		public void setMain(Item main) {
+			this.main = main;
+		}
+
+		public List<Item> getItems() {
+			return items;
+		}
+
+		public void setItems(List<Item> items) {
+			this.items = items;
+		}
+
+		public Order getParent() {
+			return parent;
+		}
+
+		public void setParent(Order parent) {
+			this.parent = parent;
+		}
+
+		public String getReadOnly() {
+			return "read-only";
+		}
+	}
+
+	public static class NoDefaultCtor {
+		public String name;
+
+		public NoDefaultCtor(String name) {
+			this.name = name;
+		}
+	}
+
+	private static DslJson<Object> dslJson(boolean omitDefaults) {
+		return new DslJson<Object>(new DslJson.Settings<Object>()
+				.skipDefaultValues(omitDefaults)
+				.resolveReader(BeanAnalyzer.READER)
+				.resolveWriter(BeanAnalyzer.WRITER)
+				.resolveBinder(BeanAnalyzer.BINDER));
+	}
+
+	@Test
+	public void roundtrip() throws IOException {
+		DslJson<Object> json = dslJson(false);
+		Order order = new Order();
+		order.id = 5;
+		order.ignored = "abc";
+		order.setPaid(true);
+		Item item = new Item();
+		item.name = "book";
+		item.quantity = 2;
+		order.setMain(item);
+		order.getItems().add(item);
+		order.setParent(new Order());
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		json.serialize(order, os);
+		Assert.assertEquals(
+				"{\"id\":5,\"items\":[{\"name\":\"book\",\"quantity\":2}],\"main\":{\"name\":\"book\",\"quantity\":2},"
+						+ "\"paid\":true,\"parent\":{\"id\":0,\"items\":[],\"main\":null,\"paid\":false,\"parent\":null}}",
+				os.toString());
+		Order result = json.deserialize(Order.class, os.toByteArray(), os.size());
+		Assert.assertEquals(5, result.id);
+		Assert.assertNull(result.ignored);
+		Assert.assertTrue(result.isPaid());
+		Assert.assertEquals("book", result.getMain().name);
+		Assert.assertEquals(1, result.getItems().size());
+		Assert.assertEquals(2, result.getItems().get(0).quantity);
+		Assert.assertNotNull(result.getParent());
+		Assert.assertNull(result.getParent().getParent());
+	}
+
+	@Test
+	public void omitDefaults() throws IOException {
+		DslJson<Object> json = dslJson(true);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		json.serialize(new Order(), os);
+		Assert.assertEquals("{\"items\":[]}", os.toString());
+	}
+
+	@Test
+	public void unknownPropertiesAndNulls() throws IOException {
+		DslJson<Object> json = dslJson(false);
+		byte[] input = "{\"unknown\":[1,{\"a\":2}],\"id\":null,\"paid\":true,\"readOnly\":\"x\",\"items\":null}".getBytes("UTF-8");
+		Order result = json.deserialize(Order.class, new ByteArrayInputStream(input), new byte[4096]);
+		Assert.assertEquals(0, result.id);
+		Assert.assertTrue(result.isPaid());
+		Assert.assertNull(result.getItems());
+	}
+
+	@Test
+	public void bindIntoInstance() throws IOException {
+		DslJson<Object> json = dslJson(false);
+		Order order = new Order();
+		order.id = 3;
+		order.setPaid(true);
+		byte[] input = "{\"id\":4}".getBytes("UTF-8");
+		Order result = json.deserialize(Order.class, input, input.length, order);
+		Assert.assertSame(order, result);
+		Assert.assertEquals(4, order.id);
+		Assert.assertTrue(order.isPaid());
+	}
+
+	@Test
+	public void unsupportedClasses() {
+		DslJson<Object> json = dslJson(false);
+		Assert.assertNull(json.tryFindReader(NoDefaultCtor.class));
+		Assert.assertNull(json.tryFindReader(Runnable.class));
+		Assert.assertNotNull(json.tryFindReader(Item.class));
+	}
+}
@@ -0,0 +1,285 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+
+public class BindTest {
+
+	public static class Quote {
+		public String symbol;
+		public long price;
+	}
+
+	private static final JsonReader.BindObject<Quote> QuoteBinder = new JsonReader.BindObject<Quote>() {
+		@Override
+		public Quote bind(JsonReader reader, Quote instance) throws IOException {
+			if (reader.last() != '{') throw new IOException("Expecting {");
+			byte nextToken = reader.getNextToken();
+			while (nextToken != '}') {
+				String name = reader.readKey();
+				if ("symbol".equals(name)) instance.symbol = reader.readString();
+				else instance.price = NumberConverter.deserializeLong(reader);
+				nextToken = reader.getNextToken();
+				if (nextToken == ',') nextToken = reader.getNextToken();
+			}
+			return instance;
+		}
+	};
+
+	private static final JsonReader.ReadObject<Quote> QuoteReader = new JsonReader.ReadObject<Quote>() {
+		@Override
+		public Quote read(JsonReader reader) throws IOException {
+			return QuoteBinder.bind(reader, new Quote());
+		}
+	};
+
+	private static DslJson<Object> setup() {
+		DslJson<Object> json = new DslJson<Object>();
+		json.registerReader(Quote.class, QuoteReader);
+		json.registerBinder(Quote.class, QuoteBinder);
+		return json;
+	}
+
+	@Test
+	public void bindSimpleInstance() throws IOException {
+		DslJson<Object> json = setup();
+		Quote quote = new Quote();
+		byte[] input = "{\"symbol\":\"ABC\",\"price\":12}".getBytes("UTF-8");
+		Quote result = json.deserialize(Quote.class, input, input.length, quote);
+		Assert.assertSame(quote, result);
+		Assert.assertEquals("ABC", quote.symbol);
+		Assert.assertEquals(12, quote.price);
+		input = "{\"symbol\":\"DEF\",\"price\":13}".getBytes("UTF-8");
+		result = json.deserialize(Quote.class, new ByteArrayInputStream(input), new byte[64], quote);
+		Assert.assertSame(quote, result);
+		Assert.assertEquals("DEF", quote.symbol);
+		Assert.assertEquals(13, quote.price);
+	}
+
+	@Test
+	public void bindNull() throws IOException {
+		DslJson<Object> json = setup();
+		Quote quote = new Quote();
+		byte[] input = "null".getBytes("UTF-8");
+		Assert.assertNull(json.deserialize(Quote.class, input, input.length, quote));
+	}
+
+	@Test
+	public void bindMapClearsPrevious() throws IOException {
+		DslJson<Object> json = setup();
+		Map<String, Object> map = new HashMap<String, Object>();
+		map.put("old", 1);
+		byte[] input = "{\"a\":1,\"b\":\"x\"}".getBytes("UTF-8");
+		Map result = json.deserialize(Map.class, input, input.length, map);
+		Assert.assertSame(map, result);
+		Assert.assertEquals(2, map.size());
+		Assert.assertEquals("x", map.get("b"));
+	}
+
+	@Test
+	public void bindListReusesElements() throws IOException {
+		DslJson<Object> json = setup();
+		Type manifest = ((ParameterizedType) new ArrayList<List<Quote>>() {
+		}.getClass().getGenericSuperclass()).getActualTypeArguments()[0];
+		Quote first = new Quote();
+		Quote second = new Quote();
+		Quote third = new Quote();
+		List<Quote> list = new ArrayList<Quote>(Arrays.asList(first, second, third));
+		byte[] input = "[{\"symbol\":\"A\",\"price\":1},{\"symbol\":\"B\",\"price\":2}]".getBytes("UTF-8");
+		Object result = json.deserialize(manifest, input, input.length, list);
+		Assert.assertSame(list, result);
+		Assert.assertEquals(2, list.size());
+		Assert.assertSame(first, list.get(0));
+		Assert.assertSame(second, list.get(1));
+		Assert.assertEquals("B", second.symbol);
+		input = "[{\"symbol\":\"C\",\"price\":3},null,{\"symbol\":\"D\",\"price\":4}]".getBytes("UTF-8");
+		json.deserialize(manifest, input, input.length, list);
+		Assert.assertEquals(3, list.size());
+		Assert.assertSame(first, list.get(0));
+		Assert.assertNull(list.get(1));
+		Assert.assertEquals("D", list.get(2).symbol);
+	}
+
+	public static class Portfolio {
+		public String owner;
+		public int count;
+		public Quote main;
+		public List<Quote> quotes;
+	}
+
+	private static BindDescription<Portfolio> portfolioDescription(boolean skipUnknown) {
+		return new BindDescription<Portfolio>(
+				Portfolio.class,
+				skipUnknown,
+				new BindDescription.Property<Portfolio>("owner", String.class, new BindDescription.Accessor<Portfolio>() {
+					@Override
+					public Object get(Portfolio instance) {
+						return instance.owner;
+					}
+
+					@Override
+					public void set(Portfolio instance, Object value) {
+						instance.owner = (String) value;
+					}
+				}, null, "o"),
+				new BindDescription.Property<Portfolio>("count", new BindDescription.IntSetter<Portfolio>() {
+					@Override
+					public void set(Portfolio instance, int value) {
+						instance.count = value;
+					}
+				}),
+				new BindDescription.Property<Portfolio>("main", Quote.class, new BindDescription.Accessor<Portfolio>() {
+					@Override
+					public Object get(Portfolio instance) {
+						return instance.main;
+					}
+
+					@Override
+					public void set(Portfolio instance, Object value) {
+						instance.main = (Quote) value;
+					}
+				}),
+				new BindDescription.Property<Portfolio>("quotes", ImmutableDescription.genericType(List.class, Quote.class), new BindDescription.Accessor<Portfolio>() {
+					@Override
+					public Object get(Portfolio instance) {
+						return instance.quotes;
+					}
+
+					@Override
+					@SuppressWarnings("unchecked")
+					public void set(Portfolio instance, Object value) {
+						instance.quotes = (List<Quote>) value;
+					}
+				}));
+	}
+
+	@Test
+	public void descriptionBindsNestedInstances() throws IOException {
+		DslJson<Object> json = setup();
+		BindDescription<Portfolio> description = portfolioDescription(true);
+		description.configure(json);
+		json.registerBinder(Portfolio.class, description);
+		Portfolio portfolio = new Portfolio();
+		portfolio.owner = "old";
+		byte[] input = "{\"count\":2,\"main\":{\"symbol\":\"A\",\"price\":1},\"x\":[1,{}],\"quotes\":[{\"symbol\":\"B\",\"price\":2}]}".getBytes("UTF-8");
+		Assert.assertSame(portfolio, json.deserialize(Portfolio.class, input, input.length, portfolio));
+		Assert.assertEquals("old", portfolio.owner);
+		Assert.assertEquals(2, portfolio.count);
+		Quote main = portfolio.main;
+		List<Quote> quotes = portfolio.quotes;
+		Quote first = quotes.get(0);
+		Assert.assertEquals("A", main.symbol);
+		Assert.assertEquals("B", first.symbol);
+		input = "{\"o\":\"new\",\"main\":{\"symbol\":\"C\",\"price\":3},\"quotes\":[{\"symbol\":\"D\",\"price\":4}],\"count\":null}".getBytes("UTF-8");
+		json.deserialize(Portfolio.class, new ByteArrayInputStream(input), new byte[64], portfolio);
+		Assert.assertEquals("new", portfolio.owner);
+		Assert.assertEquals(0, portfolio.count);
+		Assert.assertSame(main, portfolio.main);
+		Assert.assertSame(quotes, portfolio.quotes);
+		Assert.assertSame(first, portfolio.quotes.get(0));
+		Assert.assertEquals("C", main.symbol);
+		Assert.assertEquals(4, first.price);
+		input = "{\"main\":null}".getBytes("UTF-8");
+		json.deserialize(Portfolio.class, input, input.length, portfolio);
+		Assert.assertNull(portfolio.main);
+	}
+
+	@Test
+	public void descriptionRejectsUnknown() throws IOException {
+		DslJson<Object> json = setup();
+		BindDescription<Portfolio> description = portfolioDescription(false);
+		description.configure(json);
+		json.registerBinder(Portfolio.class, description);
+		byte[] input = "{\"count\":2,\"unknown\":1}".getBytes("UTF-8");
+		try {
+			json.deserialize(Portfolio.class, input, input.length, new Portfolio());
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Unknown property detected: 'unknown'"));
+		}
+	}
+
+	public static class Levels {
+		public long total;
+		public double ratio;
+		public float scale;
+		public boolean active;
+	}
+
+	@Test
+	public void primitivesAreBoundThroughSetters() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		BindDescription<Levels> description = new BindDescription<Levels>(
+				Levels.class,
+				true,
+				new BindDescription.Property<Levels>("total", new BindDescription.LongSetter<Levels>() {
+					@Override
+					public void set(Levels instance, long value) {
+						instance.total = value;
+					}
+				}),
+				new BindDescription.Property<Levels>("ratio", new BindDescription.DoubleSetter<Levels>() {
+					@Override
+					public void set(Levels instance, double value) {
+						instance.ratio = value;
+					}
+				}),
+				new BindDescription.Property<Levels>("scale", new BindDescription.FloatSetter<Levels>() {
+					@Override
+					public void set(Levels instance, float value) {
+						instance.scale = value;
+					}
+				}, "s"),
+				new BindDescription.Property<Levels>("active", new BindDescription.BooleanSetter<Levels>() {
+					@Override
+					public void set(Levels instance, boolean value) {
+						instance.active = value;
+					}
+				}));
+		description.configure(json);
+		json.registerBinder(Levels.class, description);
+		Levels levels = new Levels();
+		byte[] input = "{\"total\":12345678901,\"ratio\":0.25,\"s\":1.5,\"active\":true}".getBytes("UTF-8");
+		json.deserialize(Levels.class, input, input.length, levels);
+		Assert.assertEquals(12345678901L, levels.total);
+		Assert.assertEquals(0.25, levels.ratio, 0);
+		Assert.assertEquals(1.5f, levels.scale, 0);
+		Assert.assertTrue(levels.active);
+		input = "{\"total\":null,\"ratio\":null,\"scale\":null,\"active\":null}".getBytes("UTF-8");
+		json.deserialize(Levels.class, new ByteArrayInputStream(input), new byte[64], levels);
+		Assert.assertEquals(0, levels.total);
+		Assert.assertEquals(0, levels.ratio, 0);
+		Assert.assertEquals(0, levels.scale, 0);
+		Assert.assertFalse(levels.active);
+	}
+
+	@Test
+	public void descriptionIsConfiguredForSingleInstance() {
+		BindDescription<Portfolio> description = portfolioDescription(true);
+		description.configure(setup());
+		try {
+			description.configure(setup());
+			Assert.fail("Expecting exception");
+		} catch (IllegalArgumentException ex) {
+			Assert.assertTrue(ex.getMessage().contains("already configured with another DslJson instance"));
+		}
+	}
+
+	@Test
+	public void missingBinder() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		byte[] input = "{}".getBytes("UTF-8");
+		try {
+			json.deserialize(Quote.class, input, input.length, new Quote());
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Unable to find binder"));
+		}
+	}
+}
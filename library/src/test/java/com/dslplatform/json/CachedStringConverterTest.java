@@ -0,0 +1,84 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class CachedStringConverterTest {
+
+	private static String read(DslJson<Object> json, String input) throws IOException {
+		JsonReader<Object> reader = json.newReader(input.getBytes("UTF-8"));
+		reader.getNextToken();
+		return CachedStringConverter.JSON_READER.read(reader);
+	}
+
+	@Test
+	public void valuesAreDeduplicated() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		String first = read(json, "\"EUR\"");
+		Assert.assertEquals("EUR", first);
+		Assert.assertSame(first, read(json, "\"EUR\""));
+		Assert.assertSame(first, read(json, "\"\\u0045UR\""));
+		Assert.assertEquals("ćevap", read(json, "\"ćevap\""));
+		Assert.assertNull(read(json, "null"));
+	}
+
+	@Test
+	public void valuesCacheIsNotUsed() throws IOException {
+		final int[] lookups = new int[1];
+		DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>().useStringValuesCache(new StringCache() {
+			@Override
+			public String get(char[] chars, int len) {
+				lookups[0]++;
+				return new String(chars, 0, len);
+			}
+		}));
+		Assert.assertSame(read(json, "\"USD\""), read(json, "\"USD\""));
+		Assert.assertEquals(0, lookups[0]);
+		JsonReader<Object> reader = json.newReader("\"USD\"".getBytes());
+		reader.getNextToken();
+		Assert.assertNotSame(read(json, "\"USD\""), reader.readString());
+		Assert.assertEquals(1, lookups[0]);
+	}
+
+	@Test
+	public void cacheIsConfiguredPerInstance() throws IOException {
+		DslJson<Object> first = new DslJson<Object>();
+		DslJson<Object> second = new DslJson<Object>();
+		Assert.assertNotSame(read(first, "\"GBP\""), read(second, "\"GBP\""));
+		final int[] lookups = new int[1];
+		DslJson<Object> custom = new DslJson<Object>(new DslJson.Settings<Object>().useCachedStringsCache(new StringCache() {
+			@Override
+			public String get(char[] chars, int len) {
+				lookups[0]++;
+				return "cached";
+			}
+		}));
+		Assert.assertEquals("cached", read(custom, "\"GBP\""));
+		Assert.assertEquals(1, lookups[0]);
+	}
+
+	@Test
+	public void cacheSizeIsConfigurable() throws IOException {
+		StringBuilder sb = new StringBuilder("\"");
+		for (int i = 0; i < 100; i++) {
+			sb.append((char) ('a' + i % 26));
+		}
+		String input = sb.append('"').toString();
+		DslJson<Object> json = new DslJson<Object>();
+		Assert.assertNotSame(read(json, input), read(json, input));
+		DslJson<Object> larger = new DslJson<Object>(new DslJson.Settings<Object>()
+				.useCachedStringsCache(new ConcurrentStringCache(4, 2, 128, false)));
+		Assert.assertSame(read(larger, input), read(larger, input));
+	}
+
+	@Test
+	public void nullableWriter() {
+		JsonWriter writer = new JsonWriter(null);
+		CachedStringConverter.JSON_WRITER.write(writer, null);
+		writer.writeByte(JsonWriter.COMMA);
+		CachedStringConverter.JSON_WRITER.write(writer, "a\"b");
+		Assert.assertEquals("null,\"a\\\"b\"", writer.toString());
+	}
+}
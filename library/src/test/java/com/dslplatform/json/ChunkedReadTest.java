@@ -0,0 +1,85 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Random;
+
+public class ChunkedReadTest {
+
+	private static JsonReader<Object> reader(DslJson<Object> json, byte[] input, int bufferSize) throws IOException {
+		JsonReader<Object> reader = json.newReader(new ByteArrayInputStream(input), new byte[bufferSize]);
+		reader.getNextToken();
+		return reader;
+	}
+
+	@Test
+	public void largeStringIntoWriter() throws IOException {
+		StringBuilder expected = new StringBuilder();
+		for (int i = 0; i < 20000; i++) {
+			expected.append("abc ćevap \"q\" \n\t😀 ").append(i);
+		}
+		DslJson<Object> json = new DslJson<Object>();
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		json.serialize(expected.toString(), os);
+		byte[] input = os.toByteArray();
+		StringWriter sw = new StringWriter();
+		JsonReader<Object> reader = reader(json, input, 4096);
+		Assert.assertEquals(expected.length(), reader.readString(sw));
+		Assert.assertEquals(expected.toString(), sw.toString());
+		Assert.assertEquals('"', reader.last());
+		StringBuilder sb = new StringBuilder();
+		JsonReader<Object> bytesReader = json.newReader(input, input.length);
+		bytesReader.getNextToken();
+		bytesReader.readString(sb);
+		Assert.assertEquals(expected.toString(), sb.toString());
+	}
+
+	@Test
+	public void unicodeEscapes() throws IOException {
+		byte[] input = "[\"a\\u0041\\/\\\\\\uD83D\\uDE00\",1]".getBytes("UTF-8");
+		JsonReader<Object> reader = reader(new DslJson<Object>(), input, 64);
+		reader.getNextToken();
+		StringBuilder sb = new StringBuilder();
+		reader.readString(sb);
+		Assert.assertEquals("aA/\\😀", sb.toString());
+		Assert.assertEquals(',', reader.getNextToken());
+	}
+
+	@Test
+	public void largeBinaryIntoStream() throws IOException {
+		byte[] expected = new byte[100000];
+		new Random(42).nextBytes(expected);
+		for (int len : new int[]{0, 1, 2, 3, 3072, 3073, expected.length}) {
+			byte[] value = Arrays.copyOf(expected, len);
+			DslJson<Object> json = new DslJson<Object>();
+			ByteArrayOutputStream os = new ByteArrayOutputStream();
+			json.serialize(value, os);
+			byte[] input = os.toByteArray();
+			ByteArrayOutputStream target = new ByteArrayOutputStream();
+			JsonReader<Object> reader = reader(json, input, 4096);
+			Assert.assertEquals(len, reader.readBase64(target));
+			Assert.assertArrayEquals(value, target.toByteArray());
+		}
+	}
+
+	@Test
+	public void invalidBase64() throws IOException {
+		String[] invalid = {"\"abc\"", "\"ab=c\"", "\"a===\"", "\"ab!d\"", "\"abcd"};
+		for (String input : invalid) {
+			byte[] bytes = input.getBytes("UTF-8");
+			JsonReader<Object> reader = new DslJson<Object>().newReader(bytes, bytes.length);
+			reader.getNextToken();
+			try {
+				reader.readBase64(new ByteArrayOutputStream());
+				Assert.fail("Expecting exception for: " + input);
+			} catch (IOException ignore) {
+			}
+		}
+	}
+}
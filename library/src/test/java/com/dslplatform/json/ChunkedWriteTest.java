@@ -0,0 +1,97 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Random;
+
+public class ChunkedWriteTest {
+
+	private static String largeString(int repeat) {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < repeat; i++) {
+			sb.append("abc \"ćevap\" \\ \n\u0001 😀").append(i);
+		}
+		return sb.toString();
+	}
+
+	//reference encoding through the regular path with short strings
+	private static String quote(String value) {
+		JsonWriter writer = new DslJson<Object>().newWriter(16);
+		StringBuilder sb = new StringBuilder("\"");
+		int i = 0;
+		while (i < value.length()) {
+			int end = Math.min(i + 100, value.length());
+			if (end < value.length() && Character.isHighSurrogate(value.charAt(end - 1))) end--;
+			writer.reset();
+			writer.writeString(value.substring(i, end));
+			String part = writer.toString();
+			sb.append(part, 1, part.length() - 1);
+			i = end;
+		}
+		return sb.append('"').toString();
+	}
+
+	@Test
+	public void largeStringsAreEncodedInSlices() throws IOException {
+		String value = largeString(5000);
+		String expected = quote(value);
+		JsonWriter writer = new DslJson<Object>().newWriter();
+		writer.writeString(value);
+		Assert.assertEquals(expected, writer.toString());
+		writer.reset();
+		writer.writeString(new StringReader(value));
+		Assert.assertEquals(expected, writer.toString());
+		byte[] bytes = writer.toByteArray();
+		Assert.assertEquals(value, new DslJson<Object>().deserialize(String.class, bytes, bytes.length));
+	}
+
+	@Test
+	public void streamingKeepsBufferBounded() throws IOException {
+		String value = largeString(20000);
+		final long[] size = new long[1];
+		OutputStream counter = new OutputStream() {
+			@Override
+			public void write(int b) {
+				size[0]++;
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				size[0] += len;
+			}
+		};
+		JsonWriter writer = new DslJson<Object>().newWriter(4096);
+		writer.reset(counter);
+		writer.writeString(value);
+		byte[] binary = new byte[1000000];
+		writer.writeBinary(binary);
+		writer.writeBinary(new ByteArrayInputStream(binary));
+		writer.flush();
+		Assert.assertTrue(writer.getByteBuffer().length < 64 * 1024);
+		Assert.assertEquals(quote(value).getBytes("UTF-8").length + 2 * (2 + 1000000 / 3 * 4 + 4), size[0]);
+	}
+
+	@Test
+	public void binaryRoundtrip() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		byte[] source = new byte[20000];
+		new Random(7).nextBytes(source);
+		for (int len : new int[]{0, 1, 2, 3, 4096, 4097, 3072 * 2 + 1, source.length}) {
+			byte[] value = Arrays.copyOf(source, len);
+			JsonWriter writer = json.newWriter();
+			writer.writeBinary(value);
+			byte[] bytes = writer.toByteArray();
+			Assert.assertArrayEquals(value, json.deserialize(byte[].class, bytes, bytes.length));
+			writer.reset();
+			writer.writeBinary(new ByteArrayInputStream(value));
+			Assert.assertArrayEquals(bytes, writer.toByteArray());
+		}
+	}
+}
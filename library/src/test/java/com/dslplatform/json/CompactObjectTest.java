@@ -0,0 +1,139 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CompactObjectTest {
+
+	private static final byte[] METRICS = ("{\"name\":\"cpu\",\"ts\":[1500000000000,1500000001000,1500000002000],"
+			+ "\"values\":[0.5,1,2.25],\"tags\":{\"host\":\"a\"},\"mixed\":[1,\"x\",null],\"empty\":[],\"nested\":[[1,2],[3]]}").getBytes();
+
+	private static DslJson<Object> dslJson(JsonReader.UnknownNumberParsing numbers) {
+		return new DslJson<Object>(new DslJson.Settings<Object>().useCompactObjects(true).unknownNumbers(numbers));
+	}
+
+	@Test
+	public void numericArraysAreNotBoxed() throws IOException {
+		DslJson<Object> json = dslJson(JsonReader.UnknownNumberParsing.LONG_AND_DOUBLE);
+		Map<?, ?> metrics = json.deserialize(Map.class, METRICS, METRICS.length);
+		Assert.assertFalse(metrics instanceof LinkedHashMap);
+		Assert.assertEquals("cpu", metrics.get("name"));
+		LongList ts = (LongList) metrics.get("ts");
+		Assert.assertEquals(1500000001000L, ts.getLong(1));
+		DoubleList values = (DoubleList) metrics.get("values");
+		Assert.assertArrayEquals(new double[]{0.5, 1, 2.25}, values.toDoubleArray(), 0);
+		Assert.assertEquals("a", ((Map<?, ?>) metrics.get("tags")).get("host"));
+		Assert.assertEquals(Arrays.asList(1L, "x", null), metrics.get("mixed"));
+		Assert.assertEquals(0, ((List<?>) metrics.get("empty")).size());
+		List<?> nested = (List<?>) metrics.get("nested");
+		Assert.assertTrue(nested.get(0) instanceof LongList);
+		Assert.assertEquals(Arrays.asList(3L), nested.get(1));
+	}
+
+	@Test
+	public void decimalsFollowNumberParsing() throws IOException {
+		DslJson<Object> json = dslJson(JsonReader.UnknownNumberParsing.LONG_AND_BIGDECIMAL);
+		Map<?, ?> metrics = json.deserialize(Map.class, METRICS, METRICS.length);
+		Assert.assertTrue(metrics.get("ts") instanceof LongList);
+		Assert.assertFalse(metrics.get("values") instanceof DoubleList);
+		Assert.assertEquals(3, ((List<?>) metrics.get("values")).size());
+	}
+
+	@Test
+	public void mixedArrays() throws IOException {
+		DslJson<Object> json = dslJson(JsonReader.UnknownNumberParsing.LONG_AND_DOUBLE);
+		byte[] input = "[[1,2.5,3],[9007199254740993,0.5],[1.5,9007199254740993],[1,2,true]]".getBytes();
+		List<Object> lists = json.deserializeList(Object.class, input, input.length);
+		Assert.assertEquals(Arrays.asList(1.0, 2.5, 3.0), lists.get(0));
+		Assert.assertTrue(lists.get(0) instanceof DoubleList);
+		Assert.assertEquals(Arrays.asList(9007199254740993L, 0.5), lists.get(1));
+		Assert.assertEquals(Arrays.asList(1.5, 9007199254740993L), lists.get(2));
+		Assert.assertEquals(Arrays.asList(1L, 2L, true), lists.get(3));
+	}
+
+	@Test
+	public void roundtrip() throws IOException {
+		DslJson<Object> json = dslJson(JsonReader.UnknownNumberParsing.LONG_AND_DOUBLE);
+		byte[] input = "{\"ts\":[1,2],\"values\":[0.5,1.5],\"tags\":{\"host\":\"a\"}}".getBytes();
+		Map<?, ?> metrics = json.deserialize(Map.class, input, input.length);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		json.serialize(metrics, os);
+		Map<?, ?> again = json.deserialize(Map.class, os.toByteArray(), os.size());
+		Assert.assertEquals(metrics, again);
+		Assert.assertTrue(again.get("values") instanceof DoubleList);
+	}
+
+	@Test
+	public void defaultModelIsUnchanged() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		Map<?, ?> metrics = json.deserialize(Map.class, METRICS, METRICS.length);
+		Assert.assertTrue(metrics instanceof LinkedHashMap);
+		Assert.assertFalse(metrics.get("ts") instanceof LongList);
+	}
+
+	@Test
+	public void primitiveLists() {
+		LongList longs = new LongList(new long[]{1, 2, 3});
+		longs.add(1, 5L);
+		longs.remove(0);
+		longs.addLong(7);
+		Assert.assertEquals(Arrays.asList(5L, 2L, 3L, 7L), longs);
+		Assert.assertEquals(Long.valueOf(2), longs.set(1, 4L));
+		Assert.assertArrayEquals(new long[]{5, 4, 3, 7}, longs.toLongArray());
+		longs.clear();
+		Assert.assertTrue(longs.isEmpty());
+		DoubleList doubles = new DoubleList(0);
+		doubles.addDouble(1.5);
+		Assert.assertEquals(Arrays.asList(1.5), doubles);
+		try {
+			doubles.getDouble(1);
+			Assert.fail("Expecting exception");
+		} catch (IndexOutOfBoundsException ignore) {
+		}
+	}
+
+	@Test
+	public void primitiveParsingMatchesBoxedNumbers() throws IOException {
+		byte[] input = ("[[1, -2 ,123456789012345678,-12345678901234567,1234567890123456789],"
+				+ "[0.1,-2.5e-3,1E2,3,-0.0,1e+2 ],[7,8,9007199254740993,1.5],[1.25,2,-9007199254740993],[-1,0.5,\"x\"]]").getBytes();
+		for (JsonReader.UnknownNumberParsing numbers : JsonReader.UnknownNumberParsing.values()) {
+			DslJson<Object> compact = dslJson(numbers);
+			JsonReader<Object> boxed = new DslJson<Object>(new DslJson.Settings<Object>().unknownNumbers(numbers)).newReader(input);
+			boxed.getNextToken();
+			Object expected = ObjectConverter.deserializeObject(boxed);
+			List<Object> fromBytes = compact.deserializeList(Object.class, input, input.length);
+			List<Object> fromStream = compact.deserializeList(Object.class, new ByteArrayInputStream(input), new byte[64]);
+			assertSameValues(expected, fromBytes);
+			assertSameValues(expected, fromStream);
+			if (numbers == JsonReader.UnknownNumberParsing.LONG_AND_DOUBLE) {
+				Assert.assertTrue(fromBytes.get(0) instanceof LongList);
+				Assert.assertTrue(fromBytes.get(1) instanceof DoubleList);
+			}
+		}
+	}
+
+	private static void assertSameValues(Object expected, Object actual) {
+		if (expected instanceof List) {
+			List<?> e = (List<?>) expected;
+			List<?> a = (List<?>) actual;
+			Assert.assertEquals(e.size(), a.size());
+			for (int i = 0; i < e.size(); i++) {
+				assertSameValues(e.get(i), a.get(i));
+			}
+		} else if (actual instanceof Long) {
+			Assert.assertEquals(expected, actual);
+		} else if (actual instanceof Double) {
+			Assert.assertEquals(((Number) expected).doubleValue(), (Double) actual, 0);
+		} else {
+			Assert.assertEquals(expected, actual);
+		}
+	}
+}
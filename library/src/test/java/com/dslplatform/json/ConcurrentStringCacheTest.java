@@ -0,0 +1,108 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ConcurrentStringCacheTest {
+
+	private static int hash(byte[] bytes) {
+		long hash = 0x811c9dc5;
+		for (byte b : bytes) {
+			hash ^= b;
+			hash *= 0x1000193;
+		}
+		return (int) hash;
+	}
+
+	@Test
+	public void collisionsDontEvictWithinSet() {
+		ConcurrentStringCache cache = new ConcurrentStringCache(0, 4, 128, true);
+		String a = cache.get("a".toCharArray(), 1);
+		String b = cache.get("b".toCharArray(), 1);
+		String c = cache.get("c".toCharArray(), 1);
+		Assert.assertSame(a, cache.get("a".toCharArray(), 1));
+		Assert.assertSame(b, cache.get("b".toCharArray(), 1));
+		Assert.assertSame(c, cache.get("c".toCharArray(), 1));
+		Assert.assertEquals(3, cache.hits());
+		Assert.assertEquals(3, cache.misses());
+		Assert.assertEquals(0, cache.evictions());
+	}
+
+	@Test
+	public void frequentEntriesSurviveEviction() {
+		ConcurrentStringCache cache = new ConcurrentStringCache(0, 2, 128, true);
+		String hot = cache.get("hot".toCharArray(), 3);
+		cache.get("x".toCharArray(), 1);
+		Assert.assertSame(hot, cache.get("hot".toCharArray(), 3));
+		cache.get("y".toCharArray(), 1);
+		Assert.assertSame(hot, cache.get("hot".toCharArray(), 3));
+		Assert.assertEquals(1, cache.evictions());
+		cache.clear();
+		Assert.assertEquals(0, cache.hits());
+		Assert.assertNotSame(hot, cache.get("hot".toCharArray(), 3));
+	}
+
+	@Test
+	public void byteAndCharLookupsShareEntries() {
+		ConcurrentStringCache cache = new ConcurrentStringCache();
+		String fromChars = cache.get("status".toCharArray(), 6);
+		byte[] bytes = "status".getBytes();
+		Assert.assertSame(fromChars, cache.get(bytes, 0, bytes.length, hash(bytes)));
+		Assert.assertEquals(0, cache.hits());
+	}
+
+	@Test
+	public void longStringsAreNotCached() {
+		ConcurrentStringCache cache = new ConcurrentStringCache(4, 2, 4, true);
+		String first = cache.get("abcdef".toCharArray(), 6);
+		Assert.assertEquals("abcdef", first);
+		Assert.assertNotSame(first, cache.get("abcdef".toCharArray(), 6));
+		Assert.assertEquals(2, cache.misses());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void onlyTwoOrFourWays() {
+		new ConcurrentStringCache(4, 3, 128, false);
+	}
+
+	@Test
+	public void sharedBetweenThreads() throws Exception {
+		final ConcurrentStringCache cache = new ConcurrentStringCache(2, 4, 128, true);
+		final DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>().useKeyCache(cache).useStringValuesCache(cache));
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+			for (int t = 0; t < 4; t++) {
+				final int thread = t;
+				results.add(executor.submit(new Callable<Boolean>() {
+					@Override
+					public Boolean call() throws IOException {
+						for (int i = 0; i < 1000; i++) {
+							String value = "v" + ((i * 31 + thread) % 50);
+							byte[] input = ("{\"key" + (i % 7) + "\":\"" + value + "\"}").getBytes();
+							Map<?, ?> map = json.deserialize(Map.class, input, input.length);
+							if (!value.equals(map.get("key" + (i % 7)))) return false;
+						}
+						return true;
+					}
+				}));
+			}
+			for (Future<Boolean> f : results) {
+				Assert.assertTrue(f.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+		Assert.assertEquals(8000, cache.hits() + cache.misses());
+		Assert.assertTrue(cache.hits() > 0);
+	}
+}
@@ -0,0 +1,105 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+
+public class EscapePolicyTest {
+
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+	private static String write(final JsonWriter.EscapePolicy policy, final String value) {
+		final DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>().escapePolicy(policy));
+		final JsonWriter writer = json.newWriter();
+		writer.writeString(value);
+		return new String(writer.toByteArray(), UTF_8);
+	}
+
+	private static String read(final String json) throws IOException {
+		final byte[] bytes = json.getBytes(UTF_8);
+		final JsonReader<Object> reader = new DslJson<Object>().newReader(bytes);
+		reader.getNextToken();
+		return reader.readString();
+	}
+
+	@Test
+	public void minimalIsDefault() {
+		final JsonWriter writer = new DslJson<Object>().newWriter();
+		writer.writeString("a\"b\\c\n\u0001<é>");
+		Assert.assertEquals("\"a\\\"b\\\\c\\n\\u0001<é>\"", writer.toString());
+		Assert.assertEquals("\"a\\\"b\\\\c\\n\\u0001<é>\"", write(JsonWriter.EscapePolicy.MINIMAL, "a\"b\\c\n\u0001<é>"));
+	}
+
+	@Test
+	public void asciiEscapesNonAscii() throws IOException {
+		final String value = "café \u20AC \uD83D\uDE00 \u007F";
+		final String result = write(JsonWriter.EscapePolicy.ASCII, value);
+		Assert.assertEquals("\"caf\\u00E9 \\u20AC \\uD83D\\uDE00 \u007F\"", result);
+		Assert.assertEquals(value, read(result));
+	}
+
+	@Test
+	public void htmlEscapesMarkup() throws IOException {
+		final String value = "</script><a href='x'>&amp;\u2028é";
+		final String result = write(JsonWriter.EscapePolicy.HTML, value);
+		Assert.assertEquals("\"\\u003C/script\\u003E\\u003Ca href=\\u0027x\\u0027\\u003E\\u0026amp;\\u2028é\"", result);
+		Assert.assertEquals(value, read(result));
+	}
+
+	@Test
+	public void longRunsAndAccents() throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 500; i++) {
+			sb.append("some free text without specials ").append(i % 7 == 0 ? "\"quoted\" " : "").append(i % 5 == 0 ? "naïve " : "");
+		}
+		final String value = sb.toString();
+		for (JsonWriter.EscapePolicy policy : JsonWriter.EscapePolicy.values()) {
+			Assert.assertEquals(value, read(write(policy, value)));
+		}
+		Assert.assertEquals("\"" + value.replace("\"", "\\\"") + "\"", write(JsonWriter.EscapePolicy.MINIMAL, value));
+	}
+
+	@Test
+	public void readerUsesPolicy() throws IOException {
+		final DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>().escapePolicy(JsonWriter.EscapePolicy.ASCII));
+		final JsonWriter writer = json.newWriter();
+		writer.writeString(new StringReader("ß<"));
+		Assert.assertEquals("\"\\u00DF<\"", writer.toString());
+	}
+
+	@Test
+	public void policyAppliesWhenEncodingFromBytes() throws IOException {
+		final StringBuilder sb = new StringBuilder("<");
+		for (int i = 0; i < 10; i++) {
+			sb.append("日本語テキスト ");
+		}
+		final String value = sb.toString();
+		for (JsonWriter.EscapePolicy policy : JsonWriter.EscapePolicy.values()) {
+			final JsonWriter encoded = new JsonWriter(new byte[16], null, policy, true);
+			encoded.writeString(value);
+			final JsonWriter expected = new JsonWriter(new byte[16], null, policy, false);
+			expected.writeString(value);
+			Assert.assertEquals(expected.toString(), encoded.toString());
+			Assert.assertEquals(value, read(encoded.toString()));
+		}
+		final JsonWriter ascii = new JsonWriter(new byte[16], null, JsonWriter.EscapePolicy.ASCII, true);
+		ascii.writeString(value);
+		Assert.assertTrue(ascii.toString().startsWith("\"<\\u65E5\\u672C"));
+		final JsonWriter html = new JsonWriter(new byte[16], null, JsonWriter.EscapePolicy.HTML, true);
+		html.writeString(value);
+		Assert.assertTrue(html.toString().startsWith("\"\\u003C日本"));
+	}
+
+	@Test(expected = SerializationException.class)
+	public void invalidSurrogate() {
+		write(JsonWriter.EscapePolicy.MINIMAL, "a\uD800b");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void policyCantBeNull() {
+		new DslJson.Settings<Object>().escapePolicy(null);
+	}
+}
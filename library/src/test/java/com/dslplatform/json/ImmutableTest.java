@@ -0,0 +1,252 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.*;
+
+public class ImmutableTest {
+
+	public static class Person {
+		public final String name;
+		public final int age;
+		public final Set<String> tags;
+
+		public Person(String name, int age, Set<String> tags) {
+			this.name = name;
+			this.age = age;
+			this.tags = tags;
+		}
+	}
+
+	private static ImmutableDescription<Person> description(boolean skipUnknown, boolean mandatoryName) {
+		return new ImmutableDescription<Person>(
+				Person.class,
+				new ImmutableDescription.Instantiator<Person>() {
+					@Override
+					public Person create(Object[] args) {
+						return new Person((String) args[0], (Integer) args[1], (Set<String>) args[2]);
+					}
+				},
+				skipUnknown,
+				new ImmutableDescription.Property<Person>("name", String.class, new ImmutableDescription.Getter<Person>() {
+					@Override
+					public Object get(Person instance) {
+						return instance.name;
+					}
+				}, mandatoryName, null, null, null),
+				new ImmutableDescription.Property<Person>("age", int.class, new ImmutableDescription.Getter<Person>() {
+					@Override
+					public Object get(Person instance) {
+						return instance.age;
+					}
+				}, false, 0, null, null, "years"),
+				new ImmutableDescription.Property<Person>("tags", ImmutableDescription.genericType(Set.class, String.class), new ImmutableDescription.Getter<Person>() {
+					@Override
+					public Object get(Person instance) {
+						return instance.tags;
+					}
+				}));
+	}
+
+	@Test
+	public void roundtrip() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		ImmutableDescription<Person> description = description(true, false);
+		description.configure(json);
+		json.registerReader(Person.class, description);
+		json.registerWriter(Person.class, description);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		json.serialize(new Person("abc", 42, new LinkedHashSet<String>(Arrays.asList("x", "y"))), os);
+		Assert.assertEquals("{\"name\":\"abc\",\"age\":42,\"tags\":[\"x\",\"y\"]}", os.toString());
+		Person p = json.deserialize(Person.class, os.toByteArray(), os.size());
+		Assert.assertEquals("abc", p.name);
+		Assert.assertEquals(42, p.age);
+		Assert.assertEquals(new HashSet<String>(Arrays.asList("x", "y")), p.tags);
+	}
+
+	@Test
+	public void defaultsAndAliases() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		ImmutableDescription<Person> description = description(true, false);
+		description.configure(json);
+		json.registerReader(Person.class, description);
+		byte[] input = "{\"unknown\":{\"a\":[1,2,{}]},\"years\":7,\"name\":null}".getBytes("UTF-8");
+		Person p = json.deserialize(Person.class, input, input.length);
+		Assert.assertNull(p.name);
+		Assert.assertEquals(7, p.age);
+		Assert.assertNull(p.tags);
+		input = "{}".getBytes("UTF-8");
+		p = json.deserialize(Person.class, new ByteArrayInputStream(input), new byte[64]);
+		Assert.assertEquals(0, p.age);
+	}
+
+	@Test
+	public void failOnUnknownAndMandatory() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		ImmutableDescription<Person> description = description(false, true);
+		description.configure(json);
+		json.registerReader(Person.class, description);
+		byte[] input = "{\"name\":\"a\",\"what\":1}".getBytes("UTF-8");
+		try {
+			json.deserialize(Person.class, input, input.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Unknown property detected: 'what'"));
+		}
+		input = "{\"age\":1}".getBytes("UTF-8");
+		try {
+			json.deserialize(Person.class, input, input.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Mandatory property (name) not found"));
+		}
+	}
+
+	@Test
+	public void genericTypeIsCompatibleWithReflection() {
+		Type reflection = ((ParameterizedType) new ArrayList<Set<String>>() {
+		}.getClass().getGenericSuperclass()).getActualTypeArguments()[0];
+		Type manual = ImmutableDescription.genericType(Set.class, String.class);
+		Assert.assertEquals(manual, reflection);
+		Assert.assertEquals(reflection, manual);
+		Assert.assertEquals(reflection.hashCode(), manual.hashCode());
+	}
+
+	@Test
+	public void descriptionIsConfiguredForSingleInstance() {
+		DslJson<Object> json = new DslJson<Object>();
+		ImmutableDescription<Person> description = description(true, false);
+		description.configure(json);
+		description.configure(json);
+		try {
+			description.configure(new DslJson<Object>());
+			Assert.fail("Expecting exception");
+		} catch (IllegalArgumentException ex) {
+			Assert.assertTrue(ex.getMessage().contains("already configured with another DslJson instance"));
+		}
+	}
+
+	@Test
+	public void staticConvertersResolveDescriptionPerInstance() throws IOException {
+		JsonReader.ReadObject<Person> reader = ImmutableDescription.reader(Person.class);
+		JsonWriter.WriteObject<Person> writer = ImmutableDescription.writer(Person.class);
+		DslJson<Object> lenient = new DslJson<Object>();
+		DslJson<Object> strict = new DslJson<Object>();
+		ImmutableDescription<Person> skipping = description(true, false);
+		skipping.configure(lenient);
+		lenient.registerReader(Person.class, skipping);
+		ImmutableDescription<Person> failing = description(false, false);
+		failing.configure(strict);
+		strict.registerReader(Person.class, failing);
+		strict.registerWriter(Person.class, failing);
+		byte[] input = "{\"name\":\"a\",\"what\":1}".getBytes("UTF-8");
+		JsonReader<Object> jr = lenient.newReader(input);
+		jr.getNextToken();
+		Assert.assertEquals("a", reader.read(jr).name);
+		jr = strict.newReader(input);
+		jr.getNextToken();
+		try {
+			reader.read(jr);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Unknown property detected: 'what'"));
+		}
+		JsonWriter jw = strict.newWriter();
+		writer.write(jw, new Person("b", 1, null));
+		Assert.assertEquals("{\"name\":\"b\",\"age\":1,\"tags\":null}", jw.toString());
+		jr = new DslJson<Object>().newReader(input);
+		jr.getNextToken();
+		try {
+			reader.read(jr);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("was not registered"));
+		}
+	}
+
+	@Test
+	public void sizeEstimateReservesCapacityUpfront() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		ImmutableDescription<Person> description = description(true, false);
+		description.configure(json);
+		json.registerWriter(Person.class, description);
+		Set<String> tags = new LinkedHashSet<String>();
+		for (int i = 0; i < 200; i++) {
+			tags.add("tag-" + i);
+		}
+		Person person = new Person("abc", 42, tags);
+		JsonWriter writer = json.newWriter(16);
+		json.serialize(writer, person);
+		int estimate = description.estimateSize(person);
+		Assert.assertTrue(estimate > writer.size() * 3 / 4 && estimate < writer.size() * 5 / 4);
+		Assert.assertTrue(writer.toString().startsWith("{\"name\":\"abc\",\"age\":42,\"tags\":[\"tag-0\","));
+		writer = json.newWriter(16);
+		writer.reserve(writer.size() + 1000);
+		Assert.assertTrue(writer.getByteBuffer().length > 1000);
+	}
+
+	@Test
+	public void sizeEstimatorIsSampledOnceAverageIsKnown() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		final int[] estimates = new int[1];
+		json.registerWriter(Person.class, new CountingWriter(estimates));
+		Person person = new Person("abc", 42, new HashSet<String>());
+		for (int i = 0; i < 64; i++) {
+			JsonWriter writer = json.newWriter(16);
+			json.serialize(writer, person);
+			Assert.assertEquals("{\"name\":\"abc\"}", writer.toString());
+		}
+		Assert.assertTrue(estimates[0] >= 1 && estimates[0] <= 5);
+	}
+
+	@Test
+	public void registeredEstimatorTakesPrecedenceOverWriter() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		final int[] writerEstimates = new int[1];
+		final int[] registeredEstimates = new int[1];
+		json.registerWriter(Person.class, new CountingWriter(writerEstimates));
+		JsonWriter writer = json.newWriter(16);
+		json.serialize(writer, new Person("abc", 42, null));
+		Assert.assertEquals(1, writerEstimates[0]);
+		json.registerEstimator(Person.class, new JsonWriter.SizeEstimator<Person>() {
+			@Override
+			public int estimateSize(Person value) {
+				registeredEstimates[0]++;
+				return 2000;
+			}
+		});
+		writer = json.newWriter(16);
+		json.serialize(writer, new Person("abc", 42, null));
+		Assert.assertEquals("{\"name\":\"abc\"}", writer.toString());
+		Assert.assertEquals(1, writerEstimates[0]);
+		Assert.assertEquals(1, registeredEstimates[0]);
+		Assert.assertTrue(writer.getByteBuffer().length >= 2000);
+	}
+
+	private static final class CountingWriter implements JsonWriter.WriteObject<Person>, JsonWriter.SizeEstimator<Person> {
+		private final int[] estimates;
+
+		CountingWriter(int[] estimates) {
+			this.estimates = estimates;
+		}
+
+		@Override
+		public void write(JsonWriter writer, Person value) {
+			writer.writeAscii("{\"name\":");
+			writer.writeString(value.name);
+			writer.writeByte(JsonWriter.OBJECT_END);
+		}
+
+		@Override
+		public int estimateSize(Person value) {
+			estimates[0]++;
+			return 16;
+		}
+	}
+}
@@ -0,0 +1,82 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Map;
+
+public class IterateEntriesTest {
+
+	public static class Item {
+		public String name;
+		public int count;
+	}
+
+	private static DslJson<Object> dslJson() {
+		return new DslJson<Object>(new DslJson.Settings<Object>().resolveReader(BeanAnalyzer.READER));
+	}
+
+	@Test
+	public void entriesAreStreamed() throws IOException {
+		byte[] input = "{\"a\":{\"name\":\"x\",\"count\":1}, \"b\" : null ,\"c\":{\"count\":3}}".getBytes("UTF-8");
+		Iterator<Map.Entry<String, Item>> iterator = dslJson().iterateOverEntries(Item.class, new ByteArrayInputStream(input), new byte[64]);
+		Map.Entry<String, Item> first = iterator.next();
+		Assert.assertEquals("a", first.getKey());
+		Assert.assertEquals("x", first.getValue().name);
+		Assert.assertTrue(iterator.hasNext());
+		Map.Entry<String, Item> second = iterator.next();
+		Assert.assertEquals("b", second.getKey());
+		Assert.assertNull(second.getValue());
+		Map.Entry<String, Item> third = iterator.next();
+		Assert.assertEquals(3, third.getValue().count);
+		Assert.assertFalse(iterator.hasNext());
+	}
+
+	@Test
+	public void emptyAndNull() throws IOException {
+		DslJson<Object> json = dslJson();
+		Assert.assertFalse(json.iterateOverEntries(Long.class, new ByteArrayInputStream(" {} ".getBytes())).hasNext());
+		Assert.assertNull(json.iterateOverEntries(Long.class, new ByteArrayInputStream("null".getBytes())));
+	}
+
+	@Test
+	public void manyEntriesFromStream() throws IOException {
+		final int count = 100000;
+		InputStream input = new InputStream() {
+			private int entry = -1;
+			private byte[] current = "{".getBytes();
+			private int position;
+
+			@Override
+			public int read() {
+				if (position == current.length) {
+					entry++;
+					if (entry > count) return -1;
+					current = (entry == count ? "}" : (entry == 0 ? "" : ",") + "\"id" + entry + "\":" + entry).getBytes();
+					position = 0;
+				}
+				return current[position++];
+			}
+		};
+		Iterator<Map.Entry<String, Long>> iterator = dslJson().iterateOverEntries(Long.class, input);
+		long total = 0;
+		int entries = 0;
+		while (iterator.hasNext()) {
+			Map.Entry<String, Long> kv = iterator.next();
+			Assert.assertEquals("id" + kv.getValue(), kv.getKey());
+			total += kv.getValue();
+			entries++;
+		}
+		Assert.assertEquals(count, entries);
+		Assert.assertEquals((long) count * (count - 1) / 2, total);
+	}
+
+	@Test(expected = IOException.class)
+	public void arrayIsNotAnObject() throws IOException {
+		dslJson().iterateOverEntries(Long.class, new ByteArrayInputStream("[1,2]".getBytes()));
+	}
+}
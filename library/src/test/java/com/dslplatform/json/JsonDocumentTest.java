@@ -0,0 +1,142 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public class JsonDocumentTest {
+
+	private static JsonDocument parse(String json) throws IOException {
+		byte[] bytes = json.getBytes("UTF-8");
+		return JsonDocument.parse(bytes, bytes.length);
+	}
+
+	@Test
+	public void navigateWithoutMaterialization() throws IOException {
+		JsonDocument doc = parse("{\"order\":{\"items\":[1,2,{\"x\":[]}],\"customer\":{\"name\":\"Joe\",\"id\":-42}},\"paid\":true}");
+		Assert.assertEquals(JsonDocument.OBJECT, doc.type(doc.root()));
+		int order = doc.member(doc.root(), "order");
+		int customer = doc.member(order, "customer");
+		Assert.assertEquals(-42L, doc.getLong(doc.member(customer, "id")));
+		Assert.assertEquals("Joe", doc.getString(doc.member(customer, "name")));
+		Assert.assertTrue(doc.getBoolean(doc.member(doc.root(), "paid")));
+		int items = doc.member(order, "items");
+		Assert.assertEquals(3, doc.size(items));
+		Assert.assertEquals(2, doc.getInt(doc.element(items, 1)));
+		Assert.assertEquals("{\"x\":[]}", doc.raw(doc.element(items, 2)));
+		Assert.assertEquals(-1, doc.element(items, 3));
+		Assert.assertEquals(-1, doc.member(order, "missing"));
+		Assert.assertEquals(-1, doc.member(items, "items"));
+	}
+
+	@Test
+	public void iterateObject() throws IOException {
+		JsonDocument doc = parse(" { \"a\" : 1 , \"b\" : [ ] , \"c\" : { } , \"d\" : null } ");
+		int root = doc.root();
+		StringBuilder sb = new StringBuilder();
+		for (int key = doc.first(root); key != -1; key = doc.next(root, key + 1)) {
+			sb.append(doc.getString(key)).append('=').append(doc.type(key + 1)).append(';');
+		}
+		Assert.assertEquals("a=4;b=2;c=1;d=7;", sb.toString());
+		Assert.assertTrue(doc.isNull(doc.member(root, "d")));
+		Assert.assertEquals(0, doc.size(doc.member(root, "b")));
+	}
+
+	@Test
+	public void escapedAndUnicodeNames() throws IOException {
+		JsonDocument doc = parse("{\"a\\\"b\":\"x\\ny\\u0041\",\"ćevap\":1}");
+		Assert.assertEquals("x\nyA", doc.getString(doc.member(doc.root(), "a\"b")));
+		Assert.assertEquals(1, doc.getInt(doc.member(doc.root(), "ćevap")));
+	}
+
+	@Test
+	public void numbers() throws IOException {
+		JsonDocument doc = parse("[9223372036854775807,-9223372036854775808,1.5e2,12345678901234567890]");
+		Assert.assertEquals(Long.MAX_VALUE, doc.getLong(doc.element(0, 0)));
+		Assert.assertEquals(Long.MIN_VALUE, doc.getLong(doc.element(0, 1)));
+		Assert.assertEquals(150.0, doc.getDouble(doc.element(0, 2)), 0);
+		Assert.assertEquals(new BigDecimal("12345678901234567890"), doc.getValue(doc.element(0, 3)));
+		try {
+			doc.getLong(doc.element(0, 3));
+			Assert.fail("Expecting exception");
+		} catch (IOException ignore) {
+		}
+	}
+
+	@Test
+	public void materializeSameAsObjectConverter() throws IOException {
+		String json = "{\"a\":[1,2.5,\"x\",null,true,false],\"b\":{\"c\":{}}}";
+		DslJson<Object> dslJson = new DslJson<Object>();
+		byte[] bytes = json.getBytes("UTF-8");
+		Map expected = dslJson.deserialize(Map.class, bytes, bytes.length);
+		Object actual = parse(json).getValue(0);
+		Assert.assertEquals(expected, actual);
+		Assert.assertTrue(((Map) actual).get("a") instanceof List);
+	}
+
+	@Test
+	public void invalidStructure() {
+		String[] invalid = {"", "{", "[1,]", "{\"a\"}", "{\"a\":1,}", "[1 2]", "tru", "{} {}", "\"abc"};
+		for (String json : invalid) {
+			try {
+				parse(json);
+				Assert.fail("Expecting exception for: " + json);
+			} catch (IOException ignore) {
+			}
+		}
+	}
+
+	@Test
+	public void allEscapesAndSurrogates() throws IOException {
+		JsonDocument doc = parse("[\"\\\"\\\\\\/\\b\\f\\n\\r\\t\\u00e9\\uD83D\\uDE00ž\"]");
+		Assert.assertEquals("\"\\/\b\f\n\r\t\u00e9\uD83D\uDE00ž", doc.getString(doc.element(0, 0)));
+	}
+
+	@Test
+	public void malformedEscapes() throws IOException {
+		String[] invalid = {"[\"\\uZZZZ\"]", "[\"\\u12\"]", "[\"\\u123\"]", "[\"\\x\"]", "[\"\\'\"]"};
+		for (String json : invalid) {
+			JsonDocument doc = parse(json);
+			try {
+				doc.getString(doc.element(0, 0));
+				Assert.fail("Expecting exception for: " + json);
+			} catch (IOException ex) {
+				Assert.assertTrue(ex.getMessage().contains("Invalid escape sequence at position 2"));
+			}
+			try {
+				doc.getValue(0);
+				Assert.fail("Expecting exception for: " + json);
+			} catch (IOException ignore) {
+			}
+		}
+		JsonDocument doc = parse("{\"\\x\":1,\"a\":2}");
+		Assert.assertEquals(-1, doc.member(0, "x"));
+		Assert.assertEquals(2, doc.getInt(doc.member(0, "a")));
+	}
+
+	@Test
+	public void nestingIsLimited() throws IOException {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 100000; i++) {
+			sb.append('[');
+		}
+		try {
+			parse(sb.toString());
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Maximum nesting depth of 1024 exceeded"));
+		}
+		byte[] nested = "[[{\"a\":[1]}]]".getBytes("UTF-8");
+		try {
+			JsonDocument.parse(nested, nested.length, 3);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Maximum nesting depth of 3 exceeded at position 7"));
+		}
+		Assert.assertEquals("[[{a=[1]}]]", JsonDocument.parse(nested, nested.length, 4).getValue(0).toString());
+	}
+}
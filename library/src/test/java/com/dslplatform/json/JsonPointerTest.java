@@ -0,0 +1,89 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+public class JsonPointerTest {
+
+	private static final byte[] INPUT = ("{\"meta\":{\"big\":[1,2,3,{\"x\":\"y\"}],\"a/b\":5,\"m~n\":6},"
+			+ "\"order\":{\"items\":[{\"name\":\"book\"},{\"name\":\"pen\",\"tags\":[\"x\",\"y\"]}],"
+			+ "\"customer\":{\"id\":42,\"name\":null}}}").getBytes();
+
+	@Test
+	public void singleValue() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		Assert.assertEquals(Long.valueOf(42), json.extract(INPUT, INPUT.length, "/order/customer/id", Long.class));
+		Assert.assertEquals("pen", json.extract(INPUT, INPUT.length, "/order/items/1/name", String.class));
+		Assert.assertNull(json.extract(INPUT, INPUT.length, "/order/customer/name", String.class));
+		Assert.assertNull(json.extract(INPUT, INPUT.length, "/order/missing", String.class));
+		Assert.assertNull(json.extract(INPUT, INPUT.length, "/order/items/5/name", String.class));
+		Assert.assertNull(json.extract(INPUT, INPUT.length, "/order/customer/id/deeper", String.class));
+	}
+
+	@Test
+	public void escapedNames() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		Assert.assertEquals(Integer.valueOf(5), json.extract(INPUT, INPUT.length, "/meta/a~1b", Integer.class));
+		Assert.assertEquals(Integer.valueOf(6), json.extract(INPUT, INPUT.length, "/meta/m~0n", Integer.class));
+	}
+
+	@Test
+	public void structuredValues() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		Map<?, ?> customer = json.extract(INPUT, INPUT.length, "/order/customer", Map.class);
+		Assert.assertEquals(42L, customer.get("id"));
+		Map<?, ?> root = json.extract(INPUT, INPUT.length, "", Map.class);
+		Assert.assertEquals(2, root.size());
+		Type listOfStrings = ImmutableDescription.genericType(List.class, String.class);
+		Object[] values = json.extract(
+				INPUT,
+				INPUT.length,
+				new JsonPointer[]{JsonPointer.compile("/order/items/1/tags")},
+				new Type[]{listOfStrings});
+		Assert.assertEquals(Arrays.asList("x", "y"), values[0]);
+	}
+
+	@Test
+	public void multiplePathsInOnePass() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		JsonPointer[] pointers = {
+				JsonPointer.compile("/order/customer/id"),
+				JsonPointer.compile("/meta/big/3/x"),
+				JsonPointer.compile("/order/items/0/name"),
+				JsonPointer.compile("/unknown")
+		};
+		Object[] values = json.extract(INPUT, INPUT.length, pointers, new Type[]{int.class, String.class, String.class, Object.class});
+		Assert.assertEquals(42, values[0]);
+		Assert.assertEquals("y", values[1]);
+		Assert.assertEquals("book", values[2]);
+		Assert.assertNull(values[3]);
+	}
+
+	@Test
+	public void stopsAfterValuesWereFound() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		byte[] truncated = "{\"a\":{\"b\":1},\"c\":[1,2".getBytes();
+		Assert.assertEquals(Integer.valueOf(1), json.extract(truncated, truncated.length, "/a/b", Integer.class));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void overlappingPointers() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		json.extract(
+				INPUT,
+				INPUT.length,
+				new JsonPointer[]{JsonPointer.compile("/order"), JsonPointer.compile("/order/customer")},
+				new Type[]{Map.class, Map.class});
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidPointer() {
+		JsonPointer.compile("order/customer");
+	}
+}
@@ -0,0 +1,126 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+public class JsonTransformTest {
+
+	private static String transform(JsonTransform transform, String input) throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		json.transform(new ByteArrayInputStream(input.getBytes("UTF-8")), os, transform);
+		return os.toString("UTF-8");
+	}
+
+	@Test
+	public void untouchedDocumentIsCopied() throws IOException {
+		String input = "{\"a\":[1,2.5e3,{\"b\":\"x\\\"y\"}],\"c\":null,\"d\":\"ćevap\"}";
+		Assert.assertEquals(input, transform(JsonTransform.dropping("/missing"), input));
+	}
+
+	@Test
+	public void dropRenameReplace() throws IOException {
+		JsonTransform transform = JsonTransform.dropping("/user/password")
+				.rename("/user/mail", "email")
+				.replace("/user/ssn", RawJson.of("\"***\""));
+		String input = "{ \"user\" : { \"password\" : { \"hash\" : [1,2] }, \"mail\" : \"a@b.c\", \"ssn\" : 123, \"name\" : \"Joe\" }, \"ok\" : true }";
+		Assert.assertEquals(
+				"{\"user\":{\"email\":\"a@b.c\",\"ssn\":\"***\",\"name\":\"Joe\"},\"ok\":true}",
+				transform(transform, input));
+	}
+
+	@Test
+	public void dropFirstAndLast() throws IOException {
+		JsonTransform transform = JsonTransform.dropping("/a").drop("/c");
+		Assert.assertEquals("{\"b\":2}", transform(transform, "{\"a\":1,\"b\":2,\"c\":3}"));
+		Assert.assertEquals("{}", transform(transform, "{\"a\":1,\"c\":3}"));
+	}
+
+	@Test
+	public void arraysAndWildcards() throws IOException {
+		JsonTransform transform = JsonTransform.dropping("/items/*/internal")
+				.drop("/items/0")
+				.rename("/items/*/n", "name");
+		String input = "{\"items\":[{\"n\":\"first\"},{\"n\":\"a\",\"internal\":1},{\"internal\":[2],\"n\":\"b\"}]}";
+		Assert.assertEquals(
+				"{\"items\":[{\"name\":\"a\"},{\"name\":\"b\"}]}",
+				transform(transform, input));
+	}
+
+	@Test
+	public void renamedPropertyCanBeTransformedFurther() throws IOException {
+		JsonTransform transform = JsonTransform.renaming("/customer", "client").drop("/customer/secret");
+		Assert.assertEquals(
+				"{\"client\":{\"id\":1}}",
+				transform(transform, "{\"customer\":{\"secret\":\"s\",\"id\":1}}"));
+	}
+
+	@Test
+	public void invalidInput() {
+		JsonTransform transform = JsonTransform.dropping("/a");
+		String[] invalid = {"{\"a\":1", "{\"a\" 1}", "{\"b\":[1 2]}", "{\"a\":tru}"};
+		for (String input : invalid) {
+			try {
+				transform(transform, input);
+				Assert.fail("Expecting exception for: " + input);
+			} catch (IOException ignore) {
+			}
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void wholeDocumentCantBeTransformed() {
+		JsonTransform.dropping("");
+	}
+
+	@Test
+	public void largeInputWithBoundedBuffers() throws IOException {
+		final int count = 20000;
+		final byte[] prefix = "{\"items\":[".getBytes("UTF-8");
+		final byte[] item = "{\"id\":12345,\"secret\":\"abcdefghijklmnopqrstuvwxyz\",\"payload\":{\"values\":[1,2,3,4,5,6,7,8,9]}},".getBytes("UTF-8");
+		final byte[] suffix = "{}]}".getBytes("UTF-8");
+		InputStream input = new InputStream() {
+			private int position;
+
+			@Override
+			public int read() {
+				final long total = prefix.length + (long) item.length * count + suffix.length;
+				if (position >= total) return -1;
+				final int at = position++;
+				if (at < prefix.length) return prefix[at];
+				final int inItems = at - prefix.length;
+				if (inItems < item.length * count) return item[inItems % item.length];
+				return suffix[inItems - item.length * count];
+			}
+		};
+		final long[] written = new long[1];
+		OutputStream output = new OutputStream() {
+			@Override
+			public void write(int b) {
+				written[0]++;
+			}
+		};
+		DslJson<Object> json = new DslJson<Object>();
+		json.transform(input, output, JsonTransform.dropping("/items/*/secret"));
+		final long expected = prefix.length + (long) (item.length - "\"secret\":\"abcdefghijklmnopqrstuvwxyz\",".length()) * count + suffix.length;
+		Assert.assertEquals(expected, written[0]);
+	}
+
+	@Test
+	public void deepNestingIsLimited() throws IOException {
+		StringBuilder sb = new StringBuilder("{\"b\":");
+		for (int i = 0; i < 200000; i++) sb.append('[');
+		try {
+			transform(JsonTransform.dropping("/a"), sb.toString());
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Maximum nesting depth"));
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MapConverterTest {
+
+	private static Map<String, String> read(DslJson<Object> json, String input) throws IOException {
+		JsonReader<Object> reader = json.newReader(input.getBytes("UTF-8"));
+		reader.getNextToken();
+		return MapConverter.deserialize(reader);
+	}
+
+	private static String bigMap(int size) {
+		StringBuilder sb = new StringBuilder("{");
+		for (int i = 0; i < size; i++) {
+			if (i > 0) sb.append(',');
+			sb.append("\"k").append(i).append("\":\"v,").append(i).append("\"");
+		}
+		return sb.append('}').toString();
+	}
+
+	@Test
+	public void keysAreLookedUpFromCache() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		Map<String, String> first = read(json, "{\"env\":\"prod\",\"region\":null}");
+		Map<String, String> second = read(json, "{\"region\":\"eu\",\"env\":\"dev\"}");
+		Assert.assertTrue(first instanceof LinkedHashMap);
+		Assert.assertNull(first.get("region"));
+		Assert.assertEquals("eu", second.get("region"));
+		Assert.assertSame(first.keySet().iterator().next(), second.keySet().toArray()[1]);
+	}
+
+	@Test
+	public void largeMapsAreRead() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		Map<String, String> map = read(json, bigMap(100));
+		Assert.assertEquals(100, map.size());
+		Assert.assertEquals("v,99", map.get("k99"));
+		Assert.assertEquals("k0", map.keySet().iterator().next());
+	}
+
+	@Test
+	public void compactMaps() throws IOException {
+		DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>().useCompactMaps(true));
+		Map<String, String> map = read(json, "{\"b\":\"1\",\"a\":\"2\",\"b\":\"3\",\"c\":null}");
+		Assert.assertEquals(3, map.size());
+		Assert.assertEquals(Arrays.asList("b", "a", "c"), new ArrayList<String>(map.keySet()));
+		Assert.assertEquals("3", map.get("b"));
+		Assert.assertTrue(map.containsKey("c"));
+		Assert.assertFalse(map.containsKey("d"));
+		Assert.assertNull(map.get(1));
+		Map<String, String> expected = new LinkedHashMap<String, String>();
+		expected.put("b", "3");
+		expected.put("a", "2");
+		expected.put("c", null);
+		Assert.assertEquals(expected, map);
+		Assert.assertEquals(expected.hashCode(), map.hashCode());
+		Assert.assertEquals(0, read(json, "{}").size());
+		try {
+			map.put("d", "4");
+			Assert.fail("Expecting exception");
+		} catch (UnsupportedOperationException ignore) {
+		}
+		Map<String, String> big = read(json, bigMap(100));
+		Assert.assertEquals(100, big.size());
+		for (int i = 0; i < 100; i++) {
+			Assert.assertEquals("v," + i, big.get("k" + i));
+		}
+	}
+
+	@Test
+	public void compactMapsFromStream() throws IOException {
+		DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>().useCompactMaps(true));
+		byte[] input = bigMap(1000).getBytes("UTF-8");
+		JsonReader<Object> reader = json.newReader(new ByteArrayInputStream(input), new byte[64]);
+		reader.getNextToken();
+		Map<String, String> map = MapConverter.deserialize(reader);
+		Assert.assertEquals(1000, map.size());
+		Assert.assertEquals("v,500", map.get("k500"));
+	}
+
+	@Test
+	public void invalidInput() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		for (String input : new String[]{"{\"a\" \"b\"}", "{\"a\":\"b\" \"c\"}", "{1:\"b\"}"}) {
+			try {
+				read(json, input);
+				Assert.fail("Expecting exception for " + input);
+			} catch (IOException ignore) {
+			}
+		}
+	}
+
+	@Test
+	public void collectionOfMaps() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		JsonReader<Object> reader = json.newReader("[{\"a\":\"1\"},null]".getBytes("UTF-8"));
+		reader.getNextToken();
+		reader.getNextToken();
+		List<Map<String, String>> maps = MapConverter.deserializeNullableCollection(reader);
+		Assert.assertEquals("1", maps.get(0).get("a"));
+		Assert.assertNull(maps.get(1));
+	}
+}
@@ -0,0 +1,314 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+public class MixinTest {
+
+	public interface Shape {
+	}
+
+	public static class Circle implements Shape {
+		public final int radius;
+
+		public Circle(int radius) {
+			this.radius = radius;
+		}
+	}
+
+	public static class Square implements Shape, JsonObject {
+		public int side;
+
+		@Override
+		public void serialize(JsonWriter writer, boolean minimal) {
+			writer.writeAscii("{\"side\":");
+			NumberConverter.serialize(side, writer);
+			writer.writeByte(JsonWriter.OBJECT_END);
+		}
+
+		public static final JsonReader.ReadJsonObject<Square> JSON_READER = new JsonReader.ReadJsonObject<Square>() {
+			@Override
+			public Square deserialize(JsonReader reader) throws IOException {
+				Square result = new Square();
+				byte nextToken = reader.last();
+				while (nextToken == '"') {
+					String name = reader.readKey();
+					if ("side".equals(name)) {
+						result.side = NumberConverter.deserializeInt(reader);
+					} else {
+						reader.skip();
+					}
+					nextToken = reader.getNextToken();
+					if (nextToken == ',') {
+						nextToken = reader.getNextToken();
+					}
+				}
+				if (nextToken != '}') {
+					throw new IOException("Expecting '}'");
+				}
+				return result;
+			}
+		};
+	}
+
+	public static class Line implements Shape {
+		public String label;
+	}
+
+	private static JsonReader lastLineReader;
+
+	private static final JsonReader.ReadObject<Line> LINE_READER = new JsonReader.ReadObject<Line>() {
+		@Override
+		public Line read(JsonReader reader) throws IOException {
+			if (reader.last() != '{') throw reader.expecting("{");
+			lastLineReader = reader;
+			Line line = new Line();
+			byte nextToken = reader.getNextToken();
+			while (nextToken == '"') {
+				String name = reader.readKey();
+				if ("label".equals(name)) {
+					line.label = reader.readString();
+				} else {
+					reader.skip();
+				}
+				nextToken = reader.getNextToken();
+				if (nextToken == ',') {
+					nextToken = reader.getNextToken();
+				}
+			}
+			return line;
+		}
+	};
+
+	private static final JsonWriter.WriteObject<Line> LINE_WRITER = new JsonWriter.WriteObject<Line>() {
+		@Override
+		public void write(JsonWriter writer, Line value) {
+			writer.writeAscii("{\"label\":");
+			writer.writeString(value.label);
+			writer.writeByte(JsonWriter.OBJECT_END);
+		}
+	};
+
+	private static DslJson<Object> setup(boolean compact) {
+		DslJson<Object> json = new DslJson<Object>();
+		ImmutableDescription<Circle> circle = new ImmutableDescription<Circle>(
+				Circle.class,
+				new ImmutableDescription.Instantiator<Circle>() {
+					@Override
+					public Circle create(Object[] args) {
+						return new Circle((Integer) args[0]);
+					}
+				},
+				true,
+				new ImmutableDescription.Property<Circle>("radius", int.class, new ImmutableDescription.Getter<Circle>() {
+					@Override
+					public Object get(Circle instance) {
+						return instance.radius;
+					}
+				}));
+		circle.configure(json);
+		json.registerReader(Circle.class, circle);
+		json.registerWriter(Circle.class, circle);
+		json.registerReader(Line.class, LINE_READER);
+		json.registerWriter(Line.class, LINE_WRITER);
+		MixinDescription<Shape> shape = new MixinDescription<Shape>(
+				Shape.class,
+				MixinDescription.DISCRIMINATOR,
+				compact,
+				new MixinDescription.Subtype(Circle.class, "Circle", 1),
+				new MixinDescription.Subtype(Square.class, "Square", 2),
+				new MixinDescription.Subtype(Line.class, "Line", 3));
+		shape.configure(json);
+		json.registerReader(Shape.class, shape);
+		json.registerWriter(Shape.class, shape);
+		return json;
+	}
+
+	@Test
+	public void roundtripWithNames() throws IOException {
+		DslJson<Object> json = setup(false);
+		JsonWriter writer = json.newWriter();
+		Square square = new Square();
+		square.side = 3;
+		Line line = new Line();
+		line.label = "x";
+		json.serialize(writer, Shape[].class, new Shape[]{new Circle(5), square, line, null});
+		Assert.assertEquals(
+				"[{\"$type\":\"Circle\",\"radius\":5},{\"$type\":\"Square\",\"side\":3},{\"$type\":\"Line\",\"label\":\"x\"},null]",
+				writer.toString());
+		Shape[] shapes = json.deserialize(Shape[].class, writer.getByteBuffer(), writer.size());
+		Assert.assertEquals(5, ((Circle) shapes[0]).radius);
+		Assert.assertEquals(3, ((Square) shapes[1]).side);
+		Assert.assertEquals("x", ((Line) shapes[2]).label);
+		Assert.assertNull(shapes[3]);
+	}
+
+	@Test
+	public void compactDiscriminator() throws IOException {
+		DslJson<Object> json = setup(true);
+		JsonWriter writer = json.newWriter();
+		json.serialize(writer, Shape.class, new Circle(2));
+		Assert.assertEquals("{\"$type\":1,\"radius\":2}", writer.toString());
+		byte[] input = "{\"$type\":2,\"side\":4}".getBytes("UTF-8");
+		Square square = (Square) json.deserialize(Shape.class, input, input.length);
+		Assert.assertEquals(4, square.side);
+	}
+
+	@Test
+	public void discriminatorNotFirst() throws IOException {
+		DslJson<Object> json = setup(false);
+		byte[] input = "[{\"radius\":7,\"$type\":\"Circle\"},{\"side\":1,\"$type\":2},{\"label\":\"y\",\"$type\":\"Line\"}]".getBytes("UTF-8");
+		List<Shape> shapes = json.deserializeList(Shape.class, input, input.length);
+		Assert.assertEquals(7, ((Circle) shapes.get(0)).radius);
+		Assert.assertEquals(1, ((Square) shapes.get(1)).side);
+		Assert.assertEquals("y", ((Line) shapes.get(2)).label);
+	}
+
+	@Test
+	public void emptyContent() throws IOException {
+		DslJson<Object> json = setup(false);
+		byte[] input = "[{\"$type\":\"Circle\"},{\"$type\":\"Square\"},{\"$type\":\"Line\"}]".getBytes("UTF-8");
+		List<Shape> shapes = json.deserializeList(Shape.class, input, input.length);
+		Assert.assertEquals(0, ((Circle) shapes.get(0)).radius);
+		Assert.assertEquals(0, ((Square) shapes.get(1)).side);
+		Assert.assertNull(((Line) shapes.get(2)).label);
+	}
+
+	@Test
+	public void streamingInput() throws IOException {
+		DslJson<Object> json = setup(false);
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < 1000; i++) {
+			if (i > 0) sb.append(',');
+			sb.append("{\"$type\":\"Circle\",\"radius\":").append(i).append('}');
+		}
+		sb.append(']');
+		byte[] input = sb.toString().getBytes("UTF-8");
+		List<Shape> shapes = json.deserializeList(Shape.class, new ByteArrayInputStream(input), new byte[64]);
+		Assert.assertEquals(1000, shapes.size());
+		Assert.assertEquals(999, ((Circle) shapes.get(999)).radius);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		JsonWriter writer = json.newWriter();
+		writer.reset(os);
+		json.serialize(writer, Shape[].class, shapes.toArray(new Shape[0]));
+		writer.flush();
+		Assert.assertEquals(sb.toString(), os.toString());
+	}
+
+	@Test
+	public void unknownType() throws IOException {
+		DslJson<Object> json = setup(false);
+		byte[] input = "{\"$type\":\"Triangle\",\"a\":1}".getBytes("UTF-8");
+		try {
+			json.deserialize(Shape.class, input, input.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Unknown '$type' value: 'Triangle'"));
+		}
+	}
+
+	@Test
+	public void trailingCommaAfterDiscriminator() throws IOException {
+		DslJson<Object> json = setup(false);
+		for (String type : new String[]{"Circle", "Square", "Line"}) {
+			byte[] input = ("{\"$type\":\"" + type + "\",}").getBytes("UTF-8");
+			try {
+				json.deserialize(Shape.class, input, input.length);
+				Assert.fail("Expecting exception for " + type);
+			} catch (IOException ex) {
+				Assert.assertTrue(ex.getMessage().contains("Expecting '\"'"));
+			}
+		}
+	}
+
+	@Test
+	public void signatureFromSubtypeWriterIsNotDuplicated() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		json.registerReader(Line.class, LINE_READER);
+		json.registerWriter(Line.class, new JsonWriter.WriteObject<Line>() {
+			@Override
+			public void write(JsonWriter writer, Line value) {
+				writer.writeAscii("{\"$type\":\"Line\",\"label\":");
+				writer.writeString(value.label);
+				writer.writeByte(JsonWriter.OBJECT_END);
+			}
+		});
+		MixinDescription<Shape> shape = new MixinDescription<Shape>(Shape.class, new MixinDescription.Subtype(Line.class, "Line"));
+		shape.configure(json);
+		json.registerReader(Shape.class, shape);
+		json.registerWriter(Shape.class, shape);
+		Line line = new Line();
+		line.label = "z";
+		JsonWriter writer = json.newWriter();
+		json.serialize(writer, Shape.class, line);
+		Assert.assertEquals("{\"$type\":\"Line\",\"label\":\"z\"}", writer.toString());
+		Assert.assertEquals("z", ((Line) json.deserialize(Shape.class, writer.getByteBuffer(), writer.size())).label);
+	}
+
+	@Test
+	public void descriptionIsConfiguredForSingleInstance() {
+		MixinDescription<Shape> shape = new MixinDescription<Shape>(
+				Shape.class,
+				new MixinDescription.Subtype(Circle.class, "Circle"));
+		shape.configure(new DslJson<Object>());
+		try {
+			shape.configure(new DslJson<Object>());
+			Assert.fail("Expecting exception");
+		} catch (IllegalArgumentException ex) {
+			Assert.assertTrue(ex.getMessage().contains("already configured with another DslJson instance"));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void compactRequiresIds() {
+		new MixinDescription<Shape>(
+				Shape.class,
+				MixinDescription.DISCRIMINATOR,
+				true,
+				new MixinDescription.Subtype(Circle.class, "Circle"));
+	}
+
+	@Test
+	public void plainReaderContinuesInPlace() throws IOException {
+		DslJson<Object> json = setup(false);
+		JsonReader.ReadObject<Shape> shape = json.tryFindReader(Shape.class);
+		byte[] input = "[{\"$type\":\"Line\",\"label\":\"a\"},{\"$type\":\"Line\" },{\"$type\":\"Line\" , \"label\" : \"b\" }]".getBytes("UTF-8");
+		JsonReader<Object> reader = json.newReader(input);
+		reader.getNextToken();
+		reader.getNextToken();
+		Assert.assertEquals("a", ((Line) shape.read(reader)).label);
+		Assert.assertSame(reader, lastLineReader);
+		Assert.assertEquals(',', reader.getNextToken());
+		reader.getNextToken();
+		Assert.assertNull(((Line) shape.read(reader)).label);
+		Assert.assertSame(reader, lastLineReader);
+		Assert.assertEquals(',', reader.getNextToken());
+		reader.getNextToken();
+		Assert.assertEquals("b", ((Line) shape.read(reader)).label);
+		Assert.assertSame(reader, lastLineReader);
+		Assert.assertEquals(']', reader.getNextToken());
+	}
+
+	@Test
+	public void plainReaderWithStreamingInput() throws IOException {
+		DslJson<Object> json = setup(false);
+		StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < 500; i++) {
+			if (i > 0) sb.append(',');
+			if (i % 3 == 0) sb.append("{\"$type\":\"Line\"}");
+			else sb.append("{\"$type\":\"Line\",\"label\":\"l").append(i).append("\"}");
+		}
+		sb.append(']');
+		byte[] input = sb.toString().getBytes("UTF-8");
+		List<Shape> shapes = json.deserializeList(Shape.class, new ByteArrayInputStream(input), new byte[64]);
+		Assert.assertEquals(500, shapes.size());
+		for (int i = 0; i < 500; i++) {
+			Assert.assertEquals(i % 3 == 0 ? null : "l" + i, ((Line) shapes.get(i)).label);
+		}
+	}
+}
@@ -889,4 +889,122 @@ public class NumberConverterTest {
 			Assert.assertEquals(d, valueParsed2, 0);
 		}
 	}
+
+	@Test
+	public void eightDigitChunks() throws IOException {
+		Assert.assertEquals(12345678, NumberConverter.parseEightDigits("12345678".getBytes(), 0));
+		Assert.assertEquals(0, NumberConverter.parseEightDigits("x00000000".getBytes(), 1));
+		Assert.assertEquals(99999999, NumberConverter.parseEightDigits("99999999".getBytes(), 0));
+		Assert.assertEquals(-1, NumberConverter.parseEightDigits("1234567.".getBytes(), 0));
+		Assert.assertEquals(-1, NumberConverter.parseEightDigits("1234 678".getBytes(), 0));
+		Assert.assertEquals(-1, NumberConverter.parseEightDigits("12/45678".getBytes(), 0));
+		Assert.assertEquals(-1, NumberConverter.parseEightDigits("12:45678".getBytes(), 0));
+		Assert.assertEquals(-1, NumberConverter.parseEightDigits(new byte[]{'1', '2', '3', '4', '5', '6', '7', (byte) 0xB9}, 0));
+		final Random random = new Random(42);
+		long limit = 1;
+		for (int digits = 1; digits <= 19; digits++) {
+			limit = digits == 19 ? Long.MAX_VALUE : limit * 10;
+			for (int i = 0; i < 200; i++) {
+				final long value = (random.nextLong() & Long.MAX_VALUE) % limit;
+				checkLong(value);
+				checkLong(-value);
+			}
+		}
+		checkLong(Long.MAX_VALUE);
+		checkLong(Long.MIN_VALUE);
+		checkLong(Integer.MAX_VALUE);
+		checkLong(Integer.MIN_VALUE);
+	}
+
+	private void checkLong(final long value) throws IOException {
+		final byte[] input = ("[" + value + "," + value + " ]").getBytes();
+		final JsonReader<Object> reader = dslJson.newReader(input);
+		reader.getNextToken();
+		reader.getNextToken();
+		Assert.assertEquals(value, NumberConverter.deserializeLong(reader));
+		reader.getNextToken();
+		reader.getNextToken();
+		Assert.assertEquals(value, NumberConverter.deserializeNumber(reader).longValue());
+		if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+			final JsonReader<Object> intReader = dslJson.newReader(input);
+			intReader.getNextToken();
+			intReader.getNextToken();
+			Assert.assertEquals((int) value, NumberConverter.deserializeInt(intReader));
+		}
+	}
+
+	@Test
+	public void eightDigitChunkOverflow() throws IOException {
+		for (String input : new String[]{"9223372036854775808", "-9223372036854775809", "12345678901234567890"}) {
+			final JsonReader<Object> reader = dslJson.newReader(input.getBytes());
+			reader.getNextToken();
+			try {
+				NumberConverter.deserializeLong(reader);
+				Assert.fail("Expecting exception for " + input);
+			} catch (IOException ex) {
+				Assert.assertTrue(ex.getMessage().contains("overflow"));
+			}
+		}
+		for (String input : new String[]{"12345678.5", "-1234567890123.5", "123456789e2"}) {
+			final JsonReader<Object> reader = dslJson.newReader(input.getBytes());
+			reader.getNextToken();
+			Assert.assertEquals(new BigDecimal(input).doubleValue(), NumberConverter.deserializeNumber(reader).doubleValue(), 0);
+		}
+	}
+
+	private void checkExactDouble(final String input) throws IOException {
+		final byte[] bytes = ("[" + input + "," + input + " ]").getBytes();
+		final JsonReader<Object> reader = dslJson.newReader(bytes);
+		reader.getNextToken();
+		reader.getNextToken();
+		final double expected = Double.parseDouble(input);
+		Assert.assertEquals(input, Double.doubleToLongBits(expected), Double.doubleToLongBits(NumberConverter.deserializeDouble(reader)));
+		reader.getNextToken();
+		reader.getNextToken();
+		Assert.assertEquals(input, Double.doubleToLongBits(expected), Double.doubleToLongBits(NumberConverter.deserializeDouble(reader)));
+	}
+
+	@Test
+	public void exactDoubleEdgeCases() throws IOException {
+		final String[] inputs = {
+				"0.1", "1e23", "8.41e21", "9007199254740993", "9007199254740993e-3", "2.2250738585072011e-308",
+				"2.2250738585072014e-308", "4.9e-324", "2.4703282292062327e-324", "2.4703282292062328e-324",
+				"1.7976931348623157e308", "1.7976931348623158e308", "1.7976931348623159e308", "1e309", "1e-400",
+				"0.000000000000000000000000000000000000001", "123456789012345678901234567890", "7.3177701707893310e+15",
+				"9.9999999999999999999e22", "1.00000000000000011102230246251565404236316680908203125",
+				"1.00000000000000011102230246251565404236316680908203124", "-0.0", "0e10", "12345.6789E-2"
+		};
+		for (String input : inputs) {
+			checkExactDouble(input);
+		}
+	}
+
+	@Test
+	public void exactDoubleWithoutFallback() {
+		final Random random = new Random(7);
+		for (int i = 0; i < 100000; i++) {
+			final double value = Double.longBitsToDouble(random.nextLong() & Long.MAX_VALUE);
+			if (Double.isNaN(value) || Double.isInfinite(value)) continue;
+			final byte[] input = Double.toString(value).getBytes();
+			Assert.assertEquals(Double.doubleToLongBits(value), Double.doubleToLongBits(DoubleParser.parse(input, 0, input.length)));
+		}
+		final byte[] tooLong = "1.00000000000000011102230246251565404236316680908203125".getBytes();
+		Assert.assertTrue(Double.isNaN(DoubleParser.parse(tooLong, 0, tooLong.length)));
+	}
+
+	@Test
+	public void exactDoubleRandom() throws IOException {
+		final Random random = new Random(42);
+		for (int i = 0; i < 100000; i++) {
+			final double value = Double.longBitsToDouble(random.nextLong() & Long.MAX_VALUE);
+			if (Double.isNaN(value) || Double.isInfinite(value)) continue;
+			checkExactDouble(Double.toString(value));
+			checkExactDouble(new BigDecimal(value).round(new java.math.MathContext(1 + random.nextInt(25))).toString());
+		}
+		for (int i = 0; i < 100000; i++) {
+			final long digits = random.nextLong() & Long.MAX_VALUE;
+			checkExactDouble(digits + "e" + (random.nextInt(660) - 340));
+			checkExactDouble("0." + digits);
+		}
+	}
 }
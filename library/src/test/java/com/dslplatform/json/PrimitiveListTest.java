@@ -0,0 +1,112 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class PrimitiveListTest {
+
+	public static class Series {
+		public IntList counts;
+		public LongList timestamps;
+		public DoubleList values;
+	}
+
+	private static DslJson<Object> dslJson() {
+		return new DslJson<Object>(new DslJson.Settings<Object>()
+				.resolveReader(BeanAnalyzer.READER)
+				.resolveWriter(BeanAnalyzer.WRITER));
+	}
+
+	@Test
+	public void propertiesAreReadWithoutBoxing() throws IOException {
+		DslJson<Object> json = dslJson();
+		byte[] input = "{\"counts\":[1,-2,3],\"timestamps\":[1500000000000,-1],\"values\":[0.5,1e3,-2]}".getBytes();
+		Series series = json.deserialize(Series.class, input, input.length);
+		Assert.assertArrayEquals(new int[]{1, -2, 3}, series.counts.toIntArray());
+		Assert.assertArrayEquals(new long[]{1500000000000L, -1}, series.timestamps.toLongArray());
+		Assert.assertArrayEquals(new double[]{0.5, 1000, -2}, series.values.toDoubleArray(), 0);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		json.serialize(series, os);
+		Series again = json.deserialize(Series.class, os.toByteArray(), os.size());
+		Assert.assertEquals(series.counts, again.counts);
+		Assert.assertEquals(series.timestamps, again.timestamps);
+		Assert.assertEquals(series.values, again.values);
+	}
+
+	@Test
+	public void nullsAndEmptyLists() throws IOException {
+		DslJson<Object> json = dslJson();
+		byte[] input = "{\"counts\":null,\"timestamps\":[],\"values\":[]}".getBytes();
+		Series series = json.deserialize(Series.class, input, input.length);
+		Assert.assertNull(series.counts);
+		Assert.assertEquals(0, series.timestamps.size());
+		JsonWriter writer = json.newWriter();
+		NumberConverter.serialize((IntList) null, writer);
+		writer.writeByte(JsonWriter.COMMA);
+		NumberConverter.serialize(series.timestamps, writer);
+		Assert.assertEquals("null,[]", writer.toString());
+	}
+
+	@Test
+	public void invalidElements() throws IOException {
+		DslJson<Object> json = dslJson();
+		for (String input : new String[]{"{\"counts\":[1,null]}", "{\"counts\":[1,2}", "{\"values\":[\"a\"]}"}) {
+			try {
+				byte[] bytes = input.getBytes();
+				json.deserialize(Series.class, bytes, bytes.length);
+				Assert.fail("Expecting exception for " + input);
+			} catch (IOException ignore) {
+			}
+		}
+	}
+
+	@Test
+	public void largeListsAreWrittenInChunks() throws IOException {
+		DslJson<Object> json = dslJson();
+		IntList ints = new IntList();
+		LongList longs = new LongList();
+		for (int i = 0; i < 5000; i++) {
+			ints.addInt(Integer.MIN_VALUE + i);
+			longs.addLong(Long.MAX_VALUE - i);
+		}
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		JsonWriter writer = json.newWriter();
+		writer.reset(os);
+		NumberConverter.serialize(ints, writer);
+		writer.flush();
+		Assert.assertTrue(writer.getByteBuffer().length < os.size() / 2);
+		JsonReader<Object> reader = json.newReader(new ByteArrayInputStream(os.toByteArray()), new byte[512]);
+		reader.getNextToken();
+		Assert.assertEquals(ints, NumberConverter.deserializeIntList(reader));
+		os.reset();
+		writer = json.newWriter();
+		writer.reset(os);
+		NumberConverter.serialize(longs, writer);
+		writer.flush();
+		Assert.assertTrue(writer.getByteBuffer().length < os.size() / 2);
+		reader = json.newReader(new ByteArrayInputStream(os.toByteArray()), new byte[512]);
+		reader.getNextToken();
+		Assert.assertEquals(longs, NumberConverter.deserializeLongList(reader));
+		writer = json.newWriter();
+		NumberConverter.serialize(longs, writer);
+		byte[] bytes = writer.toByteArray();
+		reader = json.newReader(bytes);
+		reader.getNextToken();
+		Assert.assertEquals(longs, NumberConverter.deserializeLongList(reader));
+	}
+
+	@Test
+	public void intList() {
+		IntList list = new IntList(new int[]{3, 4});
+		list.add(0, 1);
+		list.addInt(5);
+		Assert.assertEquals(Arrays.asList(1, 3, 4, 5), list);
+		Assert.assertEquals(Integer.valueOf(3), list.remove(1));
+		Assert.assertEquals(4, list.getInt(1));
+	}
+}
@@ -0,0 +1,223 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class ProjectionTest {
+
+	public static class Line {
+		public String product;
+		public int quantity;
+	}
+
+	public static class Order {
+		public long id;
+		public String status;
+		public List<Line> lines;
+		public Line main;
+	}
+
+	public static class Summary {
+		public final String code;
+		public final long total;
+
+		public Summary(String code, long total) {
+			this.code = code;
+			this.total = total;
+		}
+	}
+
+	public static class Account {
+		public String owner;
+		public int count;
+	}
+
+	public static class Ledger {
+		public String note;
+		public Account account;
+	}
+
+	private static final byte[] ORDER = ("{\"id\":1,\"status\":\"paid\",\"lines\":[{\"product\":\"a\",\"quantity\":2}],"
+			+ "\"main\":{\"product\":\"b\",\"quantity\":3}}").getBytes();
+
+	private static DslJson<Object> dslJson() {
+		DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>()
+				.resolveReader(BeanAnalyzer.READER)
+				.resolveWriter(BeanAnalyzer.WRITER));
+		ImmutableDescription<Summary> summary = new ImmutableDescription<Summary>(
+				Summary.class,
+				new ImmutableDescription.Instantiator<Summary>() {
+					@Override
+					public Summary create(Object[] args) {
+						return new Summary((String) args[0], (Long) args[1]);
+					}
+				},
+				false,
+				new ImmutableDescription.Property<Summary>("code", String.class, new ImmutableDescription.Getter<Summary>() {
+					@Override
+					public Object get(Summary instance) {
+						return instance.code;
+					}
+				}, true, null, null, null),
+				new ImmutableDescription.Property<Summary>("total", long.class, new ImmutableDescription.Getter<Summary>() {
+					@Override
+					public Object get(Summary instance) {
+						return instance.total;
+					}
+				}, true, 0L, null, null));
+		summary.configure(json);
+		json.registerReader(Summary.class, summary);
+		return json;
+	}
+
+	@Test
+	public void skipsPropertiesOutsideOfProjection() throws IOException {
+		DslJson<Object> json = dslJson();
+		Projection projection = Projection.of(Order.class, "id", "main");
+		Order order = json.deserialize(Order.class, ORDER, ORDER.length, projection);
+		Assert.assertEquals(1, order.id);
+		Assert.assertNull(order.status);
+		Assert.assertNull(order.lines);
+		Assert.assertEquals("b", order.main.product);
+		Assert.assertEquals(3, order.main.quantity);
+	}
+
+	@Test
+	public void projectionPerType() throws IOException {
+		DslJson<Object> json = dslJson();
+		Projection projection = Projection.of(Order.class, "lines", "main").and(Line.class, "quantity");
+		Order order = json.deserialize(Order.class, ORDER, ORDER.length, projection);
+		Assert.assertEquals(0, order.id);
+		Assert.assertEquals(2, order.lines.get(0).quantity);
+		Assert.assertNull(order.lines.get(0).product);
+		Assert.assertNull(order.main.product);
+		Order full = json.deserialize(Order.class, ORDER, ORDER.length);
+		Assert.assertEquals("paid", full.status);
+	}
+
+	@Test
+	public void listOfImmutables() throws IOException {
+		DslJson<Object> json = dslJson();
+		byte[] input = "[{\"code\":\"a\",\"total\":5},{\"total\":7,\"code\":\"b\"}]".getBytes();
+		List<Summary> summaries = json.deserializeList(Summary.class, input, input.length, Projection.of(Summary.class, "total"));
+		Assert.assertEquals(2, summaries.size());
+		Assert.assertNull(summaries.get(0).code);
+		Assert.assertEquals(7, summaries.get(1).total);
+		byte[] missingCode = "[{\"total\":5}]".getBytes();
+		Assert.assertEquals(5, json.deserializeList(Summary.class, missingCode, missingCode.length, Projection.of(Summary.class, "total")).get(0).total);
+		try {
+			json.deserializeList(Summary.class, missingCode, missingCode.length, Projection.of(Summary.class, "code"));
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Mandatory property (code) not found"));
+		}
+	}
+
+	@Test
+	public void readersWithoutProjectionSupportAreRejected() throws IOException {
+		DslJson<Object> json = dslJson();
+		json.registerReader(Line.class, new JsonReader.ReadObject<Line>() {
+			@Override
+			public Line read(JsonReader reader) throws IOException {
+				reader.skip();
+				return new Line();
+			}
+		});
+		try {
+			json.deserialize(Order.class, ORDER, ORDER.length, Projection.of(Order.class, "main").and(Line.class, "quantity"));
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Projection is not supported for " + Line.class));
+		}
+		byte[] input = "[{\"product\":\"a\"}]".getBytes();
+		try {
+			json.deserializeList(Line.class, input, input.length, Projection.of(Line.class, "product"));
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Projection is not supported"));
+		}
+		Order order = json.deserialize(Order.class, ORDER, ORDER.length, Projection.of(Order.class, "id"));
+		Assert.assertEquals(1, order.id);
+	}
+
+	private static void registerCompiled(DslJson<Object> json, boolean withCreator) {
+		//same converters as registered by annotation processor for mutable @CompiledJson class:
+		//DSL reader which can't skip properties and bind description
+		json.registerReader(Account.class, new JsonReader.ReadObject<Account>() {
+			@Override
+			public Account read(JsonReader reader) throws IOException {
+				Map<String, Object> values = ObjectConverter.deserializeMap(reader);
+				Account account = new Account();
+				account.owner = (String) values.get("owner");
+				account.count = values.containsKey("count") ? ((Number) values.get("count")).intValue() : 0;
+				return account;
+			}
+		});
+		BindDescription<Account> description = new BindDescription<Account>(
+				Account.class,
+				withCreator ? new BindDescription.Creator<Account>() {
+					@Override
+					public Account create() {
+						return new Account();
+					}
+				} : null,
+				false,
+				new BindDescription.Property<Account>("owner", String.class, new BindDescription.Accessor<Account>() {
+					@Override
+					public Object get(Account instance) {
+						return instance.owner;
+					}
+
+					@Override
+					public void set(Account instance, Object value) {
+						instance.owner = (String) value;
+					}
+				}),
+				new BindDescription.Property<Account>("count", new BindDescription.IntSetter<Account>() {
+					@Override
+					public void set(Account instance, int value) {
+						instance.count = value;
+					}
+				}));
+		description.configure(json);
+		json.registerBinder(Account.class, description);
+	}
+
+	@Test
+	public void compiledClassesHonorProjection() throws IOException {
+		DslJson<Object> json = dslJson();
+		registerCompiled(json, true);
+		byte[] input = "{\"$type\":\"account\",\"owner\":\"a\",\"count\":2}".getBytes();
+		Account account = json.deserialize(Account.class, input, input.length, Projection.of(Account.class, "count"));
+		Assert.assertNull(account.owner);
+		Assert.assertEquals(2, account.count);
+		Assert.assertEquals("a", json.deserialize(Account.class, input, input.length).owner);
+		byte[] list = "[{\"owner\":\"a\",\"count\":2},null]".getBytes();
+		List<Account> accounts = json.deserializeList(Account.class, list, list.length, Projection.of(Account.class, "owner"));
+		Assert.assertEquals("a", accounts.get(0).owner);
+		Assert.assertEquals(0, accounts.get(0).count);
+		Assert.assertNull(accounts.get(1));
+		byte[] nested = "{\"note\":\"n\",\"account\":{\"owner\":\"a\",\"count\":2}}".getBytes();
+		Ledger ledger = json.deserialize(Ledger.class, nested, nested.length, Projection.of(Account.class, "owner"));
+		Assert.assertEquals("n", ledger.note);
+		Assert.assertEquals("a", ledger.account.owner);
+		Assert.assertEquals(0, ledger.account.count);
+	}
+
+	@Test
+	public void compiledClassesWithoutCreatorAreRejected() throws IOException {
+		DslJson<Object> json = dslJson();
+		registerCompiled(json, false);
+		byte[] input = "{\"owner\":\"a\",\"count\":2}".getBytes();
+		try {
+			json.deserialize(Account.class, input, input.length, Projection.of(Account.class, "count"));
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Projection is not supported for " + Account.class));
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+public class RawJsonTest {
+
+	public static class Envelope {
+		public String kind;
+		public RawJson payload;
+		public List<RawJson> extras;
+	}
+
+	private static final String INPUT = "{\"kind\":\"event\",\"payload\":{ \"a\" : [1, 2.5e-3, \"x\\\"}\"], \"b\":null },"
+			+ "\"extras\":[true,-12,\"s\",[],{}]}";
+
+	private static DslJson<Object> dslJson() {
+		return new DslJson<Object>(new DslJson.Settings<Object>()
+				.resolveReader(BeanAnalyzer.READER)
+				.resolveWriter(BeanAnalyzer.WRITER));
+	}
+
+	@Test
+	public void captureExactBytes() throws IOException {
+		DslJson<Object> json = dslJson();
+		byte[] bytes = INPUT.getBytes("UTF-8");
+		Envelope envelope = json.deserialize(Envelope.class, bytes, bytes.length);
+		Assert.assertEquals("event", envelope.kind);
+		Assert.assertEquals("{ \"a\" : [1, 2.5e-3, \"x\\\"}\"], \"b\":null }", envelope.payload.toString());
+		Assert.assertEquals(5, envelope.extras.size());
+		Assert.assertEquals("true", envelope.extras.get(0).toString());
+		Assert.assertEquals("-12", envelope.extras.get(1).toString());
+		Assert.assertEquals("\"s\"", envelope.extras.get(2).toString());
+		Assert.assertEquals("{}", envelope.extras.get(4).toString());
+	}
+
+	@Test
+	public void roundtripVerbatim() throws IOException {
+		DslJson<Object> json = dslJson();
+		byte[] bytes = INPUT.getBytes("UTF-8");
+		Envelope envelope = json.deserialize(Envelope.class, bytes, bytes.length);
+		ByteArrayOutputStream os = new ByteArrayOutputStream();
+		json.serialize(envelope, os);
+		Assert.assertEquals(INPUT, os.toString("UTF-8"));
+	}
+
+	@Test
+	public void captureFromStream() throws IOException {
+		DslJson<Object> json = dslJson();
+		byte[] bytes = INPUT.getBytes("UTF-8");
+		Envelope envelope = json.deserialize(Envelope.class, new ByteArrayInputStream(bytes), new byte[64]);
+		Assert.assertEquals(RawJson.of("{ \"a\" : [1, 2.5e-3, \"x\\\"}\"], \"b\":null }"), envelope.payload);
+		Assert.assertEquals(RawJson.of("-12"), envelope.extras.get(1));
+	}
+
+	@Test
+	public void topLevelValues() throws IOException {
+		DslJson<Object> json = new DslJson<Object>();
+		byte[] number = "123".getBytes("UTF-8");
+		Assert.assertEquals("123", json.deserialize(RawJson.class, number, number.length).toString());
+		byte[] list = "[{\"x\":[1,2]},null,\"z\"]".getBytes("UTF-8");
+		List<RawJson> values = json.deserializeList(RawJson.class, list, list.length);
+		Assert.assertEquals(RawJson.of("{\"x\":[1,2]}"), values.get(0));
+		Assert.assertNull(values.get(1));
+		Assert.assertEquals(RawJson.of("\"z\""), values.get(2));
+	}
+
+	@Test
+	public void invalidInput() {
+		DslJson<Object> json = new DslJson<Object>();
+		String[] invalid = {"{\"a\" 1}", "[1 2]", "tru", "{\"a\":1", "\"abc"};
+		for (String input : invalid) {
+			try {
+				byte[] bytes = input.getBytes();
+				json.deserialize(RawJson.class, bytes, bytes.length);
+				Assert.fail("Expecting exception for: " + input);
+			} catch (IOException ignore) {
+			}
+		}
+	}
+
+	@Test
+	public void deepNestingIsLimited() throws IOException {
+		DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>().limitDepth(64));
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 200000; i++) sb.append('[');
+		byte[] deep = sb.toString().getBytes("UTF-8");
+		try {
+			json.deserialize(RawJson.class, deep, deep.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Maximum nesting depth"));
+		}
+		try {
+			json.deserialize(RawJson.class, new ByteArrayInputStream(deep), new byte[64]);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Maximum nesting depth"));
+		}
+		StringBuilder nested = new StringBuilder();
+		for (int i = 0; i < 64; i++) nested.append(i % 2 == 0 ? "[" : "{\"k\":");
+		nested.append("\"x\"");
+		for (int i = 63; i >= 0; i--) nested.append(i % 2 == 0 ? "]" : "}");
+		byte[] allowed = nested.toString().getBytes("UTF-8");
+		Assert.assertEquals(nested.toString(), json.deserialize(RawJson.class, allowed, allowed.length).toString());
+		Assert.assertEquals(nested.toString(), json.deserialize(RawJson.class, new ByteArrayInputStream(allowed), new byte[64]).toString());
+	}
+}
@@ -42,6 +42,20 @@ public class ReaderTest {
 		Assert.assertEquals("number", jr.getLastName());
 	}
 
+	@Test
+	public void fourByteUtf8Characters() throws IOException {
+		final byte[] buf = "\"a\uD83D\uDE00b\\n\uD83D\uDE00\"".getBytes("UTF-8");
+		Assert.assertEquals(14, buf.length);
+		testFourByteUtf8Characters(dslJson.newReader(buf));
+		testFourByteUtf8Characters(dslJson.newReader(new ByteArrayInputStream(buf), new byte[64]));
+	}
+
+	private void testFourByteUtf8Characters(JsonReader<Object> jr) throws IOException {
+		jr.getNextToken();
+		Assert.assertEquals("a\uD83D\uDE00b\n\uD83D\uDE00", jr.readString());
+		Assert.assertEquals(14, jr.getCurrentIndex());
+	}
+
 	static class Implementation implements Interface {
 	}
 
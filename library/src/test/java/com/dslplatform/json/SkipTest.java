@@ -0,0 +1,91 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+public class SkipTest {
+
+	public static class Known {
+		public int id;
+	}
+
+	private static byte[] nested(int depth) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\"unknown\":");
+		for (int i = 0; i < depth; i++) {
+			sb.append(i % 2 == 0 ? "[" : "{\"x\":");
+		}
+		sb.append("\"end\"");
+		for (int i = depth - 1; i >= 0; i--) {
+			sb.append(i % 2 == 0 ? "]" : "}");
+		}
+		sb.append(",\"id\":7}");
+		return sb.toString().getBytes("UTF-8");
+	}
+
+	private static DslJson<Object> dslJson(int depth) {
+		return new DslJson<Object>(new DslJson.Settings<Object>()
+				.resolveReader(BeanAnalyzer.READER)
+				.limitDepth(depth));
+	}
+
+	@Test
+	public void deepNestingWithoutStackOverflow() throws IOException {
+		byte[] input = nested(100000);
+		DslJson<Object> json = dslJson(200000);
+		Assert.assertEquals(7, json.deserialize(Known.class, input, input.length).id);
+		Assert.assertEquals(7, json.deserialize(Known.class, new ByteArrayInputStream(input), new byte[4096]).id);
+	}
+
+	@Test
+	public void depthIsLimited() throws IOException {
+		DslJson<Object> json = dslJson(100);
+		byte[] allowed = nested(100);
+		Assert.assertEquals(7, json.deserialize(Known.class, allowed, allowed.length).id);
+		byte[] tooDeep = nested(101);
+		try {
+			json.deserialize(Known.class, tooDeep, tooDeep.length);
+			Assert.fail("Expecting exception");
+		} catch (IOException ex) {
+			Assert.assertTrue(ex.getMessage().contains("Maximum nesting depth of 100 exceeded"));
+		}
+	}
+
+	@Test
+	public void stringsAndNumbersAcrossBuffers() throws IOException {
+		StringBuilder sb = new StringBuilder("{\"skip\":[");
+		for (int i = 0; i < 200; i++) {
+			if (i > 0) sb.append(',');
+			sb.append("\"a\\\\\\\"b\\\"").append(i).append("\",-12.5e+3,{},[],{\"n\":null,\"t\":true,\"f\":false}");
+		}
+		sb.append("] , \"id\" : 3 }");
+		byte[] input = sb.toString().getBytes("UTF-8");
+		DslJson<Object> json = dslJson(10);
+		Assert.assertEquals(3, json.deserialize(Known.class, input, input.length).id);
+		Assert.assertEquals(3, json.deserialize(Known.class, new ByteArrayInputStream(input), new byte[64]).id);
+		Assert.assertEquals(3, json.deserialize(Known.class, new ByteArrayInputStream(input), new byte[67]).id);
+	}
+
+	@Test
+	public void invalidContent() {
+		DslJson<Object> json = dslJson(10);
+		String[] invalid = {
+				"{\"skip\":[1,2}",
+				"{\"skip\":{\"a\" 1}}",
+				"{\"skip\":{1:2}}",
+				"{\"skip\":\"abc",
+				"{\"skip\":[nul]}"
+		};
+		for (String input : invalid) {
+			try {
+				byte[] bytes = input.getBytes();
+				json.deserialize(Known.class, bytes, bytes.length);
+				Assert.fail("Expecting exception for: " + input);
+			} catch (IOException ignore) {
+			}
+		}
+	}
+}
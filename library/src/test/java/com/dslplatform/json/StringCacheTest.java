@@ -0,0 +1,59 @@
+package com.dslplatform.json;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+public class StringCacheTest {
+
+	private static class CountingCache implements StringCache, ByteStringCache {
+		final DslJson.SimpleStringCache cache = new DslJson.SimpleStringCache();
+		int charLookups;
+		int byteLookups;
+
+		@Override
+		public String get(char[] chars, int len) {
+			charLookups++;
+			return cache.get(chars, len);
+		}
+
+		@Override
+		public String get(byte[] buffer, int offset, int length, int hash) {
+			byteLookups++;
+			return cache.get(buffer, offset, length, hash);
+		}
+	}
+
+	@Test
+	public void asciiValuesAreLookedUpFromBytes() throws IOException {
+		CountingCache keys = new CountingCache();
+		CountingCache values = new CountingCache();
+		DslJson<Object> json = new DslJson<Object>(new DslJson.Settings<Object>().useKeyCache(keys).useStringValuesCache(values));
+		byte[] input = "[{\"status\":\"ok\",\"ćevap\":\"ćevap\"},{\"status\":\"ok\",\"escaped\":\"a\\\"b\"}]".getBytes("UTF-8");
+		List<Map> result = json.deserializeList(Map.class, input, input.length);
+		Assert.assertEquals("ok", result.get(0).get("status"));
+		Assert.assertSame(result.get(0).get("status"), result.get(1).get("status"));
+		Assert.assertEquals("ćevap", result.get(0).get("ćevap"));
+		Assert.assertEquals("a\"b", result.get(1).get("escaped"));
+		Assert.assertEquals(3, keys.byteLookups);
+		Assert.assertEquals(1, keys.charLookups);
+		Assert.assertEquals(2, values.byteLookups);
+		Assert.assertEquals(2, values.charLookups);
+	}
+
+	@Test
+	public void byteAndCharLookupsShareEntries() {
+		DslJson.SimpleStringCache cache = new DslJson.SimpleStringCache();
+		String fromChars = cache.get("status".toCharArray(), 6);
+		byte[] bytes = "xstatusx".getBytes();
+		long hash = 0x811c9dc5;
+		for (int i = 1; i < 7; i++) {
+			hash ^= bytes[i];
+			hash *= 0x1000193;
+		}
+		Assert.assertSame(fromChars, cache.get(bytes, 1, 6, (int) hash));
+	}
+}
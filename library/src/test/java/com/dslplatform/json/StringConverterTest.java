@@ -4,7 +4,9 @@ import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.List;
 
 public class StringConverterTest {
 
@@ -130,4 +132,79 @@ public class StringConverterTest {
 			Assert.assertEquals(expected, read);
 		}
 	}
+
+	@Test
+	public void asciiAndEncodedStrings() throws IOException {
+		final String[] values = {"", "simple ascii", "ćevap", "mixed \"quoted\" value", "tab\tnew\nline", "emoji 😀 at end"};
+		final StringBuilder sb = new StringBuilder("[");
+		for (int i = 0; i < 100; i++) {
+			for (String v : values) {
+				if (sb.length() > 1) sb.append(',');
+				final JsonWriter writer = dslJson.newWriter();
+				writer.writeString(v + i);
+				sb.append(writer.toString());
+			}
+		}
+		final byte[] input = sb.append(']').toString().getBytes("UTF-8");
+		final List<String> fromBytes = dslJson.deserializeList(String.class, input, input.length);
+		final List<String> fromStream = dslJson.deserializeList(String.class, new ByteArrayInputStream(input), new byte[64]);
+		int index = 0;
+		for (int i = 0; i < 100; i++) {
+			for (String v : values) {
+				Assert.assertEquals(v + i, fromBytes.get(index));
+				Assert.assertEquals(v + i, fromStream.get(index));
+				index++;
+			}
+		}
+	}
+
+	@Test
+	public void encodingFromBytesMatchesCharEncoding() throws IOException {
+		final String[] parts = {"plain ascii text ", "Latin-1 ÀÉÎõü ", "CJK 日本語の文章 ", "emoji 😀 ", "\"quoted\" ", "control\t\u0001 ", "question? "};
+		final StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 200; i++) {
+			sb.append(parts[(i * 7) % parts.length]);
+			final String value = sb.toString();
+			final JsonWriter expected = dslJson.newWriter();
+			expected.writeString(value);
+			final JsonWriter encoded = dslJson.newWriter(value.length() * 6 + 2);
+			int start = 0;
+			while (start < value.length() && value.charAt(start) < 128 && value.charAt(start) != '"' && value.charAt(start) != '\\' && value.charAt(start) > 31) {
+				start++;
+			}
+			final byte[] buffer = encoded.getByteBuffer();
+			buffer[0] = '"';
+			value.getBytes(0, start, buffer, 1);
+			final int end = encoded.writeEncoded(value, start, value.length(), start + 1);
+			buffer[end] = '"';
+			Assert.assertEquals(expected.toString(), new String(buffer, 0, end + 1, "UTF-8"));
+		}
+	}
+
+	@Test
+	public void encodingFromBytesRejectsInvalidSurrogates() {
+		final JsonWriter writer = dslJson.newWriter(100);
+		final String broken = "what? \uD800 broken";
+		Assert.assertEquals(-1, writer.writeEncoded(broken, 0, broken.length(), 0));
+		Assert.assertEquals(5, writer.writeEncoded(broken, 0, 5, 0));
+	}
+
+	@Test
+	public void encodingFromBytesAppliesToLongStrings() throws IOException {
+		final StringBuilder sb = new StringBuilder();
+		while (sb.length() < 10000) {
+			sb.append("日本語の文章 \"quoted\" 😀 question? ");
+		}
+		final String value = sb.toString();
+		final JsonWriter expected = new JsonWriter(new byte[64], null, JsonWriter.EscapePolicy.MINIMAL, false);
+		expected.writeString(value);
+		final JsonWriter encoded = new JsonWriter(new byte[64], null, JsonWriter.EscapePolicy.MINIMAL, true);
+		encoded.writeString(value);
+		Assert.assertEquals(expected.toString(), encoded.toString());
+		final ByteArrayOutputStream os = new ByteArrayOutputStream();
+		encoded.reset(os);
+		encoded.writeString(value);
+		encoded.flush();
+		Assert.assertEquals(expected.toString(), os.toString("UTF-8"));
+	}
 }
@@ -5,6 +5,8 @@ import javax.lang.model.SourceVersion;
 import javax.lang.model.element.*;
 import javax.lang.model.type.ArrayType;
 import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.ElementFilter;
 import javax.tools.*;
@@ -17,6 +19,13 @@ import java.util.*;
 public class CompiledJsonProcessor extends AbstractProcessor {
 
 	private static final Map<String, String> SupportedTypes;
+	private static final String[] BuiltInConverters = {
+			"com.dslplatform.json.RawJsonConverter",
+			"com.dslplatform.json.PrimitiveListConverter.Ints",
+			"com.dslplatform.json.PrimitiveListConverter.Longs",
+			"com.dslplatform.json.PrimitiveListConverter.Doubles"
+	};
+	private static final String CachedStringConverter = "com.dslplatform.json.CachedStringConverter";
 	private static final Map<String, String> SupportedCollections;
 	private static final Set<String> JsonIgnore;
 	private static final Set<String> NonNullable;
@@ -25,6 +34,10 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 	private static final List<IncompatibleTypes> CheckTypes;
 
 	private static final String CONFIG = "META-INF/services/com.dslplatform.json.Configuration";
+	private static final String IMMUTABLE_SERIALIZATION = "ImmutableSerialization";
+	private static final String BIND_SERIALIZATION = "BindSerialization";
+	private static final String MIXIN_SERIALIZATION = "MixinSerialization";
+	private static final String SIZE_ESTIMATION = "SizeEstimation";
 
 	private static class IncompatibleTypes {
 		final String first;
@@ -193,6 +206,8 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 		final Boolean onUnknown;
 		final Boolean withSignature;
 		final TypeElement deserializeAs;
+		final CreatorInfo creator;
+		final List<BindInfo> bindProperties = new ArrayList<BindInfo>();
 
 		StructInfo(TypeElement element, String name, ObjectType type, boolean isJsonObject, Boolean onUnknown, Boolean withSignature, TypeElement deserializeAs) {
 			this.element = element;
@@ -202,6 +217,18 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 			this.onUnknown = onUnknown;
 			this.withSignature = withSignature;
 			this.deserializeAs = deserializeAs;
+			this.creator = null;
+		}
+
+		StructInfo(TypeElement element, String name, String converter, CreatorInfo creator) {
+			this.element = element;
+			this.name = name;
+			this.type = ObjectType.CLASS;
+			this.converter = converter;
+			this.onUnknown = null;
+			this.withSignature = null;
+			this.deserializeAs = null;
+			this.creator = creator;
 		}
 
 		StructInfo(TypeElement converter, TypeElement target, String name) {
@@ -212,6 +239,49 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 			this.onUnknown = null;
 			this.withSignature = null;
 			this.deserializeAs = null;
+			this.creator = null;
+		}
+	}
+
+	private static class BindInfo {
+		final String name;
+		final Element element;
+		final TypeMirror type;
+		final TypeMirror converter;
+		final String[] aliases;
+
+		BindInfo(String name, Element element, TypeMirror type, TypeMirror converter, String[] aliases) {
+			this.name = name;
+			this.element = element;
+			this.type = type;
+			this.converter = converter;
+			this.aliases = aliases;
+		}
+	}
+
+	private static class CreatorInfo {
+		final ExecutableElement factory;
+		final ExecutableElement build;
+		final List<String> arguments;
+		final Map<String, ExecutableElement> builderSetters;
+		final Map<String, Element> properties;
+		final Map<String, String> names = new HashMap<String, String>();
+		boolean skipUnknown = true;
+
+		CreatorInfo(ExecutableElement factory, List<String> arguments, Map<String, Element> properties) {
+			this.factory = factory;
+			this.build = null;
+			this.arguments = arguments;
+			this.builderSetters = null;
+			this.properties = properties;
+		}
+
+		CreatorInfo(ExecutableElement builder, ExecutableElement build, Map<String, ExecutableElement> builderSetters, Map<String, Element> properties) {
+			this.factory = builder;
+			this.build = build;
+			this.arguments = new ArrayList<String>(builderSetters.keySet());
+			this.builderSetters = builderSetters;
+			this.properties = properties;
 		}
 	}
 
@@ -271,6 +341,38 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 				Writer writer = processingEnv.getFiler().createSourceFile(className).openWriter();
 				writer.write(fileContent);
 				writer.close();
+				String immutables = buildImmutableSerialization(structs);
+				if (immutables != null) {
+					String immutableName = namespace + ".json." + IMMUTABLE_SERIALIZATION;
+					writer = processingEnv.getFiler().createSourceFile(immutableName).openWriter();
+					writer.write(immutables);
+					writer.close();
+					configurations.add(immutableName);
+				}
+				String binders = buildBindSerialization(structs);
+				if (binders != null) {
+					String bindName = namespace + ".json." + BIND_SERIALIZATION;
+					writer = processingEnv.getFiler().createSourceFile(bindName).openWriter();
+					writer.write(binders);
+					writer.close();
+					configurations.add(bindName);
+				}
+				String mixins = buildMixinSerialization(structs);
+				if (mixins != null) {
+					String mixinName = namespace + ".json." + MIXIN_SERIALIZATION;
+					writer = processingEnv.getFiler().createSourceFile(mixinName).openWriter();
+					writer.write(mixins);
+					writer.close();
+					configurations.add(mixinName);
+				}
+				String estimators = buildSizeEstimation(structs);
+				if (estimators != null) {
+					String estimationName = namespace + ".json." + SIZE_ESTIMATION;
+					writer = processingEnv.getFiler().createSourceFile(estimationName).openWriter();
+					writer.write(estimators);
+					writer.close();
+					configurations.add(estimationName);
+				}
 				writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", CONFIG).openWriter();
 				writer.write(className);
 				for (String conf : configurations) {
@@ -360,6 +462,9 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 								info.element,
 								getAnnotation(info.element, compiledJsonType));
 					}
+				} else if (info.creator != null) {
+					validateImmutable(options, info, structs);
+					dsl.append("    external Java JSON converter '").append(info.converter).append("';\n");
 				} else if (info.converter.length() == 0) {
 					dsl.append("    external Java JSON converter;\n");
 				} else {
@@ -477,6 +582,7 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 				return;
 			}
 			info.properties.put(name, deserializationAliases);
+			info.bindProperties.add(new BindInfo(name, property.getValue(), javaTypeMirror, converter, deserializationAliases));
 			StructInfo target = findReferenced(javaTypeMirror, structs);
 			if (target != null && target.type == ObjectType.MIXIN && target.implementations.size() == 0) {
 				String what = target.element.getKind() == ElementKind.INTERFACE ? "interface" : "abstract class";
@@ -490,17 +596,7 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 				options.hasError = true;
 			}
 			if (converter != null) {
-				TypeElement typeConverter = processingEnv.getElementUtils().getTypeElement(converter.toString());
-				String objectType = "int".equals(javaType) ? "java.lang.Integer"
-						: "long".equals(javaType) ? "java.lang.Long"
-						: "double".equals(javaType) ? "java.lang.Double"
-						: "float".equals(javaType) ? "java.lang.Float"
-						: "char".equals(javaType) ? "java.lang.Character"
-						: javaType;
-				Element declaredType = objectType.equals(javaType)
-						? processingEnv.getTypeUtils().asElement(javaTypeMirror)
-						: processingEnv.getElementUtils().getTypeElement(objectType);
-				validConverter(options, typeConverter, declaredType, objectType);
+				validPropertyConverter(options, converter, javaTypeMirror);
 			}
 			boolean isFullMatch = isFullMatch(property.getValue());
 			boolean isMandatory = hasMandatoryAnnotation(property.getValue());
@@ -554,12 +650,666 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 		}
 	}
 
+	private boolean validPropertyConverter(CompileOptions options, TypeMirror converter, TypeMirror javaTypeMirror) {
+		String javaType = javaTypeMirror.toString();
+		TypeElement typeConverter = processingEnv.getElementUtils().getTypeElement(converter.toString());
+		String objectType = "int".equals(javaType) ? "java.lang.Integer"
+				: "long".equals(javaType) ? "java.lang.Long"
+				: "double".equals(javaType) ? "java.lang.Double"
+				: "float".equals(javaType) ? "java.lang.Float"
+				: "char".equals(javaType) ? "java.lang.Character"
+				: javaType;
+		Element declaredType = objectType.equals(javaType)
+				? processingEnv.getTypeUtils().asElement(javaTypeMirror)
+				: processingEnv.getElementUtils().getTypeElement(objectType);
+		return validConverter(options, typeConverter, declaredType, objectType);
+	}
+
+	private void validateImmutable(CompileOptions options, StructInfo info, Map<String, StructInfo> structs) {
+		Set<Integer> hashes = new HashSet<Integer>();
+		boolean hasDuplicates = false;
+		for (String property : info.creator.arguments) {
+			Element element = info.creator.properties.get(property);
+			if (hasIgnoredAnnotation(element)) {
+				continue;
+			}
+			TypeMirror javaType = propertyType(element);
+			TypeMirror converter = findConverter(element);
+			boolean fieldAccess = !(element instanceof ExecutableElement);
+			if (converter != null) {
+				validPropertyConverter(options, converter, javaType);
+			} else if (getPropertyType(element, javaType, structs) == null || typeExpression(javaType) == null) {
+				options.hasError = true;
+				processingEnv.getMessager().printMessage(
+						Diagnostic.Kind.ERROR,
+						"Specified type not supported: '" + javaType + "'. If you wish to ignore this property,"
+								+ " use one of the supported JsonIgnore annotations [such as Jackson @JsonIgnore or DSL-JSON @JsonAttribute(ignore = true) on "
+								+ (fieldAccess ? "field" : "getter")
+								+ "]. Alternatively register @JsonConverter for this type to support it with custom conversion.",
+						element,
+						getAnnotation(info.element, compiledJsonType));
+				continue;
+			}
+			String alias = info.minifiedNames.containsKey(property)
+					? info.minifiedNames.get(property)
+					: findNameAlias(new AbstractMap.SimpleEntry<String, Element>(property, element));
+			String name = alias != null ? alias : property;
+			if (info.properties.containsKey(name)) {
+				options.hasError = true;
+				processingEnv.getMessager().printMessage(
+						Diagnostic.Kind.ERROR,
+						"Duplicate alias detected on " + (fieldAccess ? "field: " : "bean property: ") + property,
+						element,
+						getAnnotation(info.element, compiledJsonType));
+				continue;
+			}
+			String[] aliases = getAliases(element);
+			info.properties.put(name, aliases);
+			info.creator.names.put(property, name);
+			hasDuplicates = hasDuplicates || !hashes.add(calcHash(name));
+			if (aliases != null) {
+				for (String a : aliases) {
+					if (!a.equals(name)) {
+						hasDuplicates = hasDuplicates || !hashes.add(calcHash(a));
+					}
+				}
+			}
+		}
+		if (hasDuplicates) {
+			options.hasError = true;
+			processingEnv.getMessager().printMessage(
+					Diagnostic.Kind.ERROR,
+					"Duplicate hash value detected. Unable to create binding for: '" + info.element.getQualifiedName() + "'. Remove (or reduce) alternativeNames from @JsonAttribute to resolve this issue.",
+					info.element,
+					getAnnotation(info.element, compiledJsonType));
+		}
+	}
+
+	private String typeExpression(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return type.toString() + ".class";
+		} else if (type.getKind() == TypeKind.ARRAY) {
+			TypeMirror component = ((ArrayType) type).getComponentType();
+			if (component.getKind() == TypeKind.DECLARED && !((DeclaredType) component).getTypeArguments().isEmpty()) {
+				return null;
+			}
+			String element = typeExpression(component);
+			return element == null ? null : processingEnv.getTypeUtils().erasure(type).toString() + ".class";
+		} else if (type.getKind() != TypeKind.DECLARED) {
+			return null;
+		}
+		DeclaredType declared = (DeclaredType) type;
+		String raw = ((TypeElement) declared.asElement()).getQualifiedName() + ".class";
+		if (declared.getTypeArguments().isEmpty()) {
+			return raw;
+		}
+		StringBuilder sb = new StringBuilder("com.dslplatform.json.ImmutableDescription.genericType(").append(raw);
+		for (TypeMirror argument : declared.getTypeArguments()) {
+			String expression = typeExpression(argument);
+			if (expression == null) {
+				return null;
+			}
+			sb.append(", ").append(expression);
+		}
+		return sb.append(")").toString();
+	}
+
+	private String castType(TypeMirror type) {
+		if (type.getKind().isPrimitive()) {
+			return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+		}
+		return type.toString();
+	}
+
+	private static String defaultValue(TypeMirror type) {
+		switch (type.getKind()) {
+			case BOOLEAN:
+				return "false";
+			case INT:
+				return "0";
+			case LONG:
+				return "0L";
+			case FLOAT:
+				return "0f";
+			case DOUBLE:
+				return "0.0";
+			case SHORT:
+				return "(short) 0";
+			case BYTE:
+				return "(byte) 0";
+			case CHAR:
+				return "'\\0'";
+			default:
+				return "null";
+		}
+	}
+
+	private String buildImmutableSerialization(Map<String, StructInfo> structs) {
+		List<StructInfo> immutables = new ArrayList<StructInfo>();
+		for (StructInfo info : structs.values()) {
+			if (info.creator != null) {
+				immutables.add(info);
+			}
+		}
+		if (immutables.isEmpty()) {
+			return null;
+		}
+		StringBuilder code = new StringBuilder();
+		code.append("package ").append(namespace).append(".json;\n\n");
+		code.append("public class ").append(IMMUTABLE_SERIALIZATION).append(" implements com.dslplatform.json.Configuration {\n\n");
+		code.append("\t@Override\n\tpublic void configure(com.dslplatform.json.DslJson json) {\n");
+		for (StructInfo info : immutables) {
+			code.append("\t\t").append(info.name).append(".register(json);\n");
+		}
+		code.append("\t}\n");
+		for (StructInfo info : immutables) {
+			buildImmutableDescription(code, info);
+		}
+		code.append("}\n");
+		return code.toString();
+	}
+
+	private void buildImmutableDescription(StringBuilder code, StructInfo info) {
+		CreatorInfo creator = info.creator;
+		String className = info.element.getQualifiedName().toString();
+		List<String> described = new ArrayList<String>();
+		for (String property : creator.arguments) {
+			if (creator.names.containsKey(property)) {
+				described.add(property);
+			}
+		}
+		code.append("\n\t@SuppressWarnings(\"unchecked\")\n");
+		code.append("\tpublic static final class ").append(info.name).append(" {\n");
+		code.append("\t\tpublic static final com.dslplatform.json.JsonReader.ReadObject<").append(className);
+		code.append("> JSON_READER = com.dslplatform.json.ImmutableDescription.reader(").append(className).append(".class);\n");
+		code.append("\t\tpublic static final com.dslplatform.json.JsonWriter.WriteObject<").append(className);
+		code.append("> JSON_WRITER = com.dslplatform.json.ImmutableDescription.writer(").append(className).append(".class);\n\n");
+		code.append("\t\tpublic static void register(com.dslplatform.json.DslJson json) {\n");
+		code.append("\t\t\tcom.dslplatform.json.ImmutableDescription<").append(className);
+		code.append("> description = new com.dslplatform.json.ImmutableDescription<").append(className).append(">(\n");
+		code.append("\t\t\t\t\t").append(className).append(".class,\n");
+		code.append("\t\t\t\t\tnew com.dslplatform.json.ImmutableDescription.Instantiator<").append(className).append(">() {\n");
+		code.append("\t\t\t\t\t\t@Override\n");
+		code.append("\t\t\t\t\t\tpublic ").append(className).append(" create(Object[] args) {\n");
+		if (creator.build == null) {
+			code.append("\t\t\t\t\t\t\treturn ");
+			if (creator.factory.getKind() == ElementKind.CONSTRUCTOR) {
+				code.append("new ").append(className).append("(");
+			} else {
+				code.append(className).append(".").append(creator.factory.getSimpleName()).append("(");
+			}
+			for (int i = 0; i < creator.arguments.size(); i++) {
+				String property = creator.arguments.get(i);
+				TypeMirror type = propertyType(creator.properties.get(property));
+				if (i > 0) code.append(", ");
+				int index = described.indexOf(property);
+				if (index == -1) {
+					code.append(defaultValue(type));
+				} else {
+					code.append("(").append(castType(type)).append(") args[").append(index).append("]");
+				}
+			}
+			code.append(");\n");
+		} else {
+			String builderType = creator.factory.getReturnType().toString();
+			code.append("\t\t\t\t\t\t\t").append(builderType).append(" builder = ");
+			code.append(className).append(".").append(creator.factory.getSimpleName()).append("();\n");
+			for (int i = 0; i < described.size(); i++) {
+				String property = described.get(i);
+				ExecutableElement setter = creator.builderSetters.get(property);
+				TypeMirror type = propertyType(creator.properties.get(property));
+				code.append("\t\t\t\t\t\t\t");
+				if (processingEnv.getTypeUtils().isSameType(setter.getReturnType(), creator.factory.getReturnType())) {
+					code.append("builder = ");
+				}
+				code.append("builder.").append(setter.getSimpleName()).append("((").append(castType(type)).append(") args[").append(i).append("]);\n");
+			}
+			code.append("\t\t\t\t\t\t\treturn builder.").append(creator.build.getSimpleName()).append("();\n");
+		}
+		code.append("\t\t\t\t\t\t}\n");
+		code.append("\t\t\t\t\t},\n");
+		code.append("\t\t\t\t\t").append(creator.skipUnknown);
+		for (String property : described) {
+			Element element = creator.properties.get(property);
+			TypeMirror type = propertyType(element);
+			TypeMirror converter = findConverter(element);
+			String[] aliases = getAliases(element);
+			boolean mandatory = hasMandatoryAnnotation(element);
+			code.append(",\n\t\t\t\t\tnew com.dslplatform.json.ImmutableDescription.Property<").append(className).append(">(\"");
+			code.append(creator.names.get(property)).append("\", ");
+			code.append(converter != null ? processingEnv.getTypeUtils().erasure(type) + ".class" : typeExpression(type));
+			code.append(", new com.dslplatform.json.ImmutableDescription.Getter<").append(className).append(">() {\n");
+			code.append("\t\t\t\t\t\t@Override\n");
+			code.append("\t\t\t\t\t\tpublic Object get(").append(className).append(" instance) {\n");
+			code.append("\t\t\t\t\t\t\treturn instance.").append(element.getSimpleName());
+			code.append(element instanceof ExecutableElement ? "();\n" : ";\n");
+			code.append("\t\t\t\t\t\t}\n");
+			code.append("\t\t\t\t\t}");
+			if (mandatory || aliases != null || converter != null) {
+				code.append(", ").append(mandatory).append(", ").append(defaultValue(type));
+				if (converter != null) {
+					code.append(", ").append(converter).append(".JSON_READER, ").append(converter).append(".JSON_WRITER");
+				} else {
+					code.append(", null, null");
+				}
+				if (aliases != null) {
+					for (String a : aliases) {
+						code.append(", \"").append(a).append("\"");
+					}
+				}
+			}
+			code.append(")");
+		}
+		code.append(");\n");
+		code.append("\t\t\tdescription.configure(json);\n");
+		code.append("\t\t\tjson.registerReader(").append(className).append(".class, description);\n");
+		code.append("\t\t\tjson.registerWriter(").append(className).append(".class, description);\n");
+		code.append("\t\t}\n");
+		code.append("\t}\n");
+	}
+
+	private boolean isBindable(StructInfo info) {
+		if (info.type != ObjectType.CLASS
+				|| info.converter != null
+				|| info.deserializeAs != null
+				|| info.element.getModifiers().contains(Modifier.ABSTRACT)
+				|| !info.element.getTypeParameters().isEmpty()) {
+			return false;
+		}
+		for (BindInfo property : info.bindProperties) {
+			if (property.converter == null && typeExpression(property.type) == null) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String buildBindSerialization(Map<String, StructInfo> structs) {
+		List<StructInfo> bindables = new ArrayList<StructInfo>();
+		for (StructInfo info : structs.values()) {
+			if (isBindable(info)) {
+				bindables.add(info);
+			}
+		}
+		if (bindables.isEmpty()) {
+			return null;
+		}
+		StringBuilder code = new StringBuilder();
+		code.append("package ").append(namespace).append(".json;\n\n");
+		code.append("public class ").append(BIND_SERIALIZATION).append(" implements com.dslplatform.json.Configuration {\n\n");
+		code.append("\t@Override\n\tpublic void configure(com.dslplatform.json.DslJson json) {\n");
+		for (StructInfo info : bindables) {
+			code.append("\t\t").append(info.name).append(".register(json);\n");
+		}
+		code.append("\t}\n");
+		for (StructInfo info : bindables) {
+			buildBindDescription(code, info);
+		}
+		code.append("}\n");
+		return code.toString();
+	}
+
+	private static String primitiveSetter(TypeMirror type) {
+		switch (type.getKind()) {
+			case INT:
+				return "IntSetter";
+			case LONG:
+				return "LongSetter";
+			case DOUBLE:
+				return "DoubleSetter";
+			case FLOAT:
+				return "FloatSetter";
+			case BOOLEAN:
+				return "BooleanSetter";
+			default:
+				return null;
+		}
+	}
+
+	private void buildBindDescription(StringBuilder code, StructInfo info) {
+		String className = info.element.getQualifiedName().toString();
+		code.append("\n\t@SuppressWarnings(\"unchecked\")\n");
+		code.append("\tpublic static final class ").append(info.name).append(" {\n");
+		code.append("\t\tpublic static void register(com.dslplatform.json.DslJson json) {\n");
+		code.append("\t\t\tcom.dslplatform.json.BindDescription<").append(className);
+		code.append("> description = new com.dslplatform.json.BindDescription<").append(className).append(">(\n");
+		code.append("\t\t\t\t\t").append(className).append(".class,\n");
+		code.append("\t\t\t\t\tnew com.dslplatform.json.BindDescription.Creator<").append(className).append(">() {\n");
+		code.append("\t\t\t\t\t\t@Override\n");
+		code.append("\t\t\t\t\t\tpublic ").append(className).append(" create() {\n");
+		code.append("\t\t\t\t\t\t\treturn new ").append(className).append("();\n");
+		code.append("\t\t\t\t\t\t}\n");
+		code.append("\t\t\t\t\t},\n");
+		code.append("\t\t\t\t\t").append(info.onUnknown == null || !info.onUnknown);
+		for (BindInfo property : info.bindProperties) {
+			String access = property.element.getSimpleName().toString();
+			boolean isField = !(property.element instanceof ExecutableElement);
+			String primitive = property.converter == null ? primitiveSetter(property.type) : null;
+			code.append(",\n\t\t\t\t\tnew com.dslplatform.json.BindDescription.Property<").append(className).append(">(\"");
+			code.append(property.name).append("\", ");
+			if (primitive != null) {
+				code.append("new com.dslplatform.json.BindDescription.").append(primitive).append("<").append(className).append(">() {\n");
+				code.append("\t\t\t\t\t\t@Override\n");
+				code.append("\t\t\t\t\t\tpublic void set(").append(className).append(" instance, ").append(property.type).append(" value) {\n");
+				if (isField) {
+					code.append("\t\t\t\t\t\t\tinstance.").append(access).append(" = value;\n");
+				} else {
+					code.append("\t\t\t\t\t\t\tinstance.set").append(access.substring(3)).append("(value);\n");
+				}
+				code.append("\t\t\t\t\t\t}\n");
+				code.append("\t\t\t\t\t}");
+				if (property.aliases != null) {
+					for (String a : property.aliases) {
+						code.append(", \"").append(a).append("\"");
+					}
+				}
+			} else {
+				code.append(property.converter != null ? processingEnv.getTypeUtils().erasure(property.type) + ".class" : typeExpression(property.type));
+				code.append(", new com.dslplatform.json.BindDescription.Accessor<").append(className).append(">() {\n");
+				code.append("\t\t\t\t\t\t@Override\n");
+				code.append("\t\t\t\t\t\tpublic Object get(").append(className).append(" instance) {\n");
+				code.append("\t\t\t\t\t\t\treturn instance.").append(access).append(isField ? ";\n" : "();\n");
+				code.append("\t\t\t\t\t\t}\n\n");
+				code.append("\t\t\t\t\t\t@Override\n");
+				code.append("\t\t\t\t\t\tpublic void set(").append(className).append(" instance, Object value) {\n");
+				if (isField) {
+					code.append("\t\t\t\t\t\t\tinstance.").append(access).append(" = (");
+					code.append(castType(property.type)).append(") value;\n");
+				} else {
+					code.append("\t\t\t\t\t\t\tinstance.set").append(access.substring(3)).append("((");
+					code.append(castType(property.type)).append(") value);\n");
+				}
+				code.append("\t\t\t\t\t\t}\n");
+				code.append("\t\t\t\t\t}");
+				if (property.converter != null || property.aliases != null) {
+					code.append(", ").append(property.converter != null ? property.converter + ".JSON_READER" : "null");
+					if (property.aliases != null) {
+						for (String a : property.aliases) {
+							code.append(", \"").append(a).append("\"");
+						}
+					}
+				}
+			}
+			code.append(")");
+		}
+		code.append(");\n");
+		code.append("\t\t\tdescription.configure(json);\n");
+		code.append("\t\t\tjson.registerBinder(").append(className).append(".class, description);\n");
+		code.append("\t\t}\n");
+		code.append("\t}\n");
+	}
+
+	private String buildMixinSerialization(Map<String, StructInfo> structs) {
+		List<StructInfo> mixins = new ArrayList<StructInfo>();
+		for (StructInfo info : structs.values()) {
+			if (info.type == ObjectType.MIXIN && !info.implementations.isEmpty()) {
+				mixins.add(info);
+			}
+		}
+		if (mixins.isEmpty()) {
+			return null;
+		}
+		StringBuilder code = new StringBuilder();
+		code.append("package ").append(namespace).append(".json;\n\n");
+		code.append("public class ").append(MIXIN_SERIALIZATION).append(" implements com.dslplatform.json.Configuration {\n\n");
+		code.append("\t@Override\n\tpublic void configure(com.dslplatform.json.DslJson json) {\n");
+		for (StructInfo info : mixins) {
+			code.append("\t\t").append(info.name).append(".register(json);\n");
+		}
+		code.append("\t}\n");
+		for (StructInfo info : mixins) {
+			String className = info.element.getQualifiedName().toString();
+			List<String> implementations = new ArrayList<String>();
+			for (StructInfo impl : info.implementations) {
+				implementations.add(impl.element.getQualifiedName().toString());
+			}
+			Collections.sort(implementations);
+			code.append("\n\t@SuppressWarnings(\"unchecked\")\n");
+			code.append("\tpublic static final class ").append(info.name).append(" {\n");
+			code.append("\t\tpublic static void register(com.dslplatform.json.DslJson json) {\n");
+			code.append("\t\t\tcom.dslplatform.json.MixinDescription<").append(className);
+			code.append("> description = new com.dslplatform.json.MixinDescription<").append(className).append(">(\n");
+			code.append("\t\t\t\t\t").append(className).append(".class");
+			for (String impl : implementations) {
+				code.append(",\n\t\t\t\t\tnew com.dslplatform.json.MixinDescription.Subtype(");
+				code.append(impl).append(".class, \"").append(impl).append("\")");
+			}
+			code.append(");\n");
+			code.append("\t\t\tdescription.configure(json);\n");
+			code.append("\t\t\tjson.registerReader(").append(className).append(".class, description);\n");
+			code.append("\t\t\tjson.registerWriter(").append(className).append(".class, description);\n");
+			code.append("\t\t}\n");
+			code.append("\t}\n");
+		}
+		code.append("}\n");
+		return code.toString();
+	}
+
+	private static boolean isEstimable(StructInfo info) {
+		return info.type == ObjectType.CLASS
+				&& (info.converter == null || info.creator != null)
+				&& !info.element.getModifiers().contains(Modifier.ABSTRACT)
+				&& info.element.getTypeParameters().isEmpty();
+	}
+
+	private List<BindInfo> estimatedProperties(StructInfo info) {
+		if (info.creator == null) {
+			return info.bindProperties;
+		}
+		List<BindInfo> properties = new ArrayList<BindInfo>();
+		for (String property : info.creator.arguments) {
+			String name = info.creator.names.get(property);
+			if (name != null) {
+				Element element = info.creator.properties.get(property);
+				properties.add(new BindInfo(name, element, propertyType(element), findConverter(element), null));
+			}
+		}
+		return properties;
+	}
+
+	private String buildSizeEstimation(Map<String, StructInfo> structs) {
+		List<StructInfo> estimables = new ArrayList<StructInfo>();
+		for (StructInfo info : structs.values()) {
+			if (isEstimable(info)) {
+				estimables.add(info);
+			}
+		}
+		if (estimables.isEmpty()) {
+			return null;
+		}
+		Set<StructInfo> signatures = new HashSet<StructInfo>();
+		for (StructInfo info : structs.values()) {
+			if (info.type == ObjectType.MIXIN) {
+				signatures.addAll(info.implementations);
+			}
+		}
+		StringBuilder code = new StringBuilder();
+		code.append("package ").append(namespace).append(".json;\n\n");
+		code.append("public class ").append(SIZE_ESTIMATION).append(" implements com.dslplatform.json.Configuration {\n\n");
+		code.append("\t@Override\n\tpublic void configure(com.dslplatform.json.DslJson json) {\n");
+		for (StructInfo info : estimables) {
+			code.append("\t\tjson.registerEstimator(").append(info.element.getQualifiedName()).append(".class, new ");
+			code.append(info.name).append("());\n");
+		}
+		code.append("\t}\n");
+		for (StructInfo info : estimables) {
+			buildSizeEstimator(code, info, signatures.contains(info), structs);
+		}
+		code.append("}\n");
+		return code.toString();
+	}
+
+	private void buildSizeEstimator(StringBuilder code, StructInfo info, boolean withSignature, Map<String, StructInfo> structs) {
+		String className = info.element.getQualifiedName().toString();
+		List<BindInfo> properties = estimatedProperties(info);
+		//object braces, property names with quotes and colon and commas between properties
+		int fixed = 2 + (properties.isEmpty() ? 0 : properties.size() - 1);
+		if (withSignature) {
+			fixed += "\"$type\":\"\"".length() + className.length() + (properties.isEmpty() ? 0 : 1);
+		}
+		StringBuilder variable = new StringBuilder();
+		for (int i = 0; i < properties.size(); i++) {
+			BindInfo property = properties.get(i);
+			fixed += property.name.length() + 3;
+			String access = "value." + property.element.getSimpleName() + (property.element instanceof ExecutableElement ? "()" : "");
+			int bound = property.converter != null ? 16 : valueBound(property.type, structs);
+			if (bound > 0) {
+				fixed += bound;
+				continue;
+			}
+			StructInfo target = findReferenced(property.type, structs);
+			String type = processingEnv.getTypeUtils().erasure(property.type).toString();
+			if (target != null && isEstimable(target) && type.equals(target.element.getQualifiedName().toString())) {
+				variable.append("\t\t\tsize += ").append(target.name).append(".estimate(").append(access).append(");\n");
+				continue;
+			}
+			String name = "p" + i;
+			String element = null;
+			String length;
+			String first;
+			if (property.type.getKind() == TypeKind.ARRAY) {
+				TypeMirror component = ((ArrayType) property.type).getComponentType();
+				length = name + ".length";
+				first = name + "[0]";
+				if (component.getKind() == TypeKind.BYTE) {
+					variable.append("\t\t\tfinal byte[] ").append(name).append(" = ").append(access).append(";\n");
+					variable.append("\t\t\tsize += ").append(name).append(" == null ? 4 : ").append(length).append(" * 4 / 3 + 4;\n");
+					continue;
+				}
+				element = component.toString();
+			} else if (type.equals("java.lang.String")) {
+				variable.append("\t\t\tfinal String ").append(name).append(" = ").append(access).append(";\n");
+				variable.append("\t\t\tsize += ").append(name).append(" == null ? 4 : ").append(name).append(".length() + 2;\n");
+				continue;
+			} else if (type.startsWith("java.util.Map")) {
+				variable.append("\t\t\tfinal java.util.Map ").append(name).append(" = ").append(access).append(";\n");
+				variable.append("\t\t\tsize += ").append(name).append(" == null ? 4 : 2 + ").append(name).append(".size() * 24;\n");
+				continue;
+			} else {
+				length = name + ".size()";
+				first = name + ".iterator().next()";
+				for (String collection : SupportedCollections.keySet()) {
+					String javaType = property.type.toString();
+					if (javaType.startsWith(collection)) {
+						element = javaType.substring(collection.length(), javaType.length() - 1);
+						break;
+					}
+				}
+			}
+			if (element == null) {
+				fixed += 16;
+				continue;
+			}
+			StructInfo elementStruct = structs.get(element);
+			String elementSize;
+			if (elementStruct != null && isEstimable(elementStruct)) {
+				elementSize = elementStruct.name + ".estimate(" + first + ")";
+			} else {
+				int elementBound = property.converter != null ? -1 : valueBound(elementType(property.type), structs);
+				elementSize = Integer.toString(elementBound > 0 ? elementBound : 16);
+			}
+			variable.append("\t\t\tfinal ").append(property.type).append(" ").append(name);
+			variable.append(" = ").append(access).append(";\n");
+			variable.append("\t\t\tsize += ").append(name).append(" == null ? 4 : ").append(length).append(" == 0 ? 2 : 1 + ");
+			variable.append(length).append(" * (").append(elementSize).append(" + 1);\n");
+		}
+		code.append("\n\tpublic static final class ").append(info.name);
+		code.append(" implements com.dslplatform.json.JsonWriter.SizeEstimator<").append(className).append("> {\n");
+		code.append("\t\t@Override\n");
+		code.append("\t\tpublic int estimateSize(").append(className).append(" value) {\n");
+		code.append("\t\t\treturn estimate(value);\n");
+		code.append("\t\t}\n\n");
+		code.append("\t\tstatic int estimate(").append(className).append(" value) {\n");
+		code.append("\t\t\tif (value == null) {\n");
+		code.append("\t\t\t\treturn 4;\n");
+		code.append("\t\t\t}\n");
+		if (variable.length() == 0) {
+			code.append("\t\t\treturn ").append(fixed).append(";\n");
+		} else {
+			code.append("\t\t\tint size = ").append(fixed).append(";\n");
+			code.append(variable);
+			code.append("\t\t\treturn size;\n");
+		}
+		code.append("\t\t}\n");
+		code.append("\t}\n");
+	}
+
+	private static TypeMirror elementType(TypeMirror type) {
+		if (type.getKind() == TypeKind.ARRAY) {
+			return ((ArrayType) type).getComponentType();
+		}
+		List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+		return arguments.size() == 1 ? arguments.get(0) : null;
+	}
+
+	private static int valueBound(TypeMirror type, Map<String, StructInfo> structs) {
+		if (type == null) {
+			return -1;
+		}
+		switch (type.getKind()) {
+			case BOOLEAN:
+				return 5;
+			case INT:
+				return 11;
+			case LONG:
+				return 20;
+			case FLOAT:
+				return 15;
+			case DOUBLE:
+				return 24;
+			case SHORT:
+				return 6;
+			case BYTE:
+				return 4;
+			case CHAR:
+				return 8;
+			case DECLARED:
+				break;
+			default:
+				return -1;
+		}
+		String name = ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().toString();
+		if ("java.lang.Boolean".equals(name)) return 5;
+		if ("java.lang.Integer".equals(name)) return 11;
+		if ("java.lang.Long".equals(name)) return 20;
+		if ("java.lang.Float".equals(name)) return 15;
+		if ("java.lang.Double".equals(name)) return 24;
+		if ("java.lang.Short".equals(name)) return 6;
+		if ("java.lang.Byte".equals(name)) return 4;
+		if ("java.lang.Character".equals(name)) return 8;
+		if ("java.util.UUID".equals(name)) return 38;
+		if ("java.time.LocalDate".equals(name) || "org.joda.time.LocalDate".equals(name)) return 12;
+		if ("java.time.OffsetDateTime".equals(name) || "org.joda.time.DateTime".equals(name)) return 37;
+		StructInfo target = structs.get(name);
+		if (target != null && target.type == ObjectType.ENUM) {
+			int max = 4;
+			for (Element constant : target.element.getEnclosedElements()) {
+				if (constant.getKind() == ElementKind.ENUM_CONSTANT) {
+					max = Math.max(max, constant.getSimpleName().length() + 2);
+				}
+			}
+			return max;
+		}
+		return -1;
+	}
+
 	private void findRelatedReferences(Map<String, StructInfo> structs, CompileOptions options) {
 		int total;
 		do {
 			total = structs.size();
 			List<StructInfo> items = new ArrayList<StructInfo>(structs.values());
 			for (StructInfo info : items) {
+				if (info.creator != null) {
+					for (String property : info.creator.arguments) {
+						Element element = info.creator.properties.get(property);
+						TypeMirror type = propertyType(element);
+						if (hasIgnoredAnnotation(element) || getPropertyType(element, type, structs) != null) {
+							continue;
+						}
+						checkRelatedProperty(structs, options, type, element instanceof ExecutableElement ? "bean property" : "field", info.element, element);
+					}
+					continue;
+				}
 				if (info.converter != null) {
 					continue;
 				}
@@ -608,6 +1358,7 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 		TypeMirror converter = findConverter(property);
 		if (converter != null) return;
 		String typeName = returnType.toString();
+		if (findBuiltInConverter(structs, options, typeName)) return;
 		TypeElement el = processingEnv.getElementUtils().getTypeElement(typeName);
 		if (el != null) {
 			findStructs(structs, options, el, el + " is referenced as " + access + " from '" + inside.asType() + "' through CompiledJson annotation.");
@@ -615,6 +1366,7 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 		}
 		if (returnType instanceof ArrayType) {
 			ArrayType at = (ArrayType) returnType;
+			if (findBuiltInConverter(structs, options, at.getComponentType().toString())) return;
 			el = processingEnv.getElementUtils().getTypeElement(at.getComponentType().toString());
 			if (el != null) {
 				findStructs(structs, options, el, el + " is referenced as array " + access + " from '" + inside.asType() + "' through CompiledJson annotation.");
@@ -626,6 +1378,7 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 				continue;
 			}
 			String elementType = typeName.substring(kv.getKey().length(), typeName.length() - 1);
+			if (findBuiltInConverter(structs, options, elementType)) break;
 			el = processingEnv.getElementUtils().getTypeElement(elementType);
 			if (el != null) {
 				findStructs(structs, options, el, el + " is referenced as collection " + access + " from '" + inside.asType() + "' through CompiledJson annotation.");
@@ -750,9 +1503,14 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 			for (ExecutableElement ee : values.keySet()) {
 				if (ee.toString().equals("converter()")) {
 					TypeMirror mirror = (TypeMirror) values.get(ee).getValue();
-					return mirror != null && mirror.toString().equals("com.dslplatform.json.JsonAttribute") ? null : mirror;
+					if (mirror != null && !mirror.toString().equals("com.dslplatform.json.JsonAttribute")) return mirror;
 				}
 			}
+			if (booleanAnnotationValue(dslAnn, "cached()", false)) {
+				//cached strings are processed through a converter with a dedicated cache
+				TypeElement cached = processingEnv.getElementUtils().getTypeElement(CachedStringConverter);
+				return cached != null ? cached.asType() : null;
+			}
 			return null;
 		}
 		return null;
@@ -809,6 +1567,31 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 		}
 	}
 
+	private boolean findBuiltInConverter(Map<String, StructInfo> structs, CompileOptions options, String typeName) {
+		for (String builtIn : BuiltInConverters) {
+			TypeElement converter = processingEnv.getElementUtils().getTypeElement(builtIn);
+			if (converter != null && typeName.equals(getConverterTarget(converter))) {
+				if (!structs.containsKey(typeName)) {
+					findConverters(structs, options, converter);
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private String getConverterTarget(TypeElement converter) {
+		AnnotationMirror dslAnn = getAnnotation(converter, converterType);
+		if (dslAnn == null) return null;
+		Map<? extends ExecutableElement, ? extends AnnotationValue> values = dslAnn.getElementValues();
+		for (ExecutableElement ee : values.keySet()) {
+			if (ee.toString().equals("target()")) {
+				return values.get(ee).getValue().toString();
+			}
+		}
+		return null;
+	}
+
 	private boolean validConverter(CompileOptions options, TypeElement converter, Element target, String fullName) {
 		VariableElement jsonReader = null;
 		VariableElement jsonWriter = null;
@@ -895,7 +1678,9 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 				|| element.getKind() == ElementKind.CLASS && element.getModifiers().contains(Modifier.ABSTRACT);
 		boolean isJsonObject = isJsonObject(element);
 		AnnotationMirror annotation = getAnnotation(element, compiledJsonType);
-		if (!isJsonObject && !isMixin && element.getKind() != ElementKind.ENUM && !hasEmptyCtor(element)) {
+		CreatorInfo creator = null;
+		if (!isJsonObject && !isMixin && element.getKind() != ElementKind.ENUM && !hasEmptyCtor(element)
+				&& (creator = findCreator(element)) == null) {
 			options.hasError = true;
 			processingEnv.getMessager().printMessage(
 					Diagnostic.Kind.ERROR,
@@ -972,6 +1757,15 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 				}
 			}
 			String name = "struct" + structs.size();
+			if (creator != null) {
+				creator.skipUnknown = onUnknown == null || !onUnknown;
+				StructInfo info = new StructInfo(element, name, namespace + ".json." + IMMUTABLE_SERIALIZATION + "." + name, creator);
+				structs.put(element.asType().toString(), info);
+				if (isMinified(element)) {
+					prepareMinifiedNames(info, creator);
+				}
+				return;
+			}
 			StructInfo info = new StructInfo(element, name, type, isJsonObject, onUnknown, withSignature, deserializeAs);
 			structs.put(element.asType().toString(), info);
 			if (isMinified(element)) {
@@ -1045,6 +1839,28 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 		}
 	}
 
+	private void prepareMinifiedNames(StructInfo info, CreatorInfo creator) {
+		Map<Character, Integer> counters = new HashMap<Character, Integer>();
+		Set<String> names = new HashSet<String>();
+		for (String property : creator.arguments) {
+			Element element = creator.properties.get(property);
+			if (hasIgnoredAnnotation(element)) {
+				continue;
+			}
+			String alias = findNameAlias(new AbstractMap.SimpleEntry<String, Element>(property, element));
+			if (alias != null) {
+				info.minifiedNames.put(property, alias);
+				names.add(alias);
+			}
+		}
+		for (String property : creator.arguments) {
+			if (info.minifiedNames.containsKey(property) || hasIgnoredAnnotation(creator.properties.get(property))) {
+				continue;
+			}
+			info.minifiedNames.put(property, buildShortName(property, names, counters));
+		}
+	}
+
 	private static String buildShortName(String name, Set<String> names, Map<Character, Integer> counters) {
 		String shortName = name.substring(0, 1);
 		Character first = name.charAt(0);
@@ -1077,6 +1893,146 @@ public class CompiledJsonProcessor extends AbstractProcessor {
 		return false;
 	}
 
+	private CreatorInfo findCreator(TypeElement element) {
+		if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) {
+			return null;
+		}
+		Map<String, Element> properties = getReadableProperties(element);
+		if (properties.isEmpty()) {
+			return null;
+		}
+		ExecutableElement best = null;
+		List<String> bestArguments = null;
+		for (ExecutableElement ctor : ElementFilter.constructorsIn(element.getEnclosedElements())) {
+			if (!ctor.getModifiers().contains(Modifier.PUBLIC)) {
+				continue;
+			}
+			List<String> arguments = matchArguments(ctor, properties);
+			if (arguments != null && (bestArguments == null || arguments.size() > bestArguments.size())) {
+				best = ctor;
+				bestArguments = arguments;
+			}
+		}
+		if (best == null) {
+			for (ExecutableElement method : ElementFilter.methodsIn(element.getEnclosedElements())) {
+				if (!method.getModifiers().contains(Modifier.PUBLIC)
+						|| !method.getModifiers().contains(Modifier.STATIC)
+						|| !processingEnv.getTypeUtils().isSameType(method.getReturnType(), element.asType())) {
+					continue;
+				}
+				List<String> arguments = matchArguments(method, properties);
+				if (arguments != null && (bestArguments == null || arguments.size() > bestArguments.size())) {
+					best = method;
+					bestArguments = arguments;
+				}
+			}
+		}
+		if (best != null) {
+			return new CreatorInfo(best, bestArguments, properties);
+		}
+		for (ExecutableElement method : ElementFilter.methodsIn(element.getEnclosedElements())) {
+			if (!method.getModifiers().contains(Modifier.PUBLIC)
+					|| !method.getModifiers().contains(Modifier.STATIC)
+					|| !method.getParameters().isEmpty()
+					|| !(method.getReturnType() instanceof DeclaredType)) {
+				continue;
+			}
+			TypeElement builder = (TypeElement) ((DeclaredType) method.getReturnType()).asElement();
+			if (!builder.getModifiers().contains(Modifier.PUBLIC)) {
+				continue;
+			}
+			ExecutableElement build = null;
+			Map<String, ExecutableElement> setters = new LinkedHashMap<String, ExecutableElement>();
+			for (ExecutableElement bm : ElementFilter.methodsIn(builder.getEnclosedElements())) {
+				if (!bm.getModifiers().contains(Modifier.PUBLIC) || bm.getModifiers().contains(Modifier.STATIC)) {
+					continue;
+				}
+				String name = bm.getSimpleName().toString();
+				if ("build".equals(name) && bm.getParameters().isEmpty()
+						&& processingEnv.getTypeUtils().isSameType(bm.getReturnType(), element.asType())) {
+					build = bm;
+				} else if (bm.getParameters().size() == 1) {
+					for (Map.Entry<String, Element> kv : properties.entrySet()) {
+						String property = kv.getKey();
+						String upper = property.substring(0, 1).toUpperCase() + property.substring(1);
+						if ((name.equals(property) || name.equals("with" + upper) || name.equals("set" + upper))
+								&& processingEnv.getTypeUtils().isSameType(bm.getParameters().get(0).asType(), propertyType(kv.getValue()))) {
+							setters.put(property, bm);
+							break;
+						}
+					}
+				}
+			}
+			if (build != null && !setters.isEmpty()) {
+				return new CreatorInfo(method, build, setters, properties);
+			}
+		}
+		return null;
+	}
+
+	private List<String> matchArguments(ExecutableElement method, Map<String, Element> properties) {
+		List<? extends VariableElement> parameters = method.getParameters();
+		if (parameters.isEmpty()) {
+			return null;
+		}
+		List<String> arguments = new ArrayList<String>(parameters.size());
+		for (VariableElement p : parameters) {
+			String name = p.getSimpleName().toString();
+			Element property = properties.get(name);
+			if (property == null || arguments.contains(name)
+					|| !processingEnv.getTypeUtils().isSameType(p.asType(), propertyType(property))) {
+				return null;
+			}
+			arguments.add(name);
+		}
+		return arguments;
+	}
+
+	private static TypeMirror propertyType(Element property) {
+		return property instanceof ExecutableElement
+				? ((ExecutableElement) property).getReturnType()
+				: property.asType();
+	}
+
+	private Map<String, Element> getReadableProperties(TypeElement element) {
+		Map<String, Element> result = new LinkedHashMap<String, Element>();
+		for (TypeElement inheritance : getTypeHierarchy(element)) {
+			for (ExecutableElement method : ElementFilter.methodsIn(inheritance.getEnclosedElements())) {
+				String name = method.getSimpleName().toString();
+				final int prefix;
+				if (name.length() > 3 && name.startsWith("get")) {
+					prefix = 3;
+				} else if (name.length() > 2 && name.startsWith("is") && method.getReturnType().getKind() == TypeKind.BOOLEAN) {
+					prefix = 2;
+				} else {
+					continue;
+				}
+				if ("getClass".equals(name)
+						|| !method.getParameters().isEmpty()
+						|| method.getReturnType().getKind() == TypeKind.VOID
+						|| !method.getModifiers().contains(Modifier.PUBLIC)
+						|| method.getModifiers().contains(Modifier.STATIC)) {
+					continue;
+				}
+				String property = name.substring(prefix).toUpperCase().equals(name.substring(prefix)) && name.length() > prefix + 1
+						? name.substring(prefix)
+						: name.substring(prefix, prefix + 1).toLowerCase() + name.substring(prefix + 1);
+				if (!result.containsKey(property)) {
+					result.put(property, method);
+				}
+			}
+			for (VariableElement field : ElementFilter.fieldsIn(inheritance.getEnclosedElements())) {
+				String name = field.getSimpleName().toString();
+				if (field.getModifiers().contains(Modifier.PUBLIC)
+						&& !field.getModifiers().contains(Modifier.STATIC)
+						&& !result.containsKey(name)) {
+					result.put(name, field);
+				}
+			}
+		}
+		return result;
+	}
+
 	private static List<String> getEnumConstants(TypeElement element) {
 		List<String> result = new ArrayList<String>();
 		for (VariableElement field : ElementFilter.fieldsIn(element.getEnclosedElements())) {
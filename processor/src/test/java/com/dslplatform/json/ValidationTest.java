@@ -29,6 +29,30 @@ public class ValidationTest extends AbstractAnnotationProcessorTest {
 				"therefore 'com.dslplatform.json.models.MissingEmptyCtor' requires public no argument constructor");
 	}
 
+	@Test
+	public void testImmutableWithUnsupportedPropertyType() {
+		assertCompilationReturned(
+				Diagnostic.Kind.ERROR,
+				8,
+				compileTestCase(ImmutableInvalidType.class),
+				"Specified type not supported: 'char'");
+	}
+
+	@Test
+	public void immutableThroughConstructor() {
+		assertCompilationSuccessful(compileTestCase(ImmutableCtor.class));
+	}
+
+	@Test
+	public void immutableThroughFactory() {
+		assertCompilationSuccessful(compileTestCase(ImmutableFactory.class));
+	}
+
+	@Test
+	public void immutableThroughBuilder() {
+		assertCompilationSuccessful(compileTestCase(ImmutableBuilder.class));
+	}
+
 	@Test
 	public void testNonPublicClass() {
 		assertCompilationReturned(
@@ -481,6 +505,16 @@ public class ValidationTest extends AbstractAnnotationProcessorTest {
 		assertCompilationSuccessful(compileTestCase(PrimitivePropertyConverter.class));
 	}
 
+	@Test
+	public void validCachedProperty() {
+		assertCompilationSuccessful(compileTestCase(CachedProperty.class));
+	}
+
+	@Test
+	public void primitiveListProperties() {
+		assertCompilationSuccessful(compileTestCase(PrimitiveListProperties.class));
+	}
+
 	@Test
 	public void validCustomArrayConverter() {
 		assertCompilationSuccessful(compileTestCase(CustomArrayConverter.class));
@@ -0,0 +1,10 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.*;
+
+@CompiledJson
+public class CachedProperty {
+	@JsonAttribute(cached = true)
+	public String status;
+	public String id;
+}
@@ -0,0 +1,45 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.CompiledJson;
+
+@CompiledJson
+public class ImmutableBuilder {
+	private final String name;
+	private final boolean enabled;
+
+	private ImmutableBuilder(String name, boolean enabled) {
+		this.name = name;
+		this.enabled = enabled;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public static Builder builder() {
+		return new Builder();
+	}
+
+	public static class Builder {
+		private String name;
+		private boolean enabled;
+
+		public Builder name(String name) {
+			this.name = name;
+			return this;
+		}
+
+		public Builder withEnabled(boolean enabled) {
+			this.enabled = enabled;
+			return this;
+		}
+
+		public ImmutableBuilder build() {
+			return new ImmutableBuilder(name, enabled);
+		}
+	}
+}
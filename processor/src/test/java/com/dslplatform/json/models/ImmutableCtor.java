@@ -0,0 +1,24 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.CompiledJson;
+
+@CompiledJson
+public class ImmutableCtor {
+	private final String name;
+	private final boolean active;
+	public final int count;
+
+	public ImmutableCtor(String name, boolean active, int count) {
+		this.name = name;
+		this.active = active;
+		this.count = count;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+}
@@ -0,0 +1,18 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.CompiledJson;
+
+@CompiledJson
+public class ImmutableFactory {
+	public final String name;
+	public final long value;
+
+	private ImmutableFactory(String name, long value) {
+		this.name = name;
+		this.value = value;
+	}
+
+	public static ImmutableFactory of(String name, long value) {
+		return new ImmutableFactory(name, value);
+	}
+}
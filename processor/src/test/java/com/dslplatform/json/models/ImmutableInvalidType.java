@@ -0,0 +1,14 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.CompiledJson;
+
+@CompiledJson
+public class ImmutableInvalidType {
+	public final String name;
+	public final char letter;
+
+	public ImmutableInvalidType(String name, char letter) {
+		this.name = name;
+		this.letter = letter;
+	}
+}
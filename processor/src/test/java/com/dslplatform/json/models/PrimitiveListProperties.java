@@ -0,0 +1,10 @@
+package com.dslplatform.json.models;
+
+import com.dslplatform.json.*;
+
+@CompiledJson
+public class PrimitiveListProperties {
+	public IntList counts;
+	public LongList timestamps;
+	public DoubleList values;
+}